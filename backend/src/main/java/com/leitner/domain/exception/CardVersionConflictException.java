@@ -0,0 +1,32 @@
+package com.leitner.domain.exception;
+
+/**
+ * Exception levée quand une carte est enregistrée à partir d'une version
+ * qui n'est plus la version courante (modification concurrente).
+ */
+public class CardVersionConflictException extends RuntimeException {
+
+    private final String cardId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public CardVersionConflictException(String cardId, long expectedVersion, long actualVersion) {
+        super("Card " + cardId + " was modified concurrently: expected version "
+            + expectedVersion + " but found " + actualVersion);
+        this.cardId = cardId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
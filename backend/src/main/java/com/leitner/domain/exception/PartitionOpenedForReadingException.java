@@ -0,0 +1,23 @@
+package com.leitner.domain.exception;
+
+import com.leitner.domain.model.User.UserId;
+
+/**
+ * Exception levée quand une carte est créée dans la partition vide d'un utilisateur
+ * qui n'en a pas, obtenue pour une lecture (PartitionedCardRepository.forReading) :
+ * les créations passent par forUser, qui crée la partition.
+ */
+public class PartitionOpenedForReadingException extends RuntimeException {
+
+    private final UserId owner;
+
+    public PartitionOpenedForReadingException(UserId owner) {
+        super("Cannot save cards of user " + owner.getValue()
+            + " through a partition opened for reading: use PartitionedCardRepository.forUser");
+        this.owner = owner;
+    }
+
+    public UserId getOwner() {
+        return owner;
+    }
+}
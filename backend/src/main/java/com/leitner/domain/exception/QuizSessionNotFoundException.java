@@ -0,0 +1,18 @@
+package com.leitner.domain.exception;
+
+/**
+ * Exception levée quand une session de quiz n'existe pas, a expiré ou est terminée.
+ */
+public class QuizSessionNotFoundException extends RuntimeException {
+
+    private final String sessionId;
+
+    public QuizSessionNotFoundException(String sessionId) {
+        super("Quiz session not found with id: " + sessionId);
+        this.sessionId = sessionId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+}
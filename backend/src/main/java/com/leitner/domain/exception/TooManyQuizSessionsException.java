@@ -0,0 +1,18 @@
+package com.leitner.domain.exception;
+
+/**
+ * Exception levée quand le nombre maximal de sessions de quiz ouvertes est atteint.
+ */
+public class TooManyQuizSessionsException extends RuntimeException {
+
+    private final int maxSessions;
+
+    public TooManyQuizSessionsException(int maxSessions) {
+        super("Too many open quiz sessions (at most " + maxSessions + ")");
+        this.maxSessions = maxSessions;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+}
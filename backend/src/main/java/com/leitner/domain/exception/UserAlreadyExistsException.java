@@ -0,0 +1,25 @@
+package com.leitner.domain.exception;
+
+/**
+ * Exception levée quand un nom d'utilisateur ou un email est déjà
+ * utilisé par un autre utilisateur.
+ */
+public class UserAlreadyExistsException extends RuntimeException {
+
+    private final String field;
+    private final String value;
+
+    public UserAlreadyExistsException(String field, String value) {
+        super("A user already exists with " + field + " " + value);
+        this.field = field;
+        this.value = value;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -1,7 +1,10 @@
 package com.leitner.domain.model;
 
+import com.leitner.domain.model.User.UserId;
+
 import java.time.LocalDate;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Entité représentant une carte d'apprentissage dans le système de Leitner.
@@ -13,26 +16,39 @@ import java.util.Objects;
  * - Un tag optionnel pour le regroupement
  * - Une catégorie indiquant le niveau de maîtrise
  * - La date de dernière réponse pour calculer les révisions
+ * - Un numéro de version, incrémenté à chaque écriture, pour le contrôle optimiste
+ * - Son propriétaire : les cartes de chaque utilisateur forment une partition séparée
+ *
+ * Une carte lue depuis le repository ne doit pas être modifiée sur place :
+ * les modifications passent par CardRepository.update, qui travaille sur une copie.
+ *
+ * Le tag n'est qu'un nom : chaque repository l'enregistre dans son propre
+ * dictionnaire (TagDictionary) pour indexer les cartes.
  */
 public class Card {
 
     private final CardId id;
+    private final UserId owner;
     private final String question;
     private final String answer;
     private final String tag;
     private Category category;
     private LocalDate lastAnswerDate;
+    private final long version;
 
-    private Card(CardId id, String question, String answer, String tag, Category category, LocalDate lastAnswerDate) {
+    private Card(UserId owner, CardId id, String question, String answer, String tag,
+                 Category category, LocalDate lastAnswerDate, long version) {
         validateQuestion(question);
         validateAnswer(answer);
         
         this.id = id;
+        this.owner = owner;
         this.question = question;
         this.answer = answer;
         this.tag = tag;
         this.category = category;
         this.lastAnswerDate = lastAnswerDate;
+        this.version = version;
     }
 
     /**
@@ -40,13 +56,29 @@ public class Card {
      * La carte est automatiquement placée en catégorie FIRST.
      */
     public static Card create(String question, String answer, String tag) {
+        return create(CardId.generate(), question, answer, tag);
+    }
+
+    /**
+     * Crée une nouvelle carte avec un identifiant fourni par un générateur.
+     */
+    public static Card create(CardId id, String question, String answer, String tag) {
+        return create(UserId.DEFAULT, id, question, answer, tag);
+    }
+
+    /**
+     * Crée une nouvelle carte appartenant à l'utilisateur donné.
+     */
+    public static Card create(UserId owner, CardId id, String question, String answer, String tag) {
         return new Card(
-            CardId.generate(),
+            owner,
+            id,
             question,
             answer,
             tag,
             Category.initial(),
-            null
+            null,
+            0
         );
     }
 
@@ -55,7 +87,40 @@ public class Card {
      */
     public static Card reconstitute(CardId id, String question, String answer, 
                                      String tag, Category category, LocalDate lastAnswerDate) {
-        return new Card(id, question, answer, tag, category, lastAnswerDate);
+        return reconstitute(id, question, answer, tag, category, lastAnswerDate, 0);
+    }
+
+    /**
+     * Reconstruit une carte existante à partir de données persistées, avec sa version.
+     */
+    public static Card reconstitute(CardId id, String question, String answer, String tag,
+                                    Category category, LocalDate lastAnswerDate, long version) {
+        return reconstitute(UserId.DEFAULT, id, question, answer, tag, category, lastAnswerDate, version);
+    }
+
+    /**
+     * Reconstruit une carte existante de l'utilisateur donné, avec sa version.
+     */
+    public static Card reconstitute(UserId owner, CardId id, String question, String answer, String tag,
+                                    Category category, LocalDate lastAnswerDate, long version) {
+        return new Card(owner, id, question, answer, tag, category, lastAnswerDate, version);
+    }
+
+    /**
+     * Crée une copie de cette carte, de même version.
+     * Une mise à jour modifie la copie sans toucher à la carte reçue.
+     */
+    public Card copy() {
+        return new Card(owner, id, question, answer, tag, category, lastAnswerDate, version);
+    }
+
+    /**
+     * Crée une copie de cette carte portant la version suivante.
+     * Utilisé par les repositories pour publier une nouvelle version
+     * sans modifier l'instance visible des lecteurs.
+     */
+    public Card nextVersion() {
+        return new Card(owner, id, question, answer, tag, category, lastAnswerDate, version + 1);
     }
 
     /**
@@ -85,20 +150,30 @@ public class Card {
      * @return true si la carte doit être révisée
      */
     public boolean shouldBeReviewedOn(LocalDate date, LocalDate referenceDate) {
+        return nextReviewDate()
+            .map(nextReview -> !date.isBefore(nextReview))
+            .orElse(false);
+    }
+
+    /**
+     * Calcule la date à partir de laquelle cette carte doit être révisée.
+     * - Carte DONE : jamais plus révisée (Optional.empty())
+     * - Carte jamais répondue : à réviser immédiatement (LocalDate.MIN)
+     * - Sinon : date de dernière réponse + fréquence de la catégorie
+     *
+     * @return la date de prochaine révision, vide si la carte est apprise
+     */
+    public Optional<LocalDate> nextReviewDate() {
         if (category.isDone()) {
-            return false;
+            return Optional.empty();
         }
-        
+
         // Nouvelle carte jamais répondue : toujours à réviser
         if (lastAnswerDate == null) {
-            return true;
+            return Optional.of(LocalDate.MIN);
         }
-        
-        // Calcul du nombre de jours depuis la dernière réponse
-        long daysSinceLastAnswer = java.time.temporal.ChronoUnit.DAYS.between(lastAnswerDate, date);
-        
-        // La carte doit être révisée si le délai depuis la dernière réponse >= fréquence de la catégorie
-        return daysSinceLastAnswer >= category.getFrequencyInDays();
+
+        return Optional.of(lastAnswerDate.plusDays(category.getFrequencyInDays()));
     }
 
     /**
@@ -133,6 +208,13 @@ public class Card {
         return id;
     }
 
+    /**
+     * Utilisateur propriétaire de la carte, UserId.DEFAULT si aucun n'a été précisé.
+     */
+    public UserId getOwner() {
+        return owner;
+    }
+
     public String getQuestion() {
         return question;
     }
@@ -153,6 +235,14 @@ public class Card {
         return lastAnswerDate;
     }
 
+    /**
+     * Version de la carte : 0 tant qu'elle n'a pas été enregistrée,
+     * puis incrémentée à chaque écriture dans le repository.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     public boolean isDone() {
         return category.isDone();
     }
@@ -176,6 +266,7 @@ public class Card {
                 "id=" + id +
                 ", question='" + question + '\'' +
                 ", category=" + category +
+                ", version=" + version +
                 ", tag='" + tag + '\'' +
                 '}';
     }
@@ -1,39 +1,136 @@
 package com.leitner.domain.model;
 
-import java.util.Objects;
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
  * Value Object représentant l'identifiant unique d'une carte.
  * Immutable et auto-généré si non fourni.
+ *
+ * Un identifiant UUID canonique (36 caractères, hexadécimal en minuscules)
+ * est stocké sous forme binaire, en deux long : la comparaison et le hachage
+ * ne parcourent plus de chaîne, et la forme texte n'est produite qu'à la demande
+ * (getValue), à la frontière REST ou de stockage. Toute autre valeur est
+ * conservée telle quelle, en chaîne.
+ *
+ * L'ordre naturel est celui des valeurs texte, quelle que soit la représentation :
+ * pour deux UUID canoniques, il coïncide avec l'ordre non signé des moitiés.
  */
-public final class CardId {
+public final class CardId implements Comparable<CardId> {
 
-    private final String value;
+    private static final int UUID_LENGTH = 36;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
-    private CardId(String value) {
-        if (value == null || value.isBlank()) {
-            throw new IllegalArgumentException("CardId cannot be null or blank");
+    // Valeur de chaque caractère ASCII en hexadécimal minuscule, -1 s'il n'en est pas un
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < HEX_DIGITS.length; i++) {
+            HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
         }
-        this.value = value;
+    }
+
+    private final long high;
+    private final long low;
+
+    // Valeur des identifiants non UUID, null pour la forme binaire
+    private final String legacyValue;
+
+    private CardId(long high, long low, String legacyValue) {
+        this.high = high;
+        this.low = low;
+        this.legacyValue = legacyValue;
     }
 
     /**
      * Crée un nouvel identifiant avec une valeur UUID générée automatiquement.
      */
     public static CardId generate() {
-        return new CardId(UUID.randomUUID().toString());
+        UUID uuid = UUID.randomUUID();
+        return new CardId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), null);
     }
 
     /**
      * Crée un identifiant à partir d'une valeur existante.
      */
     public static CardId of(String value) {
-        return new CardId(value);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("CardId cannot be null or blank");
+        }
+        long high = 0;
+        long low = 0;
+        String legacyValue = value;
+        if (hasUuidShape(value)) {
+            long time = parseHex(value, 0, 8);
+            long middle = parseHex(value, 9, 13);
+            long version = parseHex(value, 14, 18);
+            long variant = parseHex(value, 19, 23);
+            long node = parseHex(value, 24, 36);
+            if ((time | middle | version | variant | node) >= 0) {
+                high = time << 32 | middle << 16 | version;
+                low = variant << 48 | node;
+                legacyValue = null;
+            }
+        }
+        return new CardId(high, low, legacyValue);
+    }
+
+    /**
+     * Crée un identifiant UUID à partir de ses deux moitiés de 64 bits.
+     */
+    public static CardId of(long high, long low) {
+        return new CardId(high, low, null);
     }
 
+    /**
+     * Retourne la forme texte de l'identifiant, recalculée pour un UUID binaire.
+     */
     public String getValue() {
-        return value;
+        if (legacyValue != null) {
+            return legacyValue;
+        }
+        char[] chars = new char[UUID_LENGTH];
+        formatHex(chars, 0, high >>> 32, 8);
+        chars[8] = '-';
+        formatHex(chars, 9, high >>> 16, 4);
+        chars[13] = '-';
+        formatHex(chars, 14, high, 4);
+        chars[18] = '-';
+        formatHex(chars, 19, low >>> 48, 4);
+        chars[23] = '-';
+        formatHex(chars, 24, low, 12);
+        return new String(chars);
+    }
+
+    /**
+     * Indique si l'identifiant est un UUID stocké sous forme binaire.
+     */
+    public boolean isBinary() {
+        return legacyValue == null;
+    }
+
+    /**
+     * Poids fort de l'UUID (0 pour un identifiant non UUID).
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Poids faible de l'UUID (0 pour un identifiant non UUID).
+     */
+    public long getLow() {
+        return low;
+    }
+
+    @Override
+    public int compareTo(CardId other) {
+        if (legacyValue == null && other.legacyValue == null) {
+            int result = Long.compareUnsigned(high, other.high);
+            return result != 0 ? result : Long.compareUnsigned(low, other.low);
+        }
+        return getValue().compareTo(other.getValue());
     }
 
     @Override
@@ -41,16 +138,54 @@ public final class CardId {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         CardId cardId = (CardId) o;
-        return Objects.equals(value, cardId.value);
+        if (legacyValue != null) {
+            return legacyValue.equals(cardId.legacyValue);
+        }
+        return cardId.legacyValue == null && high == cardId.high && low == cardId.low;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        if (legacyValue != null) {
+            return legacyValue.hashCode();
+        }
+        // Mélange des deux moitiés : tous les bits influencent les bits de poids faible
+        long h = high * 0x9E3779B97F4A7C15L ^ low;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32));
     }
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
+    }
+
+    /**
+     * Seule la forme canonique (tirets en place, hexadécimal en minuscules)
+     * est convertie : la forme texte recalculée redonne exactement la valeur reçue.
+     */
+    private static boolean hasUuidShape(String value) {
+        return value.length() == UUID_LENGTH && value.charAt(8) == '-' && value.charAt(13) == '-'
+            && value.charAt(18) == '-' && value.charAt(23) == '-';
+    }
+
+    /**
+     * Lit au plus 12 chiffres hexadécimaux ; le résultat est négatif
+     * si l'un des caractères n'est pas un chiffre hexadécimal en minuscule.
+     */
+    private static long parseHex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            result = (result << 4) | (c < HEX_VALUES.length ? HEX_VALUES[c] : -1);
+        }
+        return result;
+    }
+
+    private static void formatHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
     }
 }
@@ -0,0 +1,28 @@
+package com.leitner.domain.model;
+
+import java.util.List;
+
+/**
+ * Page de résultats obtenue par pagination à curseur.
+ * Le curseur est opaque pour l'appelant : il suffit de le renvoyer
+ * pour obtenir la page suivante.
+ *
+ * @param items les éléments de la page, dans un ordre stable
+ * @param nextCursor le curseur de la page suivante, null s'il s'agit de la dernière page
+ */
+public record Page<T>(
+    List<T> items,
+    String nextCursor
+) {
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    public static <T> Page<T> last(List<T> items) {
+        return new Page<>(items, null);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.leitner.domain.model;
+
+/**
+ * Value Object représentant un tag enregistré dans le dictionnaire des tags.
+ * Un tag n'existe qu'en un exemplaire par nom dans un dictionnaire : les index
+ * des repositories manipulent son identifiant entier.
+ */
+public final class Tag {
+
+    private final int id;
+    private final String name;
+
+    Tag(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Identifiant attribué par le dictionnaire : petit entier, dense à partir de 0.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return id == ((Tag) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
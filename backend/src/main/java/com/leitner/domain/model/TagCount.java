@@ -0,0 +1,13 @@
+package com.leitner.domain.model;
+
+/**
+ * Nombre de cartes portant un tag.
+ *
+ * @param tag le nom du tag
+ * @param cardCount le nombre de cartes portant ce tag
+ */
+public record TagCount(
+    String tag,
+    long cardCount
+) {
+}
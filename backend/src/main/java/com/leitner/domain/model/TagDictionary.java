@@ -0,0 +1,84 @@
+package com.leitner.domain.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire des tags : associe chaque nom de tag à un identifiant entier.
+ *
+ * Les repositories indexent les cartes par identifiant de tag et ne comparent
+ * plus de chaînes ; les cartes stockées d'un même tag partagent le nom enregistré.
+ * La traduction inverse (identifiant -> nom) ne se fait qu'en bordure, pour
+ * l'API REST ou le stockage.
+ *
+ * Chaque repository reçoit son propre dictionnaire à la construction : il ne contient
+ * que les tags de la partition d'un utilisateur et disparaît avec elle. Il ne fait
+ * que croître : un tag reste enregistré même quand plus aucune carte ne le porte.
+ * Les recherches (find) n'enregistrent jamais de nouveau tag.
+ */
+public final class TagDictionary {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Tag> tagsByName = new ConcurrentHashMap<>();
+
+    // Tags indexés par identifiant, agrandi par doublement (lectures sans verrou) :
+    // un tag est rangé dans le tableau publié avant que size ne le couvre
+    private volatile Tag[] tagsById = new Tag[INITIAL_CAPACITY];
+    private volatile int size;
+
+    /**
+     * Retourne le tag de ce nom, en l'enregistrant s'il est inconnu.
+     */
+    public Tag intern(String name) {
+        Tag tag = tagsByName.get(name);
+        return tag != null ? tag : register(name);
+    }
+
+    /**
+     * Retourne le tag de ce nom, sans l'enregistrer s'il est inconnu.
+     */
+    public Optional<Tag> find(String name) {
+        return Optional.ofNullable(tagsByName.get(name));
+    }
+
+    /**
+     * Retourne le tag d'identifiant donné.
+     *
+     * @throws IllegalArgumentException si l'identifiant n'a pas été attribué
+     */
+    public Tag get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown tag id: " + id);
+        }
+        return tagsById[id];
+    }
+
+    /**
+     * Nombre de tags enregistrés ; les identifiants vont de 0 à size() - 1.
+     */
+    public int size() {
+        return size;
+    }
+
+    private synchronized Tag register(String name) {
+        Tag existing = tagsByName.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        Tag tag = new Tag(id, name);
+        Tag[] tags = tagsById;
+        if (id == tags.length) {
+            tags = Arrays.copyOf(tags, tags.length * 2);
+        }
+        tags[id] = tag;
+        // Publié par id avant d'être trouvable par nom : get(id) réussit toujours
+        tagsById = tags;
+        size = id + 1;
+        tagsByName.put(name, tag);
+        return tag;
+    }
+}
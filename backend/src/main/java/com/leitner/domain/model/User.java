@@ -111,6 +111,13 @@ public class User {
      * Value Object pour l'identifiant utilisateur.
      */
     public static final class UserId {
+
+        /**
+         * Propriétaire des cartes quand aucun utilisateur n'est précisé
+         * (déploiement mono-utilisateur, données antérieures au partitionnement).
+         */
+        public static final UserId DEFAULT = new UserId("default");
+
         private final String value;
 
         private UserId(String value) {
@@ -122,6 +129,9 @@ public class User {
         }
 
         public static UserId of(String value) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("UserId cannot be null or blank");
+            }
             return new UserId(value);
         }
 
@@ -1,6 +1,7 @@
 package com.leitner.domain.port.in;
 
 import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.User.UserId;
 
 /**
  * Port d'entrée pour répondre à une carte.
@@ -19,18 +20,24 @@ public interface AnswerCardUseCase {
     void execute(AnswerCardCommand command);
 
     /**
-     * Commande pour répondre à une carte.
+     * Commande pour répondre à une carte de l'utilisateur donné.
      */
     record AnswerCardCommand(
+        UserId userId,
         String cardId,
         boolean isValid
     ) {
         public AnswerCardCommand {
+            userId = userId == null ? UserId.DEFAULT : userId;
             if (cardId == null || cardId.isBlank()) {
                 throw new IllegalArgumentException("Card ID is required");
             }
         }
 
+        public AnswerCardCommand(String cardId, boolean isValid) {
+            this(UserId.DEFAULT, cardId, isValid);
+        }
+
         public CardId toCardId() {
             return CardId.of(cardId);
         }
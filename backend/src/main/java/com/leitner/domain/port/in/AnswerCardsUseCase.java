@@ -0,0 +1,79 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.User.UserId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Port d'entrée pour enregistrer un lot de réponses.
+ * Permet à un client de synchroniser en une fois une session de révision
+ * effectuée hors ligne, chaque réponse portant sa propre date.
+ */
+public interface AnswerCardsUseCase {
+
+    /**
+     * Enregistre un lot de réponses.
+     * Pour chaque carte, les réponses sont appliquées dans l'ordre chronologique ;
+     * une réponse antérieure à la dernière réponse connue de la carte est ignorée.
+     * Chaque carte est mise à jour atomiquement, sans écraser une réponse concurrente.
+     *
+     * @param command les réponses à enregistrer
+     * Toutes les cartes sont vérifiées avant d'appliquer la moindre réponse, mais le lot
+     * n'est pas une transaction : une carte supprimée entre cette vérification et sa mise
+     * à jour est signalée, les réponses aux autres cartes restant appliquées.
+     *
+     * @throws CardNotFoundException si une des cartes n'existe pas (aucune réponse n'est alors
+     *         appliquée, sauf suppression concurrente d'une carte)
+     */
+    void execute(AnswerCardsCommand command);
+
+    /**
+     * Commande pour enregistrer un lot de réponses aux cartes de l'utilisateur donné.
+     */
+    record AnswerCardsCommand(
+        UserId userId,
+        List<Answer> answers
+    ) {
+        public static final int MAX_ANSWERS = 1000;
+
+        public AnswerCardsCommand {
+            userId = userId == null ? UserId.DEFAULT : userId;
+            if (answers == null || answers.isEmpty()) {
+                throw new IllegalArgumentException("At least one answer is required");
+            }
+            if (answers.size() > MAX_ANSWERS) {
+                throw new IllegalArgumentException("At most " + MAX_ANSWERS + " answers per batch");
+            }
+            answers = List.copyOf(answers);
+        }
+
+        public AnswerCardsCommand(List<Answer> answers) {
+            this(UserId.DEFAULT, answers);
+        }
+    }
+
+    /**
+     * Réponse à une carte, horodatée par le client.
+     * Sans horodatage, la réponse est datée de l'instant de réception.
+     */
+    record Answer(
+        String cardId,
+        boolean isValid,
+        LocalDateTime answeredAt
+    ) {
+        public Answer {
+            if (cardId == null || cardId.isBlank()) {
+                throw new IllegalArgumentException("Card ID is required");
+            }
+            if (answeredAt == null) {
+                answeredAt = LocalDateTime.now();
+            }
+        }
+
+        public CardId toCardId() {
+            return CardId.of(cardId);
+        }
+    }
+}
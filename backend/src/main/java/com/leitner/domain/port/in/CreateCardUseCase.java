@@ -1,6 +1,7 @@
 package com.leitner.domain.port.in;
 
 import com.leitner.domain.model.Card;
+import com.leitner.domain.model.User.UserId;
 
 /**
  * Port d'entrée pour la création d'une carte.
@@ -20,13 +21,16 @@ public interface CreateCardUseCase {
     /**
      * Commande pour créer une carte.
      * Pattern CQRS : séparation des commandes et des requêtes.
+     * La carte créée appartient à userId (UserId.DEFAULT si absent).
      */
     record CreateCardCommand(
+        UserId userId,
         String question,
         String answer,
         String tag
     ) {
         public CreateCardCommand {
+            userId = userId == null ? UserId.DEFAULT : userId;
             if (question == null || question.isBlank()) {
                 throw new IllegalArgumentException("Question is required");
             }
@@ -34,5 +38,9 @@ public interface CreateCardUseCase {
                 throw new IllegalArgumentException("Answer is required");
             }
         }
+
+        public CreateCardCommand(String question, String answer, String tag) {
+            this(UserId.DEFAULT, question, answer, tag);
+        }
     }
 }
@@ -1,9 +1,11 @@
 package com.leitner.domain.port.in;
 
 import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Port d'entrée pour la récupération des cartes.
@@ -20,16 +22,50 @@ public interface GetCardsUseCase {
     List<Card> execute(GetCardsQuery query);
 
     /**
-     * Query pour récupérer les cartes.
+     * Récupère une page de cartes, optionnellement filtrées par tags.
+     * Les cartes sont triées par identifiant : le parcours page par page est stable.
+     *
+     * @param query les critères de recherche et la position dans le deck
+     * @return la page de cartes correspondantes
+     */
+    Page<Card> execute(GetCardsPageQuery query);
+
+    /**
+     * Parcourt les cartes, optionnellement filtrées par tags, sans les charger en mémoire.
+     * Destiné aux réponses en streaming : le flux doit être consommé puis fermé.
+     *
+     * @param query les critères de recherche
+     * @return le flux paresseux des cartes correspondantes, triées par identifiant
+     */
+    Stream<Card> stream(GetCardsQuery query);
+
+    /**
+     * Numéro de changement des cartes de l'utilisateur, sans les lire.
+     * Tant qu'il est inchangé, les lectures des cartes et du quiz d'une même date
+     * renvoient le même résultat : il permet de valider une réponse déjà connue du client.
+     *
+     * @param userId l'utilisateur
+     * @return le numéro de la dernière écriture sur ses cartes
+     */
+    long changeSequence(UserId userId);
+
+    /**
+     * Query pour récupérer les cartes d'un utilisateur.
      * Pattern CQRS : séparation des commandes et des requêtes.
      */
     record GetCardsQuery(
+        UserId userId,
         List<String> tags
     ) {
         public GetCardsQuery {
+            userId = userId == null ? UserId.DEFAULT : userId;
             tags = tags == null ? List.of() : tags;
         }
 
+        public GetCardsQuery(List<String> tags) {
+            this(UserId.DEFAULT, tags);
+        }
+
         public static GetCardsQuery all() {
             return new GetCardsQuery(List.of());
         }
@@ -42,4 +78,30 @@ public interface GetCardsUseCase {
             return !tags.isEmpty();
         }
     }
+
+    /**
+     * Query pour récupérer une page de cartes.
+     * Le curseur est celui renvoyé par la page précédente (null pour la première page).
+     */
+    record GetCardsPageQuery(
+        UserId userId,
+        List<String> tags,
+        String cursor,
+        int limit
+    ) {
+        public static final int MAX_LIMIT = 1000;
+
+        public GetCardsPageQuery {
+            userId = userId == null ? UserId.DEFAULT : userId;
+            tags = tags == null ? List.of() : tags;
+            cursor = cursor == null || cursor.isBlank() ? null : cursor;
+            if (limit < 1 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+            }
+        }
+
+        public GetCardsPageQuery(List<String> tags, String cursor, int limit) {
+            this(UserId.DEFAULT, tags, cursor, limit);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.leitner.domain.port.in;
 
 import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,17 +23,32 @@ public interface GetQuizCardsUseCase {
     List<Card> execute(GetQuizCardsQuery query);
 
     /**
-     * Query pour récupérer les cartes du quiz.
+     * Récupère une page des cartes à réviser pour une date donnée.
+     * Les cartes sont triées par jour de prochaine révision puis par identifiant.
+     *
+     * @param query la date du quiz et la position dans la liste
+     * @return la page de cartes à réviser
+     */
+    Page<Card> execute(GetQuizCardsPageQuery query);
+
+    /**
+     * Query pour récupérer les cartes du quiz d'un utilisateur.
      */
     record GetQuizCardsQuery(
+        UserId userId,
         LocalDate date
     ) {
         public GetQuizCardsQuery {
+            userId = userId == null ? UserId.DEFAULT : userId;
             if (date == null) {
                 date = LocalDate.now();
             }
         }
 
+        public GetQuizCardsQuery(LocalDate date) {
+            this(UserId.DEFAULT, date);
+        }
+
         public static GetQuizCardsQuery forToday() {
             return new GetQuizCardsQuery(LocalDate.now());
         }
@@ -40,4 +57,32 @@ public interface GetQuizCardsUseCase {
             return new GetQuizCardsQuery(date);
         }
     }
+
+    /**
+     * Query pour récupérer une page des cartes du quiz.
+     * Le curseur est celui renvoyé par la page précédente (null pour la première page).
+     */
+    record GetQuizCardsPageQuery(
+        UserId userId,
+        LocalDate date,
+        String cursor,
+        int limit
+    ) {
+        public static final int MAX_LIMIT = 1000;
+
+        public GetQuizCardsPageQuery {
+            userId = userId == null ? UserId.DEFAULT : userId;
+            if (date == null) {
+                date = LocalDate.now();
+            }
+            cursor = cursor == null || cursor.isBlank() ? null : cursor;
+            if (limit < 1 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+            }
+        }
+
+        public GetQuizCardsPageQuery(LocalDate date, String cursor, int limit) {
+            this(UserId.DEFAULT, date, cursor, limit);
+        }
+    }
 }
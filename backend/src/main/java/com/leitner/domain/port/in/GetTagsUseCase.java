@@ -0,0 +1,21 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+
+import java.util.List;
+
+/**
+ * Port d'entrée pour la liste des tags utilisés par les cartes.
+ */
+public interface GetTagsUseCase {
+
+    /**
+     * Liste les tags portés par au moins une carte de l'utilisateur, avec leur nombre de cartes.
+     * Le résultat provient des compteurs du repository, sans parcours du deck.
+     *
+     * @param userId l'utilisateur propriétaire des cartes
+     * @return les tags triés par nom
+     */
+    List<TagCount> listTags(UserId userId);
+}
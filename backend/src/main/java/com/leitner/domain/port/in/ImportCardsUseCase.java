@@ -0,0 +1,92 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.User.UserId;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Port d'entrée pour l'import en masse de cartes.
+ * Les lignes sont consommées au fil de l'eau : l'import ne dépend pas
+ * de la taille totale du fichier en mémoire.
+ */
+public interface ImportCardsUseCase {
+
+    /**
+     * Importe les cartes décrites par les lignes fournies.
+     * Chaque ligne est validée avec les mêmes règles que la création unitaire ;
+     * les lignes invalides sont rejetées et rapportées sans interrompre l'import.
+     *
+     * @param command les lignes à importer
+     * @return le rapport d'import (cartes créées, lignes rejetées)
+     */
+    ImportReport execute(ImportCardsCommand command);
+
+    /**
+     * Commande d'import : source itérable des lignes lues par l'adapter.
+     * Les cartes importées appartiennent à userId.
+     */
+    record ImportCardsCommand(
+        UserId userId,
+        Iterator<ImportRow> rows
+    ) {
+        public ImportCardsCommand {
+            userId = userId == null ? UserId.DEFAULT : userId;
+            if (rows == null) {
+                throw new IllegalArgumentException("Rows are required");
+            }
+        }
+
+        public ImportCardsCommand(Iterator<ImportRow> rows) {
+            this(UserId.DEFAULT, rows);
+        }
+    }
+
+    /**
+     * Ligne d'import. Une ligne que l'adapter n'a pas su lire porte un message d'erreur.
+     */
+    record ImportRow(
+        long line,
+        String question,
+        String answer,
+        String tag,
+        String error
+    ) {
+        public static ImportRow of(long line, String question, String answer, String tag) {
+            return new ImportRow(line, question, answer, tag, null);
+        }
+
+        public static ImportRow malformed(long line, String error) {
+            return new ImportRow(line, null, null, null, error);
+        }
+
+        public boolean isMalformed() {
+            return error != null;
+        }
+    }
+
+    /**
+     * Rapport d'import.
+     * Seules les premières erreurs sont détaillées ; rejected compte toutes les lignes rejetées.
+     */
+    record ImportReport(
+        long imported,
+        long rejected,
+        List<RowError> errors
+    ) {
+        public static final int MAX_REPORTED_ERRORS = 100;
+
+        public ImportReport {
+            errors = List.copyOf(errors);
+        }
+    }
+
+    /**
+     * Erreur rattachée à une ligne du fichier importé.
+     */
+    record RowError(
+        long line,
+        String message
+    ) {
+    }
+}
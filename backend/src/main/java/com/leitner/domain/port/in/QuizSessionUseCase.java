@@ -0,0 +1,99 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.User.UserId;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Port d'entrée des sessions de quiz.
+ * Une session parcourt les cartes du quiz d'une date côté serveur : le client reçoit
+ * les cartes par lots, et chaque réponse lui renvoie le lot suivant quand il en a besoin,
+ * au lieu de charger toute la liste puis d'envoyer une requête par réponse.
+ */
+public interface QuizSessionUseCase {
+
+    /**
+     * Ouvre une session sur les cartes du quiz et renvoie le premier lot.
+     * Un quiz vide donne une session déjà terminée (aucune carte restante).
+     *
+     * @param command l'utilisateur, la date du quiz et la taille des lots
+     * @return l'identifiant de la session et le premier lot de cartes
+     */
+    QuizSessionBatch execute(StartQuizSessionCommand command);
+
+    /**
+     * Enregistre la réponse à une carte de la session et renvoie le lot suivant,
+     * vide si le client a encore assez de cartes d'avance.
+     *
+     * @param command la session, la carte et la réponse
+     * @return le lot suivant et le nombre de cartes restant à répondre
+     * @throws QuizSessionNotFoundException si la session n'existe pas, a expiré ou est terminée
+     * @throws IllegalArgumentException si la carte n'attend pas de réponse dans la session
+     */
+    QuizSessionBatch execute(AnswerInSessionCommand command);
+
+    /**
+     * Commande pour ouvrir une session sur le quiz d'un utilisateur.
+     */
+    record StartQuizSessionCommand(
+        UserId userId,
+        LocalDate date,
+        int batchSize
+    ) {
+        public static final int DEFAULT_BATCH_SIZE = 20;
+        public static final int MAX_BATCH_SIZE = 1000;
+
+        public StartQuizSessionCommand {
+            userId = userId == null ? UserId.DEFAULT : userId;
+            if (date == null) {
+                date = LocalDate.now();
+            }
+            if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Commande pour répondre à une carte dans une session.
+     */
+    record AnswerInSessionCommand(
+        UserId userId,
+        String sessionId,
+        String cardId,
+        boolean isValid
+    ) {
+        public AnswerInSessionCommand {
+            userId = userId == null ? UserId.DEFAULT : userId;
+            if (sessionId == null || sessionId.isBlank()) {
+                throw new IllegalArgumentException("Session ID is required");
+            }
+            if (cardId == null || cardId.isBlank()) {
+                throw new IllegalArgumentException("Card ID is required");
+            }
+        }
+    }
+
+    /**
+     * Lot de cartes envoyé au client.
+     *
+     * @param sessionId l'identifiant de la session
+     * @param cards les cartes à ajouter à celles que le client a déjà reçues
+     * @param remaining le nombre de cartes de la session qui attendent encore une réponse
+     */
+    record QuizSessionBatch(
+        String sessionId,
+        List<Card> cards,
+        int remaining
+    ) {
+        public QuizSessionBatch {
+            cards = List.copyOf(cards);
+        }
+
+        public boolean isCompleted() {
+            return remaining == 0;
+        }
+    }
+}
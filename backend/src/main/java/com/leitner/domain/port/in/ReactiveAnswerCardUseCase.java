@@ -0,0 +1,20 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante non bloquante du port de réponse à une carte.
+ */
+public interface ReactiveAnswerCardUseCase {
+
+    /**
+     * Enregistre la réponse de l'utilisateur pour une carte.
+     *
+     * @param command l'identifiant de la carte et si la réponse est correcte
+     * @return un futur terminé une fois la carte mise à jour, en échec avec
+     *         CardNotFoundException si la carte n'existe pas
+     */
+    CompletableFuture<Void> execute(AnswerCardCommand command);
+}
@@ -0,0 +1,20 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.port.in.AnswerCardsUseCase.AnswerCardsCommand;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante non bloquante du port de réponses groupées.
+ */
+public interface ReactiveAnswerCardsUseCase {
+
+    /**
+     * Enregistre un lot de réponses horodatées.
+     *
+     * @param command les réponses à appliquer
+     * @return un futur terminé une fois toutes les cartes mises à jour, en échec avec
+     *         CardNotFoundException (sans rien appliquer) si une carte n'existe pas
+     */
+    CompletableFuture<Void> execute(AnswerCardsCommand command);
+}
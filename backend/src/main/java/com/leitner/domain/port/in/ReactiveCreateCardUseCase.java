@@ -0,0 +1,20 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.port.in.CreateCardUseCase.CreateCardCommand;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante non bloquante du port de création de carte.
+ */
+public interface ReactiveCreateCardUseCase {
+
+    /**
+     * Crée une nouvelle carte en catégorie FIRST.
+     *
+     * @param command les données de la carte à créer
+     * @return la carte créée, une fois sauvegardée
+     */
+    CompletableFuture<Card> execute(CreateCardCommand command);
+}
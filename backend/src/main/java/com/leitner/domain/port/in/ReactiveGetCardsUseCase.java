@@ -0,0 +1,33 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsPageQuery;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsQuery;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Variante non bloquante du port de récupération des cartes.
+ */
+public interface ReactiveGetCardsUseCase {
+
+    /**
+     * Publie les cartes, optionnellement filtrées par tags, triées par identifiant.
+     * Les cartes sont lues page par page, à mesure que l'abonné les demande
+     * (request) : un abonné lent ne fait pas lire tout le deck d'avance.
+     *
+     * @param query les critères de recherche
+     * @return le flux des cartes
+     */
+    Flow.Publisher<Card> stream(GetCardsQuery query);
+
+    /**
+     * Récupère une page de cartes triées par identifiant.
+     *
+     * @param query les critères de recherche et la position dans la liste
+     * @return la page de cartes
+     */
+    CompletableFuture<Page<Card>> execute(GetCardsPageQuery query);
+}
@@ -0,0 +1,32 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Variante non bloquante du port du quiz.
+ */
+public interface ReactiveGetQuizCardsUseCase {
+
+    /**
+     * Publie les cartes à réviser pour une date donnée, lues page par page
+     * à mesure que l'abonné les demande.
+     *
+     * @param query la date du quiz
+     * @return le flux des cartes à réviser
+     */
+    Flow.Publisher<Card> stream(GetQuizCardsQuery query);
+
+    /**
+     * Récupère une page des cartes à réviser pour une date donnée.
+     *
+     * @param query la date du quiz et la position dans la liste
+     * @return la page de cartes à réviser
+     */
+    CompletableFuture<Page<Card>> execute(GetQuizCardsPageQuery query);
+}
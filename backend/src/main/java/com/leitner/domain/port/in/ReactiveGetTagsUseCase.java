@@ -0,0 +1,21 @@
+package com.leitner.domain.port.in;
+
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante non bloquante du port de liste des tags.
+ */
+public interface ReactiveGetTagsUseCase {
+
+    /**
+     * Liste les tags des cartes de l'utilisateur, triés par nom.
+     *
+     * @param userId l'utilisateur propriétaire des cartes
+     * @return les tags et leur nombre de cartes
+     */
+    CompletableFuture<List<TagCount>> listTags(UserId userId);
+}
@@ -0,0 +1,60 @@
+package com.leitner.domain.port.out;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+
+/**
+ * Port de sortie non bloquant pour la persistence des cartes.
+ *
+ * Mêmes opérations et même sémantique que CardRepository, mais chaque appel rend
+ * la main immédiatement : le résultat est livré par le futur, une fois l'opération
+ * terminée (écriture durable comprise). Un appelant peut ainsi servir de nombreuses
+ * requêtes avec quelques threads, sans en bloquer un par entrée/sortie en cours.
+ *
+ * Les méthodes portent le suffixe Async pour qu'un même adapter puisse implémenter
+ * les deux ports.
+ */
+public interface AsyncCardRepository {
+
+    /**
+     * Sauvegarde une carte.
+     *
+     * @return la carte sauvegardée, une fois l'écriture terminée
+     */
+    CompletableFuture<Card> saveAsync(Card card);
+
+    /**
+     * Met à jour atomiquement une carte existante (voir CardRepository.update).
+     *
+     * @return la carte mise à jour, vide si elle n'existe pas
+     */
+    CompletableFuture<Optional<Card>> updateAsync(CardId id, UnaryOperator<Card> updater);
+
+    /**
+     * Vérifie si une carte existe.
+     */
+    CompletableFuture<Boolean> existsByIdAsync(CardId id);
+
+    /**
+     * Compte les cartes de chaque tag utilisé.
+     */
+    CompletableFuture<List<TagCount>> countByTagAsync();
+
+    /**
+     * Récupère une page de cartes triées par identifiant (voir CardRepository.findPage).
+     */
+    CompletableFuture<Page<Card>> findPageAsync(List<String> tags, String cursor, int limit);
+
+    /**
+     * Récupère une page des cartes échues à une date (voir CardRepository.findDuePage).
+     */
+    CompletableFuture<Page<Card>> findDuePageAsync(LocalDate date, String cursor, int limit);
+}
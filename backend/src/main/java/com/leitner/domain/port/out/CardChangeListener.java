@@ -0,0 +1,59 @@
+package com.leitner.domain.port.out;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+
+/**
+ * Port de sortie par lequel la persistence signale les changements de cartes,
+ * une fois l'écriture terminée (durable pour les stockages sur disque).
+ *
+ * Les notifications sont émises par le thread qui a terminé l'écriture :
+ * une implémentation doit être rapide et supporter des appels concurrents.
+ * Deux écritures concurrentes d'une même carte peuvent être notifiées
+ * dans le désordre ; la version de la carte permet de les ordonner.
+ */
+public interface CardChangeListener {
+
+    /**
+     * Une carte a été créée ou mise à jour.
+     *
+     * @param card l'état enregistré de la carte (propriétaire et version compris)
+     */
+    void cardSaved(Card card);
+
+    /**
+     * Une carte a été supprimée.
+     */
+    void cardDeleted(UserId owner, CardId id);
+
+    /**
+     * Une carte a changé de catégorie, a été créée (before null) ou supprimée (after null) :
+     * de quoi tenir des compteurs par catégorie sans relire les cartes.
+     * Signalé en plus de cardSaved ou cardDeleted. Par défaut, ignoré.
+     *
+     * @param owner le propriétaire de la carte
+     * @param before la catégorie avant l'écriture, null si la carte n'existait pas
+     * @param after la catégorie après l'écriture, null si la carte a été supprimée
+     */
+    default void categoryChanged(UserId owner, Category before, Category after) {
+    }
+
+    /**
+     * La partition de l'utilisateur vient d'être ouverte (créée, ou rechargée depuis
+     * le stockage), avant toute écriture : les changements signalés ensuite partent
+     * de son état à cet instant. Par défaut, ignoré.
+     *
+     * @param owner le propriétaire de la partition
+     * @param partition la partition, à ne lire que pendant l'appel
+     */
+    default void partitionOpened(UserId owner, CardRepository partition) {
+    }
+
+    /**
+     * Toutes les cartes de l'utilisateur ont été oubliées ou rechargées
+     * (partition fermée) : rien de ce qui a été lu auparavant n'est garanti.
+     */
+    void partitionDiscarded(UserId owner);
+}
@@ -0,0 +1,19 @@
+package com.leitner.domain.port.out;
+
+import com.leitner.domain.model.CardId;
+
+/**
+ * Port de sortie pour la génération des identifiants de cartes.
+ * L'infrastructure choisit la stratégie (UUID aléatoire, UUID ordonné dans le temps...).
+ */
+@FunctionalInterface
+public interface CardIdGenerator {
+
+    /**
+     * Génère l'identifiant d'une nouvelle carte.
+     * Doit pouvoir être appelé concurremment par plusieurs threads.
+     *
+     * @return un identifiant unique
+     */
+    CardId nextId();
+}
@@ -2,9 +2,18 @@ package com.leitner.domain.port.out;
 
 import com.leitner.domain.model.Card;
 import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
 
+import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Port de sortie pour la persistence des cartes.
@@ -16,12 +25,38 @@ public interface CardRepository {
 
     /**
      * Sauvegarde une carte (création ou mise à jour).
+     * Si la carte porte une version non nulle, elle doit correspondre
+     * à la version enregistrée (contrôle optimiste) ; une carte de version 0
+     * est écrite sans contrôle.
      *
      * @param card la carte à sauvegarder
-     * @return la carte sauvegardée
+     * @return la carte sauvegardée, avec sa nouvelle version
+     * @throws com.leitner.domain.exception.CardVersionConflictException si la version est périmée
      */
     Card save(Card card);
 
+    /**
+     * Met à jour atomiquement une carte existante (lecture-modification-écriture).
+     * La fonction reçoit la version courante et renvoie la nouvelle version,
+     * sans modifier la carte reçue (Card.copy) ;
+     * aucune autre écriture sur la même carte ne peut s'intercaler.
+     * La fonction peut être exécutée sous verrou : elle doit être courte
+     * et ne pas rappeler le repository.
+     *
+     * @param id l'identifiant de la carte
+     * @param updater la modification à appliquer
+     * @return la carte mise à jour, Optional.empty() si elle n'existe pas
+     */
+    Optional<Card> update(CardId id, UnaryOperator<Card> updater);
+
+    /**
+     * Sauvegarde plusieurs cartes en une seule opération groupée.
+     *
+     * @param cards les cartes à sauvegarder
+     * @return les cartes sauvegardées
+     */
+    List<Card> saveAll(List<Card> cards);
+
     /**
      * Recherche une carte par son identifiant.
      *
@@ -45,6 +80,60 @@ public interface CardRepository {
      */
     List<Card> findByTags(List<String> tags);
 
+    /**
+     * Compte les cartes de chaque tag.
+     * Les implémentations s'appuient sur des compteurs tenus à jour à chaque écriture,
+     * ou sur un index des tags : les cartes elles-mêmes ne sont pas parcourues.
+     * Les tags qu'aucune carte ne porte plus ne figurent pas dans le résultat.
+     *
+     * @return le nombre de cartes par tag, dans un ordre quelconque
+     */
+    List<TagCount> countByTag();
+
+    /**
+     * Récupère les cartes dont la date de prochaine révision est atteinte
+     * à la date donnée (cartes jamais répondues incluses, cartes DONE exclues).
+     * Les implémentations doivent s'appuyer sur un index pour que le coût
+     * dépende du nombre de cartes à réviser et non de la taille du deck.
+     *
+     * @param date la date du quiz
+     * @return la liste des cartes à réviser
+     */
+    List<Card> findDueOn(LocalDate date);
+
+    /**
+     * Récupère une page de cartes, optionnellement filtrées par tags,
+     * triées par identifiant.
+     *
+     * @param tags les tags à rechercher (liste vide pour toutes les cartes)
+     * @param cursor le curseur renvoyé par la page précédente, null pour la première page
+     * @param limit le nombre maximal de cartes de la page
+     * @return la page de cartes
+     */
+    Page<Card> findPage(List<String> tags, String cursor, int limit);
+
+    /**
+     * Parcourt les cartes, optionnellement filtrées par tags, triées par identifiant.
+     * Le flux est paresseux : les cartes sont lues au fur et à mesure de sa consommation,
+     * sans copie préalable du résultat.
+     *
+     * @param tags les tags à rechercher (liste vide pour toutes les cartes)
+     * @return le flux des cartes correspondantes, à fermer après usage
+     */
+    Stream<Card> stream(List<String> tags);
+
+    /**
+     * Récupère une page de cartes à réviser à la date donnée,
+     * triées par jour de prochaine révision puis par identifiant.
+     *
+     * @param date la date du quiz
+     * @param cursor le curseur renvoyé par la page précédente, null pour la première page
+     * @param limit le nombre maximal de cartes de la page
+     * @return la page de cartes à réviser
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    Page<Card> findDuePage(LocalDate date, String cursor, int limit);
+
     /**
      * Supprime une carte par son identifiant.
      *
@@ -59,4 +148,29 @@ public interface CardRepository {
      * @return true si la carte existe
      */
     boolean existsById(CardId id);
+
+    /**
+     * Compte les cartes de chaque catégorie.
+     * Par défaut, parcourt les cartes en flux ; les implémentations qui le peuvent
+     * comptent sans lire les cartes.
+     *
+     * @return le nombre de cartes par catégorie, les catégories vides absentes
+     */
+    default Map<Category, Long> countByCategory() {
+        try (Stream<Card> cards = stream(List.of())) {
+            return cards.collect(Collectors.groupingBy(
+                Card::getCategory, () -> new EnumMap<>(Category.class), Collectors.counting()));
+        }
+    }
+
+    /**
+     * Numéro de changement du repository : il augmente après chaque écriture
+     * (sauvegarde, mise à jour, suppression), une fois celle-ci visible des lectures.
+     * Tant qu'il n'a pas changé, les lectures renvoient les mêmes cartes : il sert
+     * de validateur (ETag) sans relire les cartes. Sa lecture ne fait aucune
+     * entrée/sortie.
+     *
+     * @return le numéro de la dernière écriture
+     */
+    long changeSequence();
 }
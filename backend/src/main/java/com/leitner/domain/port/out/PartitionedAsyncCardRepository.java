@@ -0,0 +1,31 @@
+package com.leitner.domain.port.out;
+
+import com.leitner.domain.model.User.UserId;
+
+/**
+ * Port de sortie donnant un accès non bloquant aux cartes d'un utilisateur.
+ * Même partitionnement que PartitionedCardRepository.
+ */
+@FunctionalInterface
+public interface PartitionedAsyncCardRepository {
+
+    /**
+     * Retourne l'accès non bloquant à la partition de l'utilisateur.
+     * Doit pouvoir être appelé concurremment par plusieurs threads.
+     *
+     * @param owner l'utilisateur propriétaire des cartes
+     * @return le repository non bloquant des cartes de cet utilisateur
+     */
+    AsyncCardRepository forUserAsync(UserId owner);
+
+    /**
+     * Accès non bloquant pour une lecture, sans créer la partition
+     * (voir PartitionedCardRepository.forReading). Par défaut, celui de forUserAsync.
+     *
+     * @param owner l'utilisateur propriétaire des cartes
+     * @return le repository non bloquant des cartes de cet utilisateur, vide s'il n'en a pas
+     */
+    default AsyncCardRepository forReadingAsync(UserId owner) {
+        return forUserAsync(owner);
+    }
+}
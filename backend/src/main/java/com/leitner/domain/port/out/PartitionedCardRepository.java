@@ -0,0 +1,37 @@
+package com.leitner.domain.port.out;
+
+import com.leitner.domain.model.User.UserId;
+
+/**
+ * Port de sortie donnant accès aux cartes d'un utilisateur.
+ * Chaque utilisateur dispose de sa propre partition : un repository indépendant,
+ * avec ses index et ses verrous. Les requêtes et les écritures d'un utilisateur
+ * ne parcourent ni ne bloquent les cartes des autres.
+ */
+@FunctionalInterface
+public interface PartitionedCardRepository {
+
+    /**
+     * Retourne la partition de l'utilisateur, créée au premier accès.
+     * Doit pouvoir être appelé concurremment par plusieurs threads ;
+     * deux appels pour le même utilisateur retournent la même partition.
+     *
+     * @param owner l'utilisateur propriétaire des cartes
+     * @return le repository des cartes de cet utilisateur
+     */
+    CardRepository forUser(UserId owner);
+
+    /**
+     * Retourne la partition de l'utilisateur pour une lecture, sans la créer :
+     * si l'utilisateur n'a pas de partition (ouverte ou conservée par le stockage),
+     * retourne une partition vide où rien ne peut être créé : save et saveAll y lèvent
+     * PartitionOpenedForReadingException.
+     * Par défaut, la partition de forUser.
+     *
+     * @param owner l'utilisateur propriétaire des cartes
+     * @return le repository des cartes de cet utilisateur, vide s'il n'en a pas
+     */
+    default CardRepository forReading(UserId owner) {
+        return forUser(owner);
+    }
+}
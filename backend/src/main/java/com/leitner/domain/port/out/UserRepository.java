@@ -9,13 +9,17 @@ import java.util.Optional;
  * Port de sortie pour la persistence des utilisateurs.
  * 
  * NOTE: Ce port est prévu pour une future implémentation de l'authentification.
- * Conformément à l'énoncé, seule l'architecture est mise en place.
- * L'implémentation fonctionnelle n'est pas requise.
+ * Il est implémenté en mémoire (InMemoryUserRepository), sans endpoint REST pour l'instant.
  */
 public interface UserRepository {
 
     /**
-     * Sauvegarde un utilisateur.
+     * Sauvegarde un utilisateur (création ou mise à jour).
+     * Le nom d'utilisateur et l'email (sans tenir compte de la casse) sont uniques :
+     * de deux inscriptions concurrentes avec le même nom, une seule aboutit.
+     *
+     * @throws com.leitner.domain.exception.UserAlreadyExistsException si le nom
+     *         ou l'email appartient déjà à un autre utilisateur
      */
     User save(User user);
 
@@ -30,7 +34,7 @@ public interface UserRepository {
     Optional<User> findByUsername(String username);
 
     /**
-     * Recherche un utilisateur par son email.
+     * Recherche un utilisateur par son email, sans tenir compte de la casse.
      */
     Optional<User> findByEmail(String email);
 
@@ -40,7 +44,7 @@ public interface UserRepository {
     boolean existsByUsername(String username);
 
     /**
-     * Vérifie si un email existe déjà.
+     * Vérifie si un email existe déjà, sans tenir compte de la casse.
      */
     boolean existsByEmail(String email);
 }
@@ -2,15 +2,30 @@ package com.leitner.domain.service;
 
 import com.leitner.domain.exception.CardNotFoundException;
 import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
 import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
 import com.leitner.domain.port.in.AnswerCardUseCase;
+import com.leitner.domain.port.in.AnswerCardsUseCase;
 import com.leitner.domain.port.in.CreateCardUseCase;
 import com.leitner.domain.port.in.GetCardsUseCase;
 import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.in.GetTagsUseCase;
+import com.leitner.domain.port.in.ImportCardsUseCase;
+import com.leitner.domain.port.out.CardIdGenerator;
 import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.out.PartitionedCardRepository;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Service du domaine implémentant tous les use cases liés aux cartes.
@@ -18,19 +33,50 @@ import java.util.List;
  * 
  * Cette classe est le cœur du domaine et contient toute la logique métier
  * du système de Leitner.
+ *
+ * Chaque commande porte l'utilisateur concerné : le service n'accède qu'à la
+ * partition de cet utilisateur, jamais aux cartes des autres.
  */
-public class CardService implements CreateCardUseCase, GetCardsUseCase, GetQuizCardsUseCase, AnswerCardUseCase {
+public class CardService implements CreateCardUseCase, GetCardsUseCase, GetQuizCardsUseCase,
+        AnswerCardUseCase, AnswerCardsUseCase, ImportCardsUseCase, GetTagsUseCase {
 
-    private final CardRepository cardRepository;
+    // Nombre de cartes importées enregistrées par appel à saveAll
+    static final int IMPORT_BATCH_SIZE = 500;
+
+    private final PartitionedCardRepository cardRepositories;
+    private final CardIdGenerator cardIdGenerator;
     private final LocalDate systemStartDate;
 
     /**
-     * Crée un nouveau service de cartes.
+     * Crée un nouveau service de cartes sur un repository unique,
+     * partagé par tous les utilisateurs.
      * 
      * @param cardRepository le repository pour la persistence des cartes
      */
     public CardService(CardRepository cardRepository) {
-        this.cardRepository = cardRepository;
+        this(cardRepository, CardId::generate);
+    }
+
+    /**
+     * Crée un nouveau service de cartes avec une stratégie de génération d'identifiants,
+     * sur un repository unique partagé par tous les utilisateurs.
+     *
+     * @param cardRepository le repository pour la persistence des cartes
+     * @param cardIdGenerator le générateur des identifiants des nouvelles cartes
+     */
+    public CardService(CardRepository cardRepository, CardIdGenerator cardIdGenerator) {
+        this(owner -> cardRepository, cardIdGenerator);
+    }
+
+    /**
+     * Crée un nouveau service de cartes partitionné par utilisateur.
+     *
+     * @param cardRepositories les partitions de cartes, une par utilisateur
+     * @param cardIdGenerator le générateur des identifiants des nouvelles cartes
+     */
+    public CardService(PartitionedCardRepository cardRepositories, CardIdGenerator cardIdGenerator) {
+        this.cardRepositories = cardRepositories;
+        this.cardIdGenerator = cardIdGenerator;
         this.systemStartDate = LocalDate.now();
     }
 
@@ -39,50 +85,218 @@ public class CardService implements CreateCardUseCase, GetCardsUseCase, GetQuizC
      * Utile pour les tests.
      */
     public CardService(CardRepository cardRepository, LocalDate systemStartDate) {
-        this.cardRepository = cardRepository;
+        this.cardRepositories = owner -> cardRepository;
+        this.cardIdGenerator = CardId::generate;
         this.systemStartDate = systemStartDate;
     }
 
     @Override
     public Card execute(CreateCardCommand command) {
         Card card = Card.create(
+            command.userId(),
+            cardIdGenerator.nextId(),
             command.question(),
             command.answer(),
             command.tag()
         );
-        return cardRepository.save(card);
+        return partition(command.userId()).save(card);
+    }
+
+    @Override
+    public ImportReport execute(ImportCardsCommand command) {
+        CardRepository cardRepository = partition(command.userId());
+        List<Card> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<RowError> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+
+        Iterator<ImportRow> rows = command.rows();
+        while (rows.hasNext()) {
+            ImportRow row = rows.next();
+            try {
+                batch.add(toCard(command.userId(), row));
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (errors.size() < ImportReport.MAX_REPORTED_ERRORS) {
+                    errors.add(new RowError(row.line(), e.getMessage()));
+                }
+                continue;
+            }
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                cardRepository.saveAll(batch);
+                imported += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            cardRepository.saveAll(batch);
+            imported += batch.size();
+        }
+
+        return new ImportReport(imported, rejected, errors);
+    }
+
+    /**
+     * Valide une ligne d'import avec les règles de CreateCardCommand et crée la carte.
+     */
+    private Card toCard(UserId owner, ImportRow row) {
+        if (row.isMalformed()) {
+            throw new IllegalArgumentException(row.error());
+        }
+        CreateCardCommand command = new CreateCardCommand(owner, row.question(), row.answer(), row.tag());
+        return Card.create(owner, cardIdGenerator.nextId(), command.question(), command.answer(), command.tag());
     }
 
     @Override
     public List<Card> execute(GetCardsQuery query) {
+        CardRepository cardRepository = readPartition(query.userId());
         if (query.hasTagFilter()) {
             return cardRepository.findByTags(query.tags());
         }
         return cardRepository.findAll();
     }
 
+    @Override
+    public Page<Card> execute(GetCardsPageQuery query) {
+        return readPartition(query.userId()).findPage(query.tags(), query.cursor(), query.limit());
+    }
+
+    @Override
+    public List<TagCount> listTags(UserId userId) {
+        return readPartition(userId).countByTag().stream()
+            .sorted(Comparator.comparing(TagCount::tag))
+            .toList();
+    }
+
+    @Override
+    public Stream<Card> stream(GetCardsQuery query) {
+        return readPartition(query.userId()).stream(query.tags());
+    }
+
+    @Override
+    public long changeSequence(UserId userId) {
+        return readPartition(userId).changeSequence();
+    }
+
     @Override
     public List<Card> execute(GetQuizCardsQuery query) {
         LocalDate quizDate = query.date();
         
-        return cardRepository.findAll().stream()
-            .filter(card -> !card.getCategory().isDone())
+        // L'index du repository ne renvoie que les cartes échues :
+        // le filtre ci-dessous ne porte donc que sur les cartes à réviser.
+        return readPartition(query.userId()).findDueOn(quizDate).stream()
             .filter(card -> shouldCardBeInQuiz(card, quizDate))
             .toList();
     }
 
+    @Override
+    public Page<Card> execute(GetQuizCardsPageQuery query) {
+        LocalDate quizDate = query.date();
+        Page<Card> page = readPartition(query.userId()).findDuePage(quizDate, query.cursor(), query.limit());
+
+        // Le curseur reste celui du repository : une carte écartée ne décale pas le parcours
+        return new Page<>(
+            page.items().stream()
+                .filter(card -> shouldCardBeInQuiz(card, quizDate))
+                .toList(),
+            page.nextCursor()
+        );
+    }
+
     @Override
     public void execute(AnswerCardCommand command) {
-        Card card = cardRepository.findById(command.toCardId())
+        LocalDate today = LocalDate.now();
+        readPartition(command.userId()).update(command.toCardId(), card -> answered(card, command.isValid(), today))
             .orElseThrow(() -> new CardNotFoundException(command.cardId()));
+    }
+
+    @Override
+    public void execute(AnswerCardsCommand command) {
+        CardRepository cardRepository = readPartition(command.userId());
+
+        Map<String, List<Answer>> answersByCard = groupByCard(command.answers());
+
+        // Toutes les cartes sont vérifiées avant d'appliquer la moindre réponse ;
+        // une carte supprimée ensuite est signalée après la mise à jour des autres
+        for (List<Answer> answers : answersByCard.values()) {
+            Answer first = answers.get(0);
+            if (!cardRepository.existsById(first.toCardId())) {
+                throw new CardNotFoundException(first.cardId());
+            }
+        }
+
+        // Chaque carte est mise à jour atomiquement à partir de sa version courante
+        answersByCard.forEach((cardId, answers) ->
+            cardRepository.update(answers.get(0).toCardId(), card -> answered(card, answers))
+                .orElseThrow(() -> new CardNotFoundException(cardId)));
+    }
+
+    /**
+     * Partition des cartes de l'utilisateur : une carte d'un autre utilisateur
+     * y est introuvable.
+     */
+    private CardRepository partition(UserId owner) {
+        return cardRepositories.forUser(owner == null ? UserId.DEFAULT : owner);
+    }
+
+    /**
+     * Partition des cartes de l'utilisateur pour une lecture ou la mise à jour
+     * d'une carte existante : n'est pas créée si l'utilisateur n'en a pas.
+     */
+    private CardRepository readPartition(UserId owner) {
+        return cardRepositories.forReading(owner == null ? UserId.DEFAULT : owner);
+    }
 
-        if (command.isValid()) {
-            card.answerCorrectly(LocalDate.now());
+    /**
+     * Regroupe les réponses par carte, chaque groupe trié chronologiquement.
+     */
+    static Map<String, List<Answer>> groupByCard(List<Answer> answers) {
+        Map<String, List<Answer>> answersByCard = new LinkedHashMap<>();
+        answers.stream()
+            .sorted(Comparator.comparing(Answer::answeredAt))
+            .forEach(answer -> answersByCard
+                .computeIfAbsent(answer.cardId(), id -> new ArrayList<>())
+                .add(answer));
+        return answersByCard;
+    }
+
+    /**
+     * Copie de la carte après une réponse donnée à la date indiquée.
+     */
+    static Card answered(Card card, boolean isValid, LocalDate answerDate) {
+        Card next = card.copy();
+        if (isValid) {
+            next.answerCorrectly(answerDate);
         } else {
-            card.answerIncorrectly(LocalDate.now());
+            next.answerIncorrectly(answerDate);
         }
+        return next;
+    }
 
-        cardRepository.save(card);
+    /**
+     * Copie de la carte après application des réponses, déjà triées chronologiquement.
+     */
+    static Card answered(Card card, List<Answer> answers) {
+        Card next = card.copy();
+        answers.forEach(answer -> applyAnswer(next, answer));
+        return next;
+    }
+
+    /**
+     * Applique une réponse horodatée à une carte.
+     * Une réponse plus ancienne que la dernière réponse connue est ignorée :
+     * elle a été donnée avant l'état actuel de la carte.
+     */
+    private static void applyAnswer(Card card, Answer answer) {
+        LocalDate answerDate = answer.answeredAt().toLocalDate();
+        if (card.getLastAnswerDate() != null && answerDate.isBefore(card.getLastAnswerDate())) {
+            return;
+        }
+        if (answer.isValid()) {
+            card.answerCorrectly(answerDate);
+        } else {
+            card.answerIncorrectly(answerDate);
+        }
     }
 
     /**
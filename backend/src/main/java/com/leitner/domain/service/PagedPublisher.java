@@ -0,0 +1,165 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.model.Page;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publie, avec contre-pression, les éléments d'un parcours paginé à curseur.
+ *
+ * Une page n'est lue que lorsque l'abonné a demandé des éléments (request) et que
+ * la page précédente est épuisée : au plus une page est en mémoire par abonné,
+ * et une lecture est en cours à la fois. La lecture est asynchrone (un futur) :
+ * aucun thread n'attend la page pendant qu'elle est lue.
+ *
+ * Les signaux (onNext, onError, onComplete) sont émis par une boucle de drainage
+ * qu'un seul thread exécute à la fois : celui qui a appelé request, ou celui qui
+ * a terminé la lecture d'une page.
+ */
+final class PagedPublisher<T> implements Flow.Publisher<T> {
+
+    private final Function<String, CompletableFuture<Page<T>>> pages;
+
+    /**
+     * @param pages lit la page qui suit le curseur donné (null pour la première page)
+     */
+    PagedPublisher(Function<String, CompletableFuture<Page<T>>> pages) {
+        this.pages = pages;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        PageSubscription<T> subscription = new PageSubscription<>(subscriber, pages);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private static final class PageSubscription<T> implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Function<String, CompletableFuture<Page<T>>> pages;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // Signaux des autres threads, consommés par la boucle de drainage
+        private volatile boolean cancelled;
+        private volatile Page<T> arrived;
+        private volatile Throwable failure;
+
+        // État réservé à la boucle de drainage
+        private final Queue<T> buffer = new ArrayDeque<>();
+        private String cursor;
+        private boolean lastPage;
+        private boolean reading;
+        private boolean done;
+
+        private PageSubscription(Flow.Subscriber<? super T> subscriber,
+                                 Function<String, CompletableFuture<Page<T>>> pages) {
+            this.subscriber = subscriber;
+            this.pages = pages;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("Request must be positive, got " + n);
+            } else {
+                requested.getAndAccumulate(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (!done) {
+                    drainOnce();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void drainOnce() {
+            if (cancelled) {
+                done = true;
+                buffer.clear();
+                return;
+            }
+            Page<T> page = arrived;
+            if (page != null) {
+                arrived = null;
+                reading = false;
+                buffer.addAll(page.items());
+                cursor = page.nextCursor();
+                lastPage = !page.hasNext();
+            }
+            Throwable error = failure;
+            if (error != null) {
+                done = true;
+                buffer.clear();
+                subscriber.onError(error);
+                return;
+            }
+
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand && !buffer.isEmpty()) {
+                if (cancelled) {
+                    return;
+                }
+                subscriber.onNext(buffer.poll());
+                emitted++;
+            }
+            if (emitted != 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            if (buffer.isEmpty() && lastPage) {
+                done = true;
+                subscriber.onComplete();
+            } else if (buffer.isEmpty() && !reading && requested.get() > 0) {
+                reading = true;
+                readNextPage();
+            }
+        }
+
+        private void readNextPage() {
+            CompletableFuture<Page<T>> next;
+            try {
+                next = pages.apply(cursor);
+            } catch (RuntimeException e) {
+                next = CompletableFuture.failedFuture(e);
+            }
+            // Si la page est déjà lue, le rappel s'exécute ici : drain ne fait que
+            // compter un passage de plus, que la boucle en cours effectuera
+            next.whenComplete((page, error) -> {
+                if (error != null) {
+                    failure = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                } else {
+                    arrived = page;
+                }
+                drain();
+            });
+        }
+    }
+}
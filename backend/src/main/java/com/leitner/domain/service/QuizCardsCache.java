@@ -0,0 +1,337 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.out.CardChangeListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Décorateur du use case du quiz qui garde en cache la liste des cartes
+ * à réviser, par utilisateur et par date de quiz.
+ *
+ * Le cache est tenu à jour au fil des changements signalés par la persistence
+ * (CardChangeListener), carte par carte : une carte enregistrée est retirée
+ * des listes de son propriétaire puis rajoutée à celles des dates où elle est
+ * à réviser ; une carte supprimée est retirée. Une entrée n'est jamais recalculée
+ * à cause d'une écriture.
+ *
+ * Les entrées sont rangées par utilisateur, chacun avec son verrou : un changement
+ * ne parcourt que les entrées de son propriétaire, et les lectures et changements
+ * de deux utilisateurs ne s'attendent pas.
+ *
+ * Le nombre d'entrées est borné : au-delà, l'entrée la moins récemment lue, tous
+ * utilisateurs confondus, est évincée. Les requêtes paginées ne sont pas mises en cache
+ * (leur curseur est propre au repository).
+ *
+ * Deux précautions gardent le cache exact malgré la concurrence :
+ * - une liste lue pendant qu'un changement touche le même utilisateur n'est pas
+ *   mise en cache (numéro de génération par utilisateur) ;
+ * - un changement plus ancien que l'état déjà connu d'une carte (version inférieure,
+ *   ou carte supprimée) est ignoré. Une entrée retient ainsi les versions des cartes
+ *   qui l'ont quittée : quand elle en retient plus que MIN_REMOVED_VERSIONS et que
+ *   de cartes, elle est abandonnée, et sera relue à la demande suivante.
+ */
+public class QuizCardsCache implements GetQuizCardsUseCase, CardChangeListener {
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    // Versions de cartes retirées qu'une entrée peut toujours retenir
+    static final int MIN_REMOVED_VERSIONS = 256;
+
+    private final GetQuizCardsUseCase delegate;
+    private final LocalDate systemStartDate;
+    private final int maxEntries;
+    private final Map<UserId, OwnerEntries> owners = new ConcurrentHashMap<>();
+    // Toutes les entrées, pour choisir celle à évincer ; modifiée sous le verrou du propriétaire
+    private final Map<QuizKey, QuizEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong reads = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param delegate le use case du quiz, appelé quand une liste n'est pas en cache
+     * @param maxEntries le nombre maximal de couples (utilisateur, date) gardés
+     */
+    public QuizCardsCache(GetQuizCardsUseCase delegate, int maxEntries) {
+        this(delegate, maxEntries, LocalDate.now());
+    }
+
+    /**
+     * Crée le cache avec une date de référence spécifique (celle du service décoré).
+     * Utile pour les tests.
+     */
+    public QuizCardsCache(GetQuizCardsUseCase delegate, int maxEntries, LocalDate systemStartDate) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The quiz cache must hold at least one entry");
+        }
+        this.delegate = delegate;
+        this.systemStartDate = systemStartDate;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public List<Card> execute(GetQuizCardsQuery query) {
+        QuizKey key = new QuizKey(query.userId(), query.date());
+        OwnerEntries owner = owners.computeIfAbsent(key.owner(), OwnerEntries::new);
+        long generation;
+        owner.lock.lock();
+        try {
+            QuizEntry entry = owner.byDate.get(key.date());
+            if (entry != null) {
+                hits.increment();
+                entry.lastRead = reads.incrementAndGet();
+                return entry.cards();
+            }
+            generation = owner.generation;
+        } finally {
+            owner.lock.unlock();
+        }
+
+        misses.increment();
+        List<Card> cards = delegate.execute(query);
+
+        boolean added = false;
+        owner.lock.lock();
+        try {
+            // Un changement pendant la lecture a pu lui échapper : la liste n'est pas gardée
+            if (!owner.retired && generation == owner.generation) {
+                QuizEntry entry = new QuizEntry(key, cards, reads.incrementAndGet());
+                added = owner.byDate.put(key.date(), entry) == null;
+                entries.put(key, entry);
+            } else {
+                owner.retireIfEmpty();
+            }
+        } finally {
+            owner.lock.unlock();
+        }
+        if (added && entries.size() > maxEntries) {
+            evictLeastRecentlyRead();
+        }
+        return cards;
+    }
+
+    @Override
+    public Page<Card> execute(GetQuizCardsPageQuery query) {
+        return delegate.execute(query);
+    }
+
+    @Override
+    public void cardSaved(Card card) {
+        OwnerEntries owner = owners.get(card.getOwner());
+        if (owner == null) {
+            return;
+        }
+        owner.lock.lock();
+        try {
+            owner.generation++;
+            owner.byDate.values().removeIf(entry -> {
+                boolean kept = entry.apply(card, card.shouldBeReviewedOn(entry.key.date(), systemStartDate));
+                if (!kept) {
+                    entries.remove(entry.key, entry);
+                }
+                return !kept;
+            });
+            owner.retireIfEmpty();
+        } finally {
+            owner.lock.unlock();
+        }
+    }
+
+    @Override
+    public void cardDeleted(UserId ownerId, CardId id) {
+        OwnerEntries owner = owners.get(ownerId);
+        if (owner == null) {
+            return;
+        }
+        owner.lock.lock();
+        try {
+            owner.generation++;
+            owner.byDate.values().removeIf(entry -> {
+                boolean kept = entry.delete(id);
+                if (!kept) {
+                    entries.remove(entry.key, entry);
+                }
+                return !kept;
+            });
+            owner.retireIfEmpty();
+        } finally {
+            owner.lock.unlock();
+        }
+    }
+
+    @Override
+    public void partitionDiscarded(UserId ownerId) {
+        OwnerEntries owner = owners.get(ownerId);
+        if (owner == null) {
+            return;
+        }
+        owner.lock.lock();
+        try {
+            owner.generation++;
+            owner.byDate.values().forEach(entry -> entries.remove(entry.key, entry));
+            owner.byDate.clear();
+            owner.retireIfEmpty();
+        } finally {
+            owner.lock.unlock();
+        }
+    }
+
+    /**
+     * Nombre de requêtes servies depuis le cache.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Nombre de requêtes transmises au use case décoré.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Nombre de couples (utilisateur, date) en cache.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Évince les entrées les moins récemment lues jusqu'à revenir à la borne.
+     * Une entrée lue ou retirée entre-temps fait recommencer la recherche.
+     */
+    private void evictLeastRecentlyRead() {
+        while (entries.size() > maxEntries) {
+            QuizEntry eldest = null;
+            for (QuizEntry entry : entries.values()) {
+                if (eldest == null || entry.lastRead < eldest.lastRead) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            OwnerEntries owner = owners.get(eldest.key.owner());
+            if (owner == null) {
+                entries.remove(eldest.key, eldest);
+                continue;
+            }
+            long lastRead = eldest.lastRead;
+            owner.lock.lock();
+            try {
+                if (eldest.lastRead == lastRead && owner.byDate.remove(eldest.key.date(), eldest)) {
+                    entries.remove(eldest.key, eldest);
+                    owner.retireIfEmpty();
+                }
+            } finally {
+                owner.lock.unlock();
+            }
+        }
+    }
+
+    private record QuizKey(UserId owner, LocalDate date) {
+    }
+
+    /**
+     * Entrées d'un utilisateur, par date, et numéro de génération de ses changements.
+     * Une fois vide, retirée de la table des utilisateurs (retired) : une lecture
+     * en cours n'y met plus sa liste, la suivante repart d'une nouvelle.
+     */
+    private final class OwnerEntries {
+
+        private final UserId owner;
+        private final Lock lock = new ReentrantLock();
+        private final Map<LocalDate, QuizEntry> byDate = new HashMap<>();
+        private long generation;
+        private boolean retired;
+
+        private OwnerEntries(UserId owner) {
+            this.owner = owner;
+        }
+
+        private void retireIfEmpty() {
+            if (byDate.isEmpty() && !retired) {
+                retired = true;
+                owners.remove(owner, this);
+            }
+        }
+    }
+
+    /**
+     * Cartes à réviser d'un utilisateur à une date, dans l'ordre de la liste lue
+     * (les cartes modifiées depuis sont à la fin). Les versions des cartes retirées
+     * sont retenues pour écarter un changement plus ancien arrivé en retard.
+     * Toujours manipulée sous le verrou de son utilisateur.
+     */
+    private static final class QuizEntry {
+
+        private final QuizKey key;
+        private final Map<CardId, Card> cards = new LinkedHashMap<>();
+        private final Map<CardId, Long> removedVersions = new HashMap<>();
+        private List<Card> snapshot;
+        // Lu sans verrou pour choisir l'entrée à évincer
+        private volatile long lastRead;
+
+        private QuizEntry(QuizKey key, List<Card> loaded, long lastRead) {
+            this.key = key;
+            loaded.forEach(card -> cards.put(card.getId(), card));
+            snapshot = List.copyOf(loaded);
+            this.lastRead = lastRead;
+        }
+
+        private List<Card> cards() {
+            if (snapshot == null) {
+                snapshot = List.copyOf(cards.values());
+            }
+            return snapshot;
+        }
+
+        /**
+         * @return false si l'entrée retient trop de versions et doit être abandonnée
+         */
+        private boolean apply(Card card, boolean inQuiz) {
+            CardId id = card.getId();
+            Card current = cards.get(id);
+            long known = current != null ? current.getVersion() : removedVersions.getOrDefault(id, -1L);
+            if (card.getVersion() < known) {
+                return true;
+            }
+            cards.remove(id);
+            if (inQuiz) {
+                removedVersions.remove(id);
+                cards.put(id, card);
+            } else {
+                removedVersions.put(id, card.getVersion());
+            }
+            snapshot = null;
+            return withinBound();
+        }
+
+        /**
+         * @return false si l'entrée retient trop de versions et doit être abandonnée
+         */
+        private boolean delete(CardId id) {
+            cards.remove(id);
+            removedVersions.put(id, Long.MAX_VALUE);
+            snapshot = null;
+            return withinBound();
+        }
+
+        private boolean withinBound() {
+            return removedVersions.size() <= Math.max(MIN_REMOVED_VERSIONS, cards.size());
+        }
+    }
+}
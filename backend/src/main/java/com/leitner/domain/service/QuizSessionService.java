@@ -0,0 +1,323 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.exception.CardNotFoundException;
+import com.leitner.domain.exception.QuizSessionNotFoundException;
+import com.leitner.domain.exception.TooManyQuizSessionsException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.in.QuizSessionUseCase;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.out.PartitionedCardRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service des sessions de quiz.
+ *
+ * Une session ne garde que les identifiants des cartes du quiz lu à son ouverture,
+ * la position de la prochaine carte à envoyer et un bit par carte répondue. Le premier
+ * lot compte batchSize cartes, tirées de la liste lue ; une réponse renvoie le lot suivant,
+ * relu carte par carte dans la partition, quand le client n'a plus qu'un demi-lot
+ * de cartes d'avance, pour qu'il n'attende jamais le réseau entre deux cartes.
+ *
+ * Les réponses passent par le use case de réponse : elles sont enregistrées
+ * comme PATCH /cards/{cardId}/answer. Une carte supprimée depuis l'ouverture
+ * est retirée de la session (CardNotFoundException est propagée, ou la carte
+ * n'est pas envoyée).
+ *
+ * Une session terminée est oubliée ; une session sans activité pendant la durée
+ * de vie (ttl) est évincée par evictExpired, appelée périodiquement par
+ * l'infrastructure, et n'est plus servie entre-temps.
+ *
+ * Les sessions ouvertes sont bornées : au-delà de maxSessionsPerUser sessions,
+ * la plus ancienne de l'utilisateur est oubliée ; au-delà de maxSessions en tout,
+ * une nouvelle session est refusée (TooManyQuizSessionsException) après l'éviction
+ * des sessions expirées.
+ */
+public class QuizSessionService implements QuizSessionUseCase {
+
+    public static final int DEFAULT_MAX_SESSIONS_PER_USER = 4;
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+    private final GetQuizCardsUseCase getQuizCards;
+    private final AnswerCardUseCase answerCard;
+    private final PartitionedCardRepository cardRepositories;
+    private final long ttlMillis;
+    private final int maxSessionsPerUser;
+    private final int maxSessions;
+    private final Clock clock;
+    private final Map<String, QuizSession> sessions = new ConcurrentHashMap<>();
+    // Sessions de chaque utilisateur, de la plus ancienne à la plus récente
+    private final Map<UserId, Deque<String>> sessionIdsByOwner = new ConcurrentHashMap<>();
+
+    /**
+     * @param getQuizCards le use case qui fournit les cartes d'une session
+     * @param answerCard le use case qui enregistre les réponses
+     * @param cardRepositories les partitions où sont relues les cartes des lots suivants
+     * @param ttl la durée de vie d'une session sans activité
+     * @param clock l'horloge des expirations
+     */
+    public QuizSessionService(GetQuizCardsUseCase getQuizCards, AnswerCardUseCase answerCard,
+                              PartitionedCardRepository cardRepositories, Duration ttl, Clock clock) {
+        this(getQuizCards, answerCard, cardRepositories, ttl, DEFAULT_MAX_SESSIONS_PER_USER, DEFAULT_MAX_SESSIONS,
+            clock);
+    }
+
+    /**
+     * @param getQuizCards le use case qui fournit les cartes d'une session
+     * @param answerCard le use case qui enregistre les réponses
+     * @param cardRepositories les partitions où sont relues les cartes des lots suivants
+     * @param ttl la durée de vie d'une session sans activité
+     * @param maxSessionsPerUser le nombre maximal de sessions ouvertes par utilisateur
+     * @param maxSessions le nombre maximal de sessions ouvertes en tout
+     * @param clock l'horloge des expirations
+     */
+    public QuizSessionService(GetQuizCardsUseCase getQuizCards, AnswerCardUseCase answerCard,
+                              PartitionedCardRepository cardRepositories, Duration ttl,
+                              int maxSessionsPerUser, int maxSessions, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("The quiz session TTL must be positive");
+        }
+        if (maxSessionsPerUser < 1 || maxSessions < maxSessionsPerUser) {
+            throw new IllegalArgumentException("At least one quiz session per user must be allowed");
+        }
+        this.getQuizCards = getQuizCards;
+        this.answerCard = answerCard;
+        this.cardRepositories = cardRepositories;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+    }
+
+    @Override
+    public QuizSessionBatch execute(StartQuizSessionCommand command) {
+        List<Card> cards = getQuizCards.execute(new GetQuizCardsQuery(command.userId(), command.date()));
+        String sessionId = UUID.randomUUID().toString();
+        QuizSession session = new QuizSession(command.userId(), cards, command.batchSize());
+        List<Card> batch = cards.subList(session.release(command.batchSize()), session.sent);
+        if (!session.isCompleted()) {
+            if (sessions.size() >= maxSessions && evictExpired() == 0 && sessions.size() >= maxSessions) {
+                throw new TooManyQuizSessionsException(maxSessions);
+            }
+            session.touch(clock.millis() + ttlMillis);
+            sessions.put(sessionId, session);
+            register(command.userId(), sessionId);
+        }
+        return new QuizSessionBatch(sessionId, batch, session.remaining());
+    }
+
+    @Override
+    public QuizSessionBatch execute(AnswerInSessionCommand command) {
+        QuizSession session = sessions.get(command.sessionId());
+        long now = clock.millis();
+        if (session == null || !session.owner.equals(command.userId())) {
+            throw new QuizSessionNotFoundException(command.sessionId());
+        }
+        session.lock.lock();
+        try {
+            if (session.isCompleted() || session.isExpired(now)) {
+                throw new QuizSessionNotFoundException(command.sessionId());
+            }
+            int position = session.awaitingPosition(command.cardId());
+            if (position < 0) {
+                throw new IllegalArgumentException(
+                    "Card " + command.cardId() + " is not awaiting an answer in this session");
+            }
+            try {
+                answerCard.execute(new AnswerCardCommand(command.userId(), command.cardId(), command.isValid()));
+            } catch (CardNotFoundException e) {
+                session.answered(position);
+                close(command.sessionId(), session, now);
+                throw e;
+            }
+            session.answered(position);
+            List<Card> batch = prefetch(session);
+            close(command.sessionId(), session, now);
+            return new QuizSessionBatch(command.sessionId(), batch, session.remaining());
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Évince les sessions sans activité depuis plus que la durée de vie.
+     *
+     * @return le nombre de sessions évincées
+     */
+    public int evictExpired() {
+        long now = clock.millis();
+        int evicted = 0;
+        for (Map.Entry<String, QuizSession> entry : sessions.entrySet()) {
+            QuizSession session = entry.getValue();
+            boolean expired;
+            session.lock.lock();
+            try {
+                expired = session.isExpired(now);
+            } finally {
+                session.lock.unlock();
+            }
+            if (expired && sessions.remove(entry.getKey(), session)) {
+                unregister(session.owner, entry.getKey());
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Nombre de sessions ouvertes.
+     */
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Lot suivant si le client a au plus un demi-lot d'avance, vide sinon.
+     * Les cartes sont relues dans la partition ; une carte supprimée depuis
+     * l'ouverture compte comme répondue et n'est pas envoyée.
+     */
+    private List<Card> prefetch(QuizSession session) {
+        if (session.sent - session.answeredCount > session.batchSize / 2) {
+            return List.of();
+        }
+        int from = session.release(session.batchSize);
+        CardRepository partition = cardRepositories.forReading(session.owner);
+        List<Card> batch = new ArrayList<>(session.sent - from);
+        for (int position = from; position < session.sent; position++) {
+            Optional<Card> card = partition.findById(session.ids[position]);
+            if (card.isPresent()) {
+                batch.add(card.get());
+            } else {
+                session.answered(position);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Range la session parmi celles de l'utilisateur, et oublie la plus ancienne
+     * au-delà de maxSessionsPerUser.
+     */
+    private void register(UserId owner, String sessionId) {
+        sessionIdsByOwner.compute(owner, (ignored, sessionIds) -> {
+            Deque<String> ids = sessionIds != null ? sessionIds : new ArrayDeque<>();
+            ids.addLast(sessionId);
+            while (ids.size() > maxSessionsPerUser) {
+                sessions.remove(ids.pollFirst());
+            }
+            return ids;
+        });
+    }
+
+    private void unregister(UserId owner, String sessionId) {
+        sessionIdsByOwner.computeIfPresent(owner, (ignored, ids) -> {
+            ids.remove(sessionId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Oublie une session terminée, prolonge sinon sa durée de vie.
+     */
+    private void close(String sessionId, QuizSession session, long now) {
+        if (session.isCompleted()) {
+            if (sessions.remove(sessionId, session)) {
+                unregister(session.owner, sessionId);
+            }
+        } else {
+            session.touch(now + ttlMillis);
+        }
+    }
+
+    /**
+     * État d'une session : les identifiants des cartes du quiz, la position de la prochaine
+     * carte à envoyer et les cartes répondues. Toujours manipulée sous son propre verrou,
+     * une fois publiée.
+     */
+    private static final class QuizSession {
+
+        // Pas de moniteur : une réponse attend la persistence sous ce verrou
+        private final Lock lock = new ReentrantLock();
+
+        private final UserId owner;
+        private final CardId[] ids;
+        private final int batchSize;
+        private final BitSet answered;
+        private int sent;
+        private int firstAwaiting;
+        private int answeredCount;
+        private long expiresAt;
+
+        private QuizSession(UserId owner, List<Card> cards, int batchSize) {
+            this.owner = owner;
+            this.ids = cards.stream().map(Card::getId).toArray(CardId[]::new);
+            this.batchSize = batchSize;
+            this.answered = new BitSet(ids.length);
+        }
+
+        /**
+         * Envoie au plus count cartes de plus.
+         *
+         * @return la position de la première carte envoyée ; la dernière précède sent
+         */
+        private int release(int count) {
+            int from = sent;
+            sent = Math.min(ids.length, sent + count);
+            return from;
+        }
+
+        /**
+         * Position d'une carte envoyée et pas encore répondue, -1 sinon.
+         * Seules les cartes entre la première sans réponse et la dernière envoyée
+         * sont parcourues : en général au plus un lot et demi.
+         */
+        private int awaitingPosition(String cardId) {
+            for (int i = answered.nextClearBit(firstAwaiting); i < sent; i = answered.nextClearBit(i + 1)) {
+                if (ids[i].getValue().equals(cardId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void answered(int position) {
+            answered.set(position);
+            answeredCount++;
+            firstAwaiting = answered.nextClearBit(firstAwaiting);
+        }
+
+        private int remaining() {
+            return ids.length - answeredCount;
+        }
+
+        private boolean isCompleted() {
+            return answeredCount == ids.length;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        private void touch(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.exception.CardNotFoundException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.AnswerCardsUseCase.Answer;
+import com.leitner.domain.port.in.AnswerCardsUseCase.AnswerCardsCommand;
+import com.leitner.domain.port.in.CreateCardUseCase.CreateCardCommand;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsPageQuery;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.in.ReactiveAnswerCardUseCase;
+import com.leitner.domain.port.in.ReactiveAnswerCardsUseCase;
+import com.leitner.domain.port.in.ReactiveCreateCardUseCase;
+import com.leitner.domain.port.in.ReactiveGetCardsUseCase;
+import com.leitner.domain.port.in.ReactiveGetQuizCardsUseCase;
+import com.leitner.domain.port.in.ReactiveGetTagsUseCase;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardIdGenerator;
+import com.leitner.domain.port.out.PartitionedAsyncCardRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Service du domaine implémentant les variantes non bloquantes des use cases des cartes.
+ *
+ * Les règles métier sont celles de CardService ; seules changent les signatures :
+ * chaque opération renvoie un futur ou un flux au lieu de bloquer l'appelant,
+ * et s'appuie sur le port de sortie non bloquant (AsyncCardRepository).
+ *
+ * Les listes sont publiées page par page (PagedPublisher), au rythme de l'abonné :
+ * un client lent ne fait ni lire le deck d'avance ni occuper un thread.
+ *
+ * La partition de l'utilisateur est résolue à l'appel (et à chaque page d'un flux) :
+ * si le stockage doit la rouvrir (journal, JDBC), cette résolution bloque. Les appelants
+ * qui tournent sur une boucle d'événements appellent donc le service depuis un pool
+ * qui peut bloquer (voir ReactiveCardController).
+ *
+ * Le service lit le quiz directement dans la partition : il ne passe ni par le
+ * planificateur des révisions (ReviewScheduler) ni par le cache du quiz (QuizCardsCache),
+ * et ses use cases ne sont pas mesurés (MeteredCardUseCases).
+ */
+public class ReactiveCardService implements ReactiveCreateCardUseCase, ReactiveGetCardsUseCase,
+        ReactiveGetQuizCardsUseCase, ReactiveAnswerCardUseCase, ReactiveAnswerCardsUseCase,
+        ReactiveGetTagsUseCase {
+
+    // Nombre de cartes lues par page quand une liste est publiée en flux
+    static final int STREAM_PAGE_SIZE = 256;
+
+    private final PartitionedAsyncCardRepository cardRepositories;
+    private final CardIdGenerator cardIdGenerator;
+    private final LocalDate systemStartDate;
+
+    /**
+     * Crée le service non bloquant, partitionné par utilisateur.
+     *
+     * @param cardRepositories l'accès non bloquant aux partitions de cartes
+     * @param cardIdGenerator le générateur des identifiants des nouvelles cartes
+     */
+    public ReactiveCardService(PartitionedAsyncCardRepository cardRepositories, CardIdGenerator cardIdGenerator) {
+        this(cardRepositories, cardIdGenerator, LocalDate.now());
+    }
+
+    /**
+     * Crée le service avec une date de référence spécifique.
+     * Utile pour les tests.
+     */
+    public ReactiveCardService(PartitionedAsyncCardRepository cardRepositories, CardIdGenerator cardIdGenerator,
+                               LocalDate systemStartDate) {
+        this.cardRepositories = cardRepositories;
+        this.cardIdGenerator = cardIdGenerator;
+        this.systemStartDate = systemStartDate;
+    }
+
+    @Override
+    public CompletableFuture<Card> execute(CreateCardCommand command) {
+        Card card = Card.create(
+            command.userId(),
+            cardIdGenerator.nextId(),
+            command.question(),
+            command.answer(),
+            command.tag()
+        );
+        return partition(command.userId()).saveAsync(card);
+    }
+
+    @Override
+    public Flow.Publisher<Card> stream(GetCardsQuery query) {
+        AsyncCardRepository cardRepository = readPartition(query.userId());
+        return new PagedPublisher<>(cursor -> cardRepository.findPageAsync(query.tags(), cursor, STREAM_PAGE_SIZE));
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> execute(GetCardsPageQuery query) {
+        return readPartition(query.userId()).findPageAsync(query.tags(), query.cursor(), query.limit());
+    }
+
+    @Override
+    public Flow.Publisher<Card> stream(GetQuizCardsQuery query) {
+        AsyncCardRepository cardRepository = readPartition(query.userId());
+        LocalDate quizDate = query.date();
+        return new PagedPublisher<>(cursor -> cardRepository.findDuePageAsync(quizDate, cursor, STREAM_PAGE_SIZE)
+            .thenApply(page -> quizPage(page, quizDate)));
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> execute(GetQuizCardsPageQuery query) {
+        LocalDate quizDate = query.date();
+        return readPartition(query.userId()).findDuePageAsync(quizDate, query.cursor(), query.limit())
+            .thenApply(page -> quizPage(page, quizDate));
+    }
+
+    @Override
+    public CompletableFuture<List<TagCount>> listTags(UserId userId) {
+        return readPartition(userId).countByTagAsync()
+            .thenApply(counts -> counts.stream()
+                .sorted(Comparator.comparing(TagCount::tag))
+                .toList());
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AnswerCardCommand command) {
+        LocalDate today = LocalDate.now();
+        return readPartition(command.userId())
+            .updateAsync(command.toCardId(), card -> CardService.answered(card, command.isValid(), today))
+            .thenAccept(updated -> updated.orElseThrow(() -> new CardNotFoundException(command.cardId())));
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AnswerCardsCommand command) {
+        AsyncCardRepository cardRepository = readPartition(command.userId());
+        Map<String, List<Answer>> answersByCard = CardService.groupByCard(command.answers());
+
+        // Toutes les cartes sont vérifiées avant d'appliquer la moindre réponse ;
+        // une carte supprimée ensuite est signalée après la mise à jour des autres
+        List<CompletableFuture<Boolean>> checks = new ArrayList<>(answersByCard.size());
+        answersByCard.values().forEach(answers ->
+            checks.add(cardRepository.existsByIdAsync(answers.get(0).toCardId())));
+
+        return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)).thenCompose(ignored -> {
+            int index = 0;
+            for (String cardId : answersByCard.keySet()) {
+                if (!checks.get(index++).join()) {
+                    throw new CardNotFoundException(cardId);
+                }
+            }
+            // Chaque carte est mise à jour atomiquement à partir de sa version courante
+            List<CompletableFuture<Void>> updates = new ArrayList<>(answersByCard.size());
+            answersByCard.forEach((cardId, answers) -> updates.add(
+                cardRepository.updateAsync(answers.get(0).toCardId(), card -> CardService.answered(card, answers))
+                    .thenAccept(updated -> updated.orElseThrow(() -> new CardNotFoundException(cardId)))));
+            return CompletableFuture.allOf(updates.toArray(CompletableFuture[]::new));
+        });
+    }
+
+    /**
+     * Partition non bloquante des cartes de l'utilisateur.
+     */
+    private AsyncCardRepository partition(UserId owner) {
+        return cardRepositories.forUserAsync(owner == null ? UserId.DEFAULT : owner);
+    }
+
+    /**
+     * Partition non bloquante pour une lecture ou la mise à jour d'une carte existante :
+     * n'est pas créée si l'utilisateur n'en a pas.
+     */
+    private AsyncCardRepository readPartition(UserId owner) {
+        return cardRepositories.forReadingAsync(owner == null ? UserId.DEFAULT : owner);
+    }
+
+    /**
+     * Écarte les cartes échues qui ne sont pas au programme du quiz ;
+     * le curseur reste celui du repository.
+     */
+    private Page<Card> quizPage(Page<Card> page, LocalDate quizDate) {
+        return new Page<>(
+            page.items().stream()
+                .filter(card -> card.shouldBeReviewedOn(quizDate, systemStartDate))
+                .toList(),
+            page.nextCursor()
+        );
+    }
+}
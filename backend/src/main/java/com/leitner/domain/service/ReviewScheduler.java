@@ -0,0 +1,265 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.out.CardChangeListener;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.out.PartitionedCardRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Planificateur des révisions : garde prête, pour chaque utilisateur, la liste
+ * des cartes à réviser aujourd'hui.
+ *
+ * Les cartes d'un utilisateur sont rangées dans une roue temporelle par jour
+ * (ReviewWheel), au jour de leur prochaine révision. La roue est remplie à la première
+ * demande du quiz du jour de l'utilisateur, puis tenue à jour par les changements
+ * signalés par la persistence (CardChangeListener) : une carte créée ou répondue
+ * change de seau, une carte supprimée est retirée. La partition est lue sans tenir
+ * le verrou de la roue : un changement signalé pendant la lecture (par le thread
+ * d'écriture du journal, par exemple) est mis de côté au lieu d'attendre, puis rejoué.
+ *
+ * La roue avance à minuit (rollOver, appelée par l'infrastructure) : les cartes
+ * dont le jour arrive rejoignent la liste du jour. Les seaux à venir ne gardant que
+ * les identifiants, ces cartes sont lues une à une dans la partition à la première
+ * demande du jour, hors du verrou de la roue. Une demande qui précède la bascule
+ * fait d'abord avancer la roue.
+ *
+ * Seul le quiz du jour est servi par la roue : les autres dates et les requêtes
+ * paginées sont transmises au use case décoré. Aucune roue n'est gardée pour
+ * un utilisateur sans cartes, ni pour un utilisateur qui n'a pas lu son quiz
+ * depuis idleDays jours : la bascule l'oublie, sa prochaine demande relira la partition.
+ */
+public class ReviewScheduler implements GetQuizCardsUseCase, CardChangeListener {
+
+    // Jours sans lecture du quiz après lesquels la roue d'un utilisateur est oubliée
+    public static final int DEFAULT_IDLE_DAYS = 3;
+
+    private final GetQuizCardsUseCase delegate;
+    private final PartitionedCardRepository cardRepositories;
+    private final Clock clock;
+    private final int idleDays;
+    private final Map<UserId, ReviewWheel> wheels = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate le use case du quiz, pour les autres dates et les pages
+     * @param cardRepositories les partitions lues pour remplir les roues
+     * @param clock l'horloge qui donne le jour courant
+     */
+    public ReviewScheduler(GetQuizCardsUseCase delegate, PartitionedCardRepository cardRepositories, Clock clock) {
+        this(delegate, cardRepositories, clock, DEFAULT_IDLE_DAYS);
+    }
+
+    /**
+     * @param delegate le use case du quiz, pour les autres dates et les pages
+     * @param cardRepositories les partitions lues pour remplir les roues
+     * @param clock l'horloge qui donne le jour courant
+     * @param idleDays le nombre de jours sans lecture du quiz après lequel une roue est oubliée
+     */
+    public ReviewScheduler(GetQuizCardsUseCase delegate, PartitionedCardRepository cardRepositories, Clock clock,
+                           int idleDays) {
+        if (idleDays < 1) {
+            throw new IllegalArgumentException("A review wheel must be kept for at least one day");
+        }
+        this.delegate = delegate;
+        this.cardRepositories = cardRepositories;
+        this.clock = clock;
+        this.idleDays = idleDays;
+    }
+
+    @Override
+    public List<Card> execute(GetQuizCardsQuery query) {
+        long today = LocalDate.now(clock).toEpochDay();
+        if (query.date().toEpochDay() != today) {
+            return delegate.execute(query);
+        }
+        UserId owner = query.userId();
+        ReviewWheel wheel = wheels.computeIfAbsent(owner, ignored -> new ReviewWheel());
+        if (!wheel.isLoaded() && !fill(owner, wheel, today)) {
+            return List.of();
+        }
+        boolean clockBehind;
+        wheel.lock.lock();
+        try {
+            wheel.advanceTo(today);
+            clockBehind = wheel.currentDay() != today;
+            if (!clockBehind && !wheel.hasUnresolved()) {
+                return wheel.dueCards();
+            }
+        } finally {
+            wheel.lock.unlock();
+        }
+        if (clockBehind) {
+            // L'horloge a reculé : la roue ne revient pas en arrière
+            return delegate.execute(query);
+        }
+        resolve(owner, wheel);
+        wheel.lock.lock();
+        try {
+            return wheel.dueCards();
+        } finally {
+            wheel.lock.unlock();
+        }
+    }
+
+    @Override
+    public Page<Card> execute(GetQuizCardsPageQuery query) {
+        return delegate.execute(query);
+    }
+
+    /**
+     * Fait avancer toutes les roues au jour courant, et oublie celles
+     * dont le quiz n'a pas été lu depuis idleDays jours.
+     */
+    public void rollOver() {
+        long today = LocalDate.now(clock).toEpochDay();
+        wheels.forEach((owner, wheel) -> {
+            if (!wheel.isLoaded()) {
+                return;
+            }
+            wheel.lock.lock();
+            try {
+                if (today - wheel.lastReadDay() > idleDays) {
+                    wheels.remove(owner, wheel);
+                    return;
+                }
+                wheel.advanceTo(today);
+                wheel.purgeDeleted();
+            } finally {
+                wheel.lock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public void cardSaved(Card card) {
+        ReviewWheel wheel = wheels.get(card.getOwner());
+        if (wheel != null) {
+            wheel.lock.lock();
+            try {
+                wheel.saved(card);
+            } finally {
+                wheel.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void cardDeleted(UserId owner, CardId id) {
+        ReviewWheel wheel = wheels.get(owner);
+        if (wheel != null) {
+            wheel.lock.lock();
+            try {
+                wheel.deleted(id);
+            } finally {
+                wheel.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void partitionDiscarded(UserId owner) {
+        wheels.remove(owner);
+    }
+
+    /**
+     * Nombre de cartes rangées dans la roue de l'utilisateur, 0 si elle n'est pas remplie.
+     */
+    public int scheduledCount(UserId owner) {
+        ReviewWheel wheel = wheels.get(owner);
+        if (wheel == null || !wheel.isLoaded()) {
+            return 0;
+        }
+        wheel.lock.lock();
+        try {
+            return wheel.scheduledCount();
+        } finally {
+            wheel.lock.unlock();
+        }
+    }
+
+    /**
+     * Nombre de roues gardées.
+     */
+    public int wheelCount() {
+        return wheels.size();
+    }
+
+    /**
+     * Remplit la roue depuis la partition, sauf si un autre thread l'a fait entre-temps.
+     * La partition est lue hors de wheel.lock : les changements signalés pendant
+     * la lecture sont mis de côté par la roue, puis rejoués une fois la lecture finie.
+     *
+     * @return false si l'utilisateur n'a aucune carte à réviser (la roue n'est pas gardée)
+     */
+    private boolean fill(UserId owner, ReviewWheel wheel, long today) {
+        wheel.fillLock.lock();
+        try {
+            if (wheel.isLoaded()) {
+                return true;
+            }
+            wheel.lock.lock();
+            try {
+                wheel.startFill(today);
+            } finally {
+                wheel.lock.unlock();
+            }
+            try (Stream<Card> cards = cardRepositories.forReading(owner).stream(List.of())) {
+                cards.forEach(wheel::fill);
+            } catch (RuntimeException e) {
+                // Une roue à moitié remplie n'est pas gardée
+                wheels.remove(owner, wheel);
+                throw e;
+            }
+            wheel.lock.lock();
+            try {
+                wheel.finishFill();
+                if (wheel.scheduledCount() == 0) {
+                    // Pas de roue gardée pour un utilisateur sans cartes (identifiant inconnu...) :
+                    // sa prochaine demande relira la partition
+                    wheels.remove(owner, wheel);
+                    return false;
+                }
+                return true;
+            } finally {
+                wheel.lock.unlock();
+            }
+        } finally {
+            wheel.fillLock.unlock();
+        }
+    }
+
+    /**
+     * Lit dans la partition les cartes entrées dans la liste du jour sans leur contenu,
+     * hors de wheel.lock. Une carte supprimée entre-temps reste omise jusqu'à ce que
+     * sa suppression soit signalée.
+     */
+    private void resolve(UserId owner, ReviewWheel wheel) {
+        List<CardId> ids;
+        wheel.lock.lock();
+        try {
+            ids = wheel.unresolved();
+        } finally {
+            wheel.lock.unlock();
+        }
+        CardRepository partition = cardRepositories.forReading(owner);
+        List<Card> cards = new ArrayList<>(ids.size());
+        ids.forEach(id -> partition.findById(id).ifPresent(cards::add));
+        wheel.lock.lock();
+        try {
+            cards.forEach(wheel::resolve);
+        } finally {
+            wheel.lock.unlock();
+        }
+    }
+}
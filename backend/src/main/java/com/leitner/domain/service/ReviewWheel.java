@@ -0,0 +1,355 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Roue temporelle hiérarchique des révisions des cartes d'un utilisateur,
+ * indexée par jour (epoch day).
+ *
+ * Chaque carte est rangée dans le seau de son jour de prochaine révision :
+ * - les cartes à réviser au jour courant ou avant forment l'ensemble du jour (due) ;
+ * - niveau 0 : un seau par jour, pour les jours des blocs de 64 jours courant et suivant
+ *   (128 seaux, le jour modulo 128) ;
+ * - niveau 1 : un seau par bloc de 64 jours, pour les 64 blocs suivants (environ 11 ans) ;
+ * - au-delà, une table triée par jour (dates de réponse importées, par exemple).
+ *
+ * Seul l'ensemble du jour garde les cartes elles-mêmes : les seaux à venir ne rangent que
+ * leurs identifiants, et chaque carte connue n'occupe qu'un emplacement (jour, version).
+ * Une carte qui arrive au jour courant en avançant la roue entre dans l'ensemble du jour
+ * sans contenu : elle est à lire (unresolved) avant d'être servie (resolve).
+ *
+ * Avancer d'un jour déverse le seau de ce jour dans l'ensemble du jour. Au premier jour
+ * d'un bloc, le seau de niveau 1 du bloc suivant descend au niveau 0, et les cartes
+ * du débordement qui entrent dans l'horizon remontent au niveau 1.
+ * Une carte n'est déplacée qu'une fois par niveau.
+ *
+ * Les versions des cartes connues (y compris apprises ou supprimées) sont retenues
+ * pour écarter un changement plus ancien arrivé en retard, comme QuizCardsCache.
+ * Les cartes supprimées sont oubliées après deux bascules (purgeDeleted) : un changement
+ * en retard ne l'est jamais d'un jour.
+ *
+ * Non thread-safe : toujours manipulée sous le verrou de la roue (ReviewScheduler),
+ * sauf pendant le remplissage (fill), dont le thread est alors seul à la toucher :
+ * les changements signalés entre-temps sont mis de côté, puis rejoués par finishFill.
+ * C'est un ReentrantLock plutôt qu'un moniteur : un thread virtuel qui l'attend
+ * ne retient pas son thread porteur (Java 21).
+ */
+final class ReviewWheel {
+
+    private static final int BLOCK_BITS = 6;
+    private static final int DAY_SLOTS = 2 << BLOCK_BITS;
+    private static final int BLOCK_SLOTS = 1 << BLOCK_BITS;
+    private static final long UNSCHEDULED = Long.MAX_VALUE;
+    private static final Placement DELETED = new Placement(UNSCHEDULED, Long.MAX_VALUE);
+
+    final Lock lock = new ReentrantLock();
+    // Un seul remplissage à la fois ; la partition est lue sans tenir lock
+    final Lock fillLock = new ReentrantLock();
+
+    // Cartes du jour dans leur ordre d'arrivée ; null tant qu'une carte n'est pas lue
+    private final Map<CardId, Card> due = new LinkedHashMap<>();
+    private final Set<CardId> unresolved = new HashSet<>();
+    private final List<Set<CardId>> days = buckets(DAY_SLOTS);
+    private final List<Set<CardId>> blocks = buckets(BLOCK_SLOTS);
+    private final NavigableMap<Long, Set<CardId>> overflow = new TreeMap<>();
+    private final Map<CardId, Placement> placements = new HashMap<>();
+    // Cartes supprimées depuis la dernière bascule, et pendant le jour qui la précède
+    private List<CardId> deletedToday = new ArrayList<>();
+    private List<CardId> deletedYesterday = new ArrayList<>();
+
+    // Changements signalés pendant le remplissage, null hors remplissage
+    private List<Consumer<ReviewWheel>> pending;
+    private volatile boolean loaded;
+    private long currentDay;
+    private long lastReadDay;
+    private List<Card> snapshot;
+
+    /**
+     * Commence le remplissage au jour courant donné : les changements signalés
+     * à partir de maintenant sont mis de côté. Sous lock.
+     */
+    void startFill(long currentDay) {
+        this.currentDay = currentDay;
+        this.lastReadDay = currentDay;
+        pending = new ArrayList<>();
+    }
+
+    /**
+     * Range une carte lue dans la partition. Hors lock, par le seul thread qui remplit.
+     */
+    void fill(Card card) {
+        schedule(card);
+    }
+
+    /**
+     * Rejoue les changements signalés pendant le remplissage. Sous lock.
+     */
+    void finishFill() {
+        List<Consumer<ReviewWheel>> changes = pending;
+        pending = null;
+        changes.forEach(change -> change.accept(this));
+        loaded = true;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    long currentDay() {
+        return currentDay;
+    }
+
+    long lastReadDay() {
+        return lastReadDay;
+    }
+
+    /**
+     * Les cartes à réviser au jour courant, dans l'ordre où elles y sont entrées ;
+     * celles qui restent à lire sont omises. La roue compte comme lue ce jour (lastReadDay).
+     */
+    List<Card> dueCards() {
+        lastReadDay = currentDay;
+        if (snapshot == null) {
+            snapshot = due.values().stream().filter(Objects::nonNull).toList();
+        }
+        return snapshot;
+    }
+
+    boolean hasUnresolved() {
+        return !unresolved.isEmpty();
+    }
+
+    /**
+     * Les cartes entrées dans l'ensemble du jour sans leur contenu, à lire dans la partition.
+     */
+    List<CardId> unresolved() {
+        return List.copyOf(unresolved);
+    }
+
+    /**
+     * Donne son contenu à une carte de l'ensemble du jour, lue dans la partition.
+     * Une version plus récente que celle connue (changement pas encore signalé) est rangée
+     * comme tel ; une version plus ancienne, ou une carte qui a quitté l'ensemble, est ignorée.
+     */
+    void resolve(Card card) {
+        CardId id = card.getId();
+        Placement known = placements.get(id);
+        if (known == null || card.getVersion() < known.version()) {
+            return;
+        }
+        if (card.getVersion() > known.version()) {
+            schedule(card);
+        } else if (unresolved.remove(id)) {
+            due.replace(id, card);
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Nombre de cartes rangées, à réviser ou à venir.
+     */
+    int scheduledCount() {
+        int count = due.size();
+        for (Set<CardId> bucket : days) {
+            count += bucket.size();
+        }
+        for (Set<CardId> bucket : blocks) {
+            count += bucket.size();
+        }
+        for (Set<CardId> bucket : overflow.values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    /**
+     * Signale une carte enregistrée : rangée si la roue est remplie,
+     * mise de côté pendant le remplissage. Sous lock.
+     */
+    void saved(Card card) {
+        if (loaded) {
+            schedule(card);
+        } else if (pending != null) {
+            pending.add(wheel -> wheel.schedule(card));
+        }
+    }
+
+    /**
+     * Signale une carte supprimée, comme saved. Sous lock.
+     */
+    void deleted(CardId id) {
+        if (loaded) {
+            unschedule(id);
+        } else if (pending != null) {
+            pending.add(wheel -> wheel.unschedule(id));
+        }
+    }
+
+    /**
+     * Range la carte dans le seau de son prochain jour de révision,
+     * ou la retire si elle est apprise.
+     */
+    private void schedule(Card card) {
+        CardId id = card.getId();
+        Placement known = placements.get(id);
+        if (known != null && card.getVersion() < known.version()) {
+            return;
+        }
+        if (known != null) {
+            remove(id, known.day());
+        }
+        long day = card.nextReviewDate().map(LocalDate::toEpochDay).orElse(UNSCHEDULED);
+        if (day != UNSCHEDULED) {
+            add(card, day);
+        }
+        placements.put(id, new Placement(day, card.getVersion()));
+    }
+
+    /**
+     * Retire une carte supprimée ; un changement arrivé après la suppression est ignoré.
+     */
+    private void unschedule(CardId id) {
+        Placement known = placements.put(id, DELETED);
+        if (known != DELETED) {
+            deletedToday.add(id);
+        }
+        if (known != null) {
+            remove(id, known.day());
+        }
+    }
+
+    /**
+     * Oublie les cartes supprimées avant la bascule précédente.
+     */
+    void purgeDeleted() {
+        deletedYesterday.forEach(id -> placements.remove(id, DELETED));
+        deletedYesterday = deletedToday;
+        deletedToday = new ArrayList<>();
+    }
+
+    /**
+     * Avance la roue jour par jour jusqu'au jour donné ; un jour passé est ignoré.
+     */
+    void advanceTo(long day) {
+        while (currentDay < day) {
+            advance();
+        }
+    }
+
+    private void advance() {
+        currentDay++;
+        if ((currentDay & (BLOCK_SLOTS - 1)) == 0) {
+            long block = currentDay >> BLOCK_BITS;
+            // Le bloc suivant entre dans le niveau 0, puis son seau de niveau 1 accueille le bloc block + 65
+            Set<CardId> cascaded = blocks.get(blockSlot(block + 1));
+            cascaded.forEach(id -> days.get(daySlot(placements.get(id).day())).add(id));
+            cascaded.clear();
+            Map<Long, Set<CardId>> entering = overflow.headMap(firstDayOf(block + 2 + BLOCK_SLOTS), false);
+            entering.forEach((reviewDay, ids) -> blocks.get(blockSlot(reviewDay >> BLOCK_BITS)).addAll(ids));
+            entering.clear();
+        }
+        Set<CardId> today = days.get(daySlot(currentDay));
+        if (!today.isEmpty()) {
+            today.forEach(id -> due.put(id, null));
+            unresolved.addAll(today);
+            today.clear();
+            snapshot = null;
+        }
+    }
+
+    private void add(Card card, long day) {
+        CardId id = card.getId();
+        if (day <= currentDay) {
+            due.put(id, card);
+            unresolved.remove(id);
+            snapshot = null;
+        } else {
+            Set<CardId> bucket = bucket(day);
+            if (bucket != null) {
+                bucket.add(id);
+            } else {
+                overflow.computeIfAbsent(day, ignored -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    private void remove(CardId id, long day) {
+        if (day == UNSCHEDULED) {
+            return;
+        }
+        if (day <= currentDay) {
+            if (due.containsKey(id)) {
+                due.remove(id);
+                unresolved.remove(id);
+                snapshot = null;
+            }
+            return;
+        }
+        Set<CardId> bucket = bucket(day);
+        if (bucket != null) {
+            bucket.remove(id);
+            return;
+        }
+        Set<CardId> overflowing = overflow.get(day);
+        if (overflowing != null) {
+            overflowing.remove(id);
+            if (overflowing.isEmpty()) {
+                overflow.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Le seau de la roue d'un jour futur, null s'il est au-delà de l'horizon du niveau 1.
+     */
+    private Set<CardId> bucket(long day) {
+        long currentBlock = currentDay >> BLOCK_BITS;
+        long block = day >> BLOCK_BITS;
+        if (block <= currentBlock + 1) {
+            return days.get(daySlot(day));
+        }
+        if (block <= currentBlock + 1 + BLOCK_SLOTS) {
+            return blocks.get(blockSlot(block));
+        }
+        return null;
+    }
+
+    private static int daySlot(long day) {
+        return (int) (day & (DAY_SLOTS - 1));
+    }
+
+    private static int blockSlot(long block) {
+        return (int) (block & (BLOCK_SLOTS - 1));
+    }
+
+    private static long firstDayOf(long block) {
+        return block << BLOCK_BITS;
+    }
+
+    private static List<Set<CardId>> buckets(int count) {
+        List<Set<CardId>> buckets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            buckets.add(new HashSet<>());
+        }
+        return buckets;
+    }
+
+    private record Placement(long day, long version) {
+    }
+}
@@ -1,75 +1,182 @@
 package com.leitner.infrastructure.adapter.in.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
 import com.leitner.domain.port.in.AnswerCardUseCase;
 import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.AnswerCardsUseCase;
+import com.leitner.domain.port.in.AnswerCardsUseCase.Answer;
+import com.leitner.domain.port.in.AnswerCardsUseCase.AnswerCardsCommand;
 import com.leitner.domain.port.in.CreateCardUseCase;
 import com.leitner.domain.port.in.CreateCardUseCase.CreateCardCommand;
 import com.leitner.domain.port.in.GetCardsUseCase;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsPageQuery;
 import com.leitner.domain.port.in.GetCardsUseCase.GetCardsQuery;
 import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
 import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.in.ImportCardsUseCase;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportCardsCommand;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportReport;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportRow;
+import com.leitner.infrastructure.adapter.in.rest.bulk.CsvImportRows;
+import com.leitner.infrastructure.adapter.in.rest.bulk.NdjsonImportRows;
 import com.leitner.infrastructure.adapter.in.rest.dto.AnswerRequest;
+import com.leitner.infrastructure.adapter.in.rest.dto.BatchAnswerRequest;
 import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
 import com.leitner.infrastructure.adapter.in.rest.dto.CreateCardRequest;
+import com.leitner.infrastructure.adapter.in.rest.dto.ImportReportDTO;
 import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Adapter REST pour les endpoints des cartes.
  * Implémente le contrat d'interface défini dans le Swagger.
  * 
  * Endpoints :
- * - GET /cards : récupère toutes les cartes (avec filtre par tags optionnel)
+ * - GET /cards : récupère toutes les cartes (avec filtre par tags optionnel),
+ *   en JSON ou en NDJSON streamé (Accept: application/x-ndjson)
  * - POST /cards : crée une nouvelle carte
+ * - POST /cards/bulk : importe des cartes en masse (CSV ou NDJSON)
  * - GET /cards/quizz : récupère les cartes du quiz du jour
  * - PATCH /cards/{cardId}/answer : enregistre une réponse
+ * - PATCH /cards/answers : enregistre un lot de réponses horodatées
+ *
+ * Les cartes sont représentées en JSON (par défaut), en CBOR (application/cbor)
+ * ou en Smile (application/x-jackson-smile), selon les en-têtes Accept et Content-Type
+ * (voir BinaryFormatsConfiguration).
+ *
+ * Les listes acceptent une pagination à curseur (paramètres limit et cursor) :
+ * le curseur de la page suivante est renvoyé dans l'en-tête X-Next-Cursor.
+ * Elles portent un ETag tiré du numéro de changement des cartes et du format négocié
+ * (voir RepresentationETags) : une requête If-None-Match qui le présente reçoit 304,
+ * en général sans que les cartes soient lues. Le flux NDJSON porte le sien.
+ *
+ * L'en-tête optionnel X-User-Id désigne l'utilisateur propriétaire des cartes :
+ * chaque requête ne voit que les cartes de cet utilisateur. Sans en-tête,
+ * les cartes sont celles de l'utilisateur par défaut. L'identifiant compte au plus
+ * 64 caractères parmi lettres, chiffres, '.', '_', '@' et '-' : sinon, 400.
+ *
+ * Adapter de la pile Spring MVC (par défaut) ; avec le profil reactive,
+ * ReactiveCardController sert la même API.
  */
 @RestController
 @RequestMapping("/cards")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {CardController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CardController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String USER_ID_HEADER = "X-User-Id";
+    static final int MAX_USER_ID_LENGTH = 64;
+    private static final Pattern USER_ID_PATTERN = Pattern.compile("[A-Za-z0-9._@-]+");
+    static final String TEXT_CSV_VALUE = "text/csv";
+
     private final CreateCardUseCase createCardUseCase;
     private final GetCardsUseCase getCardsUseCase;
     private final GetQuizCardsUseCase getQuizCardsUseCase;
     private final AnswerCardUseCase answerCardUseCase;
+    private final AnswerCardsUseCase answerCardsUseCase;
+    private final ImportCardsUseCase importCardsUseCase;
     private final CardMapper cardMapper;
+    private final NdjsonCardWriter ndjsonCardWriter;
+    private final RepresentationETags representationETags;
+    private final ObjectReader createCardReader;
 
     public CardController(
             CreateCardUseCase createCardUseCase,
             GetCardsUseCase getCardsUseCase,
             GetQuizCardsUseCase getQuizCardsUseCase,
             AnswerCardUseCase answerCardUseCase,
-            CardMapper cardMapper) {
+            AnswerCardsUseCase answerCardsUseCase,
+            ImportCardsUseCase importCardsUseCase,
+            CardMapper cardMapper,
+            NdjsonCardWriter ndjsonCardWriter,
+            RepresentationETags representationETags,
+            ObjectMapper objectMapper) {
         this.createCardUseCase = createCardUseCase;
         this.getCardsUseCase = getCardsUseCase;
         this.getQuizCardsUseCase = getQuizCardsUseCase;
         this.answerCardUseCase = answerCardUseCase;
+        this.answerCardsUseCase = answerCardsUseCase;
+        this.importCardsUseCase = importCardsUseCase;
         this.cardMapper = cardMapper;
+        this.ndjsonCardWriter = ndjsonCardWriter;
+        this.representationETags = representationETags;
+        this.createCardReader = objectMapper.readerFor(CreateCardRequest.class);
     }
 
     /**
      * GET /cards
      * Récupère toutes les cartes, optionnellement filtrées par tags.
+     * Avec le paramètre limit, ne renvoie qu'une page de cartes triées par identifiant.
      */
     @GetMapping
     public ResponseEntity<List<CardDTO>> getAllCards(
-            @RequestParam(name = "tags", required = false) List<String> tags) {
-        
-        GetCardsQuery query = tags == null || tags.isEmpty() 
-            ? GetCardsQuery.all() 
-            : GetCardsQuery.withTags(tags);
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
+            @RequestParam(name = "tags", required = false) List<String> tags,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest webRequest) {
+
+        UserId userId = toUserId(userHeader);
+        if (representationETags.checkNotModified(baseTag(getCardsUseCase.changeSequence(userId), null), webRequest)) {
+            return revalidated(HttpStatus.NOT_MODIFIED).build();
+        }
+        if (limit != null) {
+            Page<Card> page = getCardsUseCase.execute(new GetCardsPageQuery(userId, tags, cursor, limit));
+            return toPageResponse(page);
+        }
+
+        GetCardsQuery query = new GetCardsQuery(userId, tags);
         
         List<Card> cards = getCardsUseCase.execute(query);
-        return ResponseEntity.ok(cardMapper.toDTOList(cards));
+        return revalidated(HttpStatus.OK).body(cardMapper.toDTOList(cards));
+    }
+
+    /**
+     * GET /cards (Accept: application/x-ndjson)
+     * Streame les cartes, une par ligne, directement depuis le repository.
+     * Le format est fixé par le mapping : l'ETag est traité avant la lecture des cartes.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCards(
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
+            @RequestParam(name = "tags", required = false) List<String> tags,
+            WebRequest webRequest) {
+
+        UserId userId = toUserId(userHeader);
+        String eTag = RepresentationETags.eTag(baseTag(getCardsUseCase.changeSequence(userId), null),
+            MediaType.APPLICATION_NDJSON);
+        if (webRequest.checkNotModified(eTag)) {
+            return revalidated(HttpStatus.NOT_MODIFIED).build();
+        }
+        GetCardsQuery query = new GetCardsQuery(userId, tags);
+        return revalidated(HttpStatus.OK)
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(output -> ndjsonCardWriter.write(getCardsUseCase.stream(query), output));
     }
 
     /**
@@ -77,8 +184,11 @@ public class CardController {
      * Crée une nouvelle carte.
      */
     @PostMapping
-    public ResponseEntity<CardDTO> createCard(@Valid @RequestBody CreateCardRequest request) {
+    public ResponseEntity<CardDTO> createCard(
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
+            @Valid @RequestBody CreateCardRequest request) {
         CreateCardCommand command = new CreateCardCommand(
+            toUserId(userHeader),
             request.question(),
             request.answer(),
             request.tag()
@@ -88,20 +198,57 @@ public class CardController {
         return ResponseEntity.status(HttpStatus.CREATED).body(cardMapper.toDTO(card));
     }
 
+    /**
+     * POST /cards/bulk (Content-Type: text/csv)
+     * Importe des cartes depuis un CSV question,answer[,tag], lu en flux.
+     */
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportReportDTO> importCsv(
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
+            InputStream body) {
+        return importCards(toUserId(userHeader), new CsvImportRows(utf8Reader(body)));
+    }
+
+    /**
+     * POST /cards/bulk (Content-Type: application/x-ndjson)
+     * Importe des cartes depuis un flux NDJSON, un objet CardUserData par ligne.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportDTO> importNdjson(
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
+            InputStream body) {
+        return importCards(toUserId(userHeader), new NdjsonImportRows(utf8Reader(body), createCardReader));
+    }
+
     /**
      * GET /cards/quizz
      * Récupère les cartes pour le quiz d'une date donnée.
      * Si aucune date n'est fournie, utilise la date du jour.
+     * Avec le paramètre limit, ne renvoie qu'une page des cartes à réviser.
      */
     @GetMapping("/quizz")
     public ResponseEntity<List<CardDTO>> getQuizCards(
-            @RequestParam(name = "date", required = false) String dateParam) {
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
+            @RequestParam(name = "date", required = false) String dateParam,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest webRequest) {
         
+        UserId userId = toUserId(userHeader);
         LocalDate date = parseDate(dateParam);
-        GetQuizCardsQuery query = GetQuizCardsQuery.forDate(date);
+        if (representationETags.checkNotModified(baseTag(getCardsUseCase.changeSequence(userId), date), webRequest)) {
+            return revalidated(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        if (limit != null) {
+            Page<Card> page = getQuizCardsUseCase.execute(new GetQuizCardsPageQuery(userId, date, cursor, limit));
+            return toPageResponse(page);
+        }
+
+        GetQuizCardsQuery query = new GetQuizCardsQuery(userId, date);
         
         List<Card> cards = getQuizCardsUseCase.execute(query);
-        return ResponseEntity.ok(cardMapper.toDTOList(cards));
+        return revalidated(HttpStatus.OK).body(cardMapper.toDTOList(cards));
     }
 
     /**
@@ -110,16 +257,96 @@ public class CardController {
      */
     @PatchMapping("/{cardId}/answer")
     public ResponseEntity<Void> answerCard(
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
             @PathVariable String cardId,
             @Valid @RequestBody AnswerRequest request) {
         
-        AnswerCardCommand command = new AnswerCardCommand(cardId, request.isValid());
+        AnswerCardCommand command = new AnswerCardCommand(toUserId(userHeader), cardId, request.isValid());
         answerCardUseCase.execute(command);
         
         return ResponseEntity.noContent().build();
     }
 
-    private LocalDate parseDate(String dateParam) {
+    /**
+     * PATCH /cards/answers
+     * Enregistre un lot de réponses horodatées (synchronisation hors ligne).
+     */
+    @PatchMapping("/answers")
+    public ResponseEntity<Void> answerCards(
+            @RequestHeader(name = USER_ID_HEADER, required = false) String userHeader,
+            @Valid @RequestBody BatchAnswerRequest request) {
+        AnswerCardsCommand command = new AnswerCardsCommand(
+            toUserId(userHeader),
+            request.answers().stream()
+                .map(entry -> new Answer(entry.cardId(), entry.isValid(), entry.answeredAt()))
+                .toList()
+        );
+        answerCardsUseCase.execute(command);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<ImportReportDTO> importCards(UserId userId, Iterator<ImportRow> rows) {
+        ImportReport report = importCardsUseCase.execute(new ImportCardsCommand(userId, rows));
+        return ResponseEntity.ok(cardMapper.toDTO(report));
+    }
+
+    /**
+     * Utilisateur désigné par l'en-tête X-User-Id, l'utilisateur par défaut s'il est absent.
+     *
+     * @throws IllegalArgumentException si l'identifiant est trop long ou contient
+     *                                  un caractère non autorisé
+     */
+    static UserId toUserId(String userHeader) {
+        if (userHeader == null || userHeader.isBlank()) {
+            return UserId.DEFAULT;
+        }
+        String userId = userHeader.strip();
+        if (userId.length() > MAX_USER_ID_LENGTH || !USER_ID_PATTERN.matcher(userId).matches()) {
+            throw new IllegalArgumentException(USER_ID_HEADER + " must be at most " + MAX_USER_ID_LENGTH
+                + " letters, digits, '.', '_', '@' or '-'");
+        }
+        return UserId.of(userId);
+    }
+
+    private static BufferedReader utf8Reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private ResponseEntity<List<CardDTO>> toPageResponse(Page<Card> page) {
+        ResponseEntity.BodyBuilder response = revalidated(HttpStatus.OK);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(cardMapper.toDTOList(page.items()));
+    }
+
+    /**
+     * Partie commune de l'ETag fort d'une liste de cartes : le numéro de changement
+     * des cartes de l'utilisateur, suivi de la date pour le quiz (sans paramètre date,
+     * la réponse change à minuit). RepresentationETags y ajoute le format négocié.
+     * Les paramètres de la requête (tags, limit, cursor) font partie de l'URL,
+     * à laquelle le client associe l'ETag.
+     */
+    private static String baseTag(long changeSequence, LocalDate quizDate) {
+        String sequence = Long.toHexString(changeSequence);
+        return quizDate == null ? sequence : sequence + "-" + quizDate;
+    }
+
+    /**
+     * Réponse à revalider à chaque lecture (If-None-Match) : elle dépend
+     * de l'utilisateur désigné par l'en-tête X-User-Id, et sa représentation
+     * (JSON, CBOR, Smile) de l'en-tête Accept.
+     */
+    private static ResponseEntity.BodyBuilder revalidated(HttpStatus status) {
+        return ResponseEntity.status(status).cacheControl(CacheControl.noCache())
+            .varyBy(USER_ID_HEADER, HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * Date du quiz, la date du jour si elle est absente ou invalide.
+     */
+    static LocalDate parseDate(String dateParam) {
         if (dateParam == null || dateParam.isBlank()) {
             return LocalDate.now();
         }
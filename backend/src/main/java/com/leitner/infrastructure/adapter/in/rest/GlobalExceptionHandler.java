@@ -1,11 +1,17 @@
 package com.leitner.infrastructure.adapter.in.rest;
 
 import com.leitner.domain.exception.CardNotFoundException;
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.exception.QuizSessionNotFoundException;
+import com.leitner.domain.exception.TooManyQuizSessionsException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +31,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(QuizSessionNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleQuizSessionNotFound(QuizSessionNotFoundException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Quiz session not found");
+        error.put("sessionId", e.getSessionId());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(TooManyQuizSessionsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyQuizSessions(TooManyQuizSessionsException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too many open quiz sessions");
+        error.put("maxSessions", String.valueOf(e.getMaxSessions()));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+    }
+
+    @ExceptionHandler(CardVersionConflictException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(CardVersionConflictException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Card was modified concurrently");
+        error.put("cardId", e.getCardId());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidation(MethodArgumentNotValidException e) {
         Map<String, String> errors = new HashMap<>();
@@ -34,6 +64,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
 
+    /**
+     * Corps invalide sur la pile réactive (équivalent de MethodArgumentNotValidException).
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleReactiveValidation(WebExchangeBindException e) {
+        Map<String, String> errors = new HashMap<>();
+        e.getBindingResult().getFieldErrors().forEach(error ->
+            errors.put(error.getField(), error.getDefaultMessage())
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    /**
+     * Erreurs qui portent leur statut HTTP : sur la pile réactive, corps illisible,
+     * paramètre invalide ou type de contenu non supporté.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, String>> handleResponseStatus(ResponseStatusException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getReason() != null ? e.getReason() : e.getStatusCode().toString());
+        return ResponseEntity.status(e.getStatusCode()).body(error);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid value for parameter " + e.getName());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
         Map<String, String> error = new HashMap<>();
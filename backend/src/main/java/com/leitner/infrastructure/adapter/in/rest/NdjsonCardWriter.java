@@ -0,0 +1,61 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.leitner.domain.model.Card;
+import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
+import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Écrit un flux de cartes au format NDJSON (un objet JSON par ligne).
+ * Chaque carte est convertie puis sérialisée dès sa lecture : la mémoire utilisée
+ * ne dépend pas du nombre de cartes, et les premières lignes partent avant
+ * que la dernière carte ne soit lue.
+ */
+@Component
+public class NdjsonCardWriter {
+
+    // Nombre de cartes écrites entre deux flush vers le client
+    private static final int FLUSH_INTERVAL = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter cardWriter;
+    private final CardMapper cardMapper;
+
+    public NdjsonCardWriter(ObjectMapper objectMapper, CardMapper cardMapper) {
+        this.objectMapper = objectMapper;
+        // Le flush est piloté ici, pas après chaque carte
+        this.cardWriter = objectMapper.writerFor(CardDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.cardMapper = cardMapper;
+    }
+
+    /**
+     * Sérialise les cartes du flux sur la sortie, puis ferme le flux.
+     */
+    public void write(Stream<Card> cards, OutputStream output) throws IOException {
+        try (cards; JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            int written = 0;
+            Iterator<Card> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                cardWriter.writeValue(generator, cardMapper.toDTO(iterator.next()));
+                generator.writeRaw('\n');
+                // Flush dès la première carte, puis par paquets
+                if (++written % FLUSH_INTERVAL == 1) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+}
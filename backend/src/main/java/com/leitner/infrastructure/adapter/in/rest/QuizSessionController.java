@@ -0,0 +1,77 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import com.leitner.domain.port.in.QuizSessionUseCase;
+import com.leitner.domain.port.in.QuizSessionUseCase.AnswerInSessionCommand;
+import com.leitner.domain.port.in.QuizSessionUseCase.QuizSessionBatch;
+import com.leitner.domain.port.in.QuizSessionUseCase.StartQuizSessionCommand;
+import com.leitner.infrastructure.adapter.in.rest.dto.QuizSessionDTO;
+import com.leitner.infrastructure.adapter.in.rest.dto.SessionAnswerRequest;
+import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Adapter REST pour les sessions de quiz.
+ *
+ * Endpoints :
+ * - POST /quiz-sessions : ouvre une session sur le quiz d'une date et renvoie le premier lot
+ * - POST /quiz-sessions/{sessionId}/answers : enregistre une réponse et renvoie le lot suivant
+ *
+ * Le client reçoit les cartes par lots de batchSize (20 par défaut) ; chaque réponse
+ * lui renvoie le lot suivant quand il n'a plus qu'un demi-lot de cartes d'avance,
+ * vide sinon. La session est terminée quand remaining vaut 0.
+ *
+ * Comme pour les cartes, l'en-tête optionnel X-User-Id désigne l'utilisateur :
+ * une session n'est visible que de son utilisateur.
+ */
+@RestController
+@RequestMapping("/quiz-sessions")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class QuizSessionController {
+
+    private final QuizSessionUseCase quizSessionUseCase;
+    private final CardMapper cardMapper;
+
+    public QuizSessionController(QuizSessionUseCase quizSessionUseCase, CardMapper cardMapper) {
+        this.quizSessionUseCase = quizSessionUseCase;
+        this.cardMapper = cardMapper;
+    }
+
+    /**
+     * POST /quiz-sessions
+     * Ouvre une session sur les cartes du quiz d'une date (la date du jour par défaut).
+     */
+    @PostMapping
+    public ResponseEntity<QuizSessionDTO> startSession(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @RequestParam(name = "date", required = false) String dateParam,
+            @RequestParam(name = "batchSize", defaultValue = "" + StartQuizSessionCommand.DEFAULT_BATCH_SIZE)
+            int batchSize) {
+
+        StartQuizSessionCommand command = new StartQuizSessionCommand(
+            CardController.toUserId(userHeader), CardController.parseDate(dateParam), batchSize);
+        QuizSessionBatch batch = quizSessionUseCase.execute(command);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(cardMapper.toDTO(batch));
+    }
+
+    /**
+     * POST /quiz-sessions/{sessionId}/answers
+     * Enregistre la réponse à une carte de la session et renvoie le lot suivant.
+     */
+    @PostMapping("/{sessionId}/answers")
+    public ResponseEntity<QuizSessionDTO> answer(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @PathVariable String sessionId,
+            @Valid @RequestBody SessionAnswerRequest request) {
+
+        AnswerInSessionCommand command = new AnswerInSessionCommand(
+            CardController.toUserId(userHeader), sessionId, request.cardId(), request.isValid());
+
+        return ResponseEntity.ok(cardMapper.toDTO(quizSessionUseCase.execute(command)));
+    }
+}
@@ -0,0 +1,304 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.AnswerCardsUseCase.Answer;
+import com.leitner.domain.port.in.AnswerCardsUseCase.AnswerCardsCommand;
+import com.leitner.domain.port.in.CreateCardUseCase.CreateCardCommand;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsPageQuery;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.in.ImportCardsUseCase;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportCardsCommand;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportRow;
+import com.leitner.domain.port.in.ReactiveAnswerCardUseCase;
+import com.leitner.domain.port.in.ReactiveAnswerCardsUseCase;
+import com.leitner.domain.port.in.ReactiveCreateCardUseCase;
+import com.leitner.domain.port.in.ReactiveGetCardsUseCase;
+import com.leitner.domain.port.in.ReactiveGetQuizCardsUseCase;
+import com.leitner.infrastructure.adapter.in.rest.bulk.CsvImportRows;
+import com.leitner.infrastructure.adapter.in.rest.bulk.NdjsonImportRows;
+import com.leitner.infrastructure.adapter.in.rest.dto.AnswerRequest;
+import com.leitner.infrastructure.adapter.in.rest.dto.BatchAnswerRequest;
+import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
+import com.leitner.infrastructure.adapter.in.rest.dto.CreateCardRequest;
+import com.leitner.infrastructure.adapter.in.rest.dto.ImportReportDTO;
+import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Adapter REST réactif (WebFlux) pour les endpoints des cartes.
+ * Même contrat que CardController, actif à la place de celui-ci avec le profil reactive.
+ *
+ * Les handlers ne bloquent jamais la boucle d'événements : ils s'appuient sur
+ * les variantes non bloquantes des use cases (futurs et flux). Les listes sans
+ * limit, en JSON comme en NDJSON, sont écrites au fil de la lecture : le flux
+ * de cartes n'avance qu'au rythme où la connexion du client accepte les octets
+ * (contre-pression jusqu'au repository, lu page par page).
+ *
+ * Les use cases sont appelés sur le pool boundedElastic de Reactor, jamais sur
+ * la boucle d'événements : la partition de l'utilisateur qu'ils résolvent peut devoir
+ * être ouverte depuis le stockage (lecture du journal, requête JDBC). Les pages
+ * suivantes d'un flux sont demandées depuis ce même pool.
+ *
+ * L'import en masse reste bloquant (il lit le corps comme un flux d'octets
+ * et écrit par lots) : il s'exécute aussi sur le pool boundedElastic.
+ *
+ * Différences avec CardController : les réponses n'ont ni ETag ni 304, et le quiz
+ * est lu dans la partition à chaque appel, sans le planificateur (ReviewScheduler)
+ * ni son cache (QuizCardsCache) ; la latence des use cases n'est pas mesurée
+ * (MeteredCardUseCases), seules les mesures des repositories le sont.
+ */
+@RestController
+@RequestMapping("/cards")
+@CrossOrigin(origins = "*", exposedHeaders = CardController.NEXT_CURSOR_HEADER)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCardController {
+
+    // Nombre de tampons du corps de l'import demandés d'avance au client
+    private static final int IMPORT_PREFETCH = 16;
+
+    private final ReactiveCreateCardUseCase reactiveCreateCardUseCase;
+    private final ReactiveGetCardsUseCase reactiveGetCardsUseCase;
+    private final ReactiveGetQuizCardsUseCase reactiveGetQuizCardsUseCase;
+    private final ReactiveAnswerCardUseCase reactiveAnswerCardUseCase;
+    private final ReactiveAnswerCardsUseCase reactiveAnswerCardsUseCase;
+    private final ImportCardsUseCase importCardsUseCase;
+    private final CardMapper cardMapper;
+    private final ObjectReader createCardReader;
+
+    public ReactiveCardController(
+            ReactiveCreateCardUseCase reactiveCreateCardUseCase,
+            ReactiveGetCardsUseCase reactiveGetCardsUseCase,
+            ReactiveGetQuizCardsUseCase reactiveGetQuizCardsUseCase,
+            ReactiveAnswerCardUseCase reactiveAnswerCardUseCase,
+            ReactiveAnswerCardsUseCase reactiveAnswerCardsUseCase,
+            ImportCardsUseCase importCardsUseCase,
+            CardMapper cardMapper,
+            ObjectMapper objectMapper) {
+        this.reactiveCreateCardUseCase = reactiveCreateCardUseCase;
+        this.reactiveGetCardsUseCase = reactiveGetCardsUseCase;
+        this.reactiveGetQuizCardsUseCase = reactiveGetQuizCardsUseCase;
+        this.reactiveAnswerCardUseCase = reactiveAnswerCardUseCase;
+        this.reactiveAnswerCardsUseCase = reactiveAnswerCardsUseCase;
+        this.importCardsUseCase = importCardsUseCase;
+        this.cardMapper = cardMapper;
+        this.createCardReader = objectMapper.readerFor(CreateCardRequest.class);
+    }
+
+    /**
+     * GET /cards
+     * Toutes les cartes, optionnellement filtrées par tags, ou une page avec limit.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Flux<CardDTO>>> getAllCards(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @RequestParam(name = "tags", required = false) List<String> tags,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+
+        UserId userId = CardController.toUserId(userHeader);
+        if (limit != null) {
+            GetCardsPageQuery query = new GetCardsPageQuery(userId, tags, cursor, limit);
+            return offEventLoop(() -> reactiveGetCardsUseCase.execute(query)).map(this::toPageResponse);
+        }
+        GetCardsQuery query = new GetCardsQuery(userId, tags);
+        return Mono.just(ResponseEntity.ok(toDTOs(() -> reactiveGetCardsUseCase.stream(query))));
+    }
+
+    /**
+     * GET /cards (Accept: application/x-ndjson)
+     * Streame les cartes, une par ligne.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CardDTO> streamAllCards(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @RequestParam(name = "tags", required = false) List<String> tags) {
+        GetCardsQuery query = new GetCardsQuery(CardController.toUserId(userHeader), tags);
+        return toDTOs(() -> reactiveGetCardsUseCase.stream(query));
+    }
+
+    /**
+     * POST /cards
+     * Crée une nouvelle carte.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<CardDTO>> createCard(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @Valid @RequestBody CreateCardRequest request) {
+        CreateCardCommand command = new CreateCardCommand(
+            CardController.toUserId(userHeader),
+            request.question(),
+            request.answer(),
+            request.tag()
+        );
+        return offEventLoop(() -> reactiveCreateCardUseCase.execute(command))
+            .map(card -> ResponseEntity.status(HttpStatus.CREATED).body(cardMapper.toDTO(card)));
+    }
+
+    /**
+     * POST /cards/bulk (Content-Type: text/csv)
+     */
+    @PostMapping(value = "/bulk", consumes = CardController.TEXT_CSV_VALUE)
+    public Mono<ResponseEntity<ImportReportDTO>> importCsv(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @RequestBody Flux<DataBuffer> body) {
+        return importCards(CardController.toUserId(userHeader), body, CsvImportRows::new);
+    }
+
+    /**
+     * POST /cards/bulk (Content-Type: application/x-ndjson)
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<ImportReportDTO>> importNdjson(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @RequestBody Flux<DataBuffer> body) {
+        return importCards(CardController.toUserId(userHeader), body,
+            reader -> new NdjsonImportRows(reader, createCardReader));
+    }
+
+    /**
+     * GET /cards/quizz
+     * Les cartes du quiz d'une date donnée (du jour par défaut), ou une page avec limit.
+     */
+    @GetMapping("/quizz")
+    public Mono<ResponseEntity<Flux<CardDTO>>> getQuizCards(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @RequestParam(name = "date", required = false) String dateParam,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+
+        UserId userId = CardController.toUserId(userHeader);
+        if (limit != null) {
+            GetQuizCardsPageQuery query = new GetQuizCardsPageQuery(
+                userId, CardController.parseDate(dateParam), cursor, limit);
+            return offEventLoop(() -> reactiveGetQuizCardsUseCase.execute(query)).map(this::toPageResponse);
+        }
+        GetQuizCardsQuery query = new GetQuizCardsQuery(userId, CardController.parseDate(dateParam));
+        return Mono.just(ResponseEntity.ok(toDTOs(() -> reactiveGetQuizCardsUseCase.stream(query))));
+    }
+
+    /**
+     * PATCH /cards/{cardId}/answer
+     * Enregistre une réponse pour une carte.
+     */
+    @PatchMapping("/{cardId}/answer")
+    public Mono<ResponseEntity<Void>> answerCard(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @PathVariable String cardId,
+            @Valid @RequestBody AnswerRequest request) {
+        AnswerCardCommand command = new AnswerCardCommand(
+            CardController.toUserId(userHeader), cardId, request.isValid());
+        return offEventLoop(() -> reactiveAnswerCardUseCase.execute(command))
+            .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * PATCH /cards/answers
+     * Enregistre un lot de réponses horodatées (synchronisation hors ligne).
+     */
+    @PatchMapping("/answers")
+    public Mono<ResponseEntity<Void>> answerCards(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader,
+            @Valid @RequestBody BatchAnswerRequest request) {
+        AnswerCardsCommand command = new AnswerCardsCommand(
+            CardController.toUserId(userHeader),
+            request.answers().stream()
+                .map(entry -> new Answer(entry.cardId(), entry.isValid(), entry.answeredAt()))
+                .toList()
+        );
+        return offEventLoop(() -> reactiveAnswerCardsUseCase.execute(command))
+            .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Le corps est lu comme un InputStream qui enchaîne les tampons reçus,
+     * au plus IMPORT_PREFETCH tampons d'avance, sur un thread qui peut bloquer.
+     */
+    private Mono<ResponseEntity<ImportReportDTO>> importCards(
+            UserId userId, Flux<DataBuffer> body, Function<BufferedReader, Iterator<ImportRow>> rows) {
+        return Mono.fromCallable(() -> {
+                try (Stream<DataBuffer> buffers = body
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .toStream(IMPORT_PREFETCH);
+                     InputStream in = concat(buffers.iterator())) {
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                    return importCardsUseCase.execute(new ImportCardsCommand(userId, rows.apply(reader)));
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(report -> ResponseEntity.ok(cardMapper.toDTO(report)));
+    }
+
+    /**
+     * Chaque tampon est libéré dès qu'il a été lu.
+     */
+    private static InputStream concat(Iterator<DataBuffer> buffers) {
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return buffers.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return buffers.next().asInputStream(true);
+            }
+        });
+    }
+
+    /**
+     * Appelle le use case sur le pool boundedElastic : la partition peut devoir être ouverte.
+     */
+    static <T> Mono<T> offEventLoop(Supplier<CompletableFuture<T>> call) {
+        return Mono.fromFuture(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Le flux n'est créé qu'à l'abonnement, sur le pool boundedElastic ;
+     * les demandes de l'abonné y sont aussi relayées (chaque page loue la partition).
+     */
+    private Flux<CardDTO> toDTOs(Supplier<Flow.Publisher<Card>> cards) {
+        return Flux.defer(() -> JdkFlowAdapter.flowPublisherToFlux(cards.get()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(cardMapper::toDTO);
+    }
+
+    private ResponseEntity<Flux<CardDTO>> toPageResponse(Page<Card> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(CardController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(Flux.fromIterable(cardMapper.toDTOList(page.items())));
+    }
+}
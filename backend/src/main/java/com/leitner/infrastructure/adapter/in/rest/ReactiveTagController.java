@@ -0,0 +1,44 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import com.leitner.domain.port.in.ReactiveGetTagsUseCase;
+import com.leitner.infrastructure.adapter.in.rest.dto.TagDTO;
+import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Adapter REST réactif (WebFlux) pour les tags des cartes.
+ * Même contrat que TagController, actif à sa place avec le profil reactive.
+ */
+@RestController
+@RequestMapping("/tags")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTagController {
+
+    private final ReactiveGetTagsUseCase reactiveGetTagsUseCase;
+    private final CardMapper cardMapper;
+
+    public ReactiveTagController(ReactiveGetTagsUseCase reactiveGetTagsUseCase, CardMapper cardMapper) {
+        this.reactiveGetTagsUseCase = reactiveGetTagsUseCase;
+        this.cardMapper = cardMapper;
+    }
+
+    /**
+     * GET /tags
+     * Liste les tags portés par au moins une carte de l'utilisateur, triés par nom.
+     */
+    @GetMapping
+    public Mono<List<TagDTO>> getTags(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader) {
+        return ReactiveCardController.offEventLoop(() -> reactiveGetTagsUseCase.listTags(CardController.toUserId(userHeader)))
+            .map(tags -> tags.stream().map(cardMapper::toDTO).toList());
+    }
+}
@@ -0,0 +1,93 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ETag des listes de cartes de CardController, suffixé du format que Spring MVC
+ * a réellement négocié (JSON, CBOR, Smile) : les représentations n'ont pas les mêmes
+ * octets, elles n'ont donc pas le même ETag.
+ *
+ * Le contrôleur donne la partie commune de l'ETag (numéro de changement, date du quiz).
+ * Le format n'est connu qu'à l'écriture de la réponse (beforeBodyWrite) : l'ETag y est
+ * posé, et une requête If-None-Match qui le présente y reçoit 304 sans corps.
+ * Les réponses d'erreur (statut autre que 200) n'en portent pas.
+ *
+ * Le format choisi pour chaque en-tête Accept est retenu : quand il est déjà connu,
+ * le contrôleur répond 304 avant de lire les cartes (checkNotModified). Seuls
+ * MAX_ACCEPT_HEADERS en-têtes distincts sont retenus ; au-delà, le 304 d'un en-tête
+ * inconnu est décidé à l'écriture, après la lecture des cartes.
+ */
+@ControllerAdvice(assignableTypes = CardController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RepresentationETags implements ResponseBodyAdvice<Object> {
+
+    static final int MAX_ACCEPT_HEADERS = 256;
+    private static final String BASE_TAG_ATTRIBUTE = RepresentationETags.class.getName() + ".baseTag";
+
+    // Format négocié par en-tête Accept (chaîne vide sans en-tête)
+    private final Map<String, MediaType> negotiated = new ConcurrentHashMap<>();
+
+    /**
+     * Retient la partie commune de l'ETag de la réponse et, si le format négocié
+     * pour cet en-tête Accept est déjà connu, traite l'en-tête If-None-Match.
+     *
+     * @return true si la réponse est 304, sans lire les cartes
+     */
+    public boolean checkNotModified(String baseTag, WebRequest webRequest) {
+        webRequest.setAttribute(BASE_TAG_ATTRIBUTE, baseTag, RequestAttributes.SCOPE_REQUEST);
+        MediaType representation = negotiated.get(accept(webRequest.getHeader(HttpHeaders.ACCEPT)));
+        return representation != null && webRequest.checkNotModified(eTag(baseTag, representation));
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || servletResponse.getServletResponse().getStatus() != HttpServletResponse.SC_OK) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        if (!(httpRequest.getAttribute(BASE_TAG_ATTRIBUTE) instanceof String baseTag)) {
+            return body;
+        }
+        String accept = accept(httpRequest.getHeader(HttpHeaders.ACCEPT));
+        if (negotiated.size() < MAX_ACCEPT_HEADERS || negotiated.containsKey(accept)) {
+            negotiated.put(accept, selectedContentType);
+        }
+        ServletWebRequest webRequest = new ServletWebRequest(httpRequest, servletResponse.getServletResponse());
+        return webRequest.checkNotModified(eTag(baseTag, selectedContentType)) ? null : body;
+    }
+
+    private static String accept(String header) {
+        return header == null ? "" : header;
+    }
+
+    static String eTag(String baseTag, MediaType representation) {
+        return "\"" + baseTag + "-" + representation.getSubtype() + "\"";
+    }
+}
@@ -0,0 +1,50 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import com.leitner.domain.port.in.GetTagsUseCase;
+import com.leitner.infrastructure.adapter.in.rest.dto.TagDTO;
+import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Adapter REST pour les tags des cartes.
+ *
+ * Endpoints :
+ * - GET /tags : liste les tags utilisés, avec leur nombre de cartes
+ *
+ * Comme pour les cartes, l'en-tête optionnel X-User-Id désigne l'utilisateur.
+ */
+@RestController
+@RequestMapping("/tags")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TagController {
+
+    private final GetTagsUseCase getTagsUseCase;
+    private final CardMapper cardMapper;
+
+    public TagController(GetTagsUseCase getTagsUseCase, CardMapper cardMapper) {
+        this.getTagsUseCase = getTagsUseCase;
+        this.cardMapper = cardMapper;
+    }
+
+    /**
+     * GET /tags
+     * Liste les tags portés par au moins une carte de l'utilisateur, triés par nom.
+     */
+    @GetMapping
+    public ResponseEntity<List<TagDTO>> getTags(
+            @RequestHeader(name = CardController.USER_ID_HEADER, required = false) String userHeader) {
+        List<TagDTO> tags = getTagsUseCase.listTags(CardController.toUserId(userHeader)).stream()
+            .map(cardMapper::toDTO)
+            .toList();
+        return ResponseEntity.ok(tags);
+    }
+}
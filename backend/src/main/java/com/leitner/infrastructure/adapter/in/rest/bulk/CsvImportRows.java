@@ -0,0 +1,180 @@
+package com.leitner.infrastructure.adapter.in.rest.bulk;
+
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportRow;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lecture en flux d'un import CSV (RFC 4180) : question,answer[,tag].
+ * Les champs peuvent être entre guillemets (guillemets doublés, retours à la ligne autorisés).
+ * Une première ligne d'en-tête "question,answer,tag" est ignorée.
+ *
+ * Un seul enregistrement est gardé en mémoire à la fois.
+ */
+public class CsvImportRows implements Iterator<ImportRow> {
+
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private long line = 1;
+    private int pending = -2;
+    private boolean firstRecord = true;
+    private ImportRow next;
+
+    /**
+     * @param reader source du CSV, idéalement bufferisée
+     */
+    public CsvImportRows(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ImportRow readRow() {
+        while (true) {
+            long startLine = line;
+            List<String> fields = new ArrayList<>(3);
+            String error = readRecord(fields);
+            if (fields.isEmpty() && error == null) {
+                return null;
+            }
+            boolean header = firstRecord && isHeader(fields);
+            firstRecord = false;
+            if (header || isBlank(fields)) {
+                continue;
+            }
+            if (error != null) {
+                return ImportRow.malformed(startLine, error);
+            }
+            if (fields.size() < 2 || fields.size() > 3) {
+                return ImportRow.malformed(startLine, "Expected 2 or 3 columns (question,answer,tag) but got " + fields.size());
+            }
+            String tag = fields.size() == 3 && !fields.get(2).isBlank() ? fields.get(2) : null;
+            return ImportRow.of(startLine, fields.get(0), fields.get(1), tag);
+        }
+    }
+
+    /**
+     * Lit un enregistrement complet dans fields.
+     * Renvoie un message d'erreur si l'enregistrement est mal formé, null sinon.
+     * En fin de flux, fields reste vide.
+     */
+    private String readRecord(List<String> fields) {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int length = 0;
+        String error = null;
+
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        while (true) {
+            if (c == -1) {
+                if (quoted) {
+                    error = "Unterminated quoted field";
+                }
+                fields.add(field.toString());
+                return error;
+            }
+            if (++length > MAX_RECORD_LENGTH && error == null) {
+                error = "Record exceeds " + MAX_RECORD_LENGTH + " characters";
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append(field, '"', error);
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, (char) c, error);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                line++;
+                fields.add(field.toString());
+                return error;
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else {
+                fieldStarted = true;
+                append(field, (char) c, error);
+            }
+            c = read();
+        }
+    }
+
+    private static void append(StringBuilder field, char c, String error) {
+        // Au-delà de la taille maximale, l'enregistrement est consommé sans être conservé
+        if (error == null) {
+            field.append(c);
+        }
+    }
+
+    private static boolean isHeader(List<String> fields) {
+        return fields.size() >= 2
+            && fields.get(0).trim().equalsIgnoreCase("question")
+            && fields.get(1).trim().equalsIgnoreCase("answer");
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.size() == 1 && fields.get(0).isBlank();
+    }
+
+    private int read() {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
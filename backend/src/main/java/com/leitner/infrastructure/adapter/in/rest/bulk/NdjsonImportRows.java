@@ -0,0 +1,111 @@
+package com.leitner.infrastructure.adapter.in.rest.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportRow;
+import com.leitner.infrastructure.adapter.in.rest.dto.CreateCardRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.leitner.infrastructure.adapter.in.rest.bulk.CsvImportRows.MAX_RECORD_LENGTH;
+
+/**
+ * Lecture en flux d'un import NDJSON : un objet CardUserData par ligne.
+ * Une ligne JSON invalide est rapportée sans interrompre la lecture des suivantes.
+ *
+ * Comme pour le CSV, une seule ligne est gardée en mémoire à la fois, et une ligne
+ * de plus de MAX_RECORD_LENGTH caractères est rejetée sans être conservée.
+ */
+public class NdjsonImportRows implements Iterator<ImportRow> {
+
+    private final BufferedReader reader;
+    private final ObjectReader cardReader;
+    private final StringBuilder text = new StringBuilder();
+    private boolean oversized;
+    private long line;
+    private ImportRow next;
+
+    /**
+     * @param reader source NDJSON
+     * @param cardReader lecteur Jackson configuré pour CreateCardRequest
+     */
+    public NdjsonImportRows(BufferedReader reader, ObjectReader cardReader) {
+        this.reader = reader;
+        this.cardReader = cardReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ImportRow readRow() {
+        try {
+            String text;
+            while ((text = readLine()) != null) {
+                line++;
+                if (oversized) {
+                    return ImportRow.malformed(line, "Record exceeds " + MAX_RECORD_LENGTH + " characters");
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    CreateCardRequest request = cardReader.readValue(text);
+                    String tag = request.tag() == null || request.tag().isBlank() ? null : request.tag();
+                    return ImportRow.of(line, request.question(), request.answer(), tag);
+                } catch (JsonProcessingException e) {
+                    return ImportRow.malformed(line, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lit une ligne sans son terminateur (\n, \r ou \r\n), null en fin de flux.
+     * Au-delà de la taille maximale, la ligne est consommée sans être conservée.
+     */
+    private String readLine() throws IOException {
+        text.setLength(0);
+        oversized = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (text.length() < MAX_RECORD_LENGTH) {
+                text.append((char) c);
+            } else {
+                oversized = true;
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package com.leitner.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO pour la requête de réponses groupées.
+ * Correspond au schema de la requête PATCH /cards/answers du Swagger.
+ */
+public record BatchAnswerRequest(
+    @NotEmpty(message = "answers is required")
+    @JsonProperty("answers")
+    List<@Valid Entry> answers
+) {
+
+    /**
+     * Réponse à une carte, horodatée par le client.
+     */
+    public record Entry(
+        @NotBlank(message = "cardId is required")
+        @JsonProperty("cardId")
+        String cardId,
+
+        @NotNull(message = "isValid is required")
+        @JsonProperty("isValid")
+        Boolean isValid,
+
+        @JsonProperty("answeredAt")
+        LocalDateTime answeredAt
+    ) {
+    }
+}
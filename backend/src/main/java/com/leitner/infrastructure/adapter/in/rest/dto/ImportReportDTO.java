@@ -0,0 +1,33 @@
+package com.leitner.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO représentant le rapport d'un import en masse.
+ * Correspond au schema ImportReport du Swagger.
+ */
+public record ImportReportDTO(
+    @JsonProperty("imported")
+    long imported,
+
+    @JsonProperty("rejected")
+    long rejected,
+
+    @JsonProperty("errors")
+    List<RowErrorDTO> errors
+) {
+
+    /**
+     * Erreur rattachée à une ligne du fichier importé.
+     */
+    public record RowErrorDTO(
+        @JsonProperty("line")
+        long line,
+
+        @JsonProperty("message")
+        String message
+    ) {
+    }
+}
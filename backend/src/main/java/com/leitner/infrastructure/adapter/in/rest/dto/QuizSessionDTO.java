@@ -0,0 +1,21 @@
+package com.leitner.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO représentant un lot de cartes d'une session de quiz.
+ * Correspond au schema QuizSession du Swagger.
+ */
+public record QuizSessionDTO(
+    @JsonProperty("sessionId")
+    String sessionId,
+
+    @JsonProperty("cards")
+    List<CardDTO> cards,
+
+    @JsonProperty("remaining")
+    int remaining
+) {
+}
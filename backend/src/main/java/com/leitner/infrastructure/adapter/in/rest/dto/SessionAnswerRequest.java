@@ -0,0 +1,20 @@
+package com.leitner.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO pour la requête de réponse dans une session de quiz.
+ * Correspond au schema de la requête POST /quiz-sessions/{sessionId}/answers du Swagger.
+ */
+public record SessionAnswerRequest(
+    @NotBlank(message = "cardId is required")
+    @JsonProperty("cardId")
+    String cardId,
+
+    @NotNull(message = "isValid is required")
+    @JsonProperty("isValid")
+    Boolean isValid
+) {
+}
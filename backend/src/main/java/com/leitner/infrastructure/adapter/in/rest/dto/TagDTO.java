@@ -0,0 +1,16 @@
+package com.leitner.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO représentant un tag et son nombre de cartes.
+ * Correspond au schema Tag du Swagger.
+ */
+public record TagDTO(
+    @JsonProperty("tag")
+    String tag,
+
+    @JsonProperty("cardCount")
+    long cardCount
+) {
+}
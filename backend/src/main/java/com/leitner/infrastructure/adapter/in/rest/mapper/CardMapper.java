@@ -1,7 +1,13 @@
 package com.leitner.infrastructure.adapter.in.rest.mapper;
 
 import com.leitner.domain.model.Card;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportReport;
+import com.leitner.domain.port.in.QuizSessionUseCase.QuizSessionBatch;
 import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
+import com.leitner.infrastructure.adapter.in.rest.dto.ImportReportDTO;
+import com.leitner.infrastructure.adapter.in.rest.dto.QuizSessionDTO;
+import com.leitner.infrastructure.adapter.in.rest.dto.TagDTO;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -34,4 +40,31 @@ public class CardMapper {
             .map(this::toDTO)
             .toList();
     }
+
+    /**
+     * Convertit un rapport d'import vers un DTO.
+     */
+    public ImportReportDTO toDTO(ImportReport report) {
+        return new ImportReportDTO(
+            report.imported(),
+            report.rejected(),
+            report.errors().stream()
+                .map(error -> new ImportReportDTO.RowErrorDTO(error.line(), error.message()))
+                .toList()
+        );
+    }
+
+    /**
+     * Convertit le nombre de cartes d'un tag vers un DTO.
+     */
+    public TagDTO toDTO(TagCount tagCount) {
+        return new TagDTO(tagCount.tag(), tagCount.cardCount());
+    }
+
+    /**
+     * Convertit un lot d'une session de quiz vers un DTO.
+     */
+    public QuizSessionDTO toDTO(QuizSessionBatch batch) {
+        return new QuizSessionDTO(batch.sessionId(), toDTOList(batch.cards()), batch.remaining());
+    }
 }
@@ -0,0 +1,26 @@
+package com.leitner.infrastructure.adapter.in.scheduling;
+
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Adapter entrant déclenché par l'horloge : ferme les partitions durables restées
+ * sans accès au-delà de leitner.persistence.partitions.idle-timeout.
+ */
+public class PartitionEvictionJob {
+
+    private final PerUserCardRepository partitions;
+    private final Duration idleTimeout;
+
+    public PartitionEvictionJob(PerUserCardRepository partitions, Duration idleTimeout) {
+        this.partitions = partitions;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${leitner.persistence.partitions.sweep-interval:PT1M}")
+    public void sweep() {
+        partitions.evictIdle(idleTimeout);
+    }
+}
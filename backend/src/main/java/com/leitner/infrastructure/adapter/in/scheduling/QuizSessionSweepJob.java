@@ -0,0 +1,22 @@
+package com.leitner.infrastructure.adapter.in.scheduling;
+
+import com.leitner.domain.service.QuizSessionService;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Adapter entrant déclenché par l'horloge : évince les sessions de quiz restées
+ * sans activité au-delà de leur durée de vie (leitner.quiz-sessions.ttl).
+ */
+public class QuizSessionSweepJob {
+
+    private final QuizSessionService quizSessionService;
+
+    public QuizSessionSweepJob(QuizSessionService quizSessionService) {
+        this.quizSessionService = quizSessionService;
+    }
+
+    @Scheduled(fixedDelayString = "${leitner.quiz-sessions.sweep-interval:PT1M}")
+    public void sweep() {
+        quizSessionService.evictExpired();
+    }
+}
@@ -0,0 +1,23 @@
+package com.leitner.infrastructure.adapter.in.scheduling;
+
+import com.leitner.domain.service.ReviewScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Adapter entrant déclenché par l'horloge : fait avancer les roues de révision
+ * à minuit (fuseau du serveur, celui du jour courant des quiz), pour que la liste
+ * du jour soit prête avant la première demande.
+ */
+public class ReviewRolloverJob {
+
+    private final ReviewScheduler reviewScheduler;
+
+    public ReviewRolloverJob(ReviewScheduler reviewScheduler) {
+        this.reviewScheduler = reviewScheduler;
+    }
+
+    @Scheduled(cron = "${leitner.review-scheduler.rollover-cron:0 0 0 * * *}")
+    public void rollOver() {
+        reviewScheduler.rollOver();
+    }
+}
@@ -0,0 +1,80 @@
+package com.leitner.infrastructure.adapter.out.id;
+
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.port.out.CardIdGenerator;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Génère des identifiants UUID version 7 (RFC 9562), ordonnés dans le temps.
+ *
+ * Disposition des 128 bits :
+ * - 48 bits : horodatage Unix en millisecondes ;
+ * - 4 bits : version (7) ;
+ * - 12 bits : compteur, initialisé aléatoirement à chaque milliseconde ;
+ * - 2 bits : variante (10) ;
+ * - 62 bits : aléa.
+ *
+ * Deux identifiants créés à des millisecondes différentes se trient dans l'ordre
+ * de création, ce qui garde groupées les cartes récentes dans les index triés.
+ * Sur un même thread, le compteur rend la suite strictement croissante, même si
+ * l'horloge recule ou si plus de 4096 identifiants sont créés dans la milliseconde
+ * (l'horodatage est alors avancé d'une milliseconde).
+ *
+ * L'aléa vient de ThreadLocalRandom et l'état du compteur est propre à chaque thread :
+ * aucune ressource n'est partagée, contrairement à UUID.randomUUID et son SecureRandom.
+ * Ces identifiants ne sont donc pas imprévisibles et ne doivent pas servir de secret.
+ */
+public class TimeOrderedCardIdGenerator implements CardIdGenerator {
+
+    private static final long VERSION = 7L << 12;
+    private static final long VARIANT = 1L << 63;
+    private static final long TIMESTAMP_MASK = (1L << 48) - 1;
+    private static final int MAX_COUNTER = (1 << 12) - 1;
+
+    // Le compteur démarre dans la moitié basse : au moins 2048 identifiants par milliseconde
+    private static final int COUNTER_SEED_BOUND = 1 << 11;
+
+    private final LongSupplier clock;
+    private final ThreadLocal<Sequence> sequences = ThreadLocal.withInitial(Sequence::new);
+
+    public TimeOrderedCardIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock l'horloge en millisecondes depuis l'epoch Unix
+     */
+    public TimeOrderedCardIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public CardId nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Sequence sequence = sequences.get();
+        long now = clock.getAsLong();
+        if (now > sequence.millis) {
+            sequence.millis = now;
+            sequence.counter = random.nextInt(COUNTER_SEED_BOUND);
+        } else if (sequence.counter < MAX_COUNTER) {
+            sequence.counter++;
+        } else {
+            sequence.millis++;
+            sequence.counter = random.nextInt(COUNTER_SEED_BOUND);
+        }
+
+        long high = (sequence.millis & TIMESTAMP_MASK) << 16 | VERSION | sequence.counter;
+        long low = random.nextLong() >>> 2 | VARIANT;
+        return CardId.of(high, low);
+    }
+
+    /**
+     * Dernière milliseconde utilisée par un thread et son compteur.
+     */
+    private static final class Sequence {
+        private long millis = Long.MIN_VALUE;
+        private int counter;
+    }
+}
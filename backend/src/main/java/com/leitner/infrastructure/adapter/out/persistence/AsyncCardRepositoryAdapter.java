@@ -0,0 +1,74 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Expose un CardRepository bloquant derrière le port non bloquant.
+ *
+ * Chaque appel est exécuté par l'exécuteur fourni :
+ * - pour un repository en mémoire, dont les appels ne font que du calcul,
+ *   l'exécuteur direct (Runnable::run) renvoie un futur déjà terminé ;
+ * - pour un repository qui attend une entrée/sortie (JDBC), un pool dédié
+ *   et borné absorbe l'attente, sans bloquer les threads de l'appelant.
+ */
+public class AsyncCardRepositoryAdapter implements AsyncCardRepository {
+
+    private final CardRepository delegate;
+    private final Executor executor;
+
+    /**
+     * @param delegate le repository bloquant
+     * @param executor l'exécuteur des appels au repository
+     */
+    public AsyncCardRepositoryAdapter(CardRepository delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Card> saveAsync(Card card) {
+        return call(() -> delegate.save(card));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Card>> updateAsync(CardId id, UnaryOperator<Card> updater) {
+        return call(() -> delegate.update(id, updater));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsByIdAsync(CardId id) {
+        return call(() -> delegate.existsById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<TagCount>> countByTagAsync() {
+        return call(delegate::countByTag);
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findPageAsync(List<String> tags, String cursor, int limit) {
+        return call(() -> delegate.findPage(tags, cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findDuePageAsync(LocalDate date, String cursor, int limit) {
+        return call(() -> delegate.findDuePage(date, cursor, limit));
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+}
@@ -0,0 +1,29 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numéro de changement d'un repository de cartes (voir CardRepository.changeSequence).
+ *
+ * Les repositories l'avancent après chaque écriture, une fois celle-ci visible
+ * des lectures : un lecteur qui voit un numéro voit aussi les écritures qui l'ont précédé.
+ *
+ * La valeur initiale est l'horloge, en microsecondes : après un redémarrage, le numéro
+ * dépasse ceux de l'exécution précédente tant que celle-ci n'a pas enregistré plus
+ * d'une écriture par microseconde. Un ETag obtenu avant l'arrêt ne désigne donc pas
+ * l'état reconstruit au démarrage.
+ */
+public final class ChangeSequence {
+
+    private final AtomicLong value =
+        new AtomicLong(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+
+    public long current() {
+        return value.get();
+    }
+
+    public void advance() {
+        value.incrementAndGet();
+    }
+}
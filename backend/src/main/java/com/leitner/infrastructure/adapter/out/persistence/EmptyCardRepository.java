@@ -0,0 +1,109 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.exception.PartitionOpenedForReadingException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Partition d'un utilisateur qui n'en a pas : lue sans être créée (voir
+ * PartitionedCardRepository.forReading).
+ *
+ * Toutes les lectures sont vides ; une mise à jour ou une suppression ne trouve
+ * aucune carte. Seules les créations sont refusées (PartitionOpenedForReadingException) :
+ * elles doivent passer par la partition de l'utilisateur (forUser).
+ */
+final class EmptyCardRepository implements CardRepository {
+
+    // Partagé par les partitions vides : leur ETag ne change pas d'une requête à l'autre
+    private static final ChangeSequence CHANGES = new ChangeSequence();
+
+    private final UserId owner;
+
+    EmptyCardRepository(UserId owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public Card save(Card card) {
+        throw new PartitionOpenedForReadingException(owner);
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cards) {
+        throw new PartitionOpenedForReadingException(owner);
+    }
+
+    @Override
+    public Optional<Card> findById(CardId id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Card> findAll() {
+        return List.of();
+    }
+
+    @Override
+    public List<Card> findByTags(List<String> tags) {
+        return List.of();
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        return List.of();
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        return List.of();
+    }
+
+    @Override
+    public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+        return Page.last(List.of());
+    }
+
+    @Override
+    public Stream<Card> stream(List<String> tags) {
+        return Stream.empty();
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        return Page.last(List.of());
+    }
+
+    @Override
+    public void deleteById(CardId id) {
+        // Aucune carte à supprimer
+    }
+
+    @Override
+    public boolean existsById(CardId id) {
+        return false;
+    }
+
+    /**
+     * Constant, et antérieur au numéro de toute partition créée ensuite
+     * (valeur initiale tirée de l'horloge) : l'ETag change à la première carte.
+     */
+    @Override
+    public long changeSequence() {
+        return CHANGES.current();
+    }
+}
@@ -1,36 +1,134 @@
 package com.leitner.infrastructure.adapter.out.persistence;
 
+import com.leitner.domain.exception.CardVersionConflictException;
 import com.leitner.domain.model.Card;
 import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.TagDictionary;
 import com.leitner.domain.port.out.CardRepository;
-import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implémentation en mémoire du repository de cartes.
  * Utilise une ConcurrentHashMap pour la thread-safety.
- * 
+ *
+ * Des index secondaires évitent de parcourir tout le deck :
+ * - par jour de prochaine révision (epoch day), pour le quiz ;
+ * - par identifiant de tag (index inversé, avec le nombre de cartes du tag),
+ *   pour le filtrage par tags et le décompte des cartes par tag ; les identifiants
+ *   viennent du dictionnaire du repository, qui ne contient que ses tags ;
+ * - par identifiant trié, pour la pagination à curseur.
+ * Les index sont mis à jour dans la section critique de la clé (compute),
+ * de sorte qu'une carte n'est jamais indexée à deux jours à la fois.
+ *
+ * Les cartes stockées ne sont jamais modifiées sur place : chaque écriture
+ * publie une nouvelle instance (version + 1) dans la section critique de la clé.
+ * Un lecteur voit donc toujours un couple catégorie / date de réponse cohérent,
+ * et deux réponses concurrentes sur une même carte sont sérialisées par update.
+ *
  * Note: Cette implémentation peut être facilement remplacée par une
  * implémentation JPA sans modifier le domaine (Open/Closed Principle).
+ * Elle est déclarée par PersistenceConfiguration selon le mode de persistence.
  */
-@Repository
 public class InMemoryCardRepository implements CardRepository {
 
-    private final Map<String, Card> cards = new ConcurrentHashMap<>();
+    private static final String DUE_CURSOR_SEPARATOR = ":";
+
+    private final Map<CardId, Card> cards = new ConcurrentHashMap<>();
+
+    // Identifiants triés : ordre stable pour la pagination
+    private final NavigableSet<CardId> orderedIds = new ConcurrentSkipListSet<>();
+
+    // Jour de prochaine révision -> identifiants des cartes.
+    // Un jour vidé de sa dernière carte est retiré (voir DayBucket).
+    private final NavigableMap<Long, DayBucket> cardIdsByReviewDay = new ConcurrentSkipListMap<>();
+    private final Map<CardId, Long> reviewDayByCardId = new ConcurrentHashMap<>();
+
+    // Identifiant de tag -> cartes portant ce tag (index inversé)
+    // Comme pour les jours, les tags vidés restent indexés avec un ensemble vide.
+    private final Map<Integer, TagPostings> postingsByTag = new ConcurrentHashMap<>();
+
+    private final TagDictionary tagDictionary;
+
+    private final ChangeSequence changes = new ChangeSequence();
+
+    public InMemoryCardRepository() {
+        this(new TagDictionary());
+    }
+
+    /**
+     * @param tagDictionary le dictionnaire des tags de cette partition
+     */
+    public InMemoryCardRepository(TagDictionary tagDictionary) {
+        this.tagDictionary = tagDictionary;
+    }
 
     @Override
     public Card save(Card card) {
-        cards.put(card.getId().getValue(), card);
-        return card;
+        Card saved = cards.compute(card.getId(), (key, previous) -> {
+            if (previous != null && card.getVersion() != 0 && card.getVersion() != previous.getVersion()) {
+                throw new CardVersionConflictException(key.getValue(), card.getVersion(), previous.getVersion());
+            }
+            long version = previous == null ? card.getVersion() : previous.getVersion();
+            // Nom enregistré dans le dictionnaire : partagé par les cartes stockées du tag
+            String tag = card.getTag() == null ? null : tagDictionary.intern(card.getTag()).getName();
+            Card stored = Card.reconstitute(card.getOwner(), card.getId(), card.getQuestion(), card.getAnswer(),
+                tag, card.getCategory(), card.getLastAnswerDate(), version + 1);
+            reindex(key, previous, stored);
+            return stored;
+        });
+        changes.advance();
+        return saved;
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        Card updated = cards.computeIfPresent(id, (key, previous) -> {
+            Card next = updater.apply(previous.nextVersion());
+            if (!previous.getId().equals(next.getId())) {
+                throw new IllegalArgumentException("Update cannot change the card id: " + key);
+            }
+            reindex(key, previous, next);
+            return next;
+        });
+        if (updated != null) {
+            changes.advance();
+        }
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cards) {
+        return cards.stream().map(this::save).toList();
     }
 
     @Override
     public Optional<Card> findById(CardId id) {
-        return Optional.ofNullable(cards.get(id.getValue()));
+        return Optional.ofNullable(cards.get(id));
     }
 
     @Override
@@ -40,19 +138,138 @@ public class InMemoryCardRepository implements CardRepository {
 
     @Override
     public List<Card> findByTags(List<String> tags) {
-        return cards.values().stream()
-            .filter(card -> card.getTag() != null && tags.contains(card.getTag()))
+        return tagIdSets(tags).stream()
+            .flatMap(Set::stream)
+            .map(cards::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        List<TagCount> counts = new ArrayList<>(postingsByTag.size());
+        postingsByTag.forEach((tagId, postings) -> {
+            long count = postings.count().get();
+            if (count > 0) {
+                counts.add(new TagCount(tagDictionary.get(tagId).getName(), count));
+            }
+        });
+        return counts;
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        // distinct() : une carte déplacée pendant le parcours peut être vue deux fois
+        return cardIdsByReviewDay.headMap(date.toEpochDay(), true).values().stream()
+            .flatMap(bucket -> bucket.ids.stream())
+            .map(cards::get)
+            .filter(Objects::nonNull)
+            .distinct()
             .toList();
     }
 
+    @Override
+    public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+        Iterator<CardId> ids = sortedIds(tags, cursor == null ? null : CardId.of(cursor));
+
+        List<Card> page = new ArrayList<>(limit + 1);
+        while (ids.hasNext() && page.size() <= limit) {
+            Card card = cards.get(ids.next());
+            if (card != null) {
+                page.add(card);
+            }
+        }
+        if (page.size() <= limit) {
+            return Page.last(page);
+        }
+        List<Card> items = page.subList(0, limit);
+        return new Page<>(items, items.get(limit - 1).getId().getValue());
+    }
+
+    @Override
+    public Stream<Card> stream(List<String> tags) {
+        Spliterator<CardId> ids = Spliterators.spliteratorUnknownSize(
+            sortedIds(tags, null), Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL);
+        return StreamSupport.stream(ids, false)
+            .map(cards::get)
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        long lastDay = date.toEpochDay();
+        Long cursorDay = null;
+        CardId cursorId = null;
+        if (cursor != null) {
+            int separator = cursor.indexOf(DUE_CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                cursorDay = Long.parseLong(cursor.substring(0, separator));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            cursorId = CardId.of(cursor.substring(separator + 1));
+        }
+
+        NavigableMap<Long, DayBucket> days = cursorDay == null
+            ? cardIdsByReviewDay.headMap(lastDay, true)
+            : cardIdsByReviewDay.subMap(cursorDay, true, lastDay, true);
+
+        List<Card> items = new ArrayList<>(limit);
+        long lastItemDay = 0;
+        for (Map.Entry<Long, DayBucket> bucket : days.entrySet()) {
+            long day = bucket.getKey();
+            NavigableSet<CardId> ids = cursorDay != null && day == cursorDay
+                ? bucket.getValue().ids.tailSet(cursorId, false)
+                : bucket.getValue().ids;
+            for (CardId id : ids) {
+                Card card = cards.get(id);
+                if (card == null) {
+                    continue;
+                }
+                if (items.size() == limit) {
+                    return new Page<>(items, dueCursor(lastItemDay, items.get(limit - 1)));
+                }
+                items.add(card);
+                lastItemDay = day;
+            }
+        }
+        return Page.last(items);
+    }
+
     @Override
     public void deleteById(CardId id) {
-        cards.remove(id.getValue());
+        cards.computeIfPresent(id, (key, previous) -> {
+            orderedIds.remove(key);
+            unindexReviewDay(key);
+            unindexTag(key, previous);
+            return null;
+        });
+        changes.advance();
     }
 
     @Override
     public boolean existsById(CardId id) {
-        return cards.containsKey(id.getValue());
+        return cards.containsKey(id);
+    }
+
+    @Override
+    public long changeSequence() {
+        return changes.current();
+    }
+
+    /**
+     * Réinsère une carte telle quelle, version comprise, sans contrôle optimiste.
+     * Réservé à la reconstruction de l'état depuis un stockage durable.
+     */
+    public void restore(Card card) {
+        cards.compute(card.getId(), (key, previous) -> {
+            reindex(key, previous, card);
+            return card;
+        });
+        changes.advance();
     }
 
     /**
@@ -60,5 +277,211 @@ public class InMemoryCardRepository implements CardRepository {
      */
     public void clear() {
         cards.clear();
+        orderedIds.clear();
+        cardIdsByReviewDay.clear();
+        reviewDayByCardId.clear();
+        postingsByTag.clear();
+        changes.advance();
+    }
+
+    private void reindex(CardId key, Card previous, Card card) {
+        orderedIds.add(key);
+        unindexReviewDay(key);
+        indexReviewDay(key, card);
+        if (previous != null) {
+            unindexTag(key, previous);
+        }
+        indexTag(key, card);
+    }
+
+    private void indexReviewDay(CardId key, Card card) {
+        card.nextReviewDate().ifPresent(date -> {
+            long day = date.toEpochDay();
+            reviewDayByCardId.put(key, day);
+            // Un jour retiré entre-temps par son dernier départ est recréé
+            while (!cardIdsByReviewDay.computeIfAbsent(day, d -> new DayBucket()).add(key)) {
+                Thread.onSpinWait();
+            }
+        });
+    }
+
+    private void unindexReviewDay(CardId key) {
+        Long day = reviewDayByCardId.remove(key);
+        if (day != null) {
+            DayBucket bucket = cardIdsByReviewDay.get(day);
+            if (bucket != null && bucket.remove(key)) {
+                cardIdsByReviewDay.remove(day, bucket);
+            }
+        }
+    }
+
+    /**
+     * Nombre de jours indexés, chacun avec au moins une carte.
+     */
+    int reviewDayCount() {
+        return cardIdsByReviewDay.size();
+    }
+
+    private void indexTag(CardId key, Card card) {
+        if (card.getTag() != null) {
+            TagPostings postings = postingsByTag.computeIfAbsent(tagDictionary.intern(card.getTag()).getId(),
+                t -> new TagPostings(new ConcurrentSkipListSet<>(), new AtomicLong()));
+            if (postings.ids().add(key)) {
+                postings.count().incrementAndGet();
+            }
+        }
+    }
+
+    private void unindexTag(CardId key, Card card) {
+        if (card.getTag() != null) {
+            TagPostings postings = postingsByTag.get(tagDictionary.intern(card.getTag()).getId());
+            if (postings != null && postings.ids().remove(key)) {
+                postings.count().decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Ensembles d'identifiants des tags demandés ; les tags inconnus du dictionnaire
+     * sont ignorés sans y être enregistrés.
+     */
+    private List<NavigableSet<CardId>> tagIdSets(List<String> tags) {
+        return tags.stream()
+            .distinct()
+            .map(tagDictionary::find)
+            .flatMap(Optional::stream)
+            .map(tag -> postingsByTag.get(tag.getId()))
+            .filter(Objects::nonNull)
+            .map(TagPostings::ids)
+            .toList();
+    }
+
+    /**
+     * Itère, dans l'ordre, les identifiants des cartes situées après le curseur,
+     * toutes cartes confondues ou limitées aux tags demandés.
+     */
+    private Iterator<CardId> sortedIds(List<String> tags, CardId cursor) {
+        if (tags.isEmpty()) {
+            return after(orderedIds, cursor).iterator();
+        }
+        // Une carte n'a qu'un tag : les ensembles fusionnés sont disjoints
+        return mergeSorted(tagIdSets(tags).stream()
+            .map(set -> after(set, cursor).iterator())
+            .toList());
+    }
+
+    /**
+     * Curseur du quiz : jour d'index et identifiant de la dernière carte lue.
+     */
+    private static String dueCursor(long day, Card card) {
+        return day + DUE_CURSOR_SEPARATOR + card.getId().getValue();
+    }
+
+    private static NavigableSet<CardId> after(NavigableSet<CardId> ids, CardId cursor) {
+        return cursor == null ? ids : ids.tailSet(cursor, false);
+    }
+
+    /**
+     * Fusionne des itérateurs triés en un seul itérateur trié (k-way merge).
+     */
+    private static Iterator<CardId> mergeSorted(List<Iterator<CardId>> sources) {
+        PriorityQueue<PeekingIterator> heap = new PriorityQueue<>(
+            Math.max(sources.size(), 1), Comparator.comparing(PeekingIterator::peek));
+        sources.stream()
+            .filter(Iterator::hasNext)
+            .map(PeekingIterator::new)
+            .forEach(heap::add);
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heap.isEmpty();
+            }
+
+            @Override
+            public CardId next() {
+                PeekingIterator source = heap.poll();
+                CardId value = source.next();
+                if (source.hasNext()) {
+                    heap.add(source);
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Cartes d'un tag ; le compteur évite de parcourir l'ensemble (size() y est linéaire).
+     */
+    private record TagPostings(NavigableSet<CardId> ids, AtomicLong count) {
+    }
+
+    /**
+     * Cartes d'un jour de révision. Les cartes d'un même jour sont indexées en parallèle
+     * (chacune sous sa propre clé) : le retrait d'un jour vidé et l'ajout d'une carte
+     * sont donc ordonnés par le verrou du jour. Un jour vidé est retiré (retired)
+     * avant d'être ôté de l'index : une carte qui y arrive ensuite en crée un nouveau.
+     * ConcurrentSkipListMap.compute n'étant pas atomique, il ne suffit pas ici.
+     */
+    private static final class DayBucket {
+
+        private final NavigableSet<CardId> ids = new ConcurrentSkipListSet<>();
+        private final Lock lock = new ReentrantLock();
+        private boolean retired;
+
+        /**
+         * @return false si le jour a été retiré : la carte n'y est pas ajoutée
+         */
+        boolean add(CardId id) {
+            lock.lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                ids.add(id);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return true si le jour vient d'être vidé de sa dernière carte, et retiré
+         */
+        boolean remove(CardId id) {
+            lock.lock();
+            try {
+                ids.remove(id);
+                retired = ids.isEmpty();
+                return retired;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<CardId> delegate;
+        private CardId head;
+
+        PeekingIterator(Iterator<CardId> delegate) {
+            this.delegate = delegate;
+            this.head = delegate.next();
+        }
+
+        CardId peek() {
+            return head;
+        }
+
+        boolean hasNext() {
+            return head != null;
+        }
+
+        CardId next() {
+            CardId value = head;
+            head = delegate.hasNext() ? delegate.next() : null;
+            return value;
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.exception.UserAlreadyExistsException;
+import com.leitner.domain.model.User;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.UserRepository;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implémentation en mémoire du repository des utilisateurs.
+ *
+ * Deux index uniques complètent la table principale (identifiant -> utilisateur) :
+ * nom d'utilisateur -> identifiant, et email en minuscules -> identifiant.
+ * Les recherches sont deux accès à des ConcurrentHashMap, quel que soit
+ * le nombre d'utilisateurs.
+ *
+ * Une sauvegarde s'exécute dans la section critique de l'identifiant (compute) :
+ * elle réserve d'abord le nom et l'email (putIfAbsent, atomique), puis libère
+ * ceux de la version précédente. Si une réservation échoue, celles déjà faites
+ * sont annulées et l'utilisateur n'est pas enregistré : de deux inscriptions
+ * concurrentes avec le même nom ou le même email, une seule aboutit.
+ *
+ * Un index peut, le temps d'une sauvegarde, désigner un utilisateur dont la nouvelle
+ * version n'est pas encore publiée : les recherches vérifient que l'utilisateur
+ * trouvé porte bien le nom ou l'email demandé.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Map<UserId, User> users = new ConcurrentHashMap<>();
+    private final Map<String, UserId> idsByUsername = new ConcurrentHashMap<>();
+    private final Map<String, UserId> idsByEmail = new ConcurrentHashMap<>();
+
+    @Override
+    public User save(User user) {
+        UserId id = user.getId();
+        String username = user.getUsername();
+        String email = emailKey(user.getEmail());
+        users.compute(id, (key, previous) -> {
+            claim(idsByUsername, username, id, "username", user.getUsername());
+            try {
+                claim(idsByEmail, email, id, "email", user.getEmail());
+            } catch (UserAlreadyExistsException e) {
+                if (previous == null || !previous.getUsername().equals(username)) {
+                    idsByUsername.remove(username, id);
+                }
+                throw e;
+            }
+            if (previous != null) {
+                release(idsByUsername, previous.getUsername(), username, id);
+                release(idsByEmail, emailKey(previous.getEmail()), email, id);
+            }
+            return user;
+        });
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(UserId id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return lookup(idsByUsername.get(username))
+            .filter(user -> user.getUsername().equals(username));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String key = emailKey(email);
+        return lookup(idsByEmail.get(key))
+            .filter(user -> emailKey(user.getEmail()).equals(key));
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    /**
+     * Nombre d'utilisateurs enregistrés.
+     */
+    public int count() {
+        return users.size();
+    }
+
+    /**
+     * Vide le repository (utile pour les tests).
+     */
+    public void clear() {
+        users.clear();
+        idsByUsername.clear();
+        idsByEmail.clear();
+    }
+
+    private Optional<User> lookup(UserId id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(users.get(id));
+    }
+
+    /**
+     * Réserve la clé pour l'utilisateur ; sans effet si elle lui appartient déjà.
+     */
+    private static void claim(Map<String, UserId> index, String key, UserId id, String field, String value) {
+        UserId holder = index.putIfAbsent(key, id);
+        if (holder != null && !holder.equals(id)) {
+            throw new UserAlreadyExistsException(field, value);
+        }
+    }
+
+    /**
+     * Libère l'ancienne clé de l'utilisateur quand elle a changé.
+     */
+    private static void release(Map<String, UserId> index, String previousKey, String key, UserId id) {
+        if (!Objects.equals(previousKey, key)) {
+            index.remove(previousKey, id);
+        }
+    }
+
+    /**
+     * Les emails sont comparés sans tenir compte de la casse ni des espaces autour.
+     */
+    private static String emailKey(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,243 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardChangeListener;
+import com.leitner.domain.port.out.CardRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Partition d'un utilisateur qui signale ses écritures à un CardChangeListener.
+ *
+ * Chaque écriture est notifiée après son retour (ou la fin de son futur) :
+ * l'écoute voit l'état enregistré, durable compris. Un changement de catégorie est
+ * signalé en plus (categoryChanged), la catégorie précédente étant celle que la mise
+ * à jour a reçue, ou relue avant une sauvegarde ou une suppression. Les lectures vont directement
+ * au repository décoré.
+ *
+ * Expose aussi le port non bloquant : celui du repository décoré s'il l'implémente
+ * (journal), sinon ses appels bloquants exécutés par l'exécuteur fourni.
+ */
+public class NotifyingCardRepository implements CardRepository, AsyncCardRepository, Closeable {
+
+    private final UserId owner;
+    private final CardRepository delegate;
+    private final AsyncCardRepository asyncDelegate;
+    private final CardChangeListener listener;
+
+    /**
+     * @param owner le propriétaire des cartes de la partition
+     * @param delegate la partition décorée
+     * @param blockingExecutor exécute les appels non bloquants si la partition n'a pas d'accès natif
+     * @param listener reçoit les changements
+     */
+    public NotifyingCardRepository(UserId owner, CardRepository delegate, Executor blockingExecutor,
+                                   CardChangeListener listener) {
+        this.owner = owner;
+        this.delegate = delegate;
+        this.asyncDelegate = delegate instanceof AsyncCardRepository nonBlocking
+            ? nonBlocking
+            : new AsyncCardRepositoryAdapter(delegate, blockingExecutor);
+        this.listener = listener;
+    }
+
+    /**
+     * La partition décorée.
+     */
+    public CardRepository delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Card save(Card card) {
+        Category before = previousCategory(card);
+        Card saved = delegate.save(card);
+        saved(before, saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        PreviousCategory before = new PreviousCategory();
+        Optional<Card> updated = delegate.update(id, before.capturing(updater));
+        updated.ifPresent(card -> saved(before.category, card));
+        return updated;
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cards) {
+        List<Category> before = cards.stream().map(this::previousCategory).toList();
+        List<Card> saved = delegate.saveAll(cards);
+        for (int i = 0; i < saved.size(); i++) {
+            saved(before.get(i), saved.get(i));
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(CardId id) {
+        Category before = delegate.findById(id).map(Card::getCategory).orElse(null);
+        delegate.deleteById(id);
+        listener.cardDeleted(owner, id);
+        if (before != null) {
+            listener.categoryChanged(owner, before, null);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Card> saveAsync(Card card) {
+        Category before = previousCategory(card);
+        return asyncDelegate.saveAsync(card).thenApply(saved -> {
+            saved(before, saved);
+            return saved;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Card>> updateAsync(CardId id, UnaryOperator<Card> updater) {
+        PreviousCategory before = new PreviousCategory();
+        return asyncDelegate.updateAsync(id, before.capturing(updater)).thenApply(updated -> {
+            updated.ifPresent(card -> saved(before.category, card));
+            return updated;
+        });
+    }
+
+    @Override
+    public Optional<Card> findById(CardId id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Card> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Card> findByTags(List<String> tags) {
+        return delegate.findByTags(tags);
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        return delegate.countByTag();
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        return delegate.findDueOn(date);
+    }
+
+    @Override
+    public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+        return delegate.findPage(tags, cursor, limit);
+    }
+
+    @Override
+    public Stream<Card> stream(List<String> tags) {
+        return delegate.stream(tags);
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        return delegate.findDuePage(date, cursor, limit);
+    }
+
+    @Override
+    public boolean existsById(CardId id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public long changeSequence() {
+        return delegate.changeSequence();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsByIdAsync(CardId id) {
+        return asyncDelegate.existsByIdAsync(id);
+    }
+
+    @Override
+    public CompletableFuture<List<TagCount>> countByTagAsync() {
+        return asyncDelegate.countByTagAsync();
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findPageAsync(List<String> tags, String cursor, int limit) {
+        return asyncDelegate.findPageAsync(tags, cursor, limit);
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findDuePageAsync(LocalDate date, String cursor, int limit) {
+        return asyncDelegate.findDuePageAsync(date, cursor, limit);
+    }
+
+    @Override
+    public Map<Category, Long> countByCategory() {
+        return delegate.countByCategory();
+    }
+
+    private void saved(Category before, Card saved) {
+        listener.cardSaved(saved);
+        if (before != saved.getCategory()) {
+            listener.categoryChanged(owner, before, saved.getCategory());
+        }
+    }
+
+    /**
+     * Catégorie de la carte avant sa sauvegarde : une carte de version 0 est une création
+     * (identifiant tout juste généré), les autres sont relues.
+     */
+    private Category previousCategory(Card card) {
+        if (card.getVersion() == 0) {
+            return null;
+        }
+        return delegate.findById(card.getId()).map(Card::getCategory).orElse(null);
+    }
+
+    /**
+     * Retient la catégorie de la version que la mise à jour a reçue ;
+     * celle du dernier appel si la fonction est rejouée.
+     */
+    private static final class PreviousCategory {
+
+        private volatile Category category;
+
+        private UnaryOperator<Card> capturing(UnaryOperator<Card> updater) {
+            return card -> {
+                category = card.getCategory();
+                return updater.apply(card);
+            };
+        }
+    }
+
+    /**
+     * Ferme la partition décorée si elle détient des ressources ;
+     * ce qui a été lu de la partition n'est plus garanti.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (delegate instanceof Closeable closeable) {
+                closeable.close();
+            }
+        } finally {
+            listener.partitionDiscarded(owner);
+        }
+    }
+}
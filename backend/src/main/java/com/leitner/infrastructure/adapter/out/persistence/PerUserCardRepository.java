@@ -0,0 +1,587 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardChangeListener;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.out.PartitionedAsyncCardRepository;
+import com.leitner.domain.port.out.PartitionedCardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Partitions de cartes par utilisateur.
+ *
+ * Chaque utilisateur reçoit, à son premier accès, un repository créé par la fabrique
+ * fournie : ses index, ses verrous et ses compteurs ne sont partagés avec personne.
+ * Le quiz, la liste et les réponses d'un utilisateur ne touchent que sa partition,
+ * et les écritures de plusieurs utilisateurs ne se disputent aucun verrou.
+ *
+ * La fabrique est appelée sous le verrou d'ouverture de l'utilisateur (verrous
+ * répartis) : deux premiers accès concurrents obtiennent la même partition.
+ *
+ * Les appelants ne reçoivent pas la partition elle-même mais un accès (LeasedPartition)
+ * qui la loue le temps de chaque appel : jusqu'à son retour, jusqu'à la fin de son futur,
+ * ou jusqu'à la fermeture du flux qu'il rend (NDJSON, flux réactifs).
+ *
+ * L'accès non bloquant (forUserAsync) utilise l'implémentation native de la partition
+ * si elle en a une (journal), sinon exécute ses appels sur l'exécuteur des appels
+ * bloquants : direct pour les stockages en mémoire, un pool borné pour JDBC.
+ *
+ * Chaque partition est décorée par NotifyingCardRepository : ses écritures sont
+ * signalées aux CardChangeListener abonnés (cache du quiz...).
+ *
+ * Seules les créations de cartes ouvrent une partition. Les lectures (forReading)
+ * ouvrent celle que le stockage conserve, sinon lisent une partition vide
+ * sans la garder : un identifiant inconnu ne coûte rien.
+ *
+ * Les partitions durables (Eviction) peuvent être fermées puis rouvertes depuis
+ * le stockage : evictIdle ferme celles qui n'ont pas servi depuis un délai, et
+ * au-delà de maxOpen partitions ouvertes, la moins récemment utilisée est fermée.
+ * Fermer une partition libère ce qu'elle détient (threads et fichiers du journal).
+ * Seule une partition qu'aucun appel ne loue est fermée : une partition louée reste
+ * ouverte, quitte à dépasser maxOpen jusqu'à la prochaine éviction. La fermeture
+ * (snapshot final du journal compris) se fait sous le verrou d'ouverture : un accès
+ * qui rouvre la partition attend qu'elle soit terminée. Un accès gardé après la fermeture
+ * rouvre la partition à son appel suivant. Les partitions en mémoire,
+ * qui portent les cartes elles-mêmes, ne sont jamais évincées.
+ */
+public class PerUserCardRepository implements PartitionedCardRepository, PartitionedAsyncCardRepository, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PerUserCardRepository.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Partitions durables, que le stockage permet de fermer puis de rouvrir.
+     *
+     * @param stored indique si le stockage conserve une partition de l'utilisateur
+     * @param maxOpen le nombre maximal de partitions ouvertes en même temps
+     */
+    public record Eviction(Predicate<UserId> stored, int maxOpen) {
+
+        public Eviction {
+            if (maxOpen < 1) {
+                throw new IllegalArgumentException("At least one partition must be allowed to stay open");
+            }
+        }
+    }
+
+    private final Map<UserId, OpenPartition> partitions = new ConcurrentHashMap<>();
+    // Verrous d'ouverture et de fermeture des partitions, répartis par utilisateur
+    private final Lock[] openLocks = new Lock[LOCK_STRIPES];
+    private final List<CardChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final CardChangeListener dispatcher = new Dispatcher();
+    private final Function<UserId, CardRepository> factory;
+    private final Closeable sharedResource;
+    private final Executor blockingExecutor;
+    private final Eviction eviction;
+
+    /**
+     * @param factory crée la partition vide (ou rechargée depuis le stockage) d'un utilisateur
+     */
+    public PerUserCardRepository(Function<UserId, CardRepository> factory) {
+        this(factory, () -> { });
+    }
+
+    /**
+     * @param factory crée la partition d'un utilisateur
+     * @param sharedResource ressource commune aux partitions (pool de connexions...),
+     *                       fermée après elles
+     */
+    public PerUserCardRepository(Function<UserId, CardRepository> factory, Closeable sharedResource) {
+        this(factory, sharedResource, Runnable::run);
+    }
+
+    /**
+     * @param factory crée la partition d'un utilisateur
+     * @param sharedResource ressource commune aux partitions, fermée après elles
+     * @param blockingExecutor exécute les appels bloquants des accès non bloquants
+     *                         (le pool lui-même est arrêté par sharedResource)
+     */
+    public PerUserCardRepository(Function<UserId, CardRepository> factory, Closeable sharedResource,
+                                 Executor blockingExecutor) {
+        this(factory, sharedResource, blockingExecutor, null);
+    }
+
+    /**
+     * @param factory crée la partition d'un utilisateur, ou la rouvre depuis le stockage
+     * @param sharedResource ressource commune aux partitions, fermée après elles
+     * @param blockingExecutor exécute les appels bloquants des accès non bloquants
+     * @param eviction la politique d'éviction des partitions durables, null si elles restent ouvertes
+     */
+    public PerUserCardRepository(Function<UserId, CardRepository> factory, Closeable sharedResource,
+                                 Executor blockingExecutor, Eviction eviction) {
+        this.factory = factory;
+        this.sharedResource = sharedResource;
+        this.blockingExecutor = blockingExecutor;
+        this.eviction = eviction;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            openLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public CardRepository forUser(UserId owner) {
+        return partition(owner);
+    }
+
+    @Override
+    public AsyncCardRepository forUserAsync(UserId owner) {
+        return partition(owner);
+    }
+
+    @Override
+    public CardRepository forReading(UserId owner) {
+        LeasedPartition partition = existingPartition(owner);
+        return partition != null ? partition : new EmptyCardRepository(owner);
+    }
+
+    @Override
+    public AsyncCardRepository forReadingAsync(UserId owner) {
+        LeasedPartition partition = existingPartition(owner);
+        return partition != null ? partition
+            : new AsyncCardRepositoryAdapter(new EmptyCardRepository(owner), Runnable::run);
+    }
+
+    /**
+     * Abonne un listener aux écritures de toutes les partitions.
+     */
+    public void subscribe(CardChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Nombre de partitions ouvertes.
+     */
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * Ferme les partitions durables qui n'ont pas servi depuis le délai donné ;
+     * elles seront rouvertes depuis le stockage à leur prochain accès.
+     * Sans effet si les partitions ne sont pas durables.
+     *
+     * @return le nombre de partitions fermées
+     */
+    public int evictIdle(Duration idleTimeout) {
+        if (eviction == null) {
+            return 0;
+        }
+        long threshold = System.nanoTime() - idleTimeout.toNanos();
+        int evicted = 0;
+        for (Map.Entry<UserId, OpenPartition> entry : partitions.entrySet()) {
+            if (entry.getValue().lastAccess - threshold <= 0 && evict(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Ferme et oublie toutes les partitions (utile pour les tests) :
+     * en mémoire, les cartes sont perdues.
+     */
+    public void clear() {
+        closePartitions();
+    }
+
+    /**
+     * Ferme les partitions qui détiennent des ressources, puis la ressource commune.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            closePartitions();
+        } finally {
+            sharedResource.close();
+        }
+    }
+
+    /**
+     * Accès à la partition de l'utilisateur, ouverte (ou créée) dès maintenant.
+     */
+    private LeasedPartition partition(UserId owner) {
+        OpenPartition open = lease(owner);
+        open.release();
+        return open.access;
+    }
+
+    /**
+     * Accès à la partition ouverte, ou conservée par le stockage ; null si l'utilisateur n'en a pas.
+     */
+    private LeasedPartition existingPartition(UserId owner) {
+        OpenPartition open = partitions.get(owner);
+        if (open != null) {
+            open.touch();
+            return open.access;
+        }
+        return eviction != null && eviction.stored().test(owner) ? partition(owner) : null;
+    }
+
+    /**
+     * Loue la partition de l'utilisateur, en l'ouvrant si besoin ;
+     * à rendre par OpenPartition.release.
+     */
+    private OpenPartition lease(UserId owner) {
+        while (true) {
+            OpenPartition open = partitions.get(owner);
+            if (open != null && open.tryAcquire()) {
+                open.touch();
+                return open;
+            }
+            OpenPartition opened = null;
+            Lock lock = lockFor(owner);
+            lock.lock();
+            try {
+                // Une partition en cours de fermeture a quitté la table avant que le verrou soit rendu
+                if (!partitions.containsKey(owner)) {
+                    opened = new OpenPartition(owner,
+                        new NotifyingCardRepository(owner, factory.apply(owner), blockingExecutor, dispatcher));
+                    // Personne n'écrit encore dans la partition : les listeners partent de cet état
+                    try {
+                        dispatcher.partitionOpened(owner, opened.repository);
+                    } catch (RuntimeException e) {
+                        try {
+                            opened.repository.close();
+                        } catch (IOException | UncheckedIOException suppressed) {
+                            e.addSuppressed(suppressed);
+                        }
+                        throw e;
+                    }
+                    opened.tryAcquire();
+                    partitions.put(owner, opened);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (opened != null) {
+                if (eviction != null && partitions.size() > eviction.maxOpen()) {
+                    evictLeastRecentlyUsed(owner);
+                }
+                return opened;
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed(UserId opened) {
+        long now = System.nanoTime();
+        List<Map.Entry<UserId, OpenPartition>> candidates = partitions.entrySet().stream()
+            .filter(entry -> !entry.getKey().equals(opened))
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess - now))
+            .toList();
+        for (Map.Entry<UserId, OpenPartition> candidate : candidates) {
+            if (evict(candidate.getKey(), candidate.getValue())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ferme une partition évincée si aucun appel ne la loue ; un échec est journalisé,
+     * la partition est oubliée quand même (le stockage garde ce qui a été rendu durable).
+     */
+    private boolean evict(UserId owner, OpenPartition open) {
+        Lock lock = lockFor(owner);
+        lock.lock();
+        try {
+            if (partitions.get(owner) != open || !open.tryClose()) {
+                return false;
+            }
+            partitions.remove(owner, open);
+            try {
+                open.repository.close();
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Cannot close the evicted partition of {}", owner.getValue(), e);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closePartitions() {
+        List<UserId> owners = new ArrayList<>(partitions.keySet());
+        UncheckedIOException failure = null;
+        for (UserId owner : owners) {
+            Lock lock = lockFor(owner);
+            lock.lock();
+            try {
+                OpenPartition open = partitions.remove(owner);
+                if (open != null) {
+                    // À l'arrêt, la partition est fermée même si un appel la loue encore
+                    open.forceClose();
+                    open.repository.close();
+                }
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = new UncheckedIOException("Cannot close the partition of " + owner.getValue(), e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Lock lockFor(UserId owner) {
+        return openLocks[Math.floorMod(owner.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Partition ouverte, nombre d'appels qui la louent (-1 une fois fermée)
+     * et instant (System.nanoTime) de son dernier accès.
+     */
+    private final class OpenPartition {
+
+        private final NotifyingCardRepository repository;
+        private final LeasedPartition access;
+        private final AtomicInteger leases = new AtomicInteger();
+        private volatile long lastAccess = System.nanoTime();
+
+        private OpenPartition(UserId owner, NotifyingCardRepository repository) {
+            this.repository = repository;
+            this.access = new LeasedPartition(owner);
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        private boolean tryAcquire() {
+            int current;
+            do {
+                current = leases.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!leases.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release() {
+            leases.decrementAndGet();
+            touch();
+        }
+
+        private boolean tryClose() {
+            return leases.compareAndSet(0, -1);
+        }
+
+        private void forceClose() {
+            leases.set(-1);
+        }
+    }
+
+    /**
+     * Accès à la partition d'un utilisateur : chaque appel loue la partition ouverte,
+     * en la rouvrant depuis le stockage si elle a été évincée entre-temps.
+     */
+    private final class LeasedPartition implements CardRepository, AsyncCardRepository {
+
+        private final UserId owner;
+
+        private LeasedPartition(UserId owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Card save(Card card) {
+            return leased(partition -> partition.save(card));
+        }
+
+        @Override
+        public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+            return leased(partition -> partition.update(id, updater));
+        }
+
+        @Override
+        public List<Card> saveAll(List<Card> cards) {
+            return leased(partition -> partition.saveAll(cards));
+        }
+
+        @Override
+        public Optional<Card> findById(CardId id) {
+            return leased(partition -> partition.findById(id));
+        }
+
+        @Override
+        public List<Card> findAll() {
+            return leased(NotifyingCardRepository::findAll);
+        }
+
+        @Override
+        public List<Card> findByTags(List<String> tags) {
+            return leased(partition -> partition.findByTags(tags));
+        }
+
+        @Override
+        public List<TagCount> countByTag() {
+            return leased(NotifyingCardRepository::countByTag);
+        }
+
+        @Override
+        public List<Card> findDueOn(LocalDate date) {
+            return leased(partition -> partition.findDueOn(date));
+        }
+
+        @Override
+        public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+            return leased(partition -> partition.findPage(tags, cursor, limit));
+        }
+
+        /**
+         * La partition reste louée jusqu'à la fermeture du flux.
+         */
+        @Override
+        public Stream<Card> stream(List<String> tags) {
+            OpenPartition open = lease(owner);
+            try {
+                return open.repository.stream(tags).onClose(open::release);
+            } catch (RuntimeException e) {
+                open.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+            return leased(partition -> partition.findDuePage(date, cursor, limit));
+        }
+
+        @Override
+        public void deleteById(CardId id) {
+            leased(partition -> {
+                partition.deleteById(id);
+                return null;
+            });
+        }
+
+        @Override
+        public boolean existsById(CardId id) {
+            return leased(partition -> partition.existsById(id));
+        }
+
+        @Override
+        public long changeSequence() {
+            return leased(NotifyingCardRepository::changeSequence);
+        }
+
+        @Override
+        public CompletableFuture<Card> saveAsync(Card card) {
+            return leasedAsync(partition -> partition.saveAsync(card));
+        }
+
+        @Override
+        public CompletableFuture<Optional<Card>> updateAsync(CardId id, UnaryOperator<Card> updater) {
+            return leasedAsync(partition -> partition.updateAsync(id, updater));
+        }
+
+        @Override
+        public CompletableFuture<Boolean> existsByIdAsync(CardId id) {
+            return leasedAsync(partition -> partition.existsByIdAsync(id));
+        }
+
+        @Override
+        public CompletableFuture<List<TagCount>> countByTagAsync() {
+            return leasedAsync(NotifyingCardRepository::countByTagAsync);
+        }
+
+        @Override
+        public CompletableFuture<Page<Card>> findPageAsync(List<String> tags, String cursor, int limit) {
+            return leasedAsync(partition -> partition.findPageAsync(tags, cursor, limit));
+        }
+
+        @Override
+        public CompletableFuture<Page<Card>> findDuePageAsync(LocalDate date, String cursor, int limit) {
+            return leasedAsync(partition -> partition.findDuePageAsync(date, cursor, limit));
+        }
+
+        private <T> T leased(Function<NotifyingCardRepository, T> call) {
+            OpenPartition open = lease(owner);
+            try {
+                return call.apply(open.repository);
+            } finally {
+                open.release();
+            }
+        }
+
+        /**
+         * La partition reste louée jusqu'à la fin du futur.
+         */
+        private <T> CompletableFuture<T> leasedAsync(Function<NotifyingCardRepository, CompletableFuture<T>> call) {
+            OpenPartition open = lease(owner);
+            CompletableFuture<T> result;
+            try {
+                result = call.apply(open.repository);
+            } catch (RuntimeException e) {
+                open.release();
+                throw e;
+            }
+            return result.whenComplete((value, failure) -> open.release());
+        }
+    }
+
+    /**
+     * Relaie chaque changement à tous les listeners abonnés.
+     */
+    private final class Dispatcher implements CardChangeListener {
+
+        @Override
+        public void cardSaved(Card card) {
+            listeners.forEach(listener -> listener.cardSaved(card));
+        }
+
+        @Override
+        public void cardDeleted(UserId owner, CardId id) {
+            listeners.forEach(listener -> listener.cardDeleted(owner, id));
+        }
+
+        @Override
+        public void categoryChanged(UserId owner, Category before, Category after) {
+            listeners.forEach(listener -> listener.categoryChanged(owner, before, after));
+        }
+
+        @Override
+        public void partitionOpened(UserId owner, CardRepository partition) {
+            listeners.forEach(listener -> listener.partitionOpened(owner, partition));
+        }
+
+        @Override
+        public void partitionDiscarded(UserId owner) {
+            listeners.forEach(listener -> listener.partitionDiscarded(owner));
+        }
+    }
+}
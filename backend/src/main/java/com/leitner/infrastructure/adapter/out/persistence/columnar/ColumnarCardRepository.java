@@ -0,0 +1,954 @@
+package com.leitner.infrastructure.adapter.out.persistence.columnar;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.Tag;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.TagDictionary;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.ChangeSequence;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repository de cartes en mémoire, stocké par colonnes de types primitifs.
+ *
+ * Chaque carte occupe un emplacement (slot) dans des tableaux parallèles :
+ * moitiés de l'identifiant UUID (long[]), catégorie (byte[]), jour de dernière
+ * réponse (int[]), identifiant du tag dans le TagDictionary du repository (int[]), version (long[]) et
+ * position des textes dans un tas UTF-8 paginé. Aucun objet n'est alloué par
+ * carte stockée : les instances de Card ne sont créées qu'à la lecture.
+ * Les identifiants non binaires (voir CardId) sont conservés à part,
+ * sous forme de chaîne.
+ *
+ * Un index à adressage ouvert (int[]) associe l'identifiant à son emplacement.
+ * Le quiz et le filtrage par tags parcourent les colonnes primitives ; l'ordre
+ * par identifiant, nécessaire à la pagination, est un tableau d'emplacements
+ * triés, tenu à jour à chaque ajout ou suppression (position trouvée par
+ * dichotomie) ; les ajouts d'un lot (saveAll) sont triés entre eux puis fusionnés
+ * en un seul passage. L'espace des textes remplacés ou supprimés est récupéré
+ * par compaction du tas (voir TextHeap).
+ *
+ * Un verrou lecture / écriture protège l'ensemble des colonnes : les lectures
+ * sont concurrentes, les écritures sérialisées, ce qui rend update atomique.
+ * Les versions suivent les mêmes règles que InMemoryCardRepository.
+ *
+ * Le propriétaire n'est pas stocké par carte : le repository contient les cartes
+ * d'un seul utilisateur (sa partition), fixé à la construction.
+ */
+public class ColumnarCardRepository implements CardRepository {
+
+    private static final String DUE_CURSOR_SEPARATOR = ":";
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int STREAM_BATCH_SIZE = 1024;
+
+    // Octets d'un emplacement, toutes colonnes confondues
+    static final int SLOT_BYTES = 8 + 8 + 4 + 8 + 8 + 4 + 4 + 4 + 4 + 1 + 1;
+
+    private static final byte FREE = 0;
+    private static final byte PACKED = 1;
+    private static final byte LEGACY = 2;
+
+    private static final int NO_TAG = -1;
+    private static final int NEVER_ANSWERED = Integer.MIN_VALUE;
+    private static final long NEVER_ANSWERED_DUE_DAY = LocalDate.MIN.toEpochDay();
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Colonnes, indexées par emplacement
+    private byte[] kinds;
+    private long[] idHigh;
+    private long[] idLow;
+    private int[] idHashes;
+    private long[] versions;
+    private long[] textOffsets;
+    private int[] questionLengths;
+    private int[] answerLengths;
+    private int[] lastAnswerDays;
+    private int[] tags;
+    private byte[] categories;
+
+    // Identifiants qui ne sont pas des UUID canoniques, par emplacement
+    private final Map<Integer, String> legacyIds = new HashMap<>();
+
+    private TextHeap texts = new TextHeap();
+
+    // Dictionnaire de la partition : la colonne tags contient ses identifiants
+    private final TagDictionary tagDictionary;
+
+    private final UserId owner;
+
+    // Nombre de cartes par identifiant de tag
+    private long[] tagCounts = new long[0];
+
+    // Index identifiant -> emplacement + 1 (0 = case vide), sondage linéaire
+    private int[] table;
+
+    // Emplacements libérés, réutilisés avant d'en ouvrir de nouveaux
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int highWater;
+    private int size;
+
+    // Emplacements triés par identifiant : les sortedCount premiers de sortedSlots
+    private int[] sortedSlots = new int[0];
+    private int sortedCount;
+
+    // Emplacements ajoutés par le lot en cours (saveAll), fusionnés à sa fin ; null hors lot
+    private int[] batchSlots;
+    private int batchCount;
+
+    // Avancé sous le verrou d'écriture : un lecteur qui voit le numéro voit l'écriture
+    private final ChangeSequence changes = new ChangeSequence();
+
+    /**
+     * Empreinte mémoire du repository, en octets.
+     *
+     * @param cards le nombre de cartes stockées
+     * @param columnBytes les colonnes primitives, capacité non utilisée comprise
+     * @param indexBytes l'index des identifiants, l'ordre trié et les emplacements libres
+     * @param textBytes les pages du tas de textes
+     */
+    public record Footprint(long cards, long columnBytes, long indexBytes, long textBytes) {
+
+        public long totalBytes() {
+            return columnBytes + indexBytes + textBytes;
+        }
+
+        public double bytesPerCard() {
+            return cards == 0 ? 0 : (double) totalBytes() / cards;
+        }
+    }
+
+    public ColumnarCardRepository() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity le nombre de cartes attendu, pour éviter les agrandissements
+     */
+    public ColumnarCardRepository(int initialCapacity) {
+        this(UserId.DEFAULT, initialCapacity);
+    }
+
+    /**
+     * @param owner le propriétaire de toutes les cartes du repository
+     * @param initialCapacity le nombre de cartes attendu, pour éviter les agrandissements
+     */
+    public ColumnarCardRepository(UserId owner, int initialCapacity) {
+        this(owner, initialCapacity, new TagDictionary());
+    }
+
+    /**
+     * @param owner le propriétaire de toutes les cartes du repository
+     * @param initialCapacity le nombre de cartes attendu, pour éviter les agrandissements
+     * @param tagDictionary le dictionnaire des tags de cette partition
+     */
+    public ColumnarCardRepository(UserId owner, int initialCapacity, TagDictionary tagDictionary) {
+        this.owner = owner;
+        this.tagDictionary = tagDictionary;
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        allocateColumns(initialCapacity);
+        table = new int[tableSizeFor(initialCapacity)];
+    }
+
+    @Override
+    public Card save(Card card) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            Card saved = store(card);
+            changes.advance();
+            return saved;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int slot = find(id);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            Card previous = materialize(slot);
+            Card updated = updater.apply(previous.nextVersion());
+            if (!previous.getId().equals(updated.getId())) {
+                throw new IllegalArgumentException("Update cannot change the card id: " + id);
+            }
+            write(slot, updated, updated.getVersion(), previous);
+            changes.advance();
+            return Optional.of(updated);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cards) {
+        List<Card> saved = new ArrayList<>(cards.size());
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            batchSlots = new int[Math.min(cards.size(), 1024)];
+            for (Card card : cards) {
+                saved.add(store(card));
+            }
+            changes.advance();
+        } finally {
+            mergeBatch();
+            write.unlock();
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Card> findById(CardId id) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int slot = find(id);
+            return slot < 0 ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public List<Card> findAll() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            List<Card> result = new ArrayList<>(size);
+            for (int slot = 0; slot < highWater; slot++) {
+                if (kinds[slot] != FREE) {
+                    result.add(materialize(slot));
+                }
+            }
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public List<Card> findByTags(List<String> tagFilter) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            boolean[] wanted = tagMask(tagFilter);
+            List<Card> result = new ArrayList<>();
+            if (wanted == null) {
+                return result;
+            }
+            for (int slot = 0; slot < highWater; slot++) {
+                int tag = tags[slot];
+                if (kinds[slot] != FREE && tag != NO_TAG && wanted[tag]) {
+                    result.add(materialize(slot));
+                }
+            }
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            List<TagCount> counts = new ArrayList<>();
+            for (int tag = 0; tag < tagCounts.length; tag++) {
+                if (tagCounts[tag] > 0) {
+                    counts.add(new TagCount(tagDictionary.get(tag).getName(), tagCounts[tag]));
+                }
+            }
+            return counts;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        long lastDay = date.toEpochDay();
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            List<Card> result = new ArrayList<>();
+            for (int slot = 0; slot < highWater; slot++) {
+                if (kinds[slot] != FREE && isDue(slot, lastDay)) {
+                    result.add(materialize(slot));
+                }
+            }
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Page<Card> findPage(List<String> tagFilter, String cursor, int limit) {
+        CardId after = cursor == null ? null : CardId.of(cursor);
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            boolean[] wanted = tagFilter.isEmpty() ? null : tagMask(tagFilter);
+            if (!tagFilter.isEmpty() && wanted == null) {
+                return Page.last(List.of());
+            }
+            int[] order = sortedSlots;
+            int count = sortedCount;
+            int position = after == null ? 0 : firstAfter(order, count, after);
+
+            List<Card> page = new ArrayList<>(Math.min(limit + 1, size));
+            for (; position < count && page.size() <= limit; position++) {
+                int slot = order[position];
+                int tag = tags[slot];
+                if (wanted == null || (tag != NO_TAG && wanted[tag])) {
+                    page.add(materialize(slot));
+                }
+            }
+            if (page.size() <= limit) {
+                return Page.last(page);
+            }
+            List<Card> items = page.subList(0, limit);
+            return new Page<>(items, items.get(limit - 1).getId().getValue());
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Le flux est lu par pages successives : chaque page est cohérente,
+     * et le curseur garantit l'ordre même si le deck change entre deux pages.
+     */
+    @Override
+    public Stream<Card> stream(List<String> tagFilter) {
+        Iterator<Card> cards = new Iterator<>() {
+            private Page<Card> page = findPage(tagFilter, null, STREAM_BATCH_SIZE);
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                if (position == page.items().size() && page.hasNext()) {
+                    page = findPage(tagFilter, page.nextCursor(), STREAM_BATCH_SIZE);
+                    position = 0;
+                }
+                return position < page.items().size();
+            }
+
+            @Override
+            public Card next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.items().get(position++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            cards, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        long lastDay = date.toEpochDay();
+        long cursorDay = Long.MIN_VALUE;
+        CardId cursorId = null;
+        if (cursor != null) {
+            int separator = cursor.indexOf(DUE_CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                cursorDay = Long.parseLong(cursor.substring(0, separator));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            cursorId = CardId.of(cursor.substring(separator + 1));
+        }
+
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            // Sélection des limit + 1 plus petites cartes (jour, identifiant) en un seul parcours
+            DueHeap heap = new DueHeap(limit + 1);
+            for (int slot = 0; slot < highWater; slot++) {
+                if (kinds[slot] == FREE || !isDue(slot, lastDay)) {
+                    continue;
+                }
+                long day = dueDay(slot);
+                if (cursorId != null && (day < cursorDay || (day == cursorDay && compare(slot, cursorId) <= 0))) {
+                    continue;
+                }
+                heap.offer(day, slot);
+            }
+
+            int count = heap.drainSorted();
+            List<Card> items = new ArrayList<>(Math.min(count, limit));
+            for (int i = 0; i < Math.min(count, limit); i++) {
+                items.add(materialize(heap.slots[i]));
+            }
+            if (count <= limit) {
+                return Page.last(items);
+            }
+            return new Page<>(items, heap.days[limit - 1] + DUE_CURSOR_SEPARATOR
+                + items.get(limit - 1).getId().getValue());
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(CardId id) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int slot = find(id);
+            if (slot < 0) {
+                return;
+            }
+            unindex(slot);
+            removeSorted(slot);
+            countTag(tags[slot], -1);
+            kinds[slot] = FREE;
+            texts.release(questionLengths[slot] + answerLengths[slot]);
+            compactTextsIfNeeded();
+            legacyIds.remove(slot);
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeCount * 2));
+            }
+            freeSlots[freeCount++] = slot;
+            size--;
+            changes.advance();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(CardId id) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return find(id) >= 0;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public long changeSequence() {
+        return changes.current();
+    }
+
+    /**
+     * Mesure la mémoire occupée par les tableaux du repository.
+     * Les identifiants non UUID, conservés en chaînes, ne sont pas comptés.
+     */
+    public Footprint footprint() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            long indexBytes = 4L * table.length + 4L * freeSlots.length + 4L * sortedSlots.length;
+            return new Footprint(size, (long) SLOT_BYTES * kinds.length, indexBytes, texts.allocatedBytes());
+        } finally {
+            read.unlock();
+        }
+    }
+
+    // --- Écriture (sous verrou d'écriture) ---
+
+    private Card store(Card card) {
+        CardId id = card.getId();
+        int slot = find(id);
+        Card previous = null;
+        long version = card.getVersion();
+        if (slot >= 0) {
+            if (card.getVersion() != 0 && card.getVersion() != versions[slot]) {
+                throw new CardVersionConflictException(id.getValue(), card.getVersion(), versions[slot]);
+            }
+            previous = materialize(slot);
+            version = versions[slot];
+        } else {
+            slot = allocate(id);
+        }
+        Card stored = Card.reconstitute(owner, card.getId(), card.getQuestion(), card.getAnswer(),
+            card.getTag(), card.getCategory(), card.getLastAnswerDate(), version + 1);
+        write(slot, stored, version + 1, previous);
+        return stored;
+    }
+
+    /**
+     * Écrit les colonnes d'une carte. Les textes ne sont ajoutés au tas
+     * que s'ils diffèrent de ceux de la version précédente, dont l'espace est libéré.
+     */
+    private void write(int slot, Card card, long version, Card previous) {
+        versions[slot] = version;
+        categories[slot] = (byte) card.getCategory().ordinal();
+        lastAnswerDays[slot] = card.getLastAnswerDate() == null
+            ? NEVER_ANSWERED
+            : Math.toIntExact(card.getLastAnswerDate().toEpochDay());
+        if (previous != null) {
+            countTag(tags[slot], -1);
+        }
+        tags[slot] = card.getTag() == null ? NO_TAG : tagDictionary.intern(card.getTag()).getId();
+        countTag(tags[slot], 1);
+        if (previous == null
+                || !previous.getQuestion().equals(card.getQuestion())
+                || !previous.getAnswer().equals(card.getAnswer())) {
+            if (previous != null) {
+                texts.release(questionLengths[slot] + answerLengths[slot]);
+            }
+            byte[] question = card.getQuestion().getBytes(StandardCharsets.UTF_8);
+            byte[] answer = card.getAnswer().getBytes(StandardCharsets.UTF_8);
+            textOffsets[slot] = texts.append(question, answer);
+            questionLengths[slot] = question.length;
+            answerLengths[slot] = answer.length;
+            compactTextsIfNeeded();
+        }
+    }
+
+    private int allocate(CardId id) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == kinds.length) {
+                growColumns();
+            }
+            slot = highWater++;
+        }
+        kinds[slot] = id.isBinary() ? PACKED : LEGACY;
+        idHigh[slot] = id.getHigh();
+        idLow[slot] = id.getLow();
+        idHashes[slot] = id.hashCode();
+        if (!id.isBinary()) {
+            legacyIds.put(slot, id.getValue());
+        }
+        size++;
+        if ((long) size * 4 > (long) table.length * 3) {
+            rehash(table.length * 2);
+        } else {
+            index(slot);
+        }
+        insertSorted(slot);
+        return slot;
+    }
+
+    /**
+     * Recopie les textes des cartes stockées dans un nouveau tas quand l'espace
+     * libéré dépasse celui des textes vivants.
+     */
+    private void compactTextsIfNeeded() {
+        if (!texts.needsCompaction()) {
+            return;
+        }
+        TextHeap compacted = new TextHeap();
+        for (int slot = 0; slot < highWater; slot++) {
+            if (kinds[slot] != FREE) {
+                textOffsets[slot] = compacted.copy(texts, textOffsets[slot],
+                    questionLengths[slot] + answerLengths[slot]);
+            }
+        }
+        texts = compacted;
+    }
+
+    private void countTag(int tag, int delta) {
+        if (tag == NO_TAG) {
+            return;
+        }
+        if (tag >= tagCounts.length) {
+            tagCounts = Arrays.copyOf(tagCounts, Math.max(tag + 1, tagCounts.length * 2));
+        }
+        tagCounts[tag] += delta;
+    }
+
+    private void allocateColumns(int capacity) {
+        kinds = new byte[capacity];
+        idHigh = new long[capacity];
+        idLow = new long[capacity];
+        idHashes = new int[capacity];
+        versions = new long[capacity];
+        textOffsets = new long[capacity];
+        questionLengths = new int[capacity];
+        answerLengths = new int[capacity];
+        lastAnswerDays = new int[capacity];
+        tags = new int[capacity];
+        categories = new byte[capacity];
+    }
+
+    private void growColumns() {
+        int capacity = kinds.length + Math.max(kinds.length >> 1, 16);
+        kinds = Arrays.copyOf(kinds, capacity);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        idHashes = Arrays.copyOf(idHashes, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity);
+        questionLengths = Arrays.copyOf(questionLengths, capacity);
+        answerLengths = Arrays.copyOf(answerLengths, capacity);
+        lastAnswerDays = Arrays.copyOf(lastAnswerDays, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+    }
+
+    // --- Index des identifiants ---
+
+    private int find(CardId id) {
+        int hash = id.hashCode();
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int entry = table[i];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (idHashes[slot] == hash && matches(slot, id)) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean matches(int slot, CardId id) {
+        if (id.isBinary()) {
+            return kinds[slot] == PACKED && idHigh[slot] == id.getHigh() && idLow[slot] == id.getLow();
+        }
+        return kinds[slot] == LEGACY && legacyIds.get(slot).equals(id.getValue());
+    }
+
+    private void index(int slot) {
+        int mask = table.length - 1;
+        int i = idHashes[slot] & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    /**
+     * Retire un emplacement de l'index en recompactant la suite de sondage
+     * (suppression par décalage arrière, sans marqueur de suppression).
+     */
+    private void unindex(int slot) {
+        int mask = table.length - 1;
+        int hole = idHashes[slot] & mask;
+        while (table[hole] != slot + 1) {
+            hole = (hole + 1) & mask;
+        }
+        table[hole] = 0;
+        for (int i = (hole + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int home = idHashes[table[i] - 1] & mask;
+            boolean reachable = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+            if (!reachable) {
+                table[hole] = table[i];
+                table[i] = 0;
+                hole = i;
+            }
+        }
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        for (int slot = 0; slot < highWater; slot++) {
+            if (kinds[slot] != FREE) {
+                index(slot);
+            }
+        }
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int minimum = (int) Math.min((capacity * 4L + 2) / 3, 1 << 30);
+        return Math.max(16, Integer.highestOneBit(minimum - 1) << 1);
+    }
+
+    // --- Lecture (sous verrou de lecture ou d'écriture) ---
+
+    private Card materialize(int slot) {
+        int lastAnswerDay = lastAnswerDays[slot];
+        int tag = tags[slot];
+        long offset = textOffsets[slot];
+        int questionLength = questionLengths[slot];
+        return Card.reconstitute(
+            owner,
+            kinds[slot] == PACKED ? CardId.of(idHigh[slot], idLow[slot]) : CardId.of(legacyIds.get(slot)),
+            texts.read(offset, questionLength),
+            texts.read(offset + questionLength, answerLengths[slot]),
+            tag == NO_TAG ? null : tagDictionary.get(tag).getName(),
+            CATEGORIES[categories[slot]],
+            lastAnswerDay == NEVER_ANSWERED ? null : LocalDate.ofEpochDay(lastAnswerDay),
+            versions[slot]);
+    }
+
+    private String idString(int slot) {
+        return kinds[slot] == PACKED ? CardId.of(idHigh[slot], idLow[slot]).getValue() : legacyIds.get(slot);
+    }
+
+    private boolean isDue(int slot, long lastDay) {
+        return CATEGORIES[categories[slot]] != Category.DONE && dueDay(slot) <= lastDay;
+    }
+
+    private long dueDay(int slot) {
+        int lastAnswerDay = lastAnswerDays[slot];
+        return lastAnswerDay == NEVER_ANSWERED
+            ? NEVER_ANSWERED_DUE_DAY
+            : (long) lastAnswerDay + CATEGORIES[categories[slot]].getFrequencyInDays();
+    }
+
+    /**
+     * Masque des identifiants de tags recherchés, null si aucun tag n'est connu.
+     * Les cartes stockées n'ont que des tags déjà enregistrés : leurs identifiants
+     * sont inférieurs à la taille du dictionnaire.
+     */
+    private boolean[] tagMask(List<String> tagFilter) {
+        boolean[] wanted = new boolean[tagDictionary.size()];
+        boolean any = false;
+        for (String name : tagFilter) {
+            Optional<Tag> tag = tagDictionary.find(name);
+            if (tag.isPresent()) {
+                wanted[tag.get().getId()] = true;
+                any = true;
+            }
+        }
+        return any ? wanted : null;
+    }
+
+    // --- Ordre par identifiant ---
+
+    /**
+     * Range un nouvel emplacement à sa place dans l'ordre, ou dans le lot en cours.
+     */
+    private void insertSorted(int slot) {
+        if (batchSlots != null) {
+            if (batchCount == batchSlots.length) {
+                batchSlots = Arrays.copyOf(batchSlots, Math.max(16, batchCount * 2));
+            }
+            batchSlots[batchCount++] = slot;
+            return;
+        }
+        if (sortedCount == sortedSlots.length) {
+            sortedSlots = Arrays.copyOf(sortedSlots, Math.max(16, sortedCount * 2));
+        }
+        int position = lowerBound(slot);
+        System.arraycopy(sortedSlots, position, sortedSlots, position + 1, sortedCount - position);
+        sortedSlots[position] = slot;
+        sortedCount++;
+    }
+
+    /**
+     * Retire de l'ordre un emplacement, avant qu'il ne soit libéré.
+     */
+    private void removeSorted(int slot) {
+        int position = lowerBound(slot);
+        System.arraycopy(sortedSlots, position + 1, sortedSlots, position, sortedCount - position - 1);
+        sortedCount--;
+    }
+
+    /**
+     * Trie les emplacements ajoutés par le lot et les fusionne avec l'ordre existant.
+     */
+    private void mergeBatch() {
+        int[] added = mergeSort(Arrays.copyOf(batchSlots, batchCount));
+        batchSlots = null;
+        batchCount = 0;
+        if (added.length == 0) {
+            return;
+        }
+        int[] merged = new int[Math.max(sortedSlots.length, sortedCount + added.length)];
+        int left = 0;
+        int right = 0;
+        for (int i = 0; i < sortedCount + added.length; i++) {
+            if (right == added.length || (left < sortedCount && compare(sortedSlots[left], added[right]) < 0)) {
+                merged[i] = sortedSlots[left++];
+            } else {
+                merged[i] = added[right++];
+            }
+        }
+        sortedSlots = merged;
+        sortedCount += added.length;
+    }
+
+    /**
+     * Position du premier emplacement de l'ordre dont l'identifiant ne précède pas celui de slot.
+     */
+    private int lowerBound(int slot) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(sortedSlots[middle], slot) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int[] mergeSort(int[] slots) {
+        int[] source = slots;
+        int[] target = new int[slots.length];
+        for (int width = 1; width < source.length; width *= 2) {
+            for (int from = 0; from < source.length; from += 2 * width) {
+                int middle = Math.min(from + width, source.length);
+                int to = Math.min(from + 2 * width, source.length);
+                int left = from;
+                int right = middle;
+                for (int i = from; i < to; i++) {
+                    if (left < middle && (right >= to || compare(source[left], source[right]) <= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+
+    /**
+     * Position du premier emplacement dont l'identifiant suit strictement le curseur.
+     */
+    private int firstAfter(int[] order, int count, CardId cursor) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(order[middle], cursor) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int slot, int other) {
+        if (kinds[slot] == PACKED && kinds[other] == PACKED) {
+            return compareHalves(idHigh[slot], idLow[slot], idHigh[other], idLow[other]);
+        }
+        return idString(slot).compareTo(idString(other));
+    }
+
+    private int compare(int slot, CardId id) {
+        if (kinds[slot] == PACKED && id.isBinary()) {
+            return compareHalves(idHigh[slot], idLow[slot], id.getHigh(), id.getLow());
+        }
+        return idString(slot).compareTo(id.getValue());
+    }
+
+    private static int compareHalves(long high, long low, long otherHigh, long otherLow) {
+        int result = Long.compareUnsigned(high, otherHigh);
+        return result != 0 ? result : Long.compareUnsigned(low, otherLow);
+    }
+
+    /**
+     * Tas max borné des cartes à réviser les plus petites selon (jour, identifiant).
+     */
+    private final class DueHeap {
+
+        private final long[] days;
+        private final int[] slots;
+        private int count;
+
+        DueHeap(int capacity) {
+            days = new long[capacity];
+            slots = new int[capacity];
+        }
+
+        void offer(long day, int slot) {
+            if (count < slots.length) {
+                days[count] = day;
+                slots[count] = slot;
+                siftUp(count++);
+            } else if (less(day, slot, days[0], slots[0])) {
+                days[0] = day;
+                slots[0] = slot;
+                siftDown(0, count);
+            }
+        }
+
+        /**
+         * Trie le contenu du tas par ordre croissant (tri par tas, en place).
+         *
+         * @return le nombre de cartes retenues
+         */
+        int drainSorted() {
+            for (int end = count - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return count;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!less(days[parent], slots[parent], days[i], slots[i])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int end) {
+            while (true) {
+                int largest = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < end; child++) {
+                    if (less(days[largest], slots[largest], days[child], slots[child])) {
+                        largest = child;
+                    }
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private boolean less(long day, int slot, long otherDay, int otherSlot) {
+            return day != otherDay ? day < otherDay : compare(slot, otherSlot) < 0;
+        }
+
+        private void swap(int i, int j) {
+            long day = days[i];
+            days[i] = days[j];
+            days[j] = day;
+            int slot = slots[i];
+            slots[i] = slots[j];
+            slots[j] = slot;
+        }
+    }
+}
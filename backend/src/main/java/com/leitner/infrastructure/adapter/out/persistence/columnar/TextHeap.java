@@ -0,0 +1,106 @@
+package com.leitner.infrastructure.adapter.out.persistence.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tas de textes en UTF-8, découpé en pages de taille fixe.
+ * Un texte est désigné par sa position (long) et sa longueur en octets ;
+ * il peut chevaucher deux pages.
+ *
+ * Les textes ne sont écrits qu'à la fin du tas. L'appelant déclare l'espace
+ * d'un texte remplacé ou supprimé (release) ; quand cet espace dépasse celui des
+ * textes vivants, needsCompaction() le signale et l'appelant recopie les textes
+ * vivants dans un nouveau tas (copy), ce qui amortit la recopie sur les écritures.
+ *
+ * Non thread-safe : l'appelant sérialise les écritures et les exclut des lectures.
+ */
+final class TextHeap {
+
+    static final int PAGE_BYTES = 1 << 20;
+
+    private byte[][] pages = new byte[0][];
+    private long length;
+    private long releasedBytes;
+
+    /**
+     * Ajoute deux textes l'un après l'autre.
+     *
+     * @return la position du premier texte, le second le suit immédiatement
+     */
+    long append(byte[] first, byte[] second) {
+        long offset = length;
+        write(first);
+        write(second);
+        return offset;
+    }
+
+    /**
+     * Recopie à la fin de ce tas des octets d'un autre tas.
+     *
+     * @return la position de la copie
+     */
+    long copy(TextHeap source, long offset, int byteLength) {
+        long copyOffset = length;
+        write(source.bytes(offset, byteLength));
+        return copyOffset;
+    }
+
+    /**
+     * Déclare inutilisés les octets d'un texte remplacé ou supprimé.
+     */
+    void release(int byteLength) {
+        releasedBytes += byteLength;
+    }
+
+    /**
+     * Vrai quand l'espace libéré dépasse à la fois une page et l'espace des textes vivants.
+     */
+    boolean needsCompaction() {
+        return releasedBytes >= PAGE_BYTES && releasedBytes * 2 > length;
+    }
+
+    String read(long offset, int byteLength) {
+        int page = (int) (offset / PAGE_BYTES);
+        int position = (int) (offset % PAGE_BYTES);
+        if (position + byteLength <= PAGE_BYTES) {
+            return new String(pages[page], position, byteLength, StandardCharsets.UTF_8);
+        }
+        return new String(bytes(offset, byteLength), StandardCharsets.UTF_8);
+    }
+
+    long allocatedBytes() {
+        return (long) pages.length * PAGE_BYTES;
+    }
+
+    private byte[] bytes(long offset, int byteLength) {
+        int page = (int) (offset / PAGE_BYTES);
+        int position = (int) (offset % PAGE_BYTES);
+        byte[] bytes = new byte[byteLength];
+        int copied = 0;
+        while (copied < byteLength) {
+            int chunk = Math.min(byteLength - copied, PAGE_BYTES - position);
+            System.arraycopy(pages[page], position, bytes, copied, chunk);
+            copied += chunk;
+            page++;
+            position = 0;
+        }
+        return bytes;
+    }
+
+    private void write(byte[] bytes) {
+        int copied = 0;
+        while (copied < bytes.length) {
+            int page = (int) (length / PAGE_BYTES);
+            int position = (int) (length % PAGE_BYTES);
+            if (page == pages.length) {
+                pages = Arrays.copyOf(pages, page + 1);
+                pages[page] = new byte[PAGE_BYTES];
+            }
+            int chunk = Math.min(bytes.length - copied, PAGE_BYTES - position);
+            System.arraycopy(bytes, copied, pages[page], position, chunk);
+            copied += chunk;
+            length += chunk;
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package com.leitner.infrastructure.adapter.out.persistence.jdbc;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.ChangeSequence;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repository de cartes stocké dans une base relationnelle embarquée (H2, en mode fichier).
+ *
+ * La table cards porte, en plus des données de la carte, son propriétaire (owner)
+ * et le jour de prochaine révision (review_day, epoch day, NULL pour une carte DONE).
+ * La clé primaire (owner, id) et les deux index (owner, tag, id) et
+ * (owner, review_day, id) commencent par le propriétaire : chaque utilisateur
+ * occupe une plage contiguë de chaque index, et ses requêtes ne parcourent pas
+ * les cartes des autres. La sélection des cartes à réviser est faite par la base,
+ * pas par la JVM.
+ *
+ * Une instance ne voit que les cartes d'un propriétaire ; forOwner donne accès
+ * à la partition d'un autre utilisateur, sur la même base et le même pool.
+ *
+ * Les écritures groupées (saveAll) s'exécutent dans une seule transaction :
+ * les versions en place sont lues et verrouillées (SELECT ... FOR UPDATE),
+ * puis les mises à jour et les insertions partent en deux lots de requêtes
+ * préparées (addBatch). Les versions suivent les mêmes règles que
+ * InMemoryCardRepository.
+ *
+ * Sur un thread virtuel (profil virtual-threads), un appel retient son thread porteur
+ * jusqu'à sa fin : le pool de H2 (JdbcConnectionPool) et son moteur attendent
+ * dans des blocs synchronized, ce que Java 21 ne sait pas démonter.
+ */
+public class JdbcCardRepository implements CardRepository, Closeable {
+
+    private static final String DUE_CURSOR_SEPARATOR = ":";
+    private static final int STREAM_BATCH_SIZE = 1024;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final String DUPLICATE_KEY_STATE = "23505";
+
+    private static final String[] SCHEMA = {
+        """
+        CREATE TABLE IF NOT EXISTS cards (
+            owner VARCHAR(255) NOT NULL,
+            id VARCHAR(255) NOT NULL,
+            question VARCHAR NOT NULL,
+            answer VARCHAR NOT NULL,
+            tag VARCHAR(255),
+            category VARCHAR(16) NOT NULL,
+            last_answer_date DATE,
+            review_day BIGINT,
+            version BIGINT NOT NULL,
+            PRIMARY KEY (owner, id)
+        )""",
+        "CREATE INDEX IF NOT EXISTS cards_by_tag ON cards (owner, tag, id)",
+        "CREATE INDEX IF NOT EXISTS cards_by_review_day ON cards (owner, review_day, id)"
+    };
+
+    private static final String COLUMNS = "id, question, answer, tag, category, last_answer_date, version";
+    // Toutes les lectures commencent par le filtre sur le propriétaire (premier paramètre)
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM cards WHERE owner = ?";
+    private static final String INSERT = "INSERT INTO cards (question, answer, tag, category, last_answer_date, "
+        + "review_day, version, owner, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE cards SET question = ?, answer = ?, tag = ?, category = ?, "
+        + "last_answer_date = ?, review_day = ?, version = ? WHERE owner = ? AND id = ?";
+
+    private final DataSource dataSource;
+    private final UserId owner;
+    private final Runnable onClose;
+    // Numéros de changement par propriétaire, partagés par les partitions d'une même base
+    private final Map<UserId, ChangeSequence> sequences;
+    private final ChangeSequence changes;
+
+    /**
+     * @param dataSource la source de connexions ; la table et ses index sont créés s'ils n'existent pas
+     */
+    public JdbcCardRepository(DataSource dataSource) {
+        this(dataSource, UserId.DEFAULT, () -> { }, new ConcurrentHashMap<>());
+        createSchema();
+    }
+
+    private JdbcCardRepository(DataSource dataSource, UserId owner, Runnable onClose,
+                               Map<UserId, ChangeSequence> sequences) {
+        this.dataSource = dataSource;
+        this.owner = owner;
+        this.onClose = onClose;
+        this.sequences = sequences;
+        this.changes = sequences.computeIfAbsent(owner, key -> new ChangeSequence());
+    }
+
+    /**
+     * Ouvre la base à l'URL JDBC donnée, avec un pool de connexions H2
+     * libéré à la fermeture du repository.
+     *
+     * @param url l'URL de la base, par exemple jdbc:h2:file:./data/h2/cards
+     * @param maxConnections le nombre maximal de connexions simultanées
+     */
+    public static JdbcCardRepository open(String url, int maxConnections) {
+        JdbcConnectionPool pool = JdbcConnectionPool.create(url, "sa", "");
+        pool.setMaxConnections(maxConnections);
+        JdbcCardRepository repository =
+            new JdbcCardRepository(pool, UserId.DEFAULT, pool::dispose, new ConcurrentHashMap<>());
+        repository.createSchema();
+        return repository;
+    }
+
+    /**
+     * Partition des cartes de l'utilisateur donné, sur la même base.
+     * La partition partage le pool de connexions : la fermer est sans effet,
+     * seul le repository ouvert par open() libère le pool.
+     */
+    public JdbcCardRepository forOwner(UserId owner) {
+        return new JdbcCardRepository(dataSource, owner, () -> { }, sequences);
+    }
+
+    /**
+     * Indique si la base contient des cartes de l'utilisateur, sans créer sa partition.
+     */
+    public boolean storesOwner(UserId owner) {
+        return query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT 1 FROM cards WHERE owner = ? LIMIT 1")) {
+                statement.setString(1, owner.getValue());
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next();
+                }
+            }
+        });
+    }
+
+    @Override
+    public Card save(Card card) {
+        return saveAll(List.of(card)).get(0);
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return List.of();
+        }
+        Set<CardId> ids = new HashSet<>();
+        for (Card card : cards) {
+            if (!ids.add(card.getId())) {
+                // Plusieurs versions d'une même carte : elles s'appliquent l'une après l'autre
+                return cards.stream().map(this::save).toList();
+            }
+        }
+        List<Card> saved = inTransaction(connection -> writeBatch(connection, cards));
+        changes.advance();
+        return saved;
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        Optional<Card> result = inTransaction(connection -> {
+            Optional<Card> current = queryOne(connection, SELECT + " AND id = ? FOR UPDATE", id.getValue());
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            Card updated = updater.apply(current.get().nextVersion());
+            if (!current.get().getId().equals(updated.getId())) {
+                throw new IllegalArgumentException("Update cannot change the card id: " + id);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                bind(statement, updated, updated.getVersion());
+                statement.executeUpdate();
+            }
+            return Optional.of(updated);
+        });
+        result.ifPresent(card -> changes.advance());
+        return result;
+    }
+
+    @Override
+    public Optional<Card> findById(CardId id) {
+        return query(connection -> queryOne(connection, SELECT + " AND id = ?", id.getValue()));
+    }
+
+    @Override
+    public List<Card> findAll() {
+        return query(connection -> queryList(connection, SELECT + " ORDER BY id"));
+    }
+
+    @Override
+    public List<Card> findByTags(List<String> tags) {
+        if (tags.isEmpty()) {
+            return List.of();
+        }
+        return query(connection -> queryList(connection, SELECT + " AND tag = ANY(?) ORDER BY id",
+            connection.createArrayOf("VARCHAR", tags.toArray())));
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        // Agrégation sur l'index (owner, tag, id), sans lecture des lignes
+        return query(connection -> {
+            List<TagCount> counts = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "SELECT tag, COUNT(*) FROM cards WHERE owner = ? AND tag IS NOT NULL GROUP BY tag")) {
+                statement.setString(1, owner.getValue());
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        counts.add(new TagCount(rows.getString(1), rows.getLong(2)));
+                    }
+                }
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public Map<Category, Long> countByCategory() {
+        return query(connection -> {
+            Map<Category, Long> counts = new EnumMap<>(Category.class);
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "SELECT category, COUNT(*) FROM cards WHERE owner = ? GROUP BY category")) {
+                statement.setString(1, owner.getValue());
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        counts.put(Category.valueOf(rows.getString(1)), rows.getLong(2));
+                    }
+                }
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        return query(connection -> queryList(connection, SELECT + " AND review_day <= ?", date.toEpochDay()));
+    }
+
+    @Override
+    public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+        return query(connection -> {
+            StringBuilder sql = new StringBuilder(SELECT);
+            List<Object> parameters = new ArrayList<>();
+            if (!tags.isEmpty()) {
+                sql.append(" AND tag = ANY(?)");
+                parameters.add(connection.createArrayOf("VARCHAR", tags.toArray()));
+            }
+            if (cursor != null) {
+                sql.append(" AND id > ?");
+                parameters.add(CardId.of(cursor).getValue());
+            }
+            sql.append(" ORDER BY id LIMIT ?");
+            parameters.add(limit + 1);
+
+            List<Card> page = queryList(connection, sql.toString(), parameters.toArray());
+            if (page.size() <= limit) {
+                return Page.last(page);
+            }
+            List<Card> items = page.subList(0, limit);
+            return new Page<>(items, items.get(limit - 1).getId().getValue());
+        });
+    }
+
+    /**
+     * Le flux est lu par pages successives : aucune connexion n'est retenue
+     * entre deux pages, et le curseur garantit l'ordre si le deck change entre-temps.
+     */
+    @Override
+    public Stream<Card> stream(List<String> tags) {
+        Iterator<Card> cards = new Iterator<>() {
+            private Page<Card> page = findPage(tags, null, STREAM_BATCH_SIZE);
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                if (position == page.items().size() && page.hasNext()) {
+                    page = findPage(tags, page.nextCursor(), STREAM_BATCH_SIZE);
+                    position = 0;
+                }
+                return position < page.items().size();
+            }
+
+            @Override
+            public Card next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.items().get(position++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cards,
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        String sql = SELECT + " AND review_day <= ?";
+        List<Object> parameters = new ArrayList<>(List.of(date.toEpochDay()));
+        if (cursor != null) {
+            int separator = cursor.indexOf(DUE_CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            long cursorDay;
+            try {
+                cursorDay = Long.parseLong(cursor.substring(0, separator));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            String cursorId = CardId.of(cursor.substring(separator + 1)).getValue();
+            // Borne basse explicite : le parcours de l'index démarre au jour du curseur
+            sql += " AND review_day >= ? AND (review_day > ? OR (review_day = ? AND id > ?))";
+            parameters.addAll(List.of(cursorDay, cursorDay, cursorDay, cursorId));
+        }
+        parameters.add(limit + 1);
+        String pageSql = sql + " ORDER BY review_day, id LIMIT ?";
+
+        List<Card> page = query(connection -> queryList(connection, pageSql, parameters.toArray()));
+        if (page.size() <= limit) {
+            return Page.last(page);
+        }
+        Card last = page.get(limit - 1);
+        return new Page<>(page.subList(0, limit),
+            reviewDay(last) + DUE_CURSOR_SEPARATOR + last.getId().getValue());
+    }
+
+    @Override
+    public void deleteById(CardId id) {
+        query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM cards WHERE owner = ? AND id = ?")) {
+                statement.setString(1, owner.getValue());
+                statement.setString(2, id.getValue());
+                return statement.executeUpdate();
+            }
+        });
+        changes.advance();
+    }
+
+    @Override
+    public boolean existsById(CardId id) {
+        return query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT 1 FROM cards WHERE owner = ? AND id = ?")) {
+                statement.setString(1, owner.getValue());
+                statement.setString(2, id.getValue());
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next();
+                }
+            }
+        });
+    }
+
+    /**
+     * Tenu en mémoire, sans lecture de la base : les écritures passent toutes par
+     * ce processus, qui détient la base embarquée.
+     */
+    @Override
+    public long changeSequence() {
+        return changes.current();
+    }
+
+    /**
+     * Supprime les cartes du propriétaire (utile pour les tests).
+     */
+    public void clear() {
+        query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM cards WHERE owner = ?")) {
+                statement.setString(1, owner.getValue());
+                return statement.executeUpdate();
+            }
+        });
+        changes.advance();
+    }
+
+    /**
+     * Libère le pool de connexions ouvert par open(), sans effet sinon.
+     */
+    @Override
+    public void close() {
+        onClose.run();
+    }
+
+    // --- Écriture ---
+
+    /**
+     * Écrit un lot de cartes d'identifiants distincts, dans la transaction courante.
+     */
+    private List<Card> writeBatch(Connection connection, List<Card> cards) throws SQLException {
+        Map<String, Long> storedVersions = lockVersions(connection, cards);
+
+        List<Card> stored = new ArrayList<>(cards.size());
+        try (PreparedStatement updates = connection.prepareStatement(UPDATE);
+             PreparedStatement inserts = connection.prepareStatement(INSERT)) {
+            boolean anyUpdate = false;
+            boolean anyInsert = false;
+            for (Card card : cards) {
+                Long previous = storedVersions.get(card.getId().getValue());
+                if (previous != null && card.getVersion() != 0 && card.getVersion() != previous) {
+                    throw new CardVersionConflictException(card.getId().getValue(), card.getVersion(), previous);
+                }
+                long version = (previous == null ? card.getVersion() : previous) + 1;
+                Card written = Card.reconstitute(owner, card.getId(), card.getQuestion(), card.getAnswer(),
+                    card.getTag(), card.getCategory(), card.getLastAnswerDate(), version);
+                PreparedStatement statement = previous == null ? inserts : updates;
+                bind(statement, written, version);
+                statement.addBatch();
+                anyUpdate |= previous != null;
+                anyInsert |= previous == null;
+                stored.add(written);
+            }
+            if (anyUpdate) {
+                updates.executeBatch();
+            }
+            if (anyInsert) {
+                inserts.executeBatch();
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Lit et verrouille jusqu'à la fin de la transaction les versions des cartes existantes.
+     */
+    private Map<String, Long> lockVersions(Connection connection, List<Card> cards) throws SQLException {
+        Map<String, Long> versions = new HashMap<>();
+        Array ids = connection.createArrayOf("VARCHAR", cards.stream().map(card -> card.getId().getValue()).toArray());
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, version FROM cards WHERE owner = ? AND id = ANY(?) FOR UPDATE")) {
+            statement.setString(1, owner.getValue());
+            statement.setArray(2, ids);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    versions.put(rows.getString(1), rows.getLong(2));
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Paramètres communs à INSERT et UPDATE ; le propriétaire et l'identifiant viennent en dernier.
+     */
+    private void bind(PreparedStatement statement, Card card, long version) throws SQLException {
+        statement.setString(1, card.getQuestion());
+        statement.setString(2, card.getAnswer());
+        statement.setString(3, card.getTag());
+        statement.setString(4, card.getCategory().name());
+        statement.setDate(5, card.getLastAnswerDate() == null ? null : Date.valueOf(card.getLastAnswerDate()));
+        if (card.nextReviewDate().isPresent()) {
+            statement.setLong(6, reviewDay(card));
+        } else {
+            statement.setNull(6, Types.BIGINT);
+        }
+        statement.setLong(7, version);
+        statement.setString(8, owner.getValue());
+        statement.setString(9, card.getId().getValue());
+    }
+
+    // --- Lecture ---
+
+    private Optional<Card> queryOne(Connection connection, String sql, Object... parameters)
+            throws SQLException {
+        List<Card> cards = queryList(connection, sql, parameters);
+        return cards.isEmpty() ? Optional.empty() : Optional.of(cards.get(0));
+    }
+
+    /**
+     * Exécute une requête construite à partir de SELECT : le propriétaire est lié
+     * au premier paramètre, les paramètres donnés suivent.
+     */
+    private List<Card> queryList(Connection connection, String sql, Object... parameters)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, owner.getValue());
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 2, parameters[i]);
+            }
+            List<Card> cards = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    cards.add(toCard(rows));
+                }
+            }
+            return cards;
+        }
+    }
+
+    private Card toCard(ResultSet row) throws SQLException {
+        Date lastAnswerDate = row.getDate(6);
+        return Card.reconstitute(
+            owner,
+            CardId.of(row.getString(1)),
+            row.getString(2),
+            row.getString(3),
+            row.getString(4),
+            Category.valueOf(row.getString(5)),
+            lastAnswerDate == null ? null : lastAnswerDate.toLocalDate(),
+            row.getLong(7));
+    }
+
+    private static long reviewDay(Card card) {
+        return card.nextReviewDate().orElseThrow().toEpochDay();
+    }
+
+    // --- Connexions et transactions ---
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private void createSchema() {
+        query(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+            }
+            return null;
+        });
+    }
+
+    private <T> T query(SqlWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new JdbcPersistenceException(e);
+        }
+    }
+
+    /**
+     * Exécute le travail dans une transaction. Une insertion concurrente
+     * de la même carte (clé dupliquée) fait rejouer la transaction.
+     */
+    private <T> T inTransaction(SqlWork<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    T result = work.run(connection);
+                    connection.commit();
+                    return result;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                if (!isDuplicateKey(e) || attempt == MAX_WRITE_ATTEMPTS) {
+                    throw new JdbcPersistenceException(e);
+                }
+            }
+        }
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && DUPLICATE_KEY_STATE.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return e.getNextException() != null && isDuplicateKey(e.getNextException());
+    }
+}
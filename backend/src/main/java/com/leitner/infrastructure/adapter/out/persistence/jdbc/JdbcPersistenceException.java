@@ -0,0 +1,14 @@
+package com.leitner.infrastructure.adapter.out.persistence.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Erreur de la base de données sous-jacente, remontée sans contrôle
+ * comme les autres erreurs d'infrastructure des repositories.
+ */
+public class JdbcPersistenceException extends RuntimeException {
+
+    JdbcPersistenceException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+}
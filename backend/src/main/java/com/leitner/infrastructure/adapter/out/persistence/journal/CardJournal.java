@@ -0,0 +1,201 @@
+package com.leitner.infrastructure.adapter.out.persistence.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Journal en ajout seul, écrit par un unique thread (group commit).
+ *
+ * Les écrivains déposent leurs enregistrements dans une file et attendent
+ * leur durabilité. Le thread d'écriture vide la file par lots : un seul
+ * write + fsync rend durables tous les enregistrements arrivés pendant
+ * le fsync précédent, ce qui amortit son coût sous charge.
+ *
+ * Quand un segment dépasse la taille maximale, le journal passe au segment
+ * suivant et notifie le numéro du nouveau segment (borne du prochain snapshot).
+ * Après une erreur d'entrée/sortie, le journal refuse toute écriture :
+ * continuer risquerait de laisser un trou au milieu d'un segment.
+ */
+final class CardJournal implements Closeable {
+
+    /**
+     * Ouvre le fichier d'un nouveau segment.
+     */
+    @FunctionalInterface
+    interface SegmentOpener {
+
+        SegmentOpener DEFAULT = segment ->
+            FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        FileChannel open(Path segment) throws IOException;
+    }
+
+    private static final int MAX_BATCH = 4096;
+    private static final long POLL_MILLIS = 100;
+
+    private final JournalDirectory directory;
+    private final long segmentBytes;
+    private final LongConsumer rotationListener;
+    private final SegmentOpener segmentOpener;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // Accédés par le seul thread d'écriture, puis par close() une fois ce thread arrêté
+    private FileChannel channel;
+    private long segment;
+    private long segmentSize;
+
+    CardJournal(JournalDirectory directory, long firstSegment, long segmentBytes,
+                LongConsumer rotationListener, SegmentOpener segmentOpener) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.rotationListener = rotationListener;
+        this.segmentOpener = segmentOpener;
+        this.segment = firstSegment;
+        openSegment();
+        this.writer = new Thread(this::writeLoop, "card-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Ajoute un enregistrement au journal.
+     *
+     * @return une promesse complétée quand l'enregistrement est sur disque
+     */
+    CompletableFuture<Void> append(byte[] payload) {
+        if (closed) {
+            throw new IllegalStateException("Card journal is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Card journal is unavailable", failure);
+        }
+        PendingWrite write = new PendingWrite(payload, new CompletableFuture<>());
+        queue.add(write);
+        return write.durable();
+    }
+
+    /**
+     * Numéro du segment en cours d'écriture.
+     */
+    long currentSegment() {
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Écritures déposées après l'arrêt du thread : elles ne seront jamais durables
+        List<PendingWrite> orphans = new ArrayList<>();
+        queue.drainTo(orphans);
+        orphans.forEach(write -> write.durable().completeExceptionally(new IOException("Card journal is closed")));
+        channel.close();
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            PendingWrite first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH - 1);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        if (failure != null) {
+            batch.forEach(write -> write.durable().completeExceptionally(failure));
+            return;
+        }
+        int bytes = 0;
+        for (PendingWrite write : batch) {
+            bytes += CardRecordCodec.FRAME_HEADER_BYTES + write.payload().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        batch.forEach(write -> CardRecordCodec.writeFramed(buffer, write.payload()));
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            segmentSize += bytes;
+        } catch (IOException | RuntimeException e) {
+            IOException cause = e instanceof IOException io ? io : new IOException(e);
+            failure = cause;
+            discardBatch();
+            batch.forEach(write -> write.durable().completeExceptionally(cause));
+            return;
+        }
+        batch.forEach(write -> write.durable().complete(null));
+
+        if (segmentSize >= segmentBytes) {
+            rotate();
+        }
+    }
+
+    /**
+     * Retire du segment ce qui a pu être écrit du lot en échec, pour qu'il ne soit pas
+     * rejoué au démarrage ; au mieux, le disque pouvant être lui-même en cause.
+     */
+    private void discardBatch() {
+        try {
+            channel.truncate(segmentSize);
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void rotate() {
+        try {
+            channel.close();
+            segment++;
+            openSegment();
+            directory.sync();
+        } catch (IOException e) {
+            failure = e;
+            return;
+        }
+        rotationListener.accept(segment);
+    }
+
+    private void openSegment() throws IOException {
+        channel = segmentOpener.open(directory.segment(segment));
+        segmentSize = 0;
+    }
+
+    private record PendingWrite(byte[] payload, CompletableFuture<Void> durable) {
+    }
+}
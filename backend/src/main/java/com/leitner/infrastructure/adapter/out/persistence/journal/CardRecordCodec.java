@@ -0,0 +1,170 @@
+package com.leitner.infrastructure.adapter.out.persistence.journal;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+/**
+ * Encodage binaire des enregistrements du journal.
+ *
+ * Chaque enregistrement est encadré par sa longueur et une somme CRC32C :
+ * [int longueur][int crc][contenu]. Le contenu commence par un octet de type,
+ * suivi des champs de la carte. Les catégories sont écrites par nom pour
+ * rester lisibles si l'ordre de l'énumération change. Le propriétaire n'est pas
+ * écrit : un journal ne contient que les cartes d'un utilisateur.
+ */
+final class CardRecordCodec {
+
+    static final int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final byte SAVED = 1;
+    private static final byte DELETED = 2;
+
+    // Borne de sécurité : une longueur au-delà est forcément une corruption
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private CardRecordCodec() {
+    }
+
+    static byte[] saved(Card card) {
+        return encode(out -> {
+            out.writeByte(SAVED);
+            writeString(out, card.getId().getValue());
+            writeString(out, card.getQuestion());
+            writeString(out, card.getAnswer());
+            writeNullableString(out, card.getTag());
+            writeString(out, card.getCategory().name());
+            out.writeLong(card.getLastAnswerDate() == null ? NO_DATE : card.getLastAnswerDate().toEpochDay());
+            out.writeLong(card.getVersion());
+        });
+    }
+
+    static byte[] deleted(CardId id) {
+        return encode(out -> {
+            out.writeByte(DELETED);
+            writeString(out, id.getValue());
+        });
+    }
+
+    static JournalEntry decode(byte[] payload, UserId owner) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        return switch (type) {
+            case SAVED -> {
+                CardId id = CardId.of(readString(in));
+                String question = readString(in);
+                String answer = readString(in);
+                String tag = readNullableString(in);
+                Category category = Category.valueOf(readString(in));
+                long epochDay = in.readLong();
+                LocalDate lastAnswerDate = epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+                long version = in.readLong();
+                yield new JournalEntry.Saved(
+                    Card.reconstitute(owner, id, question, answer, tag, category, lastAnswerDate, version));
+            }
+            case DELETED -> new JournalEntry.Deleted(CardId.of(readString(in)));
+            default -> throw new CorruptRecordException("Unknown record type: " + type);
+        };
+    }
+
+    /**
+     * Ajoute l'enregistrement encadré (longueur, crc, contenu) au tampon.
+     */
+    static void writeFramed(ByteBuffer buffer, byte[] payload) {
+        buffer.putInt(payload.length);
+        buffer.putInt(crc(payload));
+        buffer.put(payload);
+    }
+
+    /**
+     * Lit l'enregistrement encadré suivant.
+     *
+     * @return le contenu, null en fin de fichier entre deux enregistrements
+     * @throws CorruptRecordException si l'enregistrement est tronqué ou corrompu
+     */
+    static byte[] readFramed(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        try {
+            int length = (first << 24) | (in.readUnsignedByte() << 16)
+                | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                throw new CorruptRecordException("Invalid record length: " + length);
+            }
+            int expectedCrc = in.readInt();
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            if (crc(payload) != expectedCrc) {
+                throw new CorruptRecordException("Checksum mismatch");
+            }
+            return payload;
+        } catch (EOFException e) {
+            throw new CorruptRecordException("Truncated record");
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(FieldWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            writer.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // writeUTF est limité à 64 Ko : longueur explicite et UTF-8 standard
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_RECORD_BYTES) {
+            throw new CorruptRecordException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
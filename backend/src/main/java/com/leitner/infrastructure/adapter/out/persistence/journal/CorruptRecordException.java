@@ -0,0 +1,14 @@
+package com.leitner.infrastructure.adapter.out.persistence.journal;
+
+import java.io.IOException;
+
+/**
+ * Enregistrement tronqué ou dont la somme de contrôle ne correspond pas.
+ * En fin du dernier segment, il s'agit d'une écriture interrompue par un arrêt brutal.
+ */
+class CorruptRecordException extends IOException {
+
+    CorruptRecordException(String message) {
+        super(message);
+    }
+}
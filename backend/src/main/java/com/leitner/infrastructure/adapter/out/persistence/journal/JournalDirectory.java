@@ -0,0 +1,149 @@
+package com.leitner.infrastructure.adapter.out.persistence.journal;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Organisation des fichiers du journal dans son répertoire.
+ *
+ * - journal-&lt;n&gt;.log : segments du journal, numérotés dans l'ordre d'écriture ;
+ * - snapshot-&lt;n&gt;.snap : état complet couvrant tous les segments de numéro inférieur à n,
+ *   au format projeté en mémoire (voir MappedSnapshot) ;
+ * - *.tmp : snapshot en cours d'écriture, ignoré (et supprimé) au démarrage ;
+ * - journal.lock : verrou exclusif de l'instance qui utilise le répertoire.
+ */
+final class JournalDirectory {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String LOCK_FILE = "journal.lock";
+
+    private final Path root;
+
+    JournalDirectory(Path root) throws IOException {
+        this.root = Files.createDirectories(root);
+    }
+
+    /**
+     * Verrouille le répertoire pour une seule instance du journal, de ce processus
+     * ou d'un autre ; libéré en fermant le canal du verrou.
+     *
+     * @throws IOException si le répertoire est déjà verrouillé
+     */
+    FileLock lock() throws IOException {
+        FileChannel channel = FileChannel.open(root.resolve(LOCK_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Verrou déjà pris dans ce processus
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        channel.close();
+        throw new IOException("Journal directory already in use: " + root);
+    }
+
+    Path segment(long number) {
+        return root.resolve(SEGMENT_PREFIX + format(number) + SEGMENT_SUFFIX);
+    }
+
+    Path snapshot(long boundary) {
+        return root.resolve(SNAPSHOT_PREFIX + format(boundary) + SNAPSHOT_SUFFIX);
+    }
+
+    Path temporarySnapshot(long boundary) {
+        return root.resolve(SNAPSHOT_PREFIX + format(boundary) + SNAPSHOT_SUFFIX + TEMPORARY_SUFFIX);
+    }
+
+    /**
+     * Numéros des segments présents, par ordre croissant.
+     */
+    List<Long> segments() throws IOException {
+        return numbers(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Borne du snapshot le plus récent, vide s'il n'y en a aucun.
+     */
+    OptionalLong latestSnapshot() throws IOException {
+        List<Long> snapshots = numbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        return snapshots.isEmpty() ? OptionalLong.empty() : OptionalLong.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    /**
+     * Supprime les segments et snapshots rendus inutiles par le snapshot de borne donnée.
+     * Un fichier encore projeté en mémoire peut résister à la suppression sur certains
+     * systèmes : il est alors conservé jusqu'au snapshot suivant.
+     */
+    void deleteBefore(long boundary) throws IOException {
+        for (long number : segments()) {
+            if (number < boundary) {
+                deleteQuietly(segment(number));
+            }
+        }
+        for (long number : numbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (number < boundary) {
+                deleteQuietly(snapshot(number));
+            }
+        }
+    }
+
+    void deleteTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(TEMPORARY_SUFFIX)).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Rend durables les créations, renommages et suppressions de fichiers.
+     */
+    void sync() throws IOException {
+        try (FileChannel directory = FileChannel.open(root, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Certains systèmes (Windows) ne permettent pas d'ouvrir un répertoire
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Nouvelle tentative au prochain snapshot
+        }
+    }
+
+    private List<Long> numbers(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            return files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                .map(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    // Largeur fixe : l'ordre alphabétique des fichiers suit l'ordre numérique
+    private static String format(long number) {
+        return String.format("%020d", number);
+    }
+}
@@ -0,0 +1,22 @@
+package com.leitner.infrastructure.adapter.out.persistence.journal;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+
+/**
+ * Enregistrement lu depuis le journal.
+ */
+sealed interface JournalEntry {
+
+    /**
+     * État complet d'une carte après écriture : le rejouer est idempotent.
+     */
+    record Saved(Card card) implements JournalEntry {
+    }
+
+    /**
+     * Suppression d'une carte.
+     */
+    record Deleted(CardId id) implements JournalEntry {
+    }
+}
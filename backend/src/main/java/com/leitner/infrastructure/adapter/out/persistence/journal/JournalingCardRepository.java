@@ -0,0 +1,563 @@
+package com.leitner.infrastructure.adapter.out.persistence.journal;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.ChangeSequence;
+import com.leitner.infrastructure.adapter.out.persistence.mapped.MappedCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.mapped.MappedSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Repository de cartes en mémoire rendu durable par un journal d'écriture anticipée.
+ *
+ * Les lectures sont servies par MappedCardRepository : le dernier snapshot projeté
+ * en mémoire, complété des écritures postérieures gardées en mémoire.
+ * Chaque écriture est d'abord journalisée, puis publiée en mémoire une fois
+ * l'enregistrement sur disque (fsync groupé, voir CardJournal) : une écriture
+ * dont le fsync échoue n'est jamais visible des lectures ni des snapshots.
+ * L'appel ne rend la main qu'après la publication.
+ *
+ * Entre le dépôt et le fsync, le nouvel état d'une carte est gardé à part
+ * (écritures en attente) : l'écriture suivante de la même carte part de cet état.
+ * Le calcul du nouvel état et le dépôt dans le journal se font sous un verrou
+ * par carte (verrous répartis), si bien que le journal respecte l'ordre des écritures
+ * de chaque carte ; les publications suivent l'ordre du journal.
+ *
+ * À chaque changement de segment, un snapshot de l'état complet est écrit en tâche
+ * de fond, puis les segments qu'il couvre sont supprimés. Le snapshot est pris sans
+ * bloquer les écritures : il peut contenir des écritures déjà présentes dans les
+ * segments suivants, ce qui est sans effet car chaque enregistrement contient l'état
+ * complet de la carte et son rejeu est idempotent. Une fois le snapshot écrit,
+ * les lectures passent sur sa projection, avec une surcouche qui ne garde que
+ * les écritures publiées pendant son écriture : la mémoire ne croît pas avec le journal.
+ *
+ * Au démarrage, le dernier snapshot est projeté en mémoire sans être lu, puis les
+ * segments suivants sont rejoués : la durée du démarrage dépend de la taille
+ * de la fin du journal, pas de celle du deck. Un enregistrement incomplet en fin de dernier segment (arrêt brutal
+ * pendant une écriture non acquittée) est tronqué.
+ *
+ * Le repository implémente aussi le port non bloquant : saveAsync et updateAsync
+ * rendent la main dès l'écriture déposée dans le journal, et leur futur se termine
+ * à la publication qui suit le fsync, sans qu'aucun thread ne l'attende.
+ *
+ * Un journal contient les cartes d'un seul utilisateur : chaque partition
+ * (voir PerUserCardRepository) a son répertoire, son journal et ses snapshots.
+ * Le répertoire est verrouillé (FileLock) de l'ouverture à la fin de la fermeture :
+ * une seconde instance sur le même répertoire échoue à l'ouverture.
+ */
+public class JournalingCardRepository implements CardRepository, AsyncCardRepository, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalingCardRepository.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    // Remplacé sous tous les verrous après chaque snapshot
+    private volatile MappedCardRepository cards;
+    // Identifiants publiés pendant l'écriture d'un snapshot, null hors snapshot
+    private volatile Set<CardId> recording;
+    private final UserId owner;
+    private final JournalDirectory directory;
+    private final FileLock directoryLock;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    private final ExecutorService snapshotExecutor;
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final CardJournal journal;
+    // Dernier état déposé dans le journal et pas encore publié, par carte ; modifié sous le verrou de la carte
+    private final Map<CardId, PendingState> pending = new ConcurrentHashMap<>();
+    // Propre au repository : la vue des cartes change à chaque snapshot
+    private final ChangeSequence changes = new ChangeSequence();
+
+    private JournalingCardRepository(MappedCardRepository cards, UserId owner, JournalDirectory directory,
+                                     FileLock directoryLock, long firstSegment, long segmentBytes,
+                                     CardJournal.SegmentOpener segmentOpener) throws IOException {
+        this.cards = cards;
+        this.owner = owner;
+        this.directory = directory;
+        this.directoryLock = directoryLock;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "card-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.journal = new CardJournal(directory, firstSegment, segmentBytes, this::snapshotInBackground,
+            segmentOpener);
+    }
+
+    /**
+     * Ouvre le journal du répertoire donné et reconstruit l'état des cartes.
+     *
+     * @param root le répertoire du journal, créé s'il n'existe pas
+     * @param segmentBytes la taille à partir de laquelle un segment est clos et un snapshot écrit
+     * @throws IllegalStateException si un segment autre que le dernier est corrompu
+     */
+    public static JournalingCardRepository open(Path root, long segmentBytes) throws IOException {
+        return open(root, segmentBytes, UserId.DEFAULT);
+    }
+
+    /**
+     * Ouvre le journal des cartes de l'utilisateur donné.
+     *
+     * @param root le répertoire du journal de cet utilisateur, créé s'il n'existe pas
+     * @param segmentBytes la taille à partir de laquelle un segment est clos et un snapshot écrit
+     * @param owner le propriétaire des cartes du journal
+     * @throws IOException si le répertoire est déjà utilisé par une autre instance
+     * @throws IllegalStateException si un segment autre que le dernier est corrompu
+     */
+    public static JournalingCardRepository open(Path root, long segmentBytes, UserId owner) throws IOException {
+        return open(root, segmentBytes, owner, CardJournal.SegmentOpener.DEFAULT);
+    }
+
+    /**
+     * Ouvre le journal avec l'ouverture de segments donnée (utile pour les tests).
+     */
+    static JournalingCardRepository open(Path root, long segmentBytes, UserId owner,
+                                         CardJournal.SegmentOpener segmentOpener) throws IOException {
+        JournalDirectory directory = new JournalDirectory(root);
+        FileLock directoryLock = directory.lock();
+        try {
+            return open(directory, directoryLock, segmentBytes, owner, segmentOpener);
+        } catch (IOException | RuntimeException e) {
+            directoryLock.channel().close();
+            throw e;
+        }
+    }
+
+    private static JournalingCardRepository open(JournalDirectory directory, FileLock directoryLock,
+                                                 long segmentBytes, UserId owner,
+                                                 CardJournal.SegmentOpener segmentOpener) throws IOException {
+        directory.deleteTemporaryFiles();
+
+        OptionalLong snapshot = directory.latestSnapshot();
+        long boundary = snapshot.orElse(0);
+        MappedSnapshot base = MappedSnapshot.empty();
+        if (snapshot.isPresent()) {
+            base = MappedSnapshot.open(directory.snapshot(boundary), owner);
+            log.info("Mapped snapshot {}", boundary);
+        }
+        MappedCardRepository cards = new MappedCardRepository(base);
+
+        long nextSegment = boundary;
+        List<Long> segments = directory.segments().stream().filter(number -> number >= boundary).toList();
+        for (int i = 0; i < segments.size(); i++) {
+            long number = segments.get(i);
+            long replayed = replaySegment(directory.segment(number), cards, owner, i == segments.size() - 1);
+            log.info("Replayed {} records from journal segment {}", replayed, number);
+            nextSegment = number + 1;
+        }
+        return new JournalingCardRepository(cards, owner, directory, directoryLock, nextSegment, segmentBytes,
+            segmentOpener);
+    }
+
+    @Override
+    public Card save(Card card) {
+        return await(saveAsync(card));
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        return await(updateAsync(id, updater));
+    }
+
+    /**
+     * Dépose le nouvel état de la carte dans le journal, sans attendre le fsync :
+     * le futur est terminé par le thread d'écriture du journal, après la publication.
+     *
+     * @throws CardVersionConflictException si la carte a changé depuis sa lecture
+     */
+    @Override
+    public CompletableFuture<Card> saveAsync(Card card) {
+        Lock lock = lockFor(card.getId());
+        lock.lock();
+        try {
+            Optional<Card> previous = current(card.getId());
+            if (previous.isPresent() && card.getVersion() != 0 && card.getVersion() != previous.get().getVersion()) {
+                throw new CardVersionConflictException(
+                    card.getId().getValue(), card.getVersion(), previous.get().getVersion());
+            }
+            long version = previous.map(Card::getVersion).orElse(card.getVersion());
+            Card stored = Card.reconstitute(card.getOwner(), card.getId(), card.getQuestion(), card.getAnswer(),
+                card.getTag(), card.getCategory(), card.getLastAnswerDate(), version + 1);
+            return journalize(card.getId(), stored);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<Card>> updateAsync(CardId id, UnaryOperator<Card> updater) {
+        Lock lock = lockFor(id);
+        lock.lock();
+        try {
+            Optional<Card> previous = current(id);
+            if (previous.isEmpty()) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+            Card next = updater.apply(previous.get().nextVersion());
+            if (!id.equals(next.getId())) {
+                throw new IllegalArgumentException("Update cannot change the card id: " + id.getValue());
+            }
+            return journalize(id, next).thenApply(Optional::of);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cardsToSave) {
+        // Toutes les écritures sont déposées avant d'attendre : un seul fsync pour le lot
+        List<CompletableFuture<Card>> saved = new ArrayList<>(cardsToSave.size());
+        for (Card card : cardsToSave) {
+            saved.add(saveAsync(card));
+        }
+        await(CompletableFuture.allOf(saved.toArray(CompletableFuture[]::new)));
+        return saved.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void deleteById(CardId id) {
+        CompletableFuture<Card> durable = null;
+        Lock lock = lockFor(id);
+        lock.lock();
+        try {
+            if (current(id).isPresent()) {
+                durable = journalize(id, null);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (durable != null) {
+            await(durable);
+        }
+    }
+
+    @Override
+    public Optional<Card> findById(CardId id) {
+        return cards.findById(id);
+    }
+
+    @Override
+    public List<Card> findAll() {
+        return cards.findAll();
+    }
+
+    @Override
+    public List<Card> findByTags(List<String> tags) {
+        return cards.findByTags(tags);
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        return cards.countByTag();
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        return cards.findDueOn(date);
+    }
+
+    @Override
+    public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+        return cards.findPage(tags, cursor, limit);
+    }
+
+    @Override
+    public Stream<Card> stream(List<String> tags) {
+        return cards.stream(tags);
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        return cards.findDuePage(date, cursor, limit);
+    }
+
+    @Override
+    public boolean existsById(CardId id) {
+        return cards.existsById(id);
+    }
+
+    @Override
+    public long changeSequence() {
+        return changes.current();
+    }
+
+    // Lectures non bloquantes : servies depuis la mémoire, le futur est déjà terminé
+
+    @Override
+    public CompletableFuture<Boolean> existsByIdAsync(CardId id) {
+        return CompletableFuture.completedFuture(cards.existsById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<TagCount>> countByTagAsync() {
+        return CompletableFuture.completedFuture(cards.countByTag());
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findPageAsync(List<String> tags, String cursor, int limit) {
+        return CompletableFuture.completedFuture(cards.findPage(tags, cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findDuePageAsync(LocalDate date, String cursor, int limit) {
+        return CompletableFuture.completedFuture(cards.findDuePage(date, cursor, limit));
+    }
+
+    /**
+     * Arrête le journal et écrit un snapshot final, pour un redémarrage sans rejeu,
+     * puis libère le verrou du répertoire.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            journal.close();
+            snapshotExecutor.shutdown();
+            try {
+                snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeSnapshot(journal.currentSegment() + 1);
+        } finally {
+            directoryLock.channel().close();
+        }
+    }
+
+    /**
+     * Nombre de cartes gardées en mémoire hors du dernier snapshot (utile pour les tests).
+     */
+    int overlaySize() {
+        return cards.overlaySize();
+    }
+
+    private Lock lockFor(CardId id) {
+        return locks[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * État courant d'une carte pour une écriture : le dernier déposé dans le journal,
+     * publié ou non. Appelé sous le verrou de la carte.
+     */
+    private Optional<Card> current(CardId id) {
+        PendingState state = pending.get(id);
+        return state != null ? Optional.ofNullable(state.card) : cards.findById(id);
+    }
+
+    /**
+     * Dépose le nouvel état d'une carte (null pour une suppression) dans le journal
+     * et le publie en mémoire une fois durable. Appelé sous le verrou de la carte :
+     * la publication est enregistrée avant qu'une autre écriture de la carte soit déposée,
+     * et le thread d'écriture termine les dépôts dans l'ordre.
+     *
+     * @return un futur terminé après la publication, en échec si le journal a échoué
+     */
+    private CompletableFuture<Card> journalize(CardId id, Card next) {
+        byte[] record = next != null ? CardRecordCodec.saved(next) : CardRecordCodec.deleted(id);
+        CompletableFuture<Void> durable = journal.append(record);
+        pending.compute(id, (key, previous) ->
+            new PendingState(next, previous == null ? 1 : previous.writes + 1));
+        CompletableFuture<Void> published = durable.whenComplete((ignored, failure) -> {
+            Lock lock = lockFor(id);
+            lock.lock();
+            try {
+                if (failure == null) {
+                    if (next != null) {
+                        cards.restore(next);
+                    } else {
+                        cards.deleteById(id);
+                    }
+                    Set<CardId> recorded = recording;
+                    if (recorded != null) {
+                        recorded.add(id);
+                    }
+                    changes.advance();
+                }
+                // Après un échec, le journal refuse toute écriture : les écritures suivantes
+                // de la carte échouent aussi, la mémoire garde le dernier état durable
+                pending.computeIfPresent(id, (key, latest) -> latest.writes == 1
+                    ? null
+                    : new PendingState(latest.card, latest.writes - 1));
+            } finally {
+                lock.unlock();
+            }
+        });
+        return whenDurable(published, next);
+    }
+
+    private void snapshotInBackground(long boundary) {
+        // Un snapshot encore en cours couvre l'essentiel : le suivant rattrapera
+        if (!snapshotRunning.compareAndSet(false, true)) {
+            return;
+        }
+        snapshotExecutor.execute(() -> {
+            try {
+                writeSnapshot(boundary);
+            } catch (IOException e) {
+                log.warn("Snapshot {} failed, journal segments are kept", boundary, e);
+            } finally {
+                snapshotRunning.set(false);
+            }
+        });
+    }
+
+    private void writeSnapshot(long boundary) throws IOException {
+        lockAll();
+        try {
+            recording = ConcurrentHashMap.newKeySet();
+        } finally {
+            unlockAll();
+        }
+        try {
+            Path temporary = directory.temporarySnapshot(boundary);
+            long count;
+            try (Stream<Card> all = cards.stream(List.of())) {
+                count = MappedSnapshot.write(temporary, all.iterator());
+            }
+            Files.move(temporary, directory.snapshot(boundary), StandardCopyOption.ATOMIC_MOVE);
+            directory.sync();
+            remap(boundary);
+            directory.deleteBefore(boundary);
+            log.debug("Wrote snapshot {} with {} cards", boundary, count);
+        } finally {
+            recording = null;
+        }
+    }
+
+    /**
+     * Sert les lectures depuis le snapshot qui vient d'être écrit : la nouvelle surcouche
+     * ne reprend que les cartes publiées pendant son écriture, qu'il peut ne pas contenir.
+     * Fait sous tous les verrous : aucune publication n'a lieu pendant le remplacement.
+     */
+    private void remap(long boundary) throws IOException {
+        MappedSnapshot snapshot = MappedSnapshot.open(directory.snapshot(boundary), owner);
+        lockAll();
+        try {
+            MappedCardRepository previous = cards;
+            MappedCardRepository next = new MappedCardRepository(snapshot);
+            for (CardId id : recording) {
+                previous.findById(id).ifPresentOrElse(next::restore, () -> next.deleteById(id));
+            }
+            cards = next;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private void lockAll() {
+        for (Lock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private static long replaySegment(Path segment, MappedCardRepository cards, UserId owner,
+                                      boolean last) throws IOException {
+        long count = 0;
+        long validBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+            byte[] payload;
+            while ((payload = CardRecordCodec.readFramed(in)) != null) {
+                apply(CardRecordCodec.decode(payload, owner), cards);
+                validBytes += CardRecordCodec.FRAME_HEADER_BYTES + payload.length;
+                count++;
+            }
+        } catch (CorruptRecordException e) {
+            if (!last) {
+                throw new IllegalStateException("Corrupted journal segment " + segment, e);
+            }
+            // Écriture interrompue : elle n'a jamais été acquittée
+            log.warn("Truncating torn record at offset {} of {}: {}", validBytes, segment, e.getMessage());
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+        }
+        return count;
+    }
+
+    private static void apply(JournalEntry entry, MappedCardRepository cards) throws CorruptRecordException {
+        if (entry instanceof JournalEntry.Saved saved) {
+            cards.restore(saved.card());
+        } else if (entry instanceof JournalEntry.Deleted deleted) {
+            cards.deleteById(deleted.id());
+        } else {
+            throw new CorruptRecordException("Unexpected record: " + entry);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw journalFailure(e.getCause());
+        }
+    }
+
+    /**
+     * Dernier état déposé d'une carte (null si supprimée) et nombre de ses écritures
+     * encore en attente du fsync.
+     */
+    private record PendingState(Card card, int writes) {
+    }
+
+    private static <T> CompletableFuture<T> whenDurable(CompletableFuture<Void> durable, T value) {
+        return durable.handle((ignored, failure) -> {
+            if (failure != null) {
+                throw journalFailure(failure instanceof CompletionException ? failure.getCause() : failure);
+            }
+            return value;
+        });
+    }
+
+    private static UncheckedIOException journalFailure(Throwable cause) {
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked;
+        }
+        return new UncheckedIOException("Card journal write failed",
+            cause instanceof IOException io ? io : new IOException(cause));
+    }
+}
@@ -0,0 +1,407 @@
+package com.leitner.infrastructure.adapter.out.persistence.mapped;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.ChangeSequence;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repository de cartes servi depuis un snapshot projeté en mémoire.
+ *
+ * Le snapshot constitue une base en lecture seule : ses cartes ne sont
+ * matérialisées qu'à la lecture. Les écritures vont dans une surcouche
+ * InMemoryCardRepository ; une carte de la base modifiée ou supprimée y est
+ * masquée. Les lectures fusionnent base et surcouche dans l'ordre attendu
+ * (identifiant, ou jour de révision puis identifiant pour le quiz),
+ * la surcouche l'emportant pour un même identifiant.
+ *
+ * Les écritures sur une carte de la base la recopient d'abord dans la surcouche :
+ * elles sont sérialisées par un verrou par carte (verrous répartis).
+ *
+ * Le nombre de cartes par tag combine les compteurs du dictionnaire du snapshot,
+ * diminués des cartes masquées, et ceux de la surcouche.
+ */
+public class MappedCardRepository implements CardRepository {
+
+    private static final String DUE_CURSOR_SEPARATOR = ":";
+    private static final int LOCK_STRIPES = 64;
+
+    private static final Comparator<Card> BY_ID = Comparator.comparing(Card::getId);
+    private static final Comparator<Card> BY_REVIEW_DAY =
+        Comparator.comparingLong(MappedCardRepository::reviewDay).thenComparing(BY_ID);
+
+    private final MappedSnapshot base;
+    private final InMemoryCardRepository overlay = new InMemoryCardRepository();
+
+    // Identifiants des cartes de la base remplacées par la surcouche ou supprimées
+    private final Set<String> shadowed = ConcurrentHashMap.newKeySet();
+    // Nombre de cartes masquées, par numéro de tag du snapshot
+    private final AtomicIntegerArray shadowedByTag;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    // Propre au repository : une suppression dans la base ne touche pas la surcouche
+    private final ChangeSequence changes = new ChangeSequence();
+
+    public MappedCardRepository(MappedSnapshot base) {
+        this.base = base;
+        this.shadowedByTag = new AtomicIntegerArray(base.tagCount());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Card save(Card card) {
+        Lock lock = lockFor(card.getId());
+        lock.lock();
+        try {
+            promote(card.getId().getValue());
+            Card saved = overlay.save(card);
+            changes.advance();
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        Lock lock = lockFor(id);
+        lock.lock();
+        try {
+            promote(id.getValue());
+            Optional<Card> updated = overlay.update(id, updater);
+            updated.ifPresent(card -> changes.advance());
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cards) {
+        return cards.stream().map(this::save).toList();
+    }
+
+    /**
+     * Réinsère une carte telle quelle, version comprise (rejeu d'un journal).
+     */
+    public void restore(Card card) {
+        Lock lock = lockFor(card.getId());
+        lock.lock();
+        try {
+            overlay.restore(card);
+            shadow(card.getId().getValue());
+            changes.advance();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(CardId id) {
+        Lock lock = lockFor(id);
+        lock.lock();
+        try {
+            shadow(id.getValue());
+            overlay.deleteById(id);
+            changes.advance();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Card> findById(CardId id) {
+        return overlay.findById(id).or(() -> findInBase(id.getValue()));
+    }
+
+    @Override
+    public boolean existsById(CardId id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public long changeSequence() {
+        return changes.current();
+    }
+
+    /**
+     * Nombre de cartes gardées dans la surcouche, hors du snapshot.
+     */
+    public int overlaySize() {
+        return overlay.findAll().size();
+    }
+
+    @Override
+    public List<Card> findAll() {
+        return findByTags(List.of());
+    }
+
+    @Override
+    public List<Card> findByTags(List<String> tags) {
+        try (Stream<Card> cards = stream(tags)) {
+            return cards.toList();
+        }
+    }
+
+    @Override
+    public Stream<Card> stream(List<String> tags) {
+        Stream<Card> overlayCards = overlay.stream(tags);
+        Iterator<Card> merged = merge(baseCards(tags, 0), overlayCards.iterator(), BY_ID);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(overlayCards::close);
+    }
+
+    @Override
+    public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+        int from = cursor == null ? 0 : base.indexAfter(cursor);
+        Iterator<Card> merged = merge(baseCards(tags, from),
+            overlay.findPage(tags, cursor, limit + 1).items().iterator(), BY_ID);
+
+        List<Card> page = take(merged, limit + 1);
+        if (page.size() <= limit) {
+            return Page.last(page);
+        }
+        List<Card> items = page.subList(0, limit);
+        return new Page<>(items, items.get(limit - 1).getId().getValue());
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        Map<String, Long> counts = new HashMap<>();
+        for (int tag = 0; tag < base.tagCount(); tag++) {
+            counts.put(base.tagName(tag), (long) base.tagCardCount(tag) - shadowedByTag.get(tag));
+        }
+        for (TagCount count : overlay.countByTag()) {
+            counts.merge(count.tag(), count.cardCount(), Long::sum);
+        }
+        return counts.entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .map(entry -> new TagCount(entry.getKey(), entry.getValue()))
+            .toList();
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        int end = base.dueEntryAfter(date.toEpochDay(), null);
+        return Stream.concat(
+                IntStream.range(0, end).mapToObj(entry -> baseCard(base.dueIndex(entry))).filter(Objects::nonNull),
+                overlay.findDueOn(date).stream())
+            .distinct()
+            .toList();
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        int from = 0;
+        if (cursor != null) {
+            int separator = cursor.indexOf(DUE_CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                from = base.dueEntryAfter(Long.parseLong(cursor.substring(0, separator)),
+                    cursor.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        int end = base.dueEntryAfter(date.toEpochDay(), null);
+        Iterator<Card> baseCards = IntStream.range(Math.min(from, end), end)
+            .mapToObj(entry -> baseCard(base.dueIndex(entry)))
+            .filter(Objects::nonNull)
+            .iterator();
+        Iterator<Card> merged = merge(baseCards,
+            overlay.findDuePage(date, cursor, limit + 1).items().iterator(), BY_REVIEW_DAY);
+
+        List<Card> page = take(merged, limit + 1);
+        if (page.size() <= limit) {
+            return Page.last(page);
+        }
+        Card last = page.get(limit - 1);
+        return new Page<>(page.subList(0, limit), reviewDay(last) + DUE_CURSOR_SEPARATOR + last.getId().getValue());
+    }
+
+    /**
+     * Recopie dans la surcouche la carte de la base, avant de la modifier.
+     * Appelé sous le verrou de la carte.
+     */
+    private void promote(String id) {
+        if (overlay.existsById(CardId.of(id)) || shadowed.contains(id)) {
+            return;
+        }
+        int index = base.indexOf(id);
+        if (index >= 0) {
+            overlay.restore(base.card(index));
+            shadow(index, id);
+        }
+    }
+
+    /**
+     * Masque la carte de la base de cet identifiant, si elle existe.
+     * Appelé sous le verrou de la carte.
+     */
+    private void shadow(String id) {
+        int index = base.indexOf(id);
+        if (index >= 0) {
+            shadow(index, id);
+        }
+    }
+
+    private void shadow(int index, String id) {
+        if (shadowed.add(id)) {
+            int tag = base.tagOf(index);
+            if (tag != SnapshotLayout.NO_TAG) {
+                shadowedByTag.incrementAndGet(tag);
+            }
+        }
+    }
+
+    private Optional<Card> findInBase(String id) {
+        if (shadowed.contains(id)) {
+            return Optional.empty();
+        }
+        int index = base.indexOf(id);
+        return index < 0 ? Optional.empty() : Optional.ofNullable(baseCard(index));
+    }
+
+    /**
+     * Carte de la base, null si elle est masquée par la surcouche.
+     */
+    private Card baseCard(int index) {
+        Card card = base.card(index);
+        return shadowed.contains(card.getId().getValue()) ? null : card;
+    }
+
+    /**
+     * Cartes de la base à partir de l'index donné, triées par identifiant,
+     * toutes ou limitées aux tags demandés. Les postings sont lus au fil du parcours :
+     * une page ne lit que les index qu'elle consomme.
+     */
+    private Iterator<Card> baseCards(List<String> tags, int from) {
+        PrimitiveIterator.OfInt indexes = tags.isEmpty()
+            ? IntStream.range(from, base.size()).iterator()
+            : mergePostings(tags, from);
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(indexes, Spliterator.ORDERED), false)
+            .mapToObj(this::baseCard)
+            .filter(Objects::nonNull)
+            .iterator();
+    }
+
+    /**
+     * Fusionne dans l'ordre croissant les postings des tags demandés, à partir de l'index donné.
+     */
+    private PrimitiveIterator.OfInt mergePostings(List<String> tags, int from) {
+        // Une carte n'a qu'un tag : les postings des tags sont disjoints
+        PriorityQueue<MappedSnapshot.Postings> heads =
+            new PriorityQueue<>(Comparator.comparingInt(MappedSnapshot.Postings::peek));
+        tags.stream().distinct()
+            .map(tag -> base.postings(tag, from))
+            .filter(MappedSnapshot.Postings::hasNext)
+            .forEach(heads::add);
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public int nextInt() {
+                MappedSnapshot.Postings head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                int index = head.peek();
+                head.advance();
+                if (head.hasNext()) {
+                    heads.add(head);
+                }
+                return index;
+            }
+        };
+    }
+
+    private Lock lockFor(CardId id) {
+        return locks[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static long reviewDay(Card card) {
+        return card.nextReviewDate().orElseThrow().toEpochDay();
+    }
+
+    private static List<Card> take(Iterator<Card> cards, int count) {
+        List<Card> taken = new ArrayList<>(count);
+        while (cards.hasNext() && taken.size() < count) {
+            taken.add(cards.next());
+        }
+        return taken;
+    }
+
+    /**
+     * Fusionne deux suites triées ; pour deux cartes de même identifiant,
+     * celle de la surcouche est retenue.
+     */
+    private static Iterator<Card> merge(Iterator<Card> baseCards, Iterator<Card> overlayCards,
+                                        Comparator<Card> order) {
+        return new Iterator<>() {
+            private Card nextBase = advance(baseCards);
+            private Card nextOverlay = advance(overlayCards);
+
+            @Override
+            public boolean hasNext() {
+                return nextBase != null || nextOverlay != null;
+            }
+
+            @Override
+            public Card next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (nextOverlay != null && nextBase != null && nextBase.equals(nextOverlay)) {
+                    nextBase = advance(baseCards);
+                }
+                Card card;
+                if (nextBase == null || (nextOverlay != null && order.compare(nextOverlay, nextBase) <= 0)) {
+                    card = nextOverlay;
+                    nextOverlay = advance(overlayCards);
+                } else {
+                    card = nextBase;
+                    nextBase = advance(baseCards);
+                }
+                return card;
+            }
+        };
+    }
+
+    private static Card advance(Iterator<Card> cards) {
+        return cards.hasNext() ? cards.next() : null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.leitner.infrastructure.adapter.out.persistence.mapped;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Fichier projeté en mémoire en lecture seule, découpé en tranches
+ * (un MappedByteBuffer est limité à 2 Go).
+ *
+ * Les lectures à cheval sur deux tranches sont reconstituées octet par octet ;
+ * les autres sont lues directement dans la projection, sans copie.
+ */
+final class MappedRegion {
+
+    static final int DEFAULT_CHUNK_BYTES = 1 << 30;
+
+    private final ByteBuffer[] chunks;
+    private final int chunkBytes;
+    private final long size;
+
+    private MappedRegion(ByteBuffer[] chunks, int chunkBytes, long size) {
+        this.chunks = chunks;
+        this.chunkBytes = chunkBytes;
+        this.size = size;
+    }
+
+    static MappedRegion map(FileChannel channel, int chunkBytes) throws IOException {
+        long size = channel.size();
+        int count = (int) ((size + chunkBytes - 1) / chunkBytes);
+        ByteBuffer[] chunks = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long offset = (long) i * chunkBytes;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(chunkBytes, size - offset));
+        }
+        return new MappedRegion(chunks, chunkBytes, size);
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte getByte(long position) {
+        return chunks[(int) (position / chunkBytes)].get((int) (position % chunkBytes));
+    }
+
+    int getInt(long position) {
+        ByteBuffer chunk = chunks[(int) (position / chunkBytes)];
+        int offset = (int) (position % chunkBytes);
+        if (offset + Integer.BYTES <= chunk.limit()) {
+            return chunk.getInt(offset);
+        }
+        return ByteBuffer.wrap(getBytes(position, Integer.BYTES)).getInt();
+    }
+
+    long getLong(long position) {
+        ByteBuffer chunk = chunks[(int) (position / chunkBytes)];
+        int offset = (int) (position % chunkBytes);
+        if (offset + Long.BYTES <= chunk.limit()) {
+            return chunk.getLong(offset);
+        }
+        return ByteBuffer.wrap(getBytes(position, Long.BYTES)).getLong();
+    }
+
+    /**
+     * Compare sur place les length octets à la position donnée à ceux de other.
+     *
+     * @return l'index du premier octet différent, min(length, other.length) si l'une
+     *         des suites prolonge l'autre, -1 si elles sont égales
+     */
+    int mismatch(long position, int length, byte[] other) {
+        int common = Math.min(length, other.length);
+        ByteBuffer chunk = chunks[(int) (position / chunkBytes)];
+        int offset = (int) (position % chunkBytes);
+        boolean inChunk = offset + common <= chunk.limit();
+        for (int i = 0; i < common; i++) {
+            byte value = inChunk ? chunk.get(offset + i) : getByte(position + i);
+            if (value != other[i]) {
+                return i;
+            }
+        }
+        return length == other.length ? -1 : common;
+    }
+
+    byte[] getBytes(long position, int length) {
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long current = position + copied;
+            ByteBuffer chunk = chunks[(int) (current / chunkBytes)];
+            int offset = (int) (current % chunkBytes);
+            int count = Math.min(length - copied, chunk.limit() - offset);
+            chunk.get(offset, bytes, copied, count);
+            copied += count;
+        }
+        return bytes;
+    }
+}
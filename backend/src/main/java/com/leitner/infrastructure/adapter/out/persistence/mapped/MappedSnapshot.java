@@ -0,0 +1,352 @@
+package com.leitner.infrastructure.adapter.out.persistence.mapped;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.leitner.infrastructure.adapter.out.persistence.mapped.SnapshotLayout.*;
+
+/**
+ * Snapshot de cartes en lecture seule, projeté en mémoire (voir SnapshotLayout).
+ *
+ * L'ouverture ne lit que l'en-tête et le dictionnaire des tags : son coût ne dépend
+ * pas du nombre de cartes. Les cartes sont matérialisées à la demande, à partir
+ * de leur enregistrement de taille fixe ; la recherche par identifiant se fait
+ * par dichotomie sur les enregistrements triés.
+ *
+ * Un snapshot contient les cartes d'un seul utilisateur : le propriétaire
+ * n'est pas écrit dans le fichier, il est fourni à l'ouverture.
+ */
+public final class MappedSnapshot {
+
+    private static final MappedSnapshot EMPTY = new MappedSnapshot();
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final MappedRegion region;
+    private final int cardCount;
+    private final int dueCount;
+    private final long cardsOffset;
+    private final long tagsOffset;
+    private final long postingsOffset;
+    private final long dueOffset;
+    private final long textOffset;
+    private final String[] tagNames;
+    private final Map<String, Integer> tagIds;
+    private final UserId owner;
+
+    private MappedSnapshot() {
+        this.region = null;
+        this.owner = UserId.DEFAULT;
+        this.cardCount = 0;
+        this.dueCount = 0;
+        this.cardsOffset = 0;
+        this.tagsOffset = 0;
+        this.postingsOffset = 0;
+        this.dueOffset = 0;
+        this.textOffset = 0;
+        this.tagNames = new String[0];
+        this.tagIds = Map.of();
+    }
+
+    private MappedSnapshot(MappedRegion region, UserId owner) throws IOException {
+        if (region.size() < HEADER_BYTES || region.getInt(0) != MAGIC) {
+            throw new IOException("Not a card snapshot");
+        }
+        if (region.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IOException("Unsupported card snapshot version: " + region.getInt(Integer.BYTES));
+        }
+        this.region = region;
+        this.owner = owner;
+        this.cardCount = region.getInt(CARD_COUNT);
+        this.dueCount = region.getInt(DUE_COUNT);
+        this.cardsOffset = region.getLong(CARDS_OFFSET);
+        this.tagsOffset = region.getLong(TAGS_OFFSET);
+        this.postingsOffset = region.getLong(POSTINGS_OFFSET);
+        this.dueOffset = region.getLong(DUE_OFFSET);
+        this.textOffset = region.getLong(TEXT_OFFSET);
+        if (textOffset + region.getLong(TEXT_LENGTH) != region.size()) {
+            throw new IOException("Truncated card snapshot");
+        }
+
+        int tagCount = region.getInt(TAG_COUNT);
+        this.tagNames = new String[tagCount];
+        this.tagIds = new HashMap<>(tagCount * 2);
+        for (int tag = 0; tag < tagCount; tag++) {
+            long entry = tagsOffset + (long) tag * TAG_BYTES;
+            tagNames[tag] = text(region.getLong(entry + TAG_TEXT), region.getInt(entry + TAG_NAME_LENGTH));
+            tagIds.put(tagNames[tag], tag);
+        }
+    }
+
+    /**
+     * Snapshot sans aucune carte, utilisé quand aucun fichier n'existe encore.
+     */
+    public static MappedSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Projette en mémoire un snapshot existant.
+     *
+     * @throws IOException si le fichier n'est pas un snapshot valide
+     */
+    public static MappedSnapshot open(Path file) throws IOException {
+        return open(file, UserId.DEFAULT);
+    }
+
+    /**
+     * Projette en mémoire le snapshot des cartes de l'utilisateur donné.
+     *
+     * @throws IOException si le fichier n'est pas un snapshot valide
+     */
+    public static MappedSnapshot open(Path file, UserId owner) throws IOException {
+        return open(file, owner, MappedRegion.DEFAULT_CHUNK_BYTES);
+    }
+
+    static MappedSnapshot open(Path file, int chunkBytes) throws IOException {
+        return open(file, UserId.DEFAULT, chunkBytes);
+    }
+
+    private static MappedSnapshot open(Path file, UserId owner, int chunkBytes) throws IOException {
+        // La projection reste valide après la fermeture du canal
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedSnapshot(MappedRegion.map(channel, chunkBytes), owner);
+        }
+    }
+
+    /**
+     * Écrit un snapshot à partir de cartes triées par identifiant.
+     *
+     * @return le nombre de cartes écrites
+     * @throws IllegalArgumentException si les cartes ne sont pas triées par identifiant
+     */
+    public static long write(Path file, Iterator<Card> cardsSortedById) throws IOException {
+        return MappedSnapshotWriter.write(file, cardsSortedById);
+    }
+
+    int size() {
+        return cardCount;
+    }
+
+    /**
+     * Matérialise la carte d'index donné.
+     */
+    Card card(int index) {
+        long record = record(index);
+        long text = region.getLong(record + CARD_TEXT);
+        int idLength = region.getInt(record + CARD_ID_LENGTH);
+        int questionLength = region.getInt(record + CARD_QUESTION_LENGTH);
+        int answerLength = region.getInt(record + CARD_ANSWER_LENGTH);
+        int tag = region.getInt(record + CARD_TAG);
+        long lastAnswer = region.getLong(record + CARD_LAST_ANSWER);
+
+        return Card.reconstitute(
+            owner,
+            CardId.of(text(text, idLength)),
+            text(text + idLength, questionLength),
+            text(text + idLength + questionLength, answerLength),
+            tag == NO_TAG ? null : tagNames[tag],
+            CATEGORIES[region.getByte(record + CARD_CATEGORY)],
+            lastAnswer == NO_DATE ? null : LocalDate.ofEpochDay(lastAnswer),
+            region.getLong(record + CARD_VERSION)
+        );
+    }
+
+    String id(int index) {
+        long record = record(index);
+        return text(region.getLong(record + CARD_TEXT), region.getInt(record + CARD_ID_LENGTH));
+    }
+
+    /**
+     * Index de la carte d'identifiant donné, -1 si elle est absente.
+     */
+    int indexOf(String id) {
+        byte[] encoded = id.getBytes(StandardCharsets.UTF_8);
+        int index = lowerBound(encoded, id);
+        return index < cardCount && compareId(index, encoded, id) == 0 ? index : -1;
+    }
+
+    /**
+     * Index de la première carte d'identifiant strictement supérieur, cardCount si aucune.
+     */
+    int indexAfter(String id) {
+        byte[] encoded = id.getBytes(StandardCharsets.UTF_8);
+        int index = lowerBound(encoded, id);
+        return index < cardCount && compareId(index, encoded, id) == 0 ? index + 1 : index;
+    }
+
+    /**
+     * Nombre de tags du dictionnaire du snapshot ; leurs numéros vont de 0 à tagCount() - 1.
+     */
+    int tagCount() {
+        return tagNames.length;
+    }
+
+    String tagName(int tag) {
+        return tagNames[tag];
+    }
+
+    /**
+     * Nombre de cartes du snapshot portant le tag, lu dans le dictionnaire sans parcours.
+     */
+    int tagCardCount(int tag) {
+        return region.getInt(tagsOffset + (long) tag * TAG_BYTES + TAG_POSTINGS_COUNT);
+    }
+
+    /**
+     * Numéro de tag de la carte d'index donné, NO_TAG si elle n'en a pas.
+     */
+    int tagOf(int index) {
+        return region.getInt(record(index) + CARD_TAG);
+    }
+
+    /**
+     * Index croissants des cartes portant le tag, à partir de l'index donné,
+     * lus dans la projection au fil du parcours ; vide si le tag est inconnu.
+     */
+    Postings postings(String tag, int from) {
+        Integer tagId = tagIds.get(tag);
+        if (tagId == null) {
+            return new Postings(0, 0);
+        }
+        long entry = tagsOffset + (long) tagId * TAG_BYTES;
+        int low = region.getInt(entry + TAG_POSTINGS_START);
+        int end = low + region.getInt(entry + TAG_POSTINGS_COUNT);
+        int high = end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (posting(middle) < from) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return new Postings(low, end);
+    }
+
+    int dueCount() {
+        return dueCount;
+    }
+
+    long dueDay(int entry) {
+        return region.getLong(dueOffset + (long) entry * DUE_BYTES + DUE_DAY);
+    }
+
+    int dueIndex(int entry) {
+        return region.getInt(dueOffset + (long) entry * DUE_BYTES + DUE_INDEX);
+    }
+
+    /**
+     * Première entrée de révision strictement après le jour et l'identifiant donnés
+     * (ordre jour puis identifiant), dueCount si aucune.
+     */
+    int dueEntryAfter(long day, String id) {
+        byte[] encoded = id == null ? null : id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = dueCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long middleDay = dueDay(middle);
+            boolean before = middleDay < day
+                || (middleDay == day && (id == null || compareId(dueIndex(middle), encoded, id) <= 0));
+            if (before) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBound(byte[] encoded, String id) {
+        int low = 0;
+        int high = cardCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareId(middle, encoded, id) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compare l'identifiant de la carte d'index donné à id (encodé en UTF-8),
+     * dans l'ordre de String.compareTo, sans décoder l'identifiant stocké.
+     */
+    private int compareId(int index, byte[] encoded, String id) {
+        long record = record(index);
+        long position = textOffset + region.getLong(record + CARD_TEXT);
+        int length = region.getInt(record + CARD_ID_LENGTH);
+        int mismatch = region.mismatch(position, length, encoded);
+        if (mismatch < 0) {
+            return 0;
+        }
+        if (mismatch == Math.min(length, encoded.length)) {
+            return length - encoded.length;
+        }
+        int stored = region.getByte(position + mismatch) & 0xFF;
+        int wanted = encoded[mismatch] & 0xFF;
+        if (stored < 0x80 || wanted < 0x80) {
+            return stored - wanted;
+        }
+        // Hors ASCII, l'ordre des octets UTF-8 (points de code) peut différer
+        // de celui des caractères UTF-16 : l'identifiant est alors décodé
+        return id(index).compareTo(id);
+    }
+
+    private int posting(int position) {
+        return region.getInt(postingsOffset + (long) position * POSTING_BYTES);
+    }
+
+    private long record(int index) {
+        return cardsOffset + (long) index * CARD_BYTES;
+    }
+
+    private String text(long position, int length) {
+        return new String(region.getBytes(textOffset + position, length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Curseur sur les postings d'un tag : un index de carte est lu à chaque avancée,
+     * sans copier la liste.
+     */
+    final class Postings {
+
+        private int position;
+        private final int end;
+
+        private Postings(int position, int end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        boolean hasNext() {
+            return position < end;
+        }
+
+        /**
+         * Index de la carte courante, sans avancer.
+         */
+        int peek() {
+            return posting(position);
+        }
+
+        void advance() {
+            position++;
+        }
+    }
+}
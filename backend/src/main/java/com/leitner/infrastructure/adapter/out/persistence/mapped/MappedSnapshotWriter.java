@@ -0,0 +1,215 @@
+package com.leitner.infrastructure.adapter.out.persistence.mapped;
+
+import com.leitner.domain.model.Card;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.leitner.infrastructure.adapter.out.persistence.mapped.SnapshotLayout.*;
+
+/**
+ * Écrit un snapshot au format SnapshotLayout à partir de cartes triées par identifiant.
+ *
+ * Les cartes sont lues une seule fois, en flux : les sections de taille variable
+ * (cartes, texte) sont écrites dans des fichiers temporaires puis assemblées
+ * derrière l'en-tête. Seuls les index (postings et révisions) sont gardés en mémoire,
+ * à raison d'un entier par carte.
+ */
+final class MappedSnapshotWriter {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Map<String, Integer> tagIds = new LinkedHashMap<>();
+    private final List<IntList> postingsByTag = new ArrayList<>();
+    private final NavigableMap<Long, IntList> dueByDay = new TreeMap<>();
+
+    private MappedSnapshotWriter() {
+    }
+
+    static long write(Path target, Iterator<Card> cards) throws IOException {
+        return new MappedSnapshotWriter().writeSnapshot(target, cards);
+    }
+
+    private long writeSnapshot(Path target, Iterator<Card> cards) throws IOException {
+        Path cardsFile = target.resolveSibling(target.getFileName() + ".cards.tmp");
+        Path textFile = target.resolveSibling(target.getFileName() + ".text.tmp");
+        try {
+            int count = 0;
+            long textLength = 0;
+            long[] tagTextPositions;
+            int[] tagNameLengths;
+            try (DataOutputStream cardsOut = output(cardsFile); DataOutputStream textOut = output(textFile)) {
+                String previousId = null;
+                while (cards.hasNext()) {
+                    Card card = cards.next();
+                    String id = card.getId().getValue();
+                    if (previousId != null && previousId.compareTo(id) >= 0) {
+                        throw new IllegalArgumentException("Cards must be sorted by id: " + id);
+                    }
+                    previousId = id;
+                    textLength += writeCard(cardsOut, textOut, card, count, textLength);
+                    count++;
+                }
+                tagTextPositions = new long[tagIds.size()];
+                tagNameLengths = new int[tagIds.size()];
+                int tag = 0;
+                for (String name : tagIds.keySet()) {
+                    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                    tagTextPositions[tag] = textLength;
+                    tagNameLengths[tag++] = bytes.length;
+                    textOut.write(bytes);
+                    textLength += bytes.length;
+                }
+            }
+            assemble(target, cardsFile, textFile, count, textLength, tagTextPositions, tagNameLengths);
+            return count;
+        } finally {
+            Files.deleteIfExists(cardsFile);
+            Files.deleteIfExists(textFile);
+        }
+    }
+
+    private int writeCard(DataOutputStream cardsOut, DataOutputStream textOut,
+                          Card card, int index, long textPosition) throws IOException {
+        byte[] id = card.getId().getValue().getBytes(StandardCharsets.UTF_8);
+        byte[] question = card.getQuestion().getBytes(StandardCharsets.UTF_8);
+        byte[] answer = card.getAnswer().getBytes(StandardCharsets.UTF_8);
+
+        int tagId = NO_TAG;
+        if (card.getTag() != null) {
+            tagId = tagIds.computeIfAbsent(card.getTag(), name -> {
+                postingsByTag.add(new IntList());
+                return tagIds.size();
+            });
+            postingsByTag.get(tagId).add(index);
+        }
+        card.nextReviewDate().ifPresent(date ->
+            dueByDay.computeIfAbsent(date.toEpochDay(), day -> new IntList()).add(index));
+
+        cardsOut.writeLong(textPosition);
+        cardsOut.writeInt(id.length);
+        cardsOut.writeInt(question.length);
+        cardsOut.writeInt(answer.length);
+        cardsOut.writeInt(tagId);
+        cardsOut.writeLong(card.getLastAnswerDate() == null ? NO_DATE : card.getLastAnswerDate().toEpochDay());
+        cardsOut.writeLong(card.getVersion());
+        cardsOut.writeByte(card.getCategory().ordinal());
+        cardsOut.write(new byte[CARD_PADDING]);
+
+        textOut.write(id);
+        textOut.write(question);
+        textOut.write(answer);
+        return id.length + question.length + answer.length;
+    }
+
+    private void assemble(Path target, Path cardsFile, Path textFile, int count,
+                          long textLength, long[] tagTextPositions, int[] tagNameLengths) throws IOException {
+        int postingCount = postingsByTag.stream().mapToInt(IntList::size).sum();
+        int dueCount = dueByDay.values().stream().mapToInt(IntList::size).sum();
+        long cardsOffset = HEADER_BYTES;
+        long tagsOffset = cardsOffset + (long) count * CARD_BYTES;
+        long postingsOffset = tagsOffset + (long) tagIds.size() * TAG_BYTES;
+        long dueOffset = postingsOffset + (long) postingCount * POSTING_BYTES;
+        long textOffset = dueOffset + (long) dueCount * DUE_BYTES;
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // Le flux n'est pas fermé : il fermerait le canal
+            DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(count);
+            out.writeInt(tagIds.size());
+            out.writeInt(postingCount);
+            out.writeInt(dueCount);
+            out.writeLong(cardsOffset);
+            out.writeLong(tagsOffset);
+            out.writeLong(postingsOffset);
+            out.writeLong(dueOffset);
+            out.writeLong(textOffset);
+            out.writeLong(textLength);
+            out.flush();
+            append(cardsFile, channel);
+
+            int postingsStart = 0;
+            for (int tag = 0; tag < postingsByTag.size(); tag++) {
+                IntList postings = postingsByTag.get(tag);
+                out.writeLong(tagTextPositions[tag]);
+                out.writeInt(tagNameLengths[tag]);
+                out.writeInt(postingsStart);
+                out.writeInt(postings.size());
+                out.write(new byte[TAG_PADDING]);
+                postingsStart += postings.size();
+            }
+            for (IntList postings : postingsByTag) {
+                for (int i = 0; i < postings.size(); i++) {
+                    out.writeInt(postings.get(i));
+                }
+            }
+            for (Map.Entry<Long, IntList> bucket : dueByDay.entrySet()) {
+                IntList indexes = bucket.getValue();
+                for (int i = 0; i < indexes.size(); i++) {
+                    out.writeLong(bucket.getKey());
+                    out.writeInt(indexes.get(i));
+                }
+            }
+            out.flush();
+            append(textFile, channel);
+            channel.force(true);
+        }
+    }
+
+    private static void append(Path source, FileChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += in.transferTo(transferred, size - transferred, target);
+            }
+        }
+    }
+
+    private static DataOutputStream output(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_BYTES));
+    }
+
+    /**
+     * Liste d'entiers extensible, sans boxing.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.leitner.infrastructure.adapter.out.persistence.mapped;
+
+/**
+ * Disposition fixe du fichier de snapshot projeté en mémoire.
+ *
+ * <pre>
+ * En-tête (72 octets)
+ *   int magic, int version, int cartes, int tags, int postings, int entrées à réviser,
+ *   long positions des sections (cartes, tags, postings, révisions, texte), long taille du texte
+ * Cartes (48 octets chacune, triées par identifiant)
+ *   long position du texte (identifiant, question puis réponse, contigus),
+ *   int longueurs de l'identifiant, de la question et de la réponse, int identifiant du tag (-1 : aucun),
+ *   long jour epoch de dernière réponse (Long.MIN_VALUE : aucune), long version,
+ *   byte ordinal de la catégorie, 7 octets de bourrage
+ * Tags (24 octets chacun)
+ *   long position du nom, int longueur du nom, int début et int nombre de ses postings, 4 octets de bourrage
+ * Postings (4 octets chacun) : index des cartes de chaque tag, croissants
+ * Révisions (12 octets chacune, triées par jour puis index)
+ *   long jour epoch de prochaine révision, int index de la carte
+ * Texte : chaînes UTF-8, référencées par position relative au début de la section
+ * </pre>
+ *
+ * Les entiers sont en big-endian (ordre par défaut de ByteBuffer).
+ */
+final class SnapshotLayout {
+
+    static final int MAGIC = 0x4C54534E; // "LTSN"
+    static final int FORMAT_VERSION = 1;
+
+    static final int HEADER_BYTES = 72;
+    static final int CARD_COUNT = 8;
+    static final int TAG_COUNT = 12;
+    static final int POSTING_COUNT = 16;
+    static final int DUE_COUNT = 20;
+    static final int CARDS_OFFSET = 24;
+    static final int TAGS_OFFSET = 32;
+    static final int POSTINGS_OFFSET = 40;
+    static final int DUE_OFFSET = 48;
+    static final int TEXT_OFFSET = 56;
+    static final int TEXT_LENGTH = 64;
+
+    static final int CARD_BYTES = 48;
+    static final int CARD_TEXT = 0;
+    static final int CARD_ID_LENGTH = 8;
+    static final int CARD_QUESTION_LENGTH = 12;
+    static final int CARD_ANSWER_LENGTH = 16;
+    static final int CARD_TAG = 20;
+    static final int CARD_LAST_ANSWER = 24;
+    static final int CARD_VERSION = 32;
+    static final int CARD_CATEGORY = 40;
+    static final int CARD_PADDING = 7;
+
+    static final int TAG_BYTES = 24;
+    static final int TAG_TEXT = 0;
+    static final int TAG_NAME_LENGTH = 8;
+    static final int TAG_POSTINGS_START = 12;
+    static final int TAG_POSTINGS_COUNT = 16;
+    static final int TAG_PADDING = 4;
+
+    static final int POSTING_BYTES = 4;
+
+    static final int DUE_BYTES = 12;
+    static final int DUE_DAY = 0;
+    static final int DUE_INDEX = 8;
+
+    static final int NO_TAG = -1;
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    private SnapshotLayout() {
+    }
+}
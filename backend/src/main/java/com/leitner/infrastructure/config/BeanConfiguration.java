@@ -1,14 +1,40 @@
 package com.leitner.infrastructure.config;
 
+import com.leitner.domain.model.CardId;
 import com.leitner.domain.port.in.AnswerCardUseCase;
+import com.leitner.domain.port.in.AnswerCardsUseCase;
 import com.leitner.domain.port.in.CreateCardUseCase;
 import com.leitner.domain.port.in.GetCardsUseCase;
 import com.leitner.domain.port.in.GetQuizCardsUseCase;
-import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.in.GetTagsUseCase;
+import com.leitner.domain.port.in.ImportCardsUseCase;
+import com.leitner.domain.port.in.QuizSessionUseCase;
+import com.leitner.domain.port.in.ReactiveAnswerCardUseCase;
+import com.leitner.domain.port.in.ReactiveAnswerCardsUseCase;
+import com.leitner.domain.port.in.ReactiveCreateCardUseCase;
+import com.leitner.domain.port.in.ReactiveGetCardsUseCase;
+import com.leitner.domain.port.in.ReactiveGetQuizCardsUseCase;
+import com.leitner.domain.port.in.ReactiveGetTagsUseCase;
+import com.leitner.domain.port.out.CardIdGenerator;
+import com.leitner.domain.port.out.PartitionedAsyncCardRepository;
+import com.leitner.domain.port.out.PartitionedCardRepository;
 import com.leitner.domain.service.CardService;
+import com.leitner.domain.service.QuizCardsCache;
+import com.leitner.domain.service.QuizSessionService;
+import com.leitner.domain.service.ReactiveCardService;
+import com.leitner.domain.service.ReviewScheduler;
+import com.leitner.infrastructure.adapter.out.id.TimeOrderedCardIdGenerator;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import com.leitner.infrastructure.metrics.CardMetrics;
+import com.leitner.infrastructure.metrics.MeteredCardUseCases;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+import java.time.Duration;
+
 /**
  * Configuration des beans Spring.
  * Permet l'injection de dépendances tout en gardant le domaine indépendant du framework.
@@ -19,44 +45,217 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class BeanConfiguration {
 
+    private static final String ID_GENERATOR_PROPERTY = "leitner.cards.id-generator";
+
     /**
      * Crée le service de cartes qui implémente tous les use cases.
-     * Injection du repository (port de sortie) fourni par l'infrastructure.
+     * Injection des partitions de cartes par utilisateur et du générateur
+     * d'identifiants (ports de sortie) fournis par l'infrastructure.
      */
     @Bean
-    public CardService cardService(CardRepository cardRepository) {
-        return new CardService(cardRepository);
+    public CardService cardService(PartitionedCardRepository cardRepositories, CardIdGenerator cardIdGenerator) {
+        return new CardService(cardRepositories, cardIdGenerator);
     }
 
     /**
-     * Expose le service comme implémentation du use case de création.
+     * Crée le service non bloquant, utilisé par l'adapter réactif (profil reactive).
+     * Il s'appuie sur l'accès non bloquant aux mêmes partitions de cartes.
      */
     @Bean
-    public CreateCardUseCase createCardUseCase(CardService cardService) {
-        return cardService;
+    public ReactiveCardService reactiveCardService(PartitionedAsyncCardRepository cardRepositories,
+                                                   CardIdGenerator cardIdGenerator) {
+        return new ReactiveCardService(cardRepositories, cardIdGenerator);
     }
 
     /**
-     * Expose le service comme implémentation du use case de récupération.
+     * Identifiants UUID aléatoires (version 4), comportement par défaut.
      */
     @Bean
-    public GetCardsUseCase getCardsUseCase(CardService cardService) {
-        return cardService;
+    @ConditionalOnProperty(name = ID_GENERATOR_PROPERTY, havingValue = "random", matchIfMissing = true)
+    public CardIdGenerator randomCardIdGenerator() {
+        return CardId::generate;
+    }
+
+    /**
+     * Identifiants UUID version 7, triés par date de création.
+     */
+    @Bean
+    @ConditionalOnProperty(name = ID_GENERATOR_PROPERTY, havingValue = "time-ordered")
+    public CardIdGenerator timeOrderedCardIdGenerator() {
+        return new TimeOrderedCardIdGenerator();
     }
 
     /**
-     * Expose le service comme implémentation du use case du quiz.
+     * Mesure la latence des use cases, la taille des listes du quiz et les réponses
+     * (voir CardMetrics). Le quiz est mesuré derrière le planificateur et son cache :
+     * c'est la latence vue par les clients.
      */
     @Bean
-    public GetQuizCardsUseCase getQuizCardsUseCase(CardService cardService) {
+    public MeteredCardUseCases meteredCardUseCases(CardService cardService, ReviewScheduler reviewScheduler,
+                                                   CardMetrics cardMetrics) {
+        return new MeteredCardUseCases(cardService, cardService, reviewScheduler, cardService, cardService,
+            cardMetrics);
+    }
+
+    /**
+     * Expose le service, mesuré, comme implémentation du use case de création.
+     */
+    @Bean
+    public CreateCardUseCase createCardUseCase(MeteredCardUseCases meteredCardUseCases) {
+        return meteredCardUseCases;
+    }
+
+    /**
+     * Expose le service, mesuré, comme implémentation du use case de récupération.
+     */
+    @Bean
+    public GetCardsUseCase getCardsUseCase(MeteredCardUseCases meteredCardUseCases) {
+        return meteredCardUseCases;
+    }
+
+    /**
+     * Cache des listes du quiz par utilisateur et par date, tenu à jour par les
+     * changements signalés par les partitions de cartes.
+     */
+    @Bean
+    public QuizCardsCache quizCardsCache(
+            CardService cardService,
+            PerUserCardRepository cardRepositories,
+            @Value("${leitner.quiz-cache.max-entries:" + QuizCardsCache.DEFAULT_MAX_ENTRIES + "}") int maxEntries) {
+        QuizCardsCache cache = new QuizCardsCache(cardService, maxEntries);
+        cardRepositories.subscribe(cache);
+        return cache;
+    }
+
+    /**
+     * Planificateur des révisions : la liste du quiz du jour est tenue prête par utilisateur,
+     * les autres dates passent par le cache. Avancé à minuit par ReviewRolloverJob, qui oublie
+     * les roues des utilisateurs sans lecture du quiz depuis idle-days jours.
+     */
+    @Bean
+    public ReviewScheduler reviewScheduler(
+            QuizCardsCache quizCardsCache,
+            PerUserCardRepository cardRepositories,
+            @Value("${leitner.review-scheduler.idle-days:" + ReviewScheduler.DEFAULT_IDLE_DAYS + "}") int idleDays) {
+        ReviewScheduler scheduler = new ReviewScheduler(quizCardsCache, cardRepositories, Clock.systemDefaultZone(),
+            idleDays);
+        cardRepositories.subscribe(scheduler);
+        return scheduler;
+    }
+
+    /**
+     * Expose le service, derrière le planificateur, son cache et ses mesures,
+     * comme implémentation du use case du quiz.
+     */
+    @Bean
+    public GetQuizCardsUseCase getQuizCardsUseCase(MeteredCardUseCases meteredCardUseCases) {
+        return meteredCardUseCases;
+    }
+
+    /**
+     * Expose le service, mesuré, comme implémentation du use case de réponse.
+     */
+    @Bean
+    public AnswerCardUseCase answerCardUseCase(MeteredCardUseCases meteredCardUseCases) {
+        return meteredCardUseCases;
+    }
+
+    /**
+     * Expose le service, mesuré, comme implémentation du use case de réponses groupées.
+     */
+    @Bean
+    public AnswerCardsUseCase answerCardsUseCase(MeteredCardUseCases meteredCardUseCases) {
+        return meteredCardUseCases;
+    }
+
+    /**
+     * Sessions de quiz : elles lisent le quiz et enregistrent les réponses par les use cases
+     * exposés ci-dessus (planificateur, cache et mesures compris).
+     * Évincées par QuizSessionSweepJob après leur durée de vie sans activité.
+     */
+    @Bean
+    public QuizSessionService quizSessionService(
+            GetQuizCardsUseCase getQuizCardsUseCase,
+            AnswerCardUseCase answerCardUseCase,
+            PartitionedCardRepository cardRepositories,
+            @Value("${leitner.quiz-sessions.ttl:30m}") Duration ttl,
+            @Value("${leitner.quiz-sessions.max-per-user:"
+                + QuizSessionService.DEFAULT_MAX_SESSIONS_PER_USER + "}") int maxSessionsPerUser,
+            @Value("${leitner.quiz-sessions.max-sessions:"
+                + QuizSessionService.DEFAULT_MAX_SESSIONS + "}") int maxSessions) {
+        return new QuizSessionService(getQuizCardsUseCase, answerCardUseCase, cardRepositories, ttl,
+            maxSessionsPerUser, maxSessions, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Expose le service des sessions comme implémentation du use case des sessions de quiz.
+     */
+    @Bean
+    public QuizSessionUseCase quizSessionUseCase(QuizSessionService quizSessionService) {
+        return quizSessionService;
+    }
+
+    /**
+     * Expose le service comme implémentation du use case d'import en masse.
+     */
+    @Bean
+    public ImportCardsUseCase importCardsUseCase(CardService cardService) {
         return cardService;
     }
 
     /**
-     * Expose le service comme implémentation du use case de réponse.
+     * Expose le service comme implémentation du use case de liste des tags.
      */
     @Bean
-    public AnswerCardUseCase answerCardUseCase(CardService cardService) {
+    public GetTagsUseCase getTagsUseCase(CardService cardService) {
         return cardService;
     }
+
+    /**
+     * Expose le service non bloquant comme implémentation du use case de création.
+     */
+    @Bean
+    public ReactiveCreateCardUseCase reactiveCreateCardUseCase(ReactiveCardService reactiveCardService) {
+        return reactiveCardService;
+    }
+
+    /**
+     * Expose le service non bloquant comme implémentation du use case de récupération.
+     */
+    @Bean
+    public ReactiveGetCardsUseCase reactiveGetCardsUseCase(ReactiveCardService reactiveCardService) {
+        return reactiveCardService;
+    }
+
+    /**
+     * Expose le service non bloquant comme implémentation du use case du quiz.
+     */
+    @Bean
+    public ReactiveGetQuizCardsUseCase reactiveGetQuizCardsUseCase(ReactiveCardService reactiveCardService) {
+        return reactiveCardService;
+    }
+
+    /**
+     * Expose le service non bloquant comme implémentation du use case de réponse.
+     */
+    @Bean
+    public ReactiveAnswerCardUseCase reactiveAnswerCardUseCase(ReactiveCardService reactiveCardService) {
+        return reactiveCardService;
+    }
+
+    /**
+     * Expose le service non bloquant comme implémentation du use case de réponses groupées.
+     */
+    @Bean
+    public ReactiveAnswerCardsUseCase reactiveAnswerCardsUseCase(ReactiveCardService reactiveCardService) {
+        return reactiveCardService;
+    }
+
+    /**
+     * Expose le service non bloquant comme implémentation du use case de liste des tags.
+     */
+    @Bean
+    public ReactiveGetTagsUseCase reactiveGetTagsUseCase(ReactiveCardService reactiveCardService) {
+        return reactiveCardService;
+    }
 }
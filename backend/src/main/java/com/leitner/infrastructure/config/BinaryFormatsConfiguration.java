@@ -0,0 +1,113 @@
+package com.leitner.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Représentations binaires des cartes : CBOR (application/cbor) et Smile
+ * (application/x-jackson-smile), négociées par les en-têtes Accept et Content-Type
+ * sur les mêmes endpoints que le JSON.
+ *
+ * Les DTO sont sérialisés par Jackson, avec la configuration de l'ObjectMapper JSON
+ * de Spring Boot (spring.jackson.*) : seul l'encodage change. Le JSON reste
+ * la représentation par défaut (Accept absent ou générique).
+ *
+ * Pile MVC : les convertisseurs déclarés ici remplacent ceux que Spring MVC
+ * enregistre quand les modules Jackson sont présents, à la même place (après le JSON).
+ * Pile réactive (profil reactive) : Smile fait partie des codecs par défaut de WebFlux,
+ * configurés ici avec le même ObjectMapper ; CBOR est ajouté par CodecCustomizer.
+ * Le codec CBOR de Spring n'encode pas de flux, les listes sont donc encodées
+ * une fois complètes, comme le JSON non streamé.
+ */
+@Configuration
+public class BinaryFormatsConfiguration {
+
+    static final MimeType SMILE = MimeType.valueOf("application/x-jackson-smile");
+    static final MimeType SMILE_STREAM = MimeType.valueOf("application/stream+x-jackson-smile");
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(configured(Jackson2ObjectMapperBuilder.cbor(), builder));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(configured(Jackson2ObjectMapperBuilder.smile(), builder));
+    }
+
+    @Bean
+    public CodecCustomizer binaryCodecsCustomizer(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        return configurer -> {
+            CodecConfigurer.CustomCodecs codecs = configurer.customCodecs();
+            // Les codecs ajoutés passent avant ceux par défaut : le JSON est remis en tête
+            // pour rester choisi quand Accept est générique.
+            codecs.register(new Jackson2JsonEncoder(objectMapper));
+            ObjectMapper cbor = configured(Jackson2ObjectMapperBuilder.cbor(), builder);
+            codecs.register(new CollectingCborEncoder(cbor));
+            codecs.register(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+            ObjectMapper smile = configured(Jackson2ObjectMapperBuilder.smile(), builder);
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, SMILE, SMILE_STREAM));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, SMILE, SMILE_STREAM));
+        };
+    }
+
+    /**
+     * ObjectMapper du format binaire, configuré par le builder de Spring Boot
+     * (modules, spring.jackson.*, customizers) : cbor() et smile() sont des fabriques
+     * statiques qui ignoreraient cette configuration.
+     */
+    private static ObjectMapper configured(Jackson2ObjectMapperBuilder format, Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = format.build();
+        builder.configure(mapper);
+        return mapper;
+    }
+
+    /**
+     * Les codecs construits sur un ObjectMapper n'ont pas de type par défaut
+     * (ils prendraient ceux du JSON) : les types de contenu sont toujours donnés.
+     *
+     * Encodeur CBOR qui accepte un flux d'éléments : ils sont rassemblés en liste
+     * puis encodés en un seul tableau.
+     */
+    static final class CollectingCborEncoder extends Jackson2CborEncoder {
+
+        CollectingCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> input, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (input instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(input)
+                .collectList()
+                .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+                .flux();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.leitner.infrastructure.config;
+
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import com.leitner.infrastructure.metrics.CardCensus;
+import com.leitner.infrastructure.metrics.CardMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instruments Micrometer de l'application, dans le registre fourni par Actuator
+ * (exposé au format Prometheus sur /actuator/prometheus).
+ *
+ * CardMetrics est injecté dans les décorateurs des use cases (BeanConfiguration)
+ * et des partitions (PersistenceConfiguration) ; CardCensus est un MeterBinder,
+ * lié au registre par Spring Boot.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public CardMetrics cardMetrics(MeterRegistry meterRegistry) {
+        return new CardMetrics(meterRegistry);
+    }
+
+    /**
+     * Les cartes sont comptées à l'ouverture des partitions, puis au fil de leurs changements.
+     */
+    @Bean
+    public CardCensus cardCensus(PerUserCardRepository cardRepositories) {
+        CardCensus census = new CardCensus();
+        cardRepositories.subscribe(census);
+        return census;
+    }
+}
@@ -0,0 +1,144 @@
+package com.leitner.infrastructure.config;
+
+import com.leitner.domain.model.TagDictionary;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.out.UserRepository;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryUserRepository;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.columnar.ColumnarCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.jdbc.JdbcCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.journal.JournalingCardRepository;
+import com.leitner.infrastructure.metrics.CardMetrics;
+import com.leitner.infrastructure.metrics.MeteredCardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Choix de l'adapter de persistence des cartes selon leitner.persistence.mode :
+ * - memory (par défaut) : en mémoire, perdu au redémarrage ;
+ * - columnar : en mémoire, stocké par colonnes primitives pour les très grands decks ;
+ * - journal : en mémoire, rendu durable par un journal et des snapshots sur disque ;
+ * - jdbc : dans une base H2 embarquée en mode fichier (profil Spring jdbc).
+ *
+ * Quel que soit le mode, les cartes sont partitionnées par utilisateur
+ * (PerUserCardRepository) : chaque utilisateur a son propre repository,
+ * avec son dictionnaire des tags, dont les opérations sont mesurées (MeteredCardRepository).
+ * Les utilisateurs eux-mêmes sont conservés en mémoire, quel que soit le mode.
+ */
+@Configuration
+public class PersistenceConfiguration {
+
+    private static final String MODE_PROPERTY = "leitner.persistence.mode";
+
+    @Bean
+    public UserRepository userRepository() {
+        return new InMemoryUserRepository();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+    public PerUserCardRepository inMemoryCardRepository(CardMetrics metrics) {
+        return new PerUserCardRepository(metered(owner -> new InMemoryCardRepository(new TagDictionary()), metrics));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "columnar")
+    public PerUserCardRepository columnarCardRepository(
+            @Value("${leitner.persistence.columnar.initial-capacity:1024}") int initialCapacity,
+            CardMetrics metrics) {
+        return new PerUserCardRepository(
+            metered(owner -> new ColumnarCardRepository(owner, initialCapacity, new TagDictionary()), metrics));
+    }
+
+    /**
+     * Chaque utilisateur a son journal, dans un sous-répertoire du répertoire configuré ;
+     * l'utilisateur par défaut garde le répertoire lui-même (données antérieures
+     * au partitionnement). Les journaux sont fermés à l'arrêt du contexte,
+     * ce qui écrit un snapshot final.
+     *
+     * Un journal ouvert détient deux threads et un fichier : au-delà de max-open
+     * journaux ouverts, ou après idle-timeout sans accès, un journal est fermé,
+     * puis rouvert depuis son répertoire au besoin.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "journal")
+    public PerUserCardRepository journalingCardRepository(
+            @Value("${leitner.persistence.journal.directory:data/journal}") Path directory,
+            @Value("${leitner.persistence.journal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${leitner.persistence.partitions.max-open:1000}") int maxOpenPartitions,
+            CardMetrics metrics) {
+        return new PerUserCardRepository(metered(owner -> {
+            try {
+                return JournalingCardRepository.open(journalDirectory(directory, owner), segmentSize.toBytes(), owner);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open the card journal of " + owner.getValue(), e);
+            }
+        }, metrics), () -> { }, Runnable::run, new PerUserCardRepository.Eviction(
+            owner -> Files.isDirectory(journalDirectory(directory, owner)), maxOpenPartitions));
+    }
+
+    /**
+     * Les partitions partagent la base et le pool de connexions,
+     * libéré à l'arrêt du contexte.
+     *
+     * Les appels non bloquants (adapter réactif) attendent la base sur un pool
+     * de threads de la taille du pool de connexions : un thread de plus
+     * attendrait une connexion.
+     *
+     * Une partition n'est ouverte pour une lecture que si la base contient
+     * des cartes de l'utilisateur.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "jdbc")
+    public PerUserCardRepository jdbcCardRepository(
+            @Value("${leitner.persistence.jdbc.url:jdbc:h2:file:./data/h2/cards}") String url,
+            @Value("${leitner.persistence.jdbc.max-connections:10}") int maxConnections,
+            @Value("${leitner.persistence.partitions.max-open:1000}") int maxOpenPartitions,
+            CardMetrics metrics) {
+        JdbcCardRepository database = JdbcCardRepository.open(url, maxConnections);
+        ExecutorService jdbcExecutor = Executors.newFixedThreadPool(maxConnections, runnable -> {
+            Thread thread = new Thread(runnable, "card-jdbc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new PerUserCardRepository(metered(database::forOwner, metrics), () -> {
+            jdbcExecutor.shutdown();
+            database.close();
+        }, jdbcExecutor, new PerUserCardRepository.Eviction(database::storesOwner, maxOpenPartitions));
+    }
+
+    /**
+     * Chaque partition est mesurée (timers leitner.repository), quel que soit le mode.
+     */
+    private static Function<UserId, CardRepository> metered(Function<UserId, ? extends CardRepository> factory,
+                                                            CardMetrics metrics) {
+        return owner -> MeteredCardRepository.of(factory.apply(owner), metrics);
+    }
+
+    /**
+     * Le nom du sous-répertoire est l'identifiant en hexadécimal (UTF-8) :
+     * un identifiant ne peut pas désigner un chemin hors du répertoire.
+     */
+    static Path journalDirectory(Path root, UserId owner) {
+        if (owner.equals(UserId.DEFAULT)) {
+            return root;
+        }
+        return root.resolve("users")
+            .resolve(HexFormat.of().formatHex(owner.getValue().getBytes(StandardCharsets.UTF_8)));
+    }
+}
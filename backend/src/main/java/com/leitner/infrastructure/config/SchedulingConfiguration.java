@@ -0,0 +1,49 @@
+package com.leitner.infrastructure.config;
+
+import com.leitner.domain.service.QuizSessionService;
+import com.leitner.domain.service.ReviewScheduler;
+import com.leitner.infrastructure.adapter.in.scheduling.PartitionEvictionJob;
+import com.leitner.infrastructure.adapter.in.scheduling.QuizSessionSweepJob;
+import com.leitner.infrastructure.adapter.in.scheduling.ReviewRolloverJob;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+/**
+ * Tâches planifiées de l'application.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+    /**
+     * Bascule quotidienne des roues de révision (voir ReviewScheduler).
+     */
+    @Bean
+    public ReviewRolloverJob reviewRolloverJob(ReviewScheduler reviewScheduler) {
+        return new ReviewRolloverJob(reviewScheduler);
+    }
+
+    /**
+     * Éviction périodique des sessions de quiz expirées.
+     */
+    @Bean
+    public QuizSessionSweepJob quizSessionSweepJob(QuizSessionService quizSessionService) {
+        return new QuizSessionSweepJob(quizSessionService);
+    }
+
+    /**
+     * Fermeture périodique des partitions durables inutilisées
+     * (sans effet pour les partitions en mémoire).
+     */
+    @Bean
+    public PartitionEvictionJob partitionEvictionJob(
+            PerUserCardRepository partitions,
+            @Value("${leitner.persistence.partitions.idle-timeout:30m}") Duration idleTimeout) {
+        return new PartitionEvictionJob(partitions, idleTimeout);
+    }
+}
@@ -0,0 +1,131 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardChangeListener;
+import com.leitner.domain.port.out.CardRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Jauges du nombre de cartes par catégorie (leitner.cards, étiquette category)
+ * et au total (leitner.deck.size), sur les partitions ouvertes.
+ *
+ * Les compteurs sont tenus à jour par les changements signalés par les partitions
+ * (CardChangeListener) : une partition est comptée une fois à son ouverture
+ * (countByCategory, avant toute écriture), puis chaque changement de catégorie
+ * déplace une carte d'un compteur à l'autre. Lire une jauge ne fait que sommer
+ * un compteur : aucune carte n'est relue au scrape.
+ *
+ * Les compteurs de chaque utilisateur sont aussi tenus à part, pour retirer
+ * ses cartes des totaux quand sa partition est fermée (partitionDiscarded).
+ * Les changements de catégorie commutent : deux écritures d'une même carte
+ * signalées dans le désordre laissent les compteurs exacts.
+ *
+ * Les partitions ne sont ouvertes qu'à la première requête de leur utilisateur :
+ * après un redémarrage en mode journal ou jdbc, les cartes d'un utilisateur
+ * ne sont comptées qu'une fois sa partition ouverte.
+ */
+public class CardCensus implements MeterBinder, CardChangeListener {
+
+    public static final String CARDS = "leitner.cards";
+    public static final String TOTAL = "leitner.deck.size";
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final LongAdder[] counts = new LongAdder[CATEGORIES.length];
+    private final Map<UserId, AtomicLongArray> countsByOwner = new ConcurrentHashMap<>();
+
+    public CardCensus() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Category category : CATEGORIES) {
+            Gauge.builder(CARDS, this, census -> census.count(category))
+                .description("Cards per Leitner category in the open partitions")
+                .tag("category", category.name())
+                .baseUnit("cards")
+                .register(registry);
+        }
+        Gauge.builder(TOTAL, this, CardCensus::total)
+            .description("Cards in the open partitions")
+            .baseUnit("cards")
+            .register(registry);
+    }
+
+    /**
+     * Nombre de cartes de la catégorie.
+     */
+    public long count(Category category) {
+        return counts[category.ordinal()].sum();
+    }
+
+    /**
+     * Nombre total de cartes.
+     */
+    public long total() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public void partitionOpened(UserId owner, CardRepository partition) {
+        AtomicLongArray ownerCounts = ownerCounts(owner);
+        partition.countByCategory().forEach((category, count) -> add(ownerCounts, category, count));
+    }
+
+    @Override
+    public void categoryChanged(UserId owner, Category before, Category after) {
+        AtomicLongArray ownerCounts = ownerCounts(owner);
+        if (before != null) {
+            add(ownerCounts, before, -1);
+        }
+        if (after != null) {
+            add(ownerCounts, after, 1);
+        }
+    }
+
+    @Override
+    public void partitionDiscarded(UserId owner) {
+        AtomicLongArray ownerCounts = countsByOwner.remove(owner);
+        if (ownerCounts != null) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i].add(-ownerCounts.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void cardSaved(Card card) {
+        // Seuls les changements de catégorie comptent (categoryChanged)
+    }
+
+    @Override
+    public void cardDeleted(UserId owner, CardId id) {
+        // Seuls les changements de catégorie comptent (categoryChanged)
+    }
+
+    private AtomicLongArray ownerCounts(UserId owner) {
+        return countsByOwner.computeIfAbsent(owner, ignored -> new AtomicLongArray(CATEGORIES.length));
+    }
+
+    private void add(AtomicLongArray ownerCounts, Category category, long delta) {
+        ownerCounts.addAndGet(category.ordinal(), delta);
+        counts[category.ordinal()].add(delta);
+    }
+}
@@ -0,0 +1,124 @@
+package com.leitner.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Instruments Micrometer des use cases et des repositories de cartes.
+ *
+ * Tous les instruments sont créés une fois, à la construction : sur les chemins chauds,
+ * les décorateurs (MeteredCardUseCases, MeteredCardRepository) lisent l'horloge et
+ * incrémentent un instrument déjà résolu, sans recherche dans le registre ni
+ * étiquettes construites à chaque appel.
+ *
+ * - leitner.usecase (timer, étiquette usecase) : latence des use cases, avec histogramme
+ *   (les quantiles sont calculés par Prometheus, agrégeables entre instances) ;
+ * - leitner.repository (timer, étiquette operation) : durée des opérations des partitions ;
+ * - leitner.quiz.size (distribution, avec histogramme) : nombre de cartes des listes du quiz ;
+ * - leitner.answers (compteur, étiquette result) : réponses enregistrées, correctes ou non.
+ *
+ * Les jauges du nombre de cartes par catégorie sont tenues par CardCensus.
+ */
+public class CardMetrics {
+
+    public static final String USE_CASE_TIMER = "leitner.usecase";
+    public static final String REPOSITORY_TIMER = "leitner.repository";
+    public static final String QUIZ_SIZE = "leitner.quiz.size";
+    public static final String ANSWERS = "leitner.answers";
+
+    private static final Duration MIN_LATENCY = Duration.ofNanos(10_000);
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(10);
+
+    final Timer createCard;
+    final Timer getCards;
+    final Timer getQuizCards;
+    final Timer answerCard;
+    final Timer answerCards;
+    final DistributionSummary quizSize;
+    final Counter correctAnswers;
+    final Counter incorrectAnswers;
+    final RepositoryTimers repository;
+
+    public CardMetrics(MeterRegistry registry) {
+        this.createCard = useCaseTimer(registry, "create-card");
+        this.getCards = useCaseTimer(registry, "get-cards");
+        this.getQuizCards = useCaseTimer(registry, "get-quiz-cards");
+        this.answerCard = useCaseTimer(registry, "answer-card");
+        this.answerCards = useCaseTimer(registry, "answer-cards");
+        this.quizSize = DistributionSummary.builder(QUIZ_SIZE)
+            .description("Number of cards of a full quiz list")
+            .baseUnit("cards")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(1_000_000.0)
+            .register(registry);
+        this.correctAnswers = answers(registry, "correct");
+        this.incorrectAnswers = answers(registry, "incorrect");
+        this.repository = new RepositoryTimers(registry);
+    }
+
+    private static Timer useCaseTimer(MeterRegistry registry, String useCase) {
+        return Timer.builder(USE_CASE_TIMER)
+            .description("Latency of the card use cases")
+            .tag("usecase", useCase)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(MIN_LATENCY)
+            .maximumExpectedValue(MAX_LATENCY)
+            .register(registry);
+    }
+
+    private static Counter answers(MeterRegistry registry, String result) {
+        return Counter.builder(ANSWERS)
+            .description("Recorded answers")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    /**
+     * Un timer par opération du port CardRepository, partagés par toutes les partitions :
+     * l'utilisateur n'est pas une étiquette (cardinalité non bornée).
+     */
+    static final class RepositoryTimers {
+
+        final Timer save;
+        final Timer update;
+        final Timer saveAll;
+        final Timer findById;
+        final Timer findAll;
+        final Timer findByTags;
+        final Timer countByTag;
+        final Timer findDueOn;
+        final Timer findPage;
+        final Timer stream;
+        final Timer findDuePage;
+        final Timer deleteById;
+        final Timer existsById;
+
+        private RepositoryTimers(MeterRegistry registry) {
+            this.save = timer(registry, "save");
+            this.update = timer(registry, "update");
+            this.saveAll = timer(registry, "save-all");
+            this.findById = timer(registry, "find-by-id");
+            this.findAll = timer(registry, "find-all");
+            this.findByTags = timer(registry, "find-by-tags");
+            this.countByTag = timer(registry, "count-by-tag");
+            this.findDueOn = timer(registry, "find-due-on");
+            this.findPage = timer(registry, "find-page");
+            this.stream = timer(registry, "stream");
+            this.findDuePage = timer(registry, "find-due-page");
+            this.deleteById = timer(registry, "delete-by-id");
+            this.existsById = timer(registry, "exists-by-id");
+        }
+
+        private static Timer timer(MeterRegistry registry, String operation) {
+            return Timer.builder(REPOSITORY_TIMER)
+                .description("Duration of the card repository operations")
+                .tag("operation", operation)
+                .register(registry);
+        }
+    }
+}
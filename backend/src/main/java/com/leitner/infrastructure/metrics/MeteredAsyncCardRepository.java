@@ -0,0 +1,68 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardRepository;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+
+/**
+ * Variante de MeteredCardRepository pour une partition qui offre un accès non bloquant
+ * natif : les opérations non bloquantes sont mesurées jusqu'à la fin de leur futur
+ * (le fsync, pour le journal), dans les mêmes timers que les opérations bloquantes.
+ */
+class MeteredAsyncCardRepository extends MeteredCardRepository implements AsyncCardRepository {
+
+    private final AsyncCardRepository asyncDelegate;
+
+    MeteredAsyncCardRepository(CardRepository delegate, AsyncCardRepository asyncDelegate,
+                               CardMetrics.RepositoryTimers timers) {
+        super(delegate, timers);
+        this.asyncDelegate = asyncDelegate;
+    }
+
+    @Override
+    public CompletableFuture<Card> saveAsync(Card card) {
+        return timed(timers.save, System.nanoTime(), asyncDelegate.saveAsync(card));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Card>> updateAsync(CardId id, UnaryOperator<Card> updater) {
+        return timed(timers.update, System.nanoTime(), asyncDelegate.updateAsync(id, updater));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsByIdAsync(CardId id) {
+        return timed(timers.existsById, System.nanoTime(), asyncDelegate.existsByIdAsync(id));
+    }
+
+    @Override
+    public CompletableFuture<List<TagCount>> countByTagAsync() {
+        return timed(timers.countByTag, System.nanoTime(), asyncDelegate.countByTagAsync());
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findPageAsync(List<String> tags, String cursor, int limit) {
+        return timed(timers.findPage, System.nanoTime(), asyncDelegate.findPageAsync(tags, cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<Page<Card>> findDuePageAsync(LocalDate date, String cursor, int limit) {
+        return timed(timers.findDuePage, System.nanoTime(), asyncDelegate.findDuePageAsync(date, cursor, limit));
+    }
+
+    /**
+     * Les arguments sont évalués dans l'ordre : l'horloge est lue avant l'appel.
+     */
+    private static <T> CompletableFuture<T> timed(Timer timer, long start, CompletableFuture<T> future) {
+        return future.whenComplete((result, failure) -> record(timer, start));
+    }
+}
@@ -0,0 +1,212 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardRepository;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Partition de cartes dont chaque opération est mesurée par un timer leitner.repository.
+ *
+ * Comme MeteredCardUseCases, une mesure se limite à deux lectures de System.nanoTime
+ * et à l'enregistrement dans un timer déjà créé. Pour stream, seule l'ouverture
+ * du flux est mesurée : les cartes sont lues pendant sa consommation.
+ *
+ * Une partition qui offre un accès non bloquant natif (journal) est décorée par
+ * MeteredAsyncCardRepository, qui le conserve : of() choisit la variante.
+ */
+public class MeteredCardRepository implements CardRepository, Closeable {
+
+    private final CardRepository delegate;
+    final CardMetrics.RepositoryTimers timers;
+
+    MeteredCardRepository(CardRepository delegate, CardMetrics.RepositoryTimers timers) {
+        this.delegate = delegate;
+        this.timers = timers;
+    }
+
+    /**
+     * Décore la partition, en conservant son accès non bloquant s'il existe.
+     */
+    public static MeteredCardRepository of(CardRepository delegate, CardMetrics metrics) {
+        if (delegate instanceof AsyncCardRepository nonBlocking) {
+            return new MeteredAsyncCardRepository(delegate, nonBlocking, metrics.repository);
+        }
+        return new MeteredCardRepository(delegate, metrics.repository);
+    }
+
+    /**
+     * La partition décorée.
+     */
+    public CardRepository delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Card save(Card card) {
+        long start = System.nanoTime();
+        try {
+            return delegate.save(card);
+        } finally {
+            record(timers.save, start);
+        }
+    }
+
+    @Override
+    public Optional<Card> update(CardId id, UnaryOperator<Card> updater) {
+        long start = System.nanoTime();
+        try {
+            return delegate.update(id, updater);
+        } finally {
+            record(timers.update, start);
+        }
+    }
+
+    @Override
+    public List<Card> saveAll(List<Card> cards) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveAll(cards);
+        } finally {
+            record(timers.saveAll, start);
+        }
+    }
+
+    @Override
+    public Optional<Card> findById(CardId id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findById(id);
+        } finally {
+            record(timers.findById, start);
+        }
+    }
+
+    @Override
+    public List<Card> findAll() {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            record(timers.findAll, start);
+        }
+    }
+
+    @Override
+    public List<Card> findByTags(List<String> tags) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByTags(tags);
+        } finally {
+            record(timers.findByTags, start);
+        }
+    }
+
+    @Override
+    public List<TagCount> countByTag() {
+        long start = System.nanoTime();
+        try {
+            return delegate.countByTag();
+        } finally {
+            record(timers.countByTag, start);
+        }
+    }
+
+    @Override
+    public List<Card> findDueOn(LocalDate date) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findDueOn(date);
+        } finally {
+            record(timers.findDueOn, start);
+        }
+    }
+
+    @Override
+    public Page<Card> findPage(List<String> tags, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findPage(tags, cursor, limit);
+        } finally {
+            record(timers.findPage, start);
+        }
+    }
+
+    @Override
+    public Stream<Card> stream(List<String> tags) {
+        long start = System.nanoTime();
+        try {
+            return delegate.stream(tags);
+        } finally {
+            record(timers.stream, start);
+        }
+    }
+
+    @Override
+    public Page<Card> findDuePage(LocalDate date, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findDuePage(date, cursor, limit);
+        } finally {
+            record(timers.findDuePage, start);
+        }
+    }
+
+    @Override
+    public void deleteById(CardId id) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            record(timers.deleteById, start);
+        }
+    }
+
+    @Override
+    public boolean existsById(CardId id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.existsById(id);
+        } finally {
+            record(timers.existsById, start);
+        }
+    }
+
+    /**
+     * Non mesuré : appelé à l'ouverture des partitions seulement (CardCensus).
+     */
+    @Override
+    public Map<Category, Long> countByCategory() {
+        return delegate.countByCategory();
+    }
+
+    @Override
+    public long changeSequence() {
+        return delegate.changeSequence();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,145 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase;
+import com.leitner.domain.port.in.AnswerCardsUseCase;
+import com.leitner.domain.port.in.AnswerCardsUseCase.Answer;
+import com.leitner.domain.port.in.CreateCardUseCase;
+import com.leitner.domain.port.in.GetCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Décorateur des use cases de cartes qui mesure leur latence et compte les réponses.
+ *
+ * Chaque appel lit deux fois System.nanoTime et enregistre la durée dans un timer
+ * déjà créé (CardMetrics) : pas de lambda ni de Timer.Sample par appel.
+ * Les appels en échec sont mesurés aussi ; les réponses ne sont comptées
+ * qu'une fois enregistrées.
+ *
+ * La taille du quiz n'est relevée que pour la liste complète : celle d'une page
+ * est bornée par le paramètre limit. Le parcours en flux (stream) et le numéro
+ * de changement ne sont pas mesurés : le premier est paresseux, le second
+ * n'est qu'une lecture de compteur.
+ */
+public class MeteredCardUseCases implements CreateCardUseCase, GetCardsUseCase, GetQuizCardsUseCase,
+        AnswerCardUseCase, AnswerCardsUseCase {
+
+    private final CreateCardUseCase createCard;
+    private final GetCardsUseCase getCards;
+    private final GetQuizCardsUseCase getQuizCards;
+    private final AnswerCardUseCase answerCard;
+    private final AnswerCardsUseCase answerCards;
+    private final CardMetrics metrics;
+
+    public MeteredCardUseCases(CreateCardUseCase createCard, GetCardsUseCase getCards,
+                               GetQuizCardsUseCase getQuizCards, AnswerCardUseCase answerCard,
+                               AnswerCardsUseCase answerCards, CardMetrics metrics) {
+        this.createCard = createCard;
+        this.getCards = getCards;
+        this.getQuizCards = getQuizCards;
+        this.answerCard = answerCard;
+        this.answerCards = answerCards;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Card execute(CreateCardCommand command) {
+        long start = System.nanoTime();
+        try {
+            return createCard.execute(command);
+        } finally {
+            record(metrics.createCard, start);
+        }
+    }
+
+    @Override
+    public List<Card> execute(GetCardsQuery query) {
+        long start = System.nanoTime();
+        try {
+            return getCards.execute(query);
+        } finally {
+            record(metrics.getCards, start);
+        }
+    }
+
+    @Override
+    public Page<Card> execute(GetCardsPageQuery query) {
+        long start = System.nanoTime();
+        try {
+            return getCards.execute(query);
+        } finally {
+            record(metrics.getCards, start);
+        }
+    }
+
+    @Override
+    public Stream<Card> stream(GetCardsQuery query) {
+        return getCards.stream(query);
+    }
+
+    @Override
+    public long changeSequence(UserId userId) {
+        return getCards.changeSequence(userId);
+    }
+
+    @Override
+    public List<Card> execute(GetQuizCardsQuery query) {
+        long start = System.nanoTime();
+        try {
+            List<Card> cards = getQuizCards.execute(query);
+            metrics.quizSize.record(cards.size());
+            return cards;
+        } finally {
+            record(metrics.getQuizCards, start);
+        }
+    }
+
+    @Override
+    public Page<Card> execute(GetQuizCardsPageQuery query) {
+        long start = System.nanoTime();
+        try {
+            return getQuizCards.execute(query);
+        } finally {
+            record(metrics.getQuizCards, start);
+        }
+    }
+
+    @Override
+    public void execute(AnswerCardCommand command) {
+        long start = System.nanoTime();
+        try {
+            answerCard.execute(command);
+            countAnswer(command.isValid());
+        } finally {
+            record(metrics.answerCard, start);
+        }
+    }
+
+    @Override
+    public void execute(AnswerCardsCommand command) {
+        long start = System.nanoTime();
+        try {
+            answerCards.execute(command);
+            for (Answer answer : command.answers()) {
+                countAnswer(answer.isValid());
+            }
+        } finally {
+            record(metrics.answerCards, start);
+        }
+    }
+
+    private void countAnswer(boolean correct) {
+        (correct ? metrics.correctAnswers : metrics.incorrectAnswers).increment();
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,47 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.CardId;
+import com.leitner.infrastructure.adapter.out.id.TimeOrderedCardIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la génération d'identifiants par huit threads concurrents,
+ * comme lors de créations en masse.
+ *
+ * random passe par UUID.randomUUID et son SecureRandom partagé ;
+ * timeOrdered n'utilise que des ressources propres à chaque thread.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="CardIdGenerator"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class CardIdGeneratorBenchmark {
+
+    private final TimeOrderedCardIdGenerator timeOrdered = new TimeOrderedCardIdGenerator();
+
+    @Benchmark
+    public CardId random() {
+        return CardId.generate();
+    }
+
+    @Benchmark
+    public CardId timeOrdered() {
+        return timeOrdered.nextId();
+    }
+}
@@ -0,0 +1,50 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
+import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de CardMapper.toDTOList, c'est-à-dire du coût de conversion
+ * d'une réponse GET /cards non paginée en fonction de la taille du deck.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="CardMapper"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardMapperBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int deckSize;
+
+    private final CardMapper cardMapper = new CardMapper();
+    private List<Card> cards;
+
+    @Setup
+    public void setUp() {
+        cards = DeckFixture.cards(deckSize);
+    }
+
+    @Benchmark
+    public List<CardDTO> toDTOList() {
+        return cardMapper.toDTOList(cards);
+    }
+}
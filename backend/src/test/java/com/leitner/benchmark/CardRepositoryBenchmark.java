@@ -0,0 +1,94 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark des opérations courantes d'InMemoryCardRepository
+ * en fonction de la taille du deck.
+ *
+ * save réenregistre des cartes existantes (réponse à une carte) :
+ * la taille du deck reste constante pendant la mesure.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="CardRepository"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardRepositoryBenchmark {
+
+    private static final int REPLACEMENTS = 1024;
+    private static final List<String> ONE_TAG = List.of(DeckFixture.tag(0));
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int deckSize;
+
+    private InMemoryCardRepository repository;
+    private Card[] replacements;
+    private String[] lookups;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryCardRepository();
+        CardId[] ids = DeckFixture.fill(repository, deckSize);
+
+        // Cartes répondues correctement aujourd'hui, version 0 : écriture sans contrôle
+        replacements = new Card[REPLACEMENTS];
+        lookups = new String[REPLACEMENTS];
+        for (int i = 0; i < REPLACEMENTS; i++) {
+            Card stored = repository.findById(ids[(int) ((long) i * deckSize / REPLACEMENTS)]).orElseThrow();
+            lookups[i] = stored.getId().getValue();
+            replacements[i] = Card.reconstitute(stored.getId(), stored.getQuestion(), stored.getAnswer(),
+                stored.getTag(), Category.SECOND, DeckFixture.TODAY);
+        }
+    }
+
+    @Benchmark
+    public List<Card> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Card> findByTags() {
+        return repository.findByTags(ONE_TAG);
+    }
+
+    /**
+     * Recherche depuis la forme texte reçue par l'API, comme pour une réponse :
+     * la chaîne est copiée, comme une valeur fraîchement lue dans la requête.
+     */
+    @Benchmark
+    public Optional<Card> findById() {
+        String id = new String(lookups[next]);
+        next = (next + 1) % REPLACEMENTS;
+        return repository.findById(CardId.of(id));
+    }
+
+    @Benchmark
+    public Card save() {
+        Card card = replacements[next];
+        next = (next + 1) % REPLACEMENTS;
+        return repository.save(card);
+    }
+}
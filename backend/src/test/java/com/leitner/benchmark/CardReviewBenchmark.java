@@ -0,0 +1,59 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de Card.shouldBeReviewedOn, par carte.
+ *
+ * Le coût ne dépend pas de la taille du deck : la mesure porte sur un
+ * échantillon fixe de cartes à la répartition réaliste, pour que les
+ * branches (carte neuve, apprise, à réviser ou non) soient toutes exercées.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="CardReview"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardReviewBenchmark {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    private Card[] cards;
+
+    @Setup
+    public void setUp() {
+        List<Card> deck = DeckFixture.cards(SAMPLE_SIZE);
+        cards = deck.toArray(new Card[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public int shouldBeReviewedOn() {
+        LocalDate today = DeckFixture.TODAY;
+        int due = 0;
+        for (Card card : cards) {
+            if (card.shouldBeReviewedOn(today, today)) {
+                due++;
+            }
+        }
+        return due;
+    }
+}
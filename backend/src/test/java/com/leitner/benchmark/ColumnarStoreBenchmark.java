@@ -0,0 +1,90 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.columnar.ColumnarCardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare le stockage par colonnes au repository en mémoire sur le quiz
+ * et le filtrage par tags, à taille de deck égale.
+ *
+ * L'empreinte mémoire est affichée à la préparation de chaque deck :
+ * calculée pour le stockage par colonnes, mesurée par différence de heap
+ * (après GC) pour le repository en mémoire.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="ColumnarStore"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarStoreBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int deckSize;
+
+    @Param({"memory", "columnar"})
+    private String store;
+
+    private CardRepository repository;
+    private List<String> tags;
+
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        if (store.equals("columnar")) {
+            ColumnarCardRepository columnar = new ColumnarCardRepository(deckSize);
+            DeckFixture.fill(columnar, deckSize);
+            System.out.printf("%ncolumnar, %d cards: %.1f bytes/card (%s)%n",
+                deckSize, columnar.footprint().bytesPerCard(), columnar.footprint());
+            repository = columnar;
+        } else {
+            repository = new InMemoryCardRepository();
+            DeckFixture.fill(repository, deckSize);
+            System.out.printf("%nmemory, %d cards: %.1f bytes/card (heap delta)%n",
+                deckSize, (double) (usedHeap() - before) / deckSize);
+        }
+        tags = List.of(DeckFixture.tag(0));
+    }
+
+    @Benchmark
+    public List<Card> findDueOn() {
+        return repository.findDueOn(DeckFixture.TODAY);
+    }
+
+    @Benchmark
+    public Page<Card> findDueFirstPage() {
+        return repository.findDuePage(DeckFixture.TODAY, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Card> findByTags() {
+        return repository.findByTags(tags);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,88 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark des réponses concurrentes sur InMemoryCardRepository.
+ *
+ * Huit threads répondent à des cartes tirées parmi hotCards :
+ * avec une seule carte, toutes les écritures se disputent la même clé.
+ * update (lecture-modification-écriture atomique) est comparé à une boucle
+ * optimiste findById / copie / save, rejouée tant que la version est périmée.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="ContendedAnswer"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ContendedAnswerBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 1);
+
+    @Param({"1", "16", "1024"})
+    private int hotCards;
+
+    private InMemoryCardRepository repository;
+    private CardId[] ids;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryCardRepository();
+        ids = new CardId[hotCards];
+        for (int i = 0; i < hotCards; i++) {
+            ids[i] = repository.save(Card.create("Question " + i + "?", "Answer " + i, null)).getId();
+        }
+    }
+
+    @Benchmark
+    public Optional<Card> update() {
+        return repository.update(randomId(), card -> {
+            card.answerIncorrectly(TODAY);
+            return card;
+        });
+    }
+
+    @Benchmark
+    public Card optimisticRetry() {
+        CardId id = randomId();
+        while (true) {
+            Card card = repository.findById(id).orElseThrow();
+            Card next = Card.reconstitute(card.getId(), card.getQuestion(), card.getAnswer(),
+                card.getTag(), card.getCategory(), card.getLastAnswerDate(), card.getVersion());
+            next.answerIncorrectly(TODAY);
+            try {
+                return repository.save(next);
+            } catch (CardVersionConflictException e) {
+                // Version périmée : relecture et nouvelle tentative
+            }
+        }
+    }
+
+    private CardId randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(hotCards)];
+    }
+}
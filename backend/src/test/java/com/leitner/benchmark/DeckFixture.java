@@ -0,0 +1,94 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.port.out.CardRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Génère des decks reproductibles pour les benchmarks.
+ *
+ * La répartition des catégories suit celle d'un deck en cours d'apprentissage :
+ * beaucoup de cartes dans les premières boîtes, de moins en moins ensuite,
+ * et une part de cartes apprises (DONE). Les dates de dernière réponse sont
+ * tirées sur deux périodes de la catégorie, si bien qu'environ la moitié
+ * des cartes non apprises sont à réviser le jour du benchmark.
+ * Le générateur est initialisé avec une graine fixe : deux exécutions
+ * produisent le même deck, identifiants compris.
+ */
+final class DeckFixture {
+
+    static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+    static final int TAG_COUNT = 50;
+
+    // Poids (en %) de chaque catégorie, dans l'ordre de Category.values()
+    private static final int[] CATEGORY_WEIGHTS = {30, 20, 15, 10, 8, 6, 4, 7};
+    private static final int NEW_CARD_PERCENT = 5;
+    private static final int UNTAGGED_PERCENT = 10;
+    private static final long SEED = 42;
+
+    private DeckFixture() {
+    }
+
+    /**
+     * Génère un deck de la taille demandée.
+     */
+    static List<Card> cards(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cards.add(card(random, i));
+        }
+        return cards;
+    }
+
+    /**
+     * Remplit un repository sans conserver de copie du deck,
+     * pour limiter la mémoire des grands decks.
+     *
+     * @return les identifiants des cartes enregistrées
+     */
+    static CardId[] fill(CardRepository repository, int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        CardId[] ids = new CardId[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = repository.save(card(random, i)).getId();
+        }
+        return ids;
+    }
+
+    static String tag(int index) {
+        return "tag-" + index;
+    }
+
+    private static Card card(SplittableRandom random, int index) {
+        Category category = category(random);
+        LocalDate lastAnswer = null;
+        if (category != Category.FIRST || random.nextInt(100) >= NEW_CARD_PERCENT) {
+            int window = category.isDone() ? 365 : 2 * category.getFrequencyInDays();
+            lastAnswer = TODAY.minusDays(random.nextInt(window));
+        }
+        String tag = random.nextInt(100) < UNTAGGED_PERCENT ? null : tag(random.nextInt(TAG_COUNT));
+        CardId id = CardId.of(new UUID(random.nextLong(), random.nextLong()).toString());
+        return Card.reconstitute(id, "Question " + index + "?", "Answer " + index,
+            tag, category, lastAnswer);
+    }
+
+    private static Category category(SplittableRandom random) {
+        int draw = random.nextInt(100);
+        Category[] categories = Category.values();
+        for (int i = 0; i < categories.length; i++) {
+            draw -= CATEGORY_WEIGHTS[i];
+            if (draw < 0) {
+                return categories[i];
+            }
+        }
+        return Category.DONE;
+    }
+}
@@ -0,0 +1,61 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de InMemoryCardRepository.findByTags.
+ *
+ * Le nombre de cartes correspondant au filtre est fixe ; seul le nombre de
+ * cartes non concernées varie. Grâce à l'index inversé, la latence doit
+ * rester stable quel que soit nonMatchingCards.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="FindByTags"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindByTagsBenchmark {
+
+    private static final int MATCHING_CARDS = 100;
+    private static final int OTHER_TAGS = 50;
+    private static final List<String> FILTER = List.of("spanish");
+
+    @Param({"0", "10000", "100000", "1000000"})
+    private int nonMatchingCards;
+
+    private InMemoryCardRepository repository;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryCardRepository();
+        for (int i = 0; i < MATCHING_CARDS; i++) {
+            repository.save(Card.create("Question " + i + "?", "Answer " + i, "spanish"));
+        }
+        for (int i = 0; i < nonMatchingCards; i++) {
+            repository.save(Card.create("Question " + i + "?", "Answer " + i, "tag-" + (i % OTHER_TAGS)));
+        }
+    }
+
+    @Benchmark
+    public List<Card> findByTags() {
+        return repository.findByTags(FILTER);
+    }
+}
@@ -0,0 +1,73 @@
+package com.leitner.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
+import com.leitner.infrastructure.adapter.in.rest.mapper.CardMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark des représentations d'une réponse GET /cards non paginée :
+ * encodage et décodage de la liste de CardDTO en JSON, CBOR et Smile,
+ * avec des ObjectMapper construits comme ceux de l'application.
+ *
+ * La taille de la réponse est affichée à la préparation de chaque deck.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="PayloadFormat"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int deckSize;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<CardDTO> cards;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        cards = new CardMapper().toDTOList(DeckFixture.cards(deckSize));
+        payload = mapper.writeValueAsBytes(cards);
+        System.out.printf("%n%s, %d cards: %d bytes (%.1f bytes/card)%n",
+            format, deckSize, payload.length, (double) payload.length / deckSize);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(cards);
+    }
+
+    @Benchmark
+    public CardDTO[] decode() throws IOException {
+        return mapper.readValue(payload, CardDTO[].class);
+    }
+}
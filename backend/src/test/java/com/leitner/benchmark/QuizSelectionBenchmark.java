@@ -0,0 +1,101 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.service.CardService;
+import com.leitner.domain.service.QuizCardsCache;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la sélection des cartes du quiz par CardService,
+ * sur un deck à la répartition réaliste (voir DeckFixture).
+ *
+ * Les variantes *Cached passent par QuizCardsCache, abonné aux changements
+ * des partitions ; answerThenQuiz* mesurent une réponse suivie du quiz,
+ * c'est-à-dire le coût de la mise à jour incrémentale du cache face au recalcul.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="QuizSelection"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizSelectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int deckSize;
+
+    private CardService cardService;
+    private QuizCardsCache quizCache;
+    private CardId[] ids;
+    private GetQuizCardsQuery quizQuery;
+    private GetQuizCardsPageQuery pageQuery;
+
+    @Setup
+    public void setUp() {
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> new InMemoryCardRepository());
+        ids = DeckFixture.fill(partitions.forUser(UserId.DEFAULT), deckSize);
+        cardService = new CardService(partitions, CardId::generate);
+        quizCache = new QuizCardsCache(cardService, QuizCardsCache.DEFAULT_MAX_ENTRIES);
+        partitions.subscribe(quizCache);
+        quizQuery = GetQuizCardsQuery.forDate(DeckFixture.TODAY);
+        pageQuery = new GetQuizCardsPageQuery(DeckFixture.TODAY, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Card> quiz() {
+        return cardService.execute(quizQuery);
+    }
+
+    @Benchmark
+    public Page<Card> quizFirstPage() {
+        return cardService.execute(pageQuery);
+    }
+
+    @Benchmark
+    public List<Card> quizCached() {
+        return quizCache.execute(quizQuery);
+    }
+
+    @Benchmark
+    public List<Card> answerThenQuiz() {
+        cardService.execute(randomAnswer());
+        return cardService.execute(quizQuery);
+    }
+
+    @Benchmark
+    public List<Card> answerThenQuizCached() {
+        cardService.execute(randomAnswer());
+        return quizCache.execute(quizQuery);
+    }
+
+    private AnswerCardCommand randomAnswer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new AnswerCardCommand(ids[random.nextInt(ids.length)].getValue(), random.nextBoolean());
+    }
+}
@@ -0,0 +1,134 @@
+package com.leitner.benchmark;
+
+import com.leitner.LeitnerApplication;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test de charge HTTP : requêtes traitées sur le pool de threads de Tomcat
+ * (platform, par défaut) ou sur des threads virtuels (profil virtual-threads).
+ *
+ * L'application complète est démarrée sur un port libre, avec le journal comme
+ * persistence : chaque réponse à une carte attend le fsync groupé du journal,
+ * c'est-à-dire une entrée/sortie bloquante. Les clients sont les threads JMH
+ * (400 par défaut, au-delà des 200 threads de Tomcat) ; chacun enchaîne des
+ * requêtes sur le deck de l'utilisateur par défaut.
+ *
+ * Les deux modes de mesure donnent le débit (Throughput) et la distribution
+ * des latences, dont le p99 (SampleTime).
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="RequestThreadsLoad"
+ * Avec moins de clients : -Djmh.args="RequestThreadsLoad -t 64"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+public class RequestThreadsLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String requestThreads;
+
+    @Param({"10000"})
+    private int deckSize;
+
+    private ConfigurableApplicationContext context;
+    private Path journalDirectory;
+    private HttpClient client;
+    private String baseUrl;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDirectory = Files.createTempDirectory("leitner-load");
+        SpringApplicationBuilder application = new SpringApplicationBuilder(LeitnerApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.com.leitner=WARN",
+                "leitner.persistence.mode=journal",
+                "leitner.persistence.journal.directory=" + journalDirectory);
+        if ("virtual".equals(requestThreads)) {
+            application.profiles("virtual-threads");
+        }
+        context = application.run();
+
+        List<Card> cards = DeckFixture.cards(deckSize);
+        context.getBean(PerUserCardRepository.class).forUser(UserId.DEFAULT).saveAll(cards);
+        ids = cards.stream().map(card -> card.getId().getValue()).toArray(String[]::new);
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(journalDirectory);
+    }
+
+    /**
+     * Réponse à une carte : écriture journalisée, bloquée jusqu'au fsync.
+     */
+    @Benchmark
+    public int answer() throws IOException, InterruptedException {
+        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/cards/" + id + "/answer"))
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"isValid\": true}"))
+            .build();
+        return send(request);
+    }
+
+    /**
+     * Première page du quiz : lecture seule, sans entrée/sortie.
+     */
+    @Benchmark
+    public int quiz() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create(baseUrl + "/cards/quizz?date=" + DeckFixture.TODAY + "&limit=50"))
+            .GET()
+            .build();
+        return send(request);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
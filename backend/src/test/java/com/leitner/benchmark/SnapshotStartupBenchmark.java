@@ -0,0 +1,80 @@
+package com.leitner.benchmark;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.mapped.MappedCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.mapped.MappedSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark du démarrage depuis un snapshot.
+ *
+ * mapAndFind projette le snapshot et lit une carte : le coût doit rester
+ * constant quelle que soit la taille du deck. rebuildInMemory charge toutes
+ * les cartes dans un InMemoryCardRepository, comme le ferait un format
+ * relu intégralement au démarrage.
+ *
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Djmh.args="SnapshotStartup"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SnapshotStartupBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int deckSize;
+
+    private Path file;
+    private CardId probe;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Card> cards = DeckFixture.cards(deckSize).stream()
+            .sorted(Comparator.comparing(card -> card.getId().getValue()))
+            .toList();
+        probe = cards.get(cards.size() / 2).getId();
+        file = Files.createTempFile("cards", ".snap");
+        MappedSnapshot.write(file, cards.iterator());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Optional<Card> mapAndFind() throws IOException {
+        return new MappedCardRepository(MappedSnapshot.open(file)).findById(probe);
+    }
+
+    @Benchmark
+    public Optional<Card> rebuildInMemory() throws IOException {
+        MappedCardRepository mapped = new MappedCardRepository(MappedSnapshot.open(file));
+        InMemoryCardRepository cards = new InMemoryCardRepository();
+        mapped.stream(List.of()).forEach(cards::restore);
+        return cards.findById(probe);
+    }
+}
@@ -4,6 +4,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -103,4 +108,59 @@ class CardIdTest {
             assertThat(id.toString()).isEqualTo(value);
         }
     }
+
+    @Nested
+    @DisplayName("Binary representation")
+    class BinaryRepresentation {
+
+        @Test
+        @DisplayName("should store a canonical UUID as two longs and format it back")
+        void shouldRoundTripCanonicalUuid() {
+            UUID uuid = UUID.randomUUID();
+            CardId id = CardId.of(uuid.toString());
+
+            assertThat(id.isBinary()).isTrue();
+            assertThat(id.getHigh()).isEqualTo(uuid.getMostSignificantBits());
+            assertThat(id.getLow()).isEqualTo(uuid.getLeastSignificantBits());
+            assertThat(id.getValue()).isEqualTo(uuid.toString());
+            assertThat(CardId.generate().isBinary()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should keep non canonical values as strings")
+        void shouldKeepLegacyValues() {
+            String upperCase = UUID.randomUUID().toString().toUpperCase();
+
+            assertThat(CardId.of(upperCase).isBinary()).isFalse();
+            assertThat(CardId.of(upperCase).getValue()).isEqualTo(upperCase);
+            assertThat(CardId.of("card-1").isBinary()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should be equal to the same UUID parsed or built from its halves")
+        void shouldBeEqualAcrossFactories() {
+            UUID uuid = UUID.randomUUID();
+            CardId parsed = CardId.of(uuid.toString());
+            CardId built = CardId.of(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+            assertThat(parsed).isEqualTo(built);
+            assertThat(parsed.hashCode()).isEqualTo(built.hashCode());
+        }
+
+        @Test
+        @DisplayName("should order identifiers like their string values")
+        void shouldOrderLikeStrings() {
+            Random random = new Random(42);
+            List<CardId> ids = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                ids.add(CardId.of(new UUID(random.nextLong(), random.nextLong()).toString()));
+            }
+            ids.addAll(List.of(CardId.of("card-1"), CardId.of("Z"), CardId.of("ffff")));
+
+            List<String> byId = ids.stream().sorted().map(CardId::getValue).toList();
+            List<String> byValue = ids.stream().map(CardId::getValue).sorted().toList();
+
+            assertThat(byId).containsExactlyElementsOf(byValue);
+        }
+    }
 }
@@ -88,6 +88,39 @@ class CardTest {
             assertThat(card.getId()).isEqualTo(id);
             assertThat(card.getCategory()).isEqualTo(Category.THIRD);
             assertThat(card.getLastAnswerDate()).isEqualTo(lastAnswer);
+            assertThat(card.getVersion()).isZero();
+        }
+
+        @Test
+        @DisplayName("next version should copy the card with an incremented version")
+        void nextVersionShouldCopyCard() {
+            Card card = Card.reconstitute(
+                CardId.of("existing-id"), "Question?", "Answer", "Tag",
+                Category.THIRD, LocalDate.of(2024, 1, 15), 4
+            );
+
+            Card next = card.nextVersion();
+            next.answerIncorrectly(LocalDate.of(2024, 1, 20));
+
+            assertThat(next).isNotSameAs(card).isEqualTo(card);
+            assertThat(next.getVersion()).isEqualTo(5);
+            assertThat(card.getCategory()).isEqualTo(Category.THIRD);
+        }
+
+        @Test
+        @DisplayName("copy should keep the version and leave the card unchanged")
+        void copyShouldKeepVersion() {
+            Card card = Card.reconstitute(
+                CardId.of("existing-id"), "Question?", "Answer", "Tag",
+                Category.THIRD, LocalDate.of(2024, 1, 15), 4
+            );
+
+            Card copy = card.copy();
+            copy.answerCorrectly(LocalDate.of(2024, 1, 20));
+
+            assertThat(copy).isNotSameAs(card);
+            assertThat(copy.getVersion()).isEqualTo(4);
+            assertThat(card.getCategory()).isEqualTo(Category.THIRD);
         }
     }
 
@@ -256,6 +289,37 @@ class CardTest {
             assertThat(card.shouldBeReviewedOn(answerDate.plusDays(2), answerDate)).isTrue();
             assertThat(card.shouldBeReviewedOn(answerDate.plusDays(3), answerDate)).isTrue();
         }
+
+        @Test
+        @DisplayName("new card should be due immediately")
+        void newCardShouldBeDueImmediately() {
+            Card card = Card.create("Q?", "A", null);
+
+            assertThat(card.nextReviewDate()).contains(LocalDate.MIN);
+        }
+
+        @Test
+        @DisplayName("next review date should be last answer plus category frequency")
+        void nextReviewDateShouldBeLastAnswerPlusFrequency() {
+            LocalDate lastAnswer = LocalDate.of(2024, 1, 1);
+            Card card = Card.reconstitute(
+                CardId.generate(), "Q?", "A", null,
+                Category.THIRD, lastAnswer
+            );
+
+            assertThat(card.nextReviewDate()).contains(LocalDate.of(2024, 1, 5));
+        }
+
+        @Test
+        @DisplayName("DONE card should have no next review date")
+        void doneCardShouldHaveNoNextReviewDate() {
+            Card card = Card.reconstitute(
+                CardId.generate(), "Q?", "A", null,
+                Category.DONE, LocalDate.of(2024, 1, 1)
+            );
+
+            assertThat(card.nextReviewDate()).isEmpty();
+        }
     }
 
     @Nested
@@ -0,0 +1,78 @@
+package com.leitner.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TagDictionary")
+class TagDictionaryTest {
+
+    private final TagDictionary dictionary = new TagDictionary();
+
+    @Nested
+    @DisplayName("Interning")
+    class Interning {
+
+        @Test
+        @DisplayName("should give dense ids and the same instance for the same name")
+        void shouldInternTags() {
+            Tag java = dictionary.intern("Java");
+            Tag python = dictionary.intern("Python");
+
+            assertThat(dictionary.intern(new String("Java"))).isSameAs(java);
+            assertThat(java.getId()).isZero();
+            assertThat(python.getId()).isEqualTo(1);
+            assertThat(dictionary.get(1)).isSameAs(python);
+            assertThat(dictionary.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should not register tags on lookup")
+        void shouldNotRegisterOnFind() {
+            dictionary.intern("Java");
+
+            assertThat(dictionary.find("Java")).get().extracting(Tag::getName).isEqualTo("Java");
+            assertThat(dictionary.find("Rust")).isEmpty();
+            assertThat(dictionary.size()).isEqualTo(1);
+            assertThatThrownBy(() -> dictionary.get(1)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should give a single id per name under concurrent interning")
+        void shouldInternConcurrently() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<List<Tag>>> futures = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    futures.add(executor.submit(() -> {
+                        List<Tag> tags = new ArrayList<>();
+                        for (int i = 0; i < 1_000; i++) {
+                            tags.add(dictionary.intern("tag-" + i));
+                        }
+                        return tags;
+                    }));
+                }
+                List<Tag> first = futures.get(0).get();
+                for (Future<List<Tag>> future : futures) {
+                    assertThat(future.get()).containsExactlyElementsOf(first);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(dictionary.size()).isEqualTo(1_000);
+            for (int id = 0; id < 1_000; id++) {
+                assertThat(dictionary.get(id).getId()).isEqualTo(id);
+            }
+        }
+    }
+}
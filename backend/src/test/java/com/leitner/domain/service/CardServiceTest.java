@@ -4,23 +4,41 @@ import com.leitner.domain.exception.CardNotFoundException;
 import com.leitner.domain.model.Card;
 import com.leitner.domain.model.CardId;
 import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.User.UserId;
 import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.AnswerCardsUseCase.Answer;
+import com.leitner.domain.port.in.AnswerCardsUseCase.AnswerCardsCommand;
 import com.leitner.domain.port.in.CreateCardUseCase.CreateCardCommand;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsPageQuery;
 import com.leitner.domain.port.in.GetCardsUseCase.GetCardsQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
 import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportCardsCommand;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportReport;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportRow;
+import com.leitner.domain.port.in.ImportCardsUseCase.RowError;
 import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.out.PartitionedCardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @DisplayName("CardService - Use Cases")
@@ -28,6 +46,7 @@ class CardServiceTest {
 
     private CardRepository cardRepository;
     private CardService cardService;
+    private final Map<CardId, Card> stored = new HashMap<>();
 
     @BeforeEach
     void setUp() {
@@ -71,6 +90,18 @@ class CardServiceTest {
             assertThat(result.getTag()).isNull();
         }
 
+        @Test
+        @DisplayName("should identify new cards with the configured generator")
+        void shouldUseCardIdGenerator() {
+            when(cardRepository.save(any(Card.class))).thenAnswer(i -> i.getArgument(0));
+            CardId id = CardId.of("generated-id");
+            CardService service = new CardService(cardRepository, () -> id);
+
+            Card result = service.execute(new CreateCardCommand("Q?", "A", null));
+
+            assertThat(result.getId()).isEqualTo(id);
+        }
+
         @Test
         @DisplayName("should reject invalid command with null question")
         void shouldRejectInvalidCommand() {
@@ -111,6 +142,42 @@ class CardServiceTest {
             assertThat(result.get(0).getTag()).isEqualTo("Java");
             verify(cardRepository).findByTags(List.of("Java"));
         }
+
+        @Test
+        @DisplayName("should return a page of cards from the repository")
+        void shouldReturnPageOfCards() {
+            Page<Card> page = new Page<>(List.of(Card.create("Q1?", "A1", "Java")), "next");
+            when(cardRepository.findPage(List.of("Java"), "cursor", 1)).thenReturn(page);
+
+            Page<Card> result = cardService.execute(new GetCardsPageQuery(List.of("Java"), "cursor", 1));
+
+            assertThat(result).isEqualTo(page);
+        }
+
+        @Test
+        @DisplayName("should reject page size out of bounds")
+        void shouldRejectPageSizeOutOfBounds() {
+            assertThatThrownBy(() -> new GetCardsPageQuery(List.of(), null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new GetCardsPageQuery(List.of(), null, GetCardsPageQuery.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("GetTagsUseCase")
+    class GetTagsUseCaseTest {
+
+        @Test
+        @DisplayName("should list tag counts from the repository, sorted by name")
+        void shouldListTagsSortedByName() {
+            when(cardRepository.countByTag()).thenReturn(List.of(
+                new TagCount("Python", 1), new TagCount("Java", 3)));
+
+            assertThat(cardService.listTags(UserId.DEFAULT)).containsExactly(
+                new TagCount("Java", 3), new TagCount("Python", 1));
+            verify(cardRepository, never()).findAll();
+        }
     }
 
     @Nested
@@ -121,7 +188,7 @@ class CardServiceTest {
         @DisplayName("should return new cards for quiz")
         void shouldReturnNewCardsForQuiz() {
             Card newCard = Card.create("Q?", "A", null);
-            when(cardRepository.findAll()).thenReturn(List.of(newCard));
+            when(cardRepository.findDueOn(any())).thenReturn(List.of(newCard));
 
             List<Card> result = cardService.execute(GetQuizCardsQuery.forDate(LocalDate.of(2024, 1, 1)));
 
@@ -132,7 +199,7 @@ class CardServiceTest {
         @DisplayName("should not return DONE cards")
         void shouldNotReturnDoneCards() {
             Card doneCard = createCardInCategory(Category.DONE);
-            when(cardRepository.findAll()).thenReturn(List.of(doneCard));
+            when(cardRepository.findDueOn(any())).thenReturn(List.of(doneCard));
 
             List<Card> result = cardService.execute(GetQuizCardsQuery.forDate(LocalDate.of(2024, 1, 1)));
 
@@ -143,7 +210,7 @@ class CardServiceTest {
         @DisplayName("should return FIRST category cards every day")
         void shouldReturnFirstCategoryCardsEveryDay() {
             Card card = createCardWithLastAnswer(Category.FIRST, LocalDate.of(2024, 1, 1));
-            when(cardRepository.findAll()).thenReturn(List.of(card));
+            when(cardRepository.findDueOn(any())).thenReturn(List.of(card));
 
             // Day 2 - 1 day since last answer, frequency is 1, should be included
             List<Card> result = cardService.execute(
@@ -157,7 +224,7 @@ class CardServiceTest {
         @DisplayName("should return SECOND category cards after 2 days")
         void shouldReturnSecondCategoryCardsAfter2Days() {
             Card card = createCardWithLastAnswer(Category.SECOND, LocalDate.of(2024, 1, 1));
-            when(cardRepository.findAll()).thenReturn(List.of(card));
+            when(cardRepository.findDueOn(any())).thenReturn(List.of(card));
 
             // Day 2 - only 1 day since answer, frequency is 2, should NOT be included
             List<Card> result1 = cardService.execute(
@@ -172,6 +239,33 @@ class CardServiceTest {
             assertThat(result2).hasSize(1);
         }
 
+        @Test
+        @DisplayName("should query the due-date index instead of scanning all cards")
+        void shouldQueryDueDateIndex() {
+            LocalDate quizDate = LocalDate.of(2024, 1, 2);
+            when(cardRepository.findDueOn(quizDate)).thenReturn(List.of());
+
+            cardService.execute(GetQuizCardsQuery.forDate(quizDate));
+
+            verify(cardRepository).findDueOn(quizDate);
+            verify(cardRepository, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("should keep repository cursor when filtering a quiz page")
+        void shouldKeepCursorWhenFilteringQuizPage() {
+            LocalDate quizDate = LocalDate.of(2024, 1, 2);
+            Card due = createCardWithLastAnswer(Category.FIRST, LocalDate.of(2024, 1, 1));
+            Card notDue = createCardWithLastAnswer(Category.SECOND, LocalDate.of(2024, 1, 1));
+            when(cardRepository.findDuePage(quizDate, null, 2))
+                .thenReturn(new Page<>(List.of(due, notDue), "next"));
+
+            Page<Card> result = cardService.execute(new GetQuizCardsPageQuery(quizDate, null, 2));
+
+            assertThat(result.items()).containsExactly(due);
+            assertThat(result.nextCursor()).isEqualTo("next");
+        }
+
         private Card createCardInCategory(Category category) {
             return Card.reconstitute(
                 CardId.generate(), "Q?", "A", null,
@@ -196,13 +290,13 @@ class CardServiceTest {
         void shouldProgressCardOnCorrectAnswer() {
             CardId cardId = CardId.of("card-1");
             Card card = Card.reconstitute(cardId, "Q?", "A", null, Category.FIRST, null);
-            when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
-            when(cardRepository.save(any(Card.class))).thenAnswer(i -> i.getArgument(0));
+            givenStoredCard(card);
 
             cardService.execute(new AnswerCardCommand("card-1", true));
 
-            assertThat(card.getCategory()).isEqualTo(Category.SECOND);
-            verify(cardRepository).save(card);
+            assertThat(stored(card).getCategory()).isEqualTo(Category.SECOND);
+            verify(cardRepository).update(eq(cardId), any());
+            verify(cardRepository, never()).save(any());
         }
 
         @Test
@@ -210,20 +304,19 @@ class CardServiceTest {
         void shouldResetCardToFirstOnIncorrectAnswer() {
             CardId cardId = CardId.of("card-1");
             Card card = Card.reconstitute(cardId, "Q?", "A", null, Category.THIRD, null);
-            when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
-            when(cardRepository.save(any(Card.class))).thenAnswer(i -> i.getArgument(0));
+            givenStoredCard(card);
 
             cardService.execute(new AnswerCardCommand("card-1", false));
 
-            assertThat(card.getCategory()).isEqualTo(Category.FIRST);
-            verify(cardRepository).save(card);
+            assertThat(stored(card).getCategory()).isEqualTo(Category.FIRST);
+            verify(cardRepository).update(eq(cardId), any());
         }
 
         @Test
         @DisplayName("should throw exception when card not found")
         void shouldThrowExceptionWhenCardNotFound() {
             CardId cardId = CardId.of("non-existent");
-            when(cardRepository.findById(cardId)).thenReturn(Optional.empty());
+            when(cardRepository.update(eq(cardId), any())).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> 
                 cardService.execute(new AnswerCardCommand("non-existent", true))
@@ -231,4 +324,226 @@ class CardServiceTest {
              .hasMessageContaining("non-existent");
         }
     }
+
+    @Nested
+    @DisplayName("AnswerCardsUseCase")
+    class AnswerCardsUseCaseTest {
+
+        private static final LocalDateTime MORNING = LocalDateTime.of(2024, 1, 10, 9, 0);
+
+        @Test
+        @DisplayName("should apply answers of a card in timestamp order")
+        void shouldApplyAnswersInTimestampOrder() {
+            Card card = Card.reconstitute(CardId.of("card-1"), "Q?", "A", null, Category.THIRD, null);
+            givenStoredCard(card);
+
+            // Envoyées dans le désordre : mauvaise réponse puis bonne réponse
+            cardService.execute(new AnswerCardsCommand(List.of(
+                new Answer("card-1", true, MORNING.plusHours(2)),
+                new Answer("card-1", false, MORNING)
+            )));
+
+            assertThat(stored(card).getCategory()).isEqualTo(Category.SECOND);
+            assertThat(stored(card).getLastAnswerDate()).isEqualTo(MORNING.toLocalDate());
+        }
+
+        @Test
+        @DisplayName("should update each answered card once, atomically")
+        void shouldUpdateEachCardOnce() {
+            Card card1 = Card.reconstitute(CardId.of("card-1"), "Q1?", "A", null, Category.FIRST, null);
+            Card card2 = Card.reconstitute(CardId.of("card-2"), "Q2?", "A", null, Category.FIRST, null);
+            givenStoredCard(card1);
+            givenStoredCard(card2);
+
+            cardService.execute(new AnswerCardsCommand(List.of(
+                new Answer("card-1", true, MORNING),
+                new Answer("card-2", false, MORNING),
+                new Answer("card-1", true, MORNING.plusMinutes(5))
+            )));
+
+            assertThat(stored(card1).getCategory()).isEqualTo(Category.THIRD);
+            assertThat(stored(card2).getCategory()).isEqualTo(Category.FIRST);
+            verify(cardRepository).update(eq(card1.getId()), any());
+            verify(cardRepository).update(eq(card2.getId()), any());
+            verify(cardRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should ignore answers older than the last known answer")
+        void shouldIgnoreStaleAnswers() {
+            LocalDate lastAnswer = MORNING.toLocalDate();
+            Card card = Card.reconstitute(CardId.of("card-1"), "Q?", "A", null, Category.FOURTH, lastAnswer);
+            givenStoredCard(card);
+
+            cardService.execute(new AnswerCardsCommand(List.of(
+                new Answer("card-1", false, MORNING.minusDays(1))
+            )));
+
+            assertThat(stored(card).getCategory()).isEqualTo(Category.FOURTH);
+            assertThat(stored(card).getLastAnswerDate()).isEqualTo(lastAnswer);
+        }
+
+        @Test
+        @DisplayName("should apply nothing when a card is missing")
+        void shouldApplyNothingWhenCardMissing() {
+            Card card = Card.reconstitute(CardId.of("card-1"), "Q?", "A", null, Category.FIRST, null);
+            givenStoredCard(card);
+
+            assertThatThrownBy(() -> cardService.execute(new AnswerCardsCommand(List.of(
+                new Answer("card-1", true, MORNING),
+                new Answer("missing", true, MORNING)
+            )))).isInstanceOf(CardNotFoundException.class)
+                .hasMessageContaining("missing");
+
+            assertThat(stored(card).getCategory()).isEqualTo(Category.FIRST);
+            verify(cardRepository, never()).update(any(), any());
+        }
+
+        @Test
+        @DisplayName("should answer on a copy of the card given by the repository")
+        void shouldNotModifyCurrentCard() {
+            Card card = Card.reconstitute(CardId.of("card-1"), "Q?", "A", null, Category.FIRST, null);
+            givenStoredCard(card);
+
+            cardService.execute(new AnswerCardsCommand(List.of(new Answer("card-1", true, MORNING))));
+
+            assertThat(card.getCategory()).isEqualTo(Category.FIRST);
+            assertThat(stored(card).getCategory()).isEqualTo(Category.SECOND);
+        }
+
+        @Test
+        @DisplayName("should reject an empty batch")
+        void shouldRejectEmptyBatch() {
+            assertThatThrownBy(() -> new AnswerCardsCommand(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("ImportCardsUseCase")
+    class ImportCardsUseCaseTest {
+
+        @Test
+        @DisplayName("should import valid rows and report invalid ones")
+        void shouldImportValidRowsAndReportInvalidOnes() {
+            List<ImportRow> rows = List.of(
+                ImportRow.of(1, "Q1?", "A1", "Java"),
+                ImportRow.of(2, "  ", "A2", null),
+                ImportRow.malformed(3, "Invalid JSON"),
+                ImportRow.of(4, "Q4?", "A4", null)
+            );
+
+            ImportReport report = cardService.execute(new ImportCardsCommand(rows.iterator()));
+
+            assertThat(report.imported()).isEqualTo(2);
+            assertThat(report.rejected()).isEqualTo(2);
+            assertThat(report.errors()).containsExactly(
+                new RowError(2, "Question is required"),
+                new RowError(3, "Invalid JSON")
+            );
+        }
+
+        @Test
+        @DisplayName("should save imported cards in bounded batches")
+        void shouldSaveInBoundedBatches() {
+            int total = CardService.IMPORT_BATCH_SIZE * 2 + 1;
+            List<ImportRow> rows = new ArrayList<>();
+            for (int i = 1; i <= total; i++) {
+                rows.add(ImportRow.of(i, "Q" + i + "?", "A", null));
+            }
+            List<Integer> batchSizes = new ArrayList<>();
+            when(cardRepository.saveAll(any())).thenAnswer(i -> {
+                List<Card> batch = i.getArgument(0);
+                batchSizes.add(batch.size());
+                return batch;
+            });
+
+            ImportReport report = cardService.execute(new ImportCardsCommand(rows.iterator()));
+
+            assertThat(report.imported()).isEqualTo(total);
+            assertThat(batchSizes).containsExactly(CardService.IMPORT_BATCH_SIZE, CardService.IMPORT_BATCH_SIZE, 1);
+        }
+
+        @Test
+        @DisplayName("should cap the number of detailed errors")
+        void shouldCapDetailedErrors() {
+            int invalid = ImportReport.MAX_REPORTED_ERRORS + 10;
+            List<ImportRow> rows = new ArrayList<>();
+            for (int i = 1; i <= invalid; i++) {
+                rows.add(ImportRow.malformed(i, "bad row"));
+            }
+
+            ImportReport report = cardService.execute(new ImportCardsCommand(rows.iterator()));
+
+            assertThat(report.rejected()).isEqualTo(invalid);
+            assertThat(report.errors()).hasSize(ImportReport.MAX_REPORTED_ERRORS);
+            verify(cardRepository, never()).saveAll(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("User partitions")
+    class UserPartitionsTest {
+
+        private final UserId alice = UserId.of("alice");
+        private final UserId bob = UserId.of("bob");
+        private final CardRepository aliceCards = mock(CardRepository.class);
+        private final CardRepository bobCards = mock(CardRepository.class);
+        private CardService partitionedService;
+
+        @BeforeEach
+        void setUpPartitions() {
+            PartitionedCardRepository partitions = owner -> owner.equals(alice) ? aliceCards : bobCards;
+            partitionedService = new CardService(partitions, CardId::generate);
+        }
+
+        @Test
+        @DisplayName("should create the card in its owner's partition")
+        void shouldCreateCardInOwnerPartition() {
+            when(aliceCards.save(any(Card.class))).thenAnswer(i -> i.getArgument(0));
+
+            Card card = partitionedService.execute(new CreateCardCommand(alice, "Q?", "A", "Java"));
+
+            assertThat(card.getOwner()).isEqualTo(alice);
+            verify(aliceCards).save(card);
+            verifyNoInteractions(bobCards);
+        }
+
+        @Test
+        @DisplayName("should only query the partition of the requesting user")
+        void shouldQueryOnlyOwnerPartition() {
+            Card card = Card.create(bob, CardId.generate(), "Q?", "A", null);
+            when(bobCards.findDueOn(any())).thenReturn(List.of(card));
+
+            assertThat(partitionedService.execute(new GetQuizCardsQuery(bob, LocalDate.of(2024, 1, 1))))
+                .containsExactly(card);
+            verifyNoInteractions(aliceCards);
+        }
+
+        @Test
+        @DisplayName("should not find another user's card when answering")
+        void shouldNotAnswerAnotherUsersCard() {
+            when(bobCards.update(any(), any())).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> partitionedService.execute(new AnswerCardCommand(bob, "card-1", true)))
+                .isInstanceOf(CardNotFoundException.class);
+            verifyNoInteractions(aliceCards);
+        }
+    }
+
+    /**
+     * Simule une carte enregistrée : update remplace la carte par celle que renvoie la modification.
+     */
+    private void givenStoredCard(Card card) {
+        stored.put(card.getId(), card);
+        when(cardRepository.existsById(card.getId())).thenReturn(true);
+        when(cardRepository.update(eq(card.getId()), any())).thenAnswer(invocation -> {
+            UnaryOperator<Card> updater = invocation.getArgument(1);
+            return Optional.of(stored.compute(card.getId(), (id, current) -> updater.apply(current)));
+        });
+    }
+
+    private Card stored(Card card) {
+        return stored.get(card.getId());
+    }
 }
@@ -0,0 +1,156 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("QuizCardsCache")
+class QuizCardsCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    private final UserId alice = UserId.of("alice");
+
+    private GetQuizCardsUseCase delegate;
+    private QuizCardsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(GetQuizCardsUseCase.class);
+        cache = new QuizCardsCache(delegate, 2, START);
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("should serve a repeated quiz from the cache and count hits and misses")
+        void shouldCountHitsAndMisses() {
+            Card card = Card.create(alice, CardId.generate(), "Q?", "A", null);
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of(card));
+
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+            List<Card> cached = cache.execute(new GetQuizCardsQuery(alice, DAY));
+
+            assertThat(cached).containsExactly(card);
+            verify(delegate, times(1)).execute(any(GetQuizCardsQuery.class));
+            assertThat(cache.hits()).isEqualTo(1);
+            assertThat(cache.misses()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should evict the least recently read entry beyond the bound")
+        void shouldEvictLeastRecentlyRead() {
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of());
+
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+            cache.execute(new GetQuizCardsQuery(alice, DAY.plusDays(1)));
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+            cache.execute(new GetQuizCardsQuery(alice, DAY.plusDays(2)));
+
+            assertThat(cache.size()).isEqualTo(2);
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+            assertThat(cache.hits()).isEqualTo(2);
+            cache.execute(new GetQuizCardsQuery(alice, DAY.plusDays(1)));
+            assertThat(cache.misses()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental invalidation")
+    class IncrementalInvalidation {
+
+        @Test
+        @DisplayName("should add a created card and remove an answered one without reloading")
+        void shouldPatchEntryOnChanges() {
+            Card kept = Card.create(alice, CardId.generate(), "Kept?", "A", null);
+            Card answered = Card.create(alice, CardId.generate(), "Answered?", "A", null);
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of(kept, answered));
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+
+            Card created = Card.create(alice, CardId.generate(), "New?", "A", null);
+            cache.cardSaved(created);
+            cache.cardSaved(Card.reconstitute(alice, answered.getId(), "Answered?", "A", null,
+                Category.SECOND, DAY, 1));
+
+            assertThat(cache.execute(new GetQuizCardsQuery(alice, DAY))).containsExactly(kept, created);
+            verify(delegate, times(1)).execute(any(GetQuizCardsQuery.class));
+        }
+
+        @Test
+        @DisplayName("should ignore a late change older than the known state of the card")
+        void shouldIgnoreStaleChange() {
+            Card card = Card.create(alice, CardId.generate(), "Q?", "A", null);
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of(card));
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+
+            cache.cardSaved(Card.reconstitute(alice, card.getId(), "Q?", "A", null, Category.SECOND, DAY, 2));
+            cache.cardSaved(Card.reconstitute(alice, card.getId(), "Q?", "A", null, Category.FIRST, null, 1));
+            cache.cardDeleted(alice, CardId.generate());
+
+            assertThat(cache.execute(new GetQuizCardsQuery(alice, DAY))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should not cache a list read while the user's cards changed")
+        void shouldNotCacheListReadDuringChange() {
+            Card card = Card.create(alice, CardId.generate(), "Q?", "A", null);
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenAnswer(invocation -> {
+                cache.cardDeleted(alice, card.getId());
+                return List.of(card);
+            });
+
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("should keep other users' entries and drop those of a discarded partition")
+        void shouldScopeChangesToOwner() {
+            UserId bob = UserId.of("bob");
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of());
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+            cache.execute(new GetQuizCardsQuery(bob, DAY));
+
+            cache.cardSaved(Card.create(bob, CardId.generate(), "Q?", "A", null));
+            cache.partitionDiscarded(bob);
+
+            assertThat(cache.size()).isEqualTo(1);
+            assertThat(cache.execute(new GetQuizCardsQuery(alice, DAY))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should drop an entry once it retains too many versions of removed cards")
+        void shouldBoundRemovedVersions() {
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of());
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+
+            for (int i = 0; i < QuizCardsCache.MIN_REMOVED_VERSIONS; i++) {
+                cache.cardDeleted(alice, CardId.generate());
+            }
+            assertThat(cache.size()).isEqualTo(1);
+
+            cache.cardDeleted(alice, CardId.generate());
+            assertThat(cache.size()).isZero();
+            cache.execute(new GetQuizCardsQuery(alice, DAY));
+            verify(delegate, times(2)).execute(any(GetQuizCardsQuery.class));
+        }
+    }
+}
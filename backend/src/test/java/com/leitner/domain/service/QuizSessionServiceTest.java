@@ -0,0 +1,268 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.exception.CardNotFoundException;
+import com.leitner.domain.exception.QuizSessionNotFoundException;
+import com.leitner.domain.exception.TooManyQuizSessionsException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.in.QuizSessionUseCase.AnswerInSessionCommand;
+import com.leitner.domain.port.in.QuizSessionUseCase.QuizSessionBatch;
+import com.leitner.domain.port.in.QuizSessionUseCase.StartQuizSessionCommand;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.domain.port.out.PartitionedCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("QuizSessionService")
+class QuizSessionServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final UserId alice = UserId.of("alice");
+
+    private MillisClock clock;
+    private GetQuizCardsUseCase getQuizCards;
+    private AnswerCardUseCase answerCard;
+    private PartitionedCardRepository cardRepositories;
+    private CardRepository partition;
+    private QuizSessionService service;
+    private List<Card> quiz;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MillisClock();
+        getQuizCards = mock(GetQuizCardsUseCase.class);
+        answerCard = mock(AnswerCardUseCase.class);
+        cardRepositories = mock(PartitionedCardRepository.class);
+        partition = mock(CardRepository.class);
+        service = new QuizSessionService(getQuizCards, answerCard, cardRepositories, TTL, 2, 3, clock);
+        quiz = IntStream.range(0, 10)
+            .mapToObj(i -> Card.create(alice, CardId.generate(), "Q" + i + "?", "A", null))
+            .toList();
+        when(getQuizCards.execute(any(GetQuizCardsQuery.class))).thenReturn(quiz);
+        when(cardRepositories.forReading(alice)).thenReturn(partition);
+        quiz.forEach(card -> when(partition.findById(card.getId())).thenReturn(Optional.of(card)));
+    }
+
+    private QuizSessionBatch start(UserId owner, int batchSize) {
+        return service.execute(new StartQuizSessionCommand(owner, DAY, batchSize));
+    }
+
+    private QuizSessionBatch start(int batchSize) {
+        return service.execute(new StartQuizSessionCommand(alice, DAY, batchSize));
+    }
+
+    private QuizSessionBatch answer(String sessionId, Card card) {
+        return service.execute(new AnswerInSessionCommand(alice, sessionId, card.getId().getValue(), true));
+    }
+
+    @Nested
+    @DisplayName("Batches")
+    class Batches {
+
+        @Test
+        @DisplayName("should send the first batch and the next one once half a batch is left")
+        void shouldPrefetchNextBatch() {
+            QuizSessionBatch first = start(4);
+
+            assertThat(first.cards()).containsExactlyElementsOf(quiz.subList(0, 4));
+            assertThat(first.remaining()).isEqualTo(10);
+            assertThat(answer(first.sessionId(), quiz.get(0)).cards()).isEmpty();
+            QuizSessionBatch second = answer(first.sessionId(), quiz.get(1));
+
+            assertThat(second.cards()).containsExactlyElementsOf(quiz.subList(4, 8));
+            assertThat(second.remaining()).isEqualTo(8);
+            verify(getQuizCards, times(1)).execute(new GetQuizCardsQuery(alice, DAY));
+            verify(answerCard).execute(new AnswerCardCommand(alice, quiz.get(1).getId().getValue(), true));
+        }
+
+        @Test
+        @DisplayName("should skip a card deleted before its batch is sent")
+        void shouldSkipCardDeletedBeforeItsBatch() {
+            when(partition.findById(quiz.get(5).getId())).thenReturn(Optional.empty());
+            QuizSessionBatch first = start(4);
+
+            answer(first.sessionId(), quiz.get(0));
+            QuizSessionBatch second = answer(first.sessionId(), quiz.get(1));
+
+            assertThat(second.cards()).containsExactly(quiz.get(4), quiz.get(6), quiz.get(7));
+            assertThat(second.remaining()).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("should forget a session once every card is answered")
+        void shouldCompleteSession() {
+            QuizSessionBatch batch = start(20);
+
+            QuizSessionBatch last = null;
+            for (Card card : quiz) {
+                last = answer(batch.sessionId(), card);
+            }
+
+            assertThat(last.isCompleted()).isTrue();
+            assertThat(service.activeSessions()).isZero();
+            assertThatThrownBy(() -> answer(batch.sessionId(), quiz.get(0)))
+                .isInstanceOf(QuizSessionNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should not keep a session for an empty quiz")
+        void shouldNotKeepEmptySession() {
+            when(getQuizCards.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of());
+
+            QuizSessionBatch batch = start(20);
+
+            assertThat(batch.cards()).isEmpty();
+            assertThat(batch.isCompleted()).isTrue();
+            assertThat(service.activeSessions()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Answers")
+    class Answers {
+
+        @Test
+        @DisplayName("should reject a card that was not sent or was already answered")
+        void shouldRejectCardNotAwaitingAnswer() {
+            QuizSessionBatch batch = start(4);
+            answer(batch.sessionId(), quiz.get(0));
+
+            assertThatThrownBy(() -> answer(batch.sessionId(), quiz.get(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> answer(batch.sessionId(), quiz.get(9)))
+                .isInstanceOf(IllegalArgumentException.class);
+            verify(answerCard, times(1)).execute(any(AnswerCardCommand.class));
+        }
+
+        @Test
+        @DisplayName("should hide a session from other users")
+        void shouldHideSessionFromOtherUsers() {
+            QuizSessionBatch batch = start(4);
+
+            assertThatThrownBy(() -> service.execute(new AnswerInSessionCommand(
+                    UserId.of("bob"), batch.sessionId(), quiz.get(0).getId().getValue(), true)))
+                .isInstanceOf(QuizSessionNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should drop a card deleted since the session started")
+        void shouldDropDeletedCard() {
+            QuizSessionBatch batch = start(4);
+            doThrow(new CardNotFoundException(quiz.get(0).getId().getValue()))
+                .when(answerCard).execute(any(AnswerCardCommand.class));
+
+            assertThatThrownBy(() -> answer(batch.sessionId(), quiz.get(0)))
+                .isInstanceOf(CardNotFoundException.class);
+            doNothing().when(answerCard).execute(any(AnswerCardCommand.class));
+
+            assertThat(answer(batch.sessionId(), quiz.get(1)).remaining()).isEqualTo(8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiration")
+    class Expiration {
+
+        @Test
+        @DisplayName("should evict a session idle beyond its TTL and keep an active one")
+        void shouldEvictIdleSession() {
+            QuizSessionBatch idle = start(4);
+            QuizSessionBatch active = start(4);
+
+            clock.advance(TTL.minusMinutes(1));
+            answer(active.sessionId(), quiz.get(0));
+            clock.advance(Duration.ofMinutes(2));
+
+            assertThatThrownBy(() -> answer(idle.sessionId(), quiz.get(0)))
+                .isInstanceOf(QuizSessionNotFoundException.class);
+            assertThat(service.evictExpired()).isEqualTo(1);
+            assertThat(answer(active.sessionId(), quiz.get(1)).remaining()).isEqualTo(8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Limits")
+    class Limits {
+
+        @Test
+        @DisplayName("should forget the oldest session of a user beyond the per-user limit")
+        void shouldForgetOldestSessionOfUser() {
+            QuizSessionBatch oldest = start(4);
+            QuizSessionBatch second = start(4);
+            QuizSessionBatch third = start(4);
+
+            assertThat(service.activeSessions()).isEqualTo(2);
+            assertThatThrownBy(() -> answer(oldest.sessionId(), quiz.get(0)))
+                .isInstanceOf(QuizSessionNotFoundException.class);
+            assertThat(answer(second.sessionId(), quiz.get(0)).remaining()).isEqualTo(9);
+            assertThat(answer(third.sessionId(), quiz.get(0)).remaining()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("should refuse a session beyond the global limit until sessions expire")
+        void shouldRefuseSessionBeyondGlobalLimit() {
+            start(4);
+            start(4);
+            start(UserId.of("bob"), 4);
+
+            assertThatThrownBy(() -> start(UserId.of("carol"), 4))
+                .isInstanceOf(TooManyQuizSessionsException.class);
+
+            clock.advance(TTL);
+
+            assertThat(start(UserId.of("carol"), 4).cards()).hasSize(4);
+            assertThat(service.activeSessions()).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Horloge avancée par le test.
+     */
+    private static final class MillisClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-10T08:00:00Z");
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.exception.CardNotFoundException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.AnswerCardsUseCase.Answer;
+import com.leitner.domain.port.in.AnswerCardsUseCase.AnswerCardsCommand;
+import com.leitner.domain.port.in.GetCardsUseCase.GetCardsQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReactiveCardService - Non-blocking use cases")
+class ReactiveCardServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private AsyncCardRepository cardRepository;
+    private ReactiveCardService service;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository = mock(AsyncCardRepository.class);
+        service = new ReactiveCardService(owner -> cardRepository, CardId::generate, START);
+    }
+
+    @Nested
+    @DisplayName("Streams")
+    class Streams {
+
+        @Test
+        @DisplayName("should read a page only when the subscriber asks for more cards")
+        void shouldReadPagesOnDemand() {
+            List<Card> first = cards(ReactiveCardService.STREAM_PAGE_SIZE);
+            List<Card> second = cards(3);
+            when(cardRepository.findPageAsync(anyList(), isNull(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(new Page<>(first, "next")));
+            when(cardRepository.findPageAsync(anyList(), eq("next"), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(Page.last(second)));
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+
+            service.stream(new GetCardsQuery(List.of())).subscribe(subscriber);
+            assertThat(subscriber.received).isEmpty();
+            verifyNoInteractions(cardRepository);
+
+            subscriber.request(1);
+            assertThat(subscriber.received).containsExactly(first.get(0));
+            verify(cardRepository, times(1)).findPageAsync(anyList(), any(), anyInt());
+
+            subscriber.request(ReactiveCardService.STREAM_PAGE_SIZE - 1);
+            verify(cardRepository, never()).findPageAsync(anyList(), eq("next"), anyInt());
+
+            subscriber.request(Long.MAX_VALUE);
+            assertThat(subscriber.received).hasSize(first.size() + second.size()).endsWith(second.get(2));
+            assertThat(subscriber.completed).isTrue();
+        }
+
+        @Test
+        @DisplayName("should emit cards of a page read later, and stop after cancel")
+        void shouldEmitAsynchronousPagesAndStopOnCancel() {
+            CompletableFuture<Page<Card>> pending = new CompletableFuture<>();
+            when(cardRepository.findPageAsync(anyList(), isNull(), anyInt())).thenReturn(pending);
+            List<Card> page = cards(2);
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+
+            service.stream(new GetCardsQuery(List.of())).subscribe(subscriber);
+            subscriber.request(1);
+            assertThat(subscriber.received).isEmpty();
+
+            pending.complete(new Page<>(page, "next"));
+            assertThat(subscriber.received).containsExactly(page.get(0));
+
+            subscriber.subscription.cancel();
+            subscriber.request(10);
+            assertThat(subscriber.received).containsExactly(page.get(0));
+            verify(cardRepository, never()).findPageAsync(anyList(), eq("next"), anyInt());
+            assertThat(subscriber.completed).isFalse();
+        }
+
+        @Test
+        @DisplayName("should signal a failed page read to the subscriber")
+        void shouldSignalReadFailure() {
+            when(cardRepository.findPageAsync(anyList(), isNull(), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("disk")));
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+
+            service.stream(new GetCardsQuery(List.of())).subscribe(subscriber);
+            subscriber.request(1);
+
+            assertThat(subscriber.error).isInstanceOf(IllegalStateException.class).hasMessage("disk");
+        }
+    }
+
+    @Nested
+    @DisplayName("Quiz and answers")
+    class QuizAndAnswers {
+
+        @Test
+        @DisplayName("should keep only quiz cards in a page and keep the repository cursor")
+        void shouldFilterQuizPage() {
+            LocalDate quizDate = START.plusDays(1);
+            Card due = Card.reconstitute(CardId.generate(), "Q?", "A", "T", Category.FIRST, null);
+            Card notScheduled = Card.reconstitute(CardId.generate(), "Q?", "A", "T", Category.THIRD, START);
+            when(cardRepository.findDuePageAsync(eq(quizDate), isNull(), eq(10)))
+                .thenReturn(CompletableFuture.completedFuture(new Page<>(List.of(due, notScheduled), "next")));
+
+            Page<Card> page = service.execute(new GetQuizCardsPageQuery(quizDate, null, 10)).join();
+
+            assertThat(page.items()).containsExactly(due);
+            assertThat(page.nextCursor()).isEqualTo("next");
+        }
+
+        @Test
+        @DisplayName("should apply no answer when one of the cards does not exist")
+        void shouldRejectBatchWithUnknownCard() {
+            CardId known = CardId.generate();
+            CardId unknown = CardId.generate();
+            when(cardRepository.existsByIdAsync(known)).thenReturn(CompletableFuture.completedFuture(true));
+            when(cardRepository.existsByIdAsync(unknown)).thenReturn(CompletableFuture.completedFuture(false));
+            LocalDateTime now = LocalDateTime.now();
+
+            CompletableFuture<Void> result = service.execute(new AnswerCardsCommand(UserId.DEFAULT, List.of(
+                new Answer(known.getValue(), true, now),
+                new Answer(unknown.getValue(), true, now))));
+
+            assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CardNotFoundException.class);
+            verify(cardRepository, never()).updateAsync(any(CardId.class), any());
+        }
+
+        @Test
+        @DisplayName("should complete an answer once the card update is durable")
+        @SuppressWarnings("unchecked")
+        void shouldCompleteAnswerAfterUpdate() {
+            Card card = Card.create(CardId.generate(), "Q?", "A", "T");
+            CompletableFuture<Optional<Card>> durable = new CompletableFuture<>();
+            when(cardRepository.updateAsync(eq(card.getId()), any(UnaryOperator.class))).thenReturn(durable);
+
+            CompletableFuture<Void> result = service.execute(
+                new AnswerCardCommand(card.getId().getValue(), true));
+
+            assertThat(result).isNotDone();
+            durable.complete(Optional.of(card));
+            assertThat(result).isCompleted();
+        }
+    }
+
+    private static List<Card> cards(int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.create(CardId.generate(), "Q" + i, "A", "T"));
+        }
+        return cards;
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Card> {
+
+        private final List<Card> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Card card) {
+            received.add(card);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.leitner.domain.service;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.out.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReviewScheduler")
+class ReviewSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 10);
+
+    private final UserId alice = UserId.of("alice");
+
+    private final List<Card> stored = new ArrayList<>();
+    private DayClock clock;
+    private GetQuizCardsUseCase delegate;
+    private CardRepository partition;
+    private ReviewScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new DayClock(TODAY);
+        delegate = mock(GetQuizCardsUseCase.class);
+        partition = mock(CardRepository.class);
+        when(partition.stream(List.of())).thenAnswer(invocation -> List.copyOf(stored).stream());
+        when(partition.findById(any())).thenAnswer(invocation -> stored.stream()
+            .filter(card -> card.getId().equals(invocation.getArgument(0)))
+            .findFirst());
+        scheduler = new ReviewScheduler(delegate, owner -> partition, clock);
+    }
+
+    private Card card(Category category, LocalDate lastAnswerDate, long version) {
+        return Card.reconstitute(alice, CardId.generate(), "Q?", "A", null, category, lastAnswerDate, version);
+    }
+
+    private Card answered(Card card, Category category, LocalDate date) {
+        return Card.reconstitute(alice, card.getId(), "Q?", "A", null, category, date, card.getVersion() + 1);
+    }
+
+    /**
+     * Enregistre la carte dans la partition, puis signale le changement.
+     */
+    private void save(Card card) {
+        stored.removeIf(existing -> existing.getId().equals(card.getId()));
+        stored.add(card);
+        scheduler.cardSaved(card);
+    }
+
+    private List<Card> quizOn(LocalDate date) {
+        return scheduler.execute(new GetQuizCardsQuery(alice, date));
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("should read the partition once and serve today's quiz from the wheel")
+        void shouldServeTodayFromWheel() {
+            Card fresh = card(Category.FIRST, null, 1);
+            Card reviewed = card(Category.SECOND, TODAY.minusDays(2), 1);
+            Card later = card(Category.THIRD, TODAY, 1);
+            Card done = card(Category.DONE, TODAY.minusDays(100), 1);
+            stored.addAll(List.of(fresh, reviewed, later, done));
+
+            assertThat(quizOn(TODAY)).containsExactly(fresh, reviewed);
+            assertThat(quizOn(TODAY)).containsExactly(fresh, reviewed);
+
+            verify(partition, times(1)).stream(List.of());
+            verifyNoInteractions(delegate);
+            assertThat(scheduler.scheduledCount(alice)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should delegate other dates without filling the wheel")
+        void shouldDelegateOtherDates() {
+            when(delegate.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of());
+
+            quizOn(TODAY.plusDays(3));
+
+            verify(delegate).execute(new GetQuizCardsQuery(alice, TODAY.plusDays(3)));
+            verifyNoInteractions(partition);
+            assertThat(scheduler.scheduledCount(alice)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Scheduling")
+    class Scheduling {
+
+        @Test
+        @DisplayName("should move an answered card to the bucket of its next review day")
+        void shouldRescheduleAnsweredCard() {
+            Card card = card(Category.FIRST, null, 1);
+            stored.add(card);
+            quizOn(TODAY);
+
+            Card promoted = answered(card, Category.SECOND, TODAY);
+            save(promoted);
+            Card created = card(Category.FIRST, null, 1);
+            save(created);
+
+            assertThat(quizOn(TODAY)).containsExactly(created);
+            clock.set(TODAY.plusDays(1));
+            scheduler.rollOver();
+            assertThat(quizOn(TODAY.plusDays(1))).containsExactly(created);
+            clock.set(TODAY.plusDays(2));
+            scheduler.rollOver();
+            assertThat(quizOn(TODAY.plusDays(2))).containsExactly(created, promoted);
+            verify(partition, times(1)).findById(promoted.getId());
+            verify(partition, never()).findById(created.getId());
+        }
+
+        @Test
+        @DisplayName("should cascade far review days through the wheel levels")
+        void shouldCascadeFarReviewDays() {
+            Card nextYear = card(Category.FIRST, TODAY.plusDays(400), 1);
+            Card nextDecades = card(Category.FIRST, TODAY.plusDays(9000), 1);
+            stored.addAll(List.of(nextYear, nextDecades));
+            quizOn(TODAY);
+
+            LocalDate day = TODAY;
+            List<LocalDate> dueDays = new ArrayList<>();
+            while (day.isBefore(TODAY.plusDays(9002))) {
+                day = day.plusDays(1);
+                clock.set(day);
+                scheduler.rollOver();
+                if (quizOn(day).size() > dueDays.size()) {
+                    dueDays.add(day);
+                }
+            }
+
+            assertThat(dueDays).containsExactly(TODAY.plusDays(401), TODAY.plusDays(9001));
+            assertThat(scheduler.scheduledCount(alice)).isEqualTo(2);
+            verifyNoInteractions(delegate);
+        }
+
+        @Test
+        @DisplayName("should advance a wheel on read when the rollover has not run yet")
+        void shouldAdvanceOnRead() {
+            Card card = card(Category.FIRST, TODAY, 1);
+            stored.add(card);
+            quizOn(TODAY);
+
+            clock.set(TODAY.plusDays(1));
+
+            assertThat(quizOn(TODAY.plusDays(1))).containsExactly(card);
+        }
+
+        @Test
+        @DisplayName("should drop learned, deleted and stale changes")
+        void shouldDropLearnedDeletedAndStaleChanges() {
+            Card learned = card(Category.SEVENTH, null, 1);
+            Card deleted = card(Category.FIRST, null, 1);
+            Card raced = card(Category.FIRST, null, 1);
+            stored.addAll(List.of(learned, deleted, raced));
+            quizOn(TODAY);
+
+            scheduler.cardSaved(answered(learned, Category.DONE, TODAY));
+            scheduler.cardDeleted(alice, deleted.getId());
+            scheduler.cardSaved(deleted);
+            Card promoted = answered(raced, Category.SECOND, TODAY);
+            scheduler.cardSaved(promoted);
+            scheduler.cardSaved(raced);
+
+            assertThat(quizOn(TODAY)).isEmpty();
+            assertThat(scheduler.scheduledCount(alice)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should refill the wheel after the partition is discarded")
+        void shouldRefillAfterDiscard() {
+            quizOn(TODAY);
+            Card reloaded = card(Category.FIRST, null, 1);
+            stored.add(reloaded);
+
+            scheduler.partitionDiscarded(alice);
+
+            assertThat(quizOn(TODAY)).containsExactly(reloaded);
+            verify(partition, times(2)).stream(List.of());
+        }
+
+        @Test
+        @DisplayName("should accept changes while the wheel is being filled, then replay them")
+        void shouldReplayChangesDuringFill() {
+            Card answered = card(Category.FIRST, null, 1);
+            Card deleted = card(Category.FIRST, null, 1);
+            stored.addAll(List.of(answered, deleted));
+            Card promoted = answered(answered, Category.SECOND, TODAY);
+            Card created = card(Category.FIRST, null, 1);
+            when(partition.stream(List.of())).thenAnswer(invocation -> {
+                List<Card> cards = List.copyOf(stored);
+                // Le thread d'écriture signale ses changements pendant la lecture sans attendre la roue
+                CompletableFuture.runAsync(() -> {
+                    save(promoted);
+                    save(created);
+                    scheduler.cardDeleted(alice, deleted.getId());
+                }).get(5, TimeUnit.SECONDS);
+                return cards.stream();
+            });
+
+            assertThat(quizOn(TODAY)).containsExactly(created);
+            assertThat(scheduler.scheduledCount(alice)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should forget deleted cards after two rollovers")
+        void shouldPurgeDeletedCards() {
+            Card card = card(Category.FIRST, null, 1);
+            stored.add(card);
+            quizOn(TODAY);
+            scheduler.cardDeleted(alice, card.getId());
+
+            scheduler.cardSaved(card);
+            clock.set(TODAY.plusDays(1));
+            scheduler.rollOver();
+            scheduler.cardSaved(card);
+            assertThat(quizOn(TODAY.plusDays(1))).isEmpty();
+
+            clock.set(TODAY.plusDays(2));
+            scheduler.rollOver();
+            scheduler.cardSaved(card);
+            assertThat(quizOn(TODAY.plusDays(2))).containsExactly(card);
+        }
+
+        @Test
+        @DisplayName("should forget the wheels of users who stopped reading their quiz")
+        void shouldExpireIdleWheels() {
+            stored.add(card(Category.FIRST, null, 1));
+            quizOn(TODAY);
+
+            for (int day = 1; day <= ReviewScheduler.DEFAULT_IDLE_DAYS; day++) {
+                clock.set(TODAY.plusDays(day));
+                scheduler.rollOver();
+            }
+            assertThat(scheduler.wheelCount()).isEqualTo(1);
+
+            clock.set(TODAY.plusDays(ReviewScheduler.DEFAULT_IDLE_DAYS + 1));
+            scheduler.rollOver();
+            assertThat(scheduler.wheelCount()).isZero();
+            assertThat(scheduler.scheduledCount(alice)).isZero();
+        }
+    }
+
+    /**
+     * Horloge dont le jour est fixé par le test.
+     */
+    private static final class DayClock extends Clock {
+
+        private Instant instant;
+
+        private DayClock(LocalDate day) {
+            set(day);
+        }
+
+        private void set(LocalDate day) {
+            instant = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.leitner.infrastructure.adapter.in.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.leitner.domain.model.Card;
 import com.leitner.domain.model.CardId;
 import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
 import com.leitner.domain.port.out.CardRepository;
 import com.leitner.infrastructure.adapter.in.rest.dto.AnswerRequest;
+import com.leitner.infrastructure.adapter.in.rest.dto.BatchAnswerRequest;
+import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
 import com.leitner.infrastructure.adapter.in.rest.dto.CreateCardRequest;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,10 +21,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,14 +45,18 @@ class CardControllerIntegrationTest {
     private ObjectMapper objectMapper;
 
     @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private PerUserCardRepository partitions;
+
     private CardRepository cardRepository;
 
     @BeforeEach
     void setUp() {
         // Clear repository before each test
-        if (cardRepository instanceof com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository inMemoryRepo) {
-            inMemoryRepo.clear();
-        }
+        partitions.clear();
+        cardRepository = partitions.forUser(UserId.DEFAULT);
     }
 
     @Nested
@@ -163,6 +177,119 @@ class CardControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /tags")
+    class GetTags {
+
+        @Test
+        @DisplayName("should list used tags with their card counts, sorted by name")
+        void shouldListTagsWithCounts() throws Exception {
+            // Given
+            cardRepository.save(Card.create("Q1?", "A1", "Java"));
+            cardRepository.save(Card.create("Q2?", "A2", "Python"));
+            cardRepository.save(Card.create("Q3?", "A3", "Java"));
+            cardRepository.save(Card.create("Q4?", "A4", null));
+            Card removed = cardRepository.save(Card.create("Q5?", "A5", "Rust"));
+            cardRepository.deleteById(removed.getId());
+
+            // When & Then
+            mockMvc.perform(get("/tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].tag").value("Java"))
+                .andExpect(jsonPath("$[0].cardCount").value(2))
+                .andExpect(jsonPath("$[1].tag").value("Python"))
+                .andExpect(jsonPath("$[1].cardCount").value(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /cards as NDJSON")
+    class GetCardsNdjson {
+
+        @Test
+        @DisplayName("should stream one JSON card per line")
+        void shouldStreamOneCardPerLine() throws Exception {
+            cardRepository.save(Card.create("Q1?", "A1", "Java"));
+            cardRepository.save(Card.create("Q2?", "A2", "Python"));
+            cardRepository.save(Card.create("Q3?", "A3", "Java"));
+
+            MvcResult result = mockMvc.perform(get("/cards")
+                    .param("tags", "Java")
+                    .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertThat(body).endsWith("\n");
+            assertThat(lines).hasSize(2);
+            for (String line : lines) {
+                assertThat(objectMapper.readValue(line, CardDTO.class).tag()).isEqualTo("Java");
+            }
+        }
+
+        @Test
+        @DisplayName("should keep JSON array as default representation")
+        void shouldKeepJsonArrayAsDefault() throws Exception {
+            cardRepository.save(Card.create("Q?", "A", null));
+
+            mockMvc.perform(get("/cards").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /cards with pagination")
+    class GetCardsPaginated {
+
+        @Test
+        @DisplayName("should return a page and the next cursor header")
+        void shouldReturnPageAndNextCursor() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                cardRepository.save(Card.create("Q" + i + "?", "A", null));
+            }
+
+            String cursor = mockMvc.perform(get("/cards").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+            mockMvc.perform(get("/cards").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        }
+
+        @Test
+        @DisplayName("should page through quiz cards")
+        void shouldPageThroughQuizCards() throws Exception {
+            cardRepository.save(Card.create("Q1?", "A1", null));
+            cardRepository.save(Card.create("Q2?", "A2", null));
+
+            mockMvc.perform(get("/cards/quizz").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().exists("X-Next-Cursor"));
+        }
+
+        @Test
+        @DisplayName("should return 400 when limit is out of bounds")
+        void shouldReturn400WhenLimitOutOfBounds() throws Exception {
+            mockMvc.perform(get("/cards").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/cards").param("limit", "abc"))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /cards/quizz")
     class GetQuizCards {
@@ -206,6 +333,198 @@ class CardControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Binary representations")
+    class BinaryRepresentations {
+
+        @Test
+        @DisplayName("should list cards as CBOR when asked")
+        void shouldListCardsAsCbor() throws Exception {
+            cardRepository.save(Card.create("What is CBOR?", "Concise Binary Object Representation", null));
+
+            byte[] body = mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("Accept"))))
+                .andReturn().getResponse().getContentAsByteArray();
+
+            CardDTO[] cards = new CBORMapper().readValue(body, CardDTO[].class);
+            assertThat(cards).extracting(CardDTO::question).containsExactly("What is CBOR?");
+        }
+
+        @Test
+        @DisplayName("should encode CBOR with the JSON field names and date format")
+        void shouldEncodeCborLikeJson() throws Exception {
+            cardRepository.save(Card.create("What is CBOR?", "Concise Binary Object Representation", "Formats"));
+            ObjectMapper cbor = cborConverter.getObjectMapper();
+
+            byte[] json = mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+            byte[] body = mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+            BatchAnswerRequest.Entry answer =
+                new BatchAnswerRequest.Entry("card-1", true, LocalDateTime.of(2024, 1, 15, 9, 30));
+
+            assertThat(cbor.readTree(body)).isEqualTo(objectMapper.readTree(json));
+            assertThat(cbor.readTree(cbor.writeValueAsBytes(answer)))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(answer)));
+            assertThat(cbor.readTree(cbor.writeValueAsBytes(answer)).get("answeredAt").asText())
+                .isEqualTo("2024-01-15T09:30:00");
+        }
+
+        @Test
+        @DisplayName("should create a card from a Smile body and answer in Smile")
+        void shouldCreateCardFromSmile() throws Exception {
+            SmileMapper smile = new SmileMapper();
+            MediaType smileType = MediaType.parseMediaType("application/x-jackson-smile");
+
+            byte[] body = mockMvc.perform(post("/cards")
+                    .contentType(smileType)
+                    .accept(smileType)
+                    .content(smile.writeValueAsBytes(new CreateCardRequest("What is Smile?", "Binary JSON", "Formats"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(smileType))
+                .andReturn().getResponse().getContentAsByteArray();
+
+            CardDTO card = smile.readValue(body, CardDTO.class);
+            assertThat(card.tag()).isEqualTo("Formats");
+            assertThat(cardRepository.findById(CardId.of(card.id()))).isPresent();
+        }
+
+        @Test
+        @DisplayName("should keep JSON as the default representation")
+        void shouldDefaultToJson() throws Exception {
+            cardRepository.save(Card.create("Q?", "A", null));
+
+            mockMvc.perform(get("/cards/quizz").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET")
+    class ConditionalGet {
+
+        @Test
+        @DisplayName("should answer 304 to a matching If-None-Match until a card changes")
+        void shouldReturn304UntilCardsChange() throws Exception {
+            Card card = cardRepository.save(Card.create("Q?", "A", null));
+
+            String eTag = mockMvc.perform(get("/cards"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("X-User-Id"))))
+                .andReturn().getResponse().getHeader("ETag");
+            assertThat(eTag).startsWith("\"").endsWith("\"");
+
+            mockMvc.perform(get("/cards").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+            mockMvc.perform(patch("/cards/" + card.getId().getValue() + "/answer")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new AnswerRequest(true))))
+                .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/cards").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$[0].category").value("SECOND"));
+        }
+
+        @Test
+        @DisplayName("should tie the quiz ETag to the quiz date")
+        void shouldTieQuizETagToDate() throws Exception {
+            cardRepository.save(Card.create("Q?", "A", null));
+
+            String eTag = mockMvc.perform(get("/cards/quizz").param("date", "2024-01-15"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/cards/quizz").param("date", "2024-01-15").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+            mockMvc.perform(get("/cards/quizz").param("date", "2024-01-16").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("should give each representation its own ETag")
+        void shouldKeepETagsPerRepresentation() throws Exception {
+            cardRepository.save(Card.create("Q?", "A", null));
+
+            String json = mockMvc.perform(get("/cards"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+            String cbor = mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+
+            assertThat(cbor).isNotEqualTo(json);
+            mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", cbor));
+            mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cbor))
+                .andExpect(status().isNotModified());
+            mockMvc.perform(get("/cards").accept("application/x-jackson-smile").header("If-None-Match", cbor))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(anyOf(equalTo(json), equalTo(cbor)))));
+        }
+
+        @Test
+        @DisplayName("should tag the representation Spring MVC negotiated")
+        void shouldTagNegotiatedRepresentation() throws Exception {
+            cardRepository.save(Card.create("Q?", "A", null));
+            String accept = "application/cbor;q=0.5, application/x-jackson-smile;q=0.9";
+
+            String smile = mockMvc.perform(get("/cards").header("Accept", accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getHeader("ETag");
+
+            assertThat(smile).endsWith("-x-jackson-smile\"");
+            mockMvc.perform(get("/cards").header("Accept", accept).header("If-None-Match", smile))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("should answer 304 to a matching If-None-Match on the NDJSON stream")
+        void shouldReturn304OnNdjsonStream() throws Exception {
+            cardRepository.save(Card.create("Q?", "A", null));
+
+            String eTag = mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+            String json = mockMvc.perform(get("/cards"))
+                .andReturn().getResponse().getHeader("ETag");
+
+            assertThat(eTag).isNotNull().isNotEqualTo(json);
+            mockMvc.perform(get("/cards").accept(MediaType.APPLICATION_NDJSON).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("should not share ETags between users")
+        void shouldKeepETagsPerUser() throws Exception {
+            String eTag = mockMvc.perform(get("/cards").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(post("/cards")
+                    .header("X-User-Id", "alice")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CreateCardRequest("Q?", "A", null))))
+                .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/cards").param("limit", "10").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        }
+    }
+
     @Nested
     @DisplayName("PATCH /cards/{cardId}/answer")
     class AnswerCard {
@@ -292,4 +611,181 @@ class CardControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
         }
     }
+
+    @Nested
+    @DisplayName("PATCH /cards/answers")
+    class AnswerCards {
+
+        @Test
+        @DisplayName("should apply a batch of timestamped answers")
+        void shouldApplyBatchOfAnswers() throws Exception {
+            Card card = cardRepository.save(Card.create("Q?", "A", null));
+            String json = """
+                {"answers": [
+                  {"cardId": "%1$s", "isValid": true, "answeredAt": "2024-01-10T09:05:00"},
+                  {"cardId": "%1$s", "isValid": true, "answeredAt": "2024-01-10T09:00:00"}
+                ]}
+                """.formatted(card.getId().getValue());
+
+            mockMvc.perform(patch("/cards/answers")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json))
+                .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/cards"))
+                .andExpect(jsonPath("$[0].category").value("THIRD"));
+        }
+
+        @Test
+        @DisplayName("should return 404 when a card is unknown")
+        void shouldReturn404WhenCardUnknown() throws Exception {
+            String json = "{\"answers\": [{\"cardId\": \"unknown\", \"isValid\": true}]}";
+
+            mockMvc.perform(patch("/cards/answers")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json))
+                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("should return 400 when an answer has no isValid")
+        void shouldReturn400WhenIsValidMissing() throws Exception {
+            String json = "{\"answers\": [{\"cardId\": \"card-1\"}]}";
+
+            mockMvc.perform(patch("/cards/answers")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /cards/bulk")
+    class ImportCards {
+
+        @Test
+        @DisplayName("should import CSV rows and report rejected ones")
+        void shouldImportCsv() throws Exception {
+            String csv = "question,answer,tag\nQ1?,A1,Java\n,A2,Java\n\"Q3, quoted?\",A3\n";
+
+            mockMvc.perform(post("/cards/bulk")
+                    .contentType("text/csv")
+                    .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Question is required"));
+
+            mockMvc.perform(get("/cards").param("tags", "Java"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("should import NDJSON rows and report invalid JSON lines")
+        void shouldImportNdjson() throws Exception {
+            String ndjson = """
+                {"question": "Q1?", "answer": "A1", "tag": "Java"}
+                {"question": "Q2?", "answer":
+                {"question": "Q3?", "answer": "A3"}
+                """;
+
+            mockMvc.perform(post("/cards/bulk")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+
+            mockMvc.perform(get("/cards"))
+                .andExpect(jsonPath("$", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("should reject an NDJSON line longer than a CSV record, like the CSV import")
+        void shouldRejectOversizedNdjsonLine() throws Exception {
+            String ndjson = "{\"question\": \"Q1?\", \"answer\": \"A1\"}\r\n"
+                + "{\"question\": \"" + "x".repeat(70_000) + "\", \"answer\": \"A2\"}\n"
+                + "{\"question\": \"Q3?\", \"answer\": \"A3\"}";
+
+            mockMvc.perform(post("/cards/bulk")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Record exceeds 65536 characters"));
+        }
+    }
+
+    @Nested
+    @DisplayName("X-User-Id partitions")
+    class UserPartitions {
+
+        @Test
+        @DisplayName("should only list, quiz and answer the cards of the requesting user")
+        void shouldIsolateUsers() throws Exception {
+            Card bobCard = partitions.forUser(UserId.of("bob")).save(Card.create("Q?", "A", "Java"));
+            cardRepository.save(Card.create("Default?", "A", "Java"));
+
+            mockMvc.perform(get("/cards").header("X-User-Id", "alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get("/cards/quizz").header("X-User-Id", "bob"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(bobCard.getId().getValue()));
+            mockMvc.perform(get("/tags").header("X-User-Id", "bob"))
+                .andExpect(jsonPath("$[0].cardCount").value(1));
+            mockMvc.perform(patch("/cards/{cardId}/answer", bobCard.getId().getValue())
+                    .header("X-User-Id", "alice")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new AnswerRequest(true))))
+                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("should create cards in the partition named by the header")
+        void shouldCreateInHeaderPartition() throws Exception {
+            mockMvc.perform(post("/cards")
+                    .header("X-User-Id", "alice")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CreateCardRequest("Q?", "A", null))))
+                .andExpect(status().isCreated());
+
+            assertThat(partitions.forUser(UserId.of("alice")).findAll()).hasSize(1);
+            assertThat(cardRepository.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should not open a partition to read or answer the cards of an unknown user")
+        void shouldNotOpenPartitionForReads() throws Exception {
+            int before = partitions.partitionCount();
+
+            mockMvc.perform(get("/cards").header("X-User-Id", "stranger"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get("/cards/quizz").header("X-User-Id", "stranger"))
+                .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(patch("/cards/{cardId}/answer", CardId.generate().getValue())
+                    .header("X-User-Id", "stranger")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new AnswerRequest(true))))
+                .andExpect(status().isNotFound());
+
+            assertThat(partitions.partitionCount()).isEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("should return 400 for a user id too long or with invalid characters")
+        void shouldRejectInvalidUserId() throws Exception {
+            mockMvc.perform(get("/cards").header("X-User-Id", "a".repeat(65)))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/cards").header("X-User-Id", "../alice"))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/cards").header("X-User-Id", "alice.smith@example.com"))
+                .andExpect(status().isOk());
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.in.rest.dto.SessionAnswerRequest;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("QuizSessionController Integration Tests")
+class QuizSessionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PerUserCardRepository partitions;
+
+    private CardRepository cardRepository;
+
+    @BeforeEach
+    void setUp() {
+        partitions.clear();
+        cardRepository = partitions.forUser(UserId.DEFAULT);
+    }
+
+    private ResultActions answer(String sessionId, String cardId) throws Exception {
+        return mockMvc.perform(post("/quiz-sessions/{sessionId}/answers", sessionId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new SessionAnswerRequest(cardId, true))));
+    }
+
+    @Nested
+    @DisplayName("POST /quiz-sessions")
+    class StartSession {
+
+        @Test
+        @DisplayName("should return 201 with the session id and the first batch")
+        void shouldStartSession() throws Exception {
+            cardRepository.save(Card.create(CardId.generate(), "Q1?", "A", null));
+            cardRepository.save(Card.create(CardId.generate(), "Q2?", "A", null));
+            cardRepository.save(Card.create(CardId.generate(), "Q3?", "A", null));
+
+            mockMvc.perform(post("/quiz-sessions").param("batchSize", "2"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.sessionId").isNotEmpty())
+                .andExpect(jsonPath("$.cards.length()").value(2))
+                .andExpect(jsonPath("$.remaining").value(3));
+        }
+
+        @Test
+        @DisplayName("should return 400 for a batch size out of bounds")
+        void shouldRejectInvalidBatchSize() throws Exception {
+            mockMvc.perform(post("/quiz-sessions").param("batchSize", "0"))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /quiz-sessions/{sessionId}/answers")
+    class Answer {
+
+        @Test
+        @DisplayName("should record the answer and return the next batch")
+        void shouldAnswerAndReturnNextBatch() throws Exception {
+            cardRepository.save(Card.create(CardId.generate(), "Q1?", "A", null));
+            cardRepository.save(Card.create(CardId.generate(), "Q2?", "A", null));
+            cardRepository.save(Card.create(CardId.generate(), "Q3?", "A", null));
+            JsonNode session = objectMapper.readTree(mockMvc.perform(post("/quiz-sessions").param("batchSize", "1"))
+                .andReturn().getResponse().getContentAsString());
+            String sessionId = session.get("sessionId").asText();
+            String cardId = session.get("cards").get(0).get("id").asText();
+
+            answer(sessionId, cardId)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessionId").value(sessionId))
+                .andExpect(jsonPath("$.cards.length()").value(1))
+                .andExpect(jsonPath("$.remaining").value(2));
+
+            Card answered = cardRepository.findById(CardId.of(cardId)).orElseThrow();
+            assertThat(answered.getCategory()).isEqualTo(Category.SECOND);
+        }
+
+        @Test
+        @DisplayName("should return 400 for a card that is not awaiting an answer")
+        void shouldRejectUnsentCard() throws Exception {
+            Card one = cardRepository.save(Card.create(CardId.generate(), "Q1?", "A", null));
+            Card other = cardRepository.save(Card.create(CardId.generate(), "Q2?", "A", null));
+            JsonNode session = objectMapper.readTree(mockMvc.perform(post("/quiz-sessions").param("batchSize", "1"))
+                .andReturn().getResponse().getContentAsString());
+            String sentId = session.get("cards").get(0).get("id").asText();
+            Card unsent = sentId.equals(one.getId().getValue()) ? other : one;
+
+            answer(session.get("sessionId").asText(), unsent.getId().getValue())
+                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("should return 404 for an unknown session")
+        void shouldReturn404ForUnknownSession() throws Exception {
+            answer("unknown", CardId.generate().getValue())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.sessionId").value("unknown"));
+        }
+    }
+}
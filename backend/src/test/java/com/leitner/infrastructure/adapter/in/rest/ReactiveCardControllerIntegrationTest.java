@@ -0,0 +1,222 @@
+package com.leitner.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.in.rest.dto.CardDTO;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+@DisplayName("ReactiveCardController Integration Tests")
+class ReactiveCardControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private PerUserCardRepository partitions;
+
+    private CardRepository cardRepository;
+
+    @BeforeEach
+    void setUp() {
+        partitions.clear();
+        cardRepository = partitions.forUser(UserId.DEFAULT);
+    }
+
+    @Nested
+    @DisplayName("Cards")
+    class Cards {
+
+        @Test
+        @DisplayName("should create a card, then list it for its user only")
+        void shouldCreateAndListCard() {
+            client.post().uri("/cards")
+                .header(CardController.USER_ID_HEADER, "alice")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\": \"What is SOLID?\", \"answer\": \"Five principles\", \"tag\": \"OOP\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.category").isEqualTo("FIRST");
+
+            client.get().uri("/cards?tags=OOP").header(CardController.USER_ID_HEADER, "alice")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+            client.get().uri("/cards").exchange()
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+            client.get().uri("/tags").header(CardController.USER_ID_HEADER, "alice")
+                .exchange()
+                .expectBody().jsonPath("$[0].tag").isEqualTo("OOP");
+        }
+
+        @Test
+        @DisplayName("should return 400 when question is missing")
+        void shouldRejectInvalidCard() {
+            client.post().uri("/cards")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"answer\": \"A\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.question").isNotEmpty();
+        }
+
+        @Test
+        @DisplayName("should return a page and the next cursor header")
+        void shouldReturnPage() {
+            saveCards(3);
+
+            client.get().uri("/cards?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(CardController.NEXT_CURSOR_HEADER)
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+            client.get().uri("/cards?limit=5000")
+                .exchange()
+                .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("should stream every card as NDJSON, across several repository pages")
+        void shouldStreamNdjson() {
+            int count = 600;
+            saveCards(count);
+
+            Flux<CardDTO> cards = client.get().uri("/cards")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(CardDTO.class)
+                .getResponseBody();
+
+            StepVerifier.create(cards, 10)
+                .expectNextCount(10)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(count - 10)
+                .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should list cards as CBOR and keep JSON as the default")
+        void shouldListCardsAsCbor() throws Exception {
+            saveCards(3);
+
+            byte[] body = client.get().uri("/cards")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody().returnResult().getResponseBody();
+            assertThat(new CBORMapper().readValue(body, CardDTO[].class)).hasSize(3);
+
+            client.get().uri("/cards")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+        }
+    }
+
+    @Nested
+    @DisplayName("Quiz and answers")
+    class QuizAndAnswers {
+
+        @Test
+        @DisplayName("should answer a quiz card and return 404 for an unknown card")
+        void shouldAnswerQuizCard() {
+            Card card = cardRepository.save(Card.create("Q?", "A", "Java"));
+
+            client.get().uri("/cards/quizz")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].id").isEqualTo(card.getId().getValue());
+
+            client.patch().uri("/cards/{id}/answer", card.getId().getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"isValid\": true}")
+                .exchange()
+                .expectStatus().isNoContent();
+            assertThat(cardRepository.findById(card.getId())).get()
+                .extracting(Card::getCategory).isEqualTo(Category.SECOND);
+
+            client.patch().uri("/cards/{id}/answer", CardId.generate().getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"isValid\": true}")
+                .exchange()
+                .expectStatus().isNotFound();
+        }
+
+        @Test
+        @DisplayName("should apply a batch of answers only when every card exists")
+        void shouldAnswerBatch() {
+            Card card = cardRepository.save(Card.create("Q?", "A", "Java"));
+            String batch = """
+                {"answers": [
+                  {"cardId": "%s", "isValid": true, "answeredAt": "2024-01-02T10:00:00"},
+                  {"cardId": "%s", "isValid": true, "answeredAt": "2024-01-02T10:00:00"}
+                ]}
+                """;
+
+            client.patch().uri("/cards/answers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch.formatted(card.getId().getValue(), CardId.generate().getValue()))
+                .exchange()
+                .expectStatus().isNotFound();
+            assertThat(cardRepository.findById(card.getId())).get()
+                .extracting(Card::getCategory).isEqualTo(Category.FIRST);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /cards/bulk")
+    class ImportCards {
+
+        @Test
+        @DisplayName("should import CSV rows and report rejected ones")
+        void shouldImportCsv() {
+            client.post().uri("/cards/bulk")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("question,answer,tag\nQ1?,A1,Java\n,A2,Java\n\"Q3, quoted?\",A3\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.imported").isEqualTo(2)
+                .jsonPath("$.rejected").isEqualTo(1)
+                .jsonPath("$.errors[0].line").isEqualTo(3);
+
+            assertThat(cardRepository.findAll()).hasSize(2);
+        }
+    }
+
+    private void saveCards(int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.create("Q" + i + "?", "A", "Java"));
+        }
+        cardRepository.saveAll(cards);
+    }
+}
@@ -0,0 +1,71 @@
+package com.leitner.infrastructure.adapter.in.rest.bulk;
+
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CsvImportRows")
+class CsvImportRowsTest {
+
+    @Test
+    @DisplayName("should read rows and skip the header")
+    void shouldReadRowsAndSkipHeader() {
+        List<ImportRow> rows = read("question,answer,tag\nQ1?,A1,Java\r\nQ2?,A2\n");
+
+        assertThat(rows).containsExactly(
+            ImportRow.of(2, "Q1?", "A1", "Java"),
+            ImportRow.of(3, "Q2?", "A2", null)
+        );
+    }
+
+    @Test
+    @DisplayName("should handle quoted fields with commas, quotes and newlines")
+    void shouldHandleQuotedFields() {
+        List<ImportRow> rows = read("\"What is \"\"DDD\"\"?\",\"Domain,\nDriven\",\nQ2?,A2,Tag\n");
+
+        assertThat(rows).containsExactly(
+            ImportRow.of(1, "What is \"DDD\"?", "Domain,\nDriven", null),
+            ImportRow.of(3, "Q2?", "A2", "Tag")
+        );
+    }
+
+    @Test
+    @DisplayName("should report rows with a wrong number of columns and keep reading")
+    void shouldReportWrongColumnCount() {
+        List<ImportRow> rows = read("only-one-column\nQ?,A,T,extra\nQ?,A\n");
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).isMalformed()).isTrue();
+        assertThat(rows.get(1).isMalformed()).isTrue();
+        assertThat(rows.get(2)).isEqualTo(ImportRow.of(3, "Q?", "A", null));
+    }
+
+    @Test
+    @DisplayName("should report an unterminated quoted field")
+    void shouldReportUnterminatedQuote() {
+        List<ImportRow> rows = read("Q?,\"never closed\n");
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.isMalformed()).isTrue();
+            assertThat(row.error()).contains("Unterminated");
+        });
+    }
+
+    @Test
+    @DisplayName("should skip blank lines")
+    void shouldSkipBlankLines() {
+        assertThat(read("\nQ?,A\n\n")).containsExactly(ImportRow.of(2, "Q?", "A", null));
+    }
+
+    private List<ImportRow> read(String csv) {
+        List<ImportRow> rows = new ArrayList<>();
+        new CsvImportRows(new StringReader(csv)).forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,108 @@
+package com.leitner.infrastructure.adapter.out.id;
+
+import com.leitner.domain.model.CardId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimeOrderedCardIdGenerator")
+class TimeOrderedCardIdGeneratorTest {
+
+    private static final long NOW = 1_717_200_000_000L;
+
+    @Nested
+    @DisplayName("Format")
+    class Format {
+
+        @Test
+        @DisplayName("should generate version 7 UUIDs carrying the creation time")
+        void shouldGenerateVersion7Uuids() {
+            CardId id = new TimeOrderedCardIdGenerator(() -> NOW).nextId();
+
+            UUID uuid = UUID.fromString(id.getValue());
+            assertThat(id.isBinary()).isTrue();
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class Ordering {
+
+        @Test
+        @DisplayName("should sort identifiers created at different milliseconds by creation time")
+        void shouldSortByCreationTime() {
+            AtomicLong clock = new AtomicLong(NOW);
+            TimeOrderedCardIdGenerator generator = new TimeOrderedCardIdGenerator(clock::get);
+
+            List<CardId> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                ids.add(generator.nextId());
+                clock.addAndGet(1);
+            }
+
+            assertThat(ids).isSorted();
+            assertThat(ids.stream().map(CardId::getValue).toList()).isSorted();
+        }
+
+        @Test
+        @DisplayName("should stay strictly increasing on a thread when the clock stalls or goes back")
+        void shouldStayMonotonicOnAThread() {
+            AtomicLong clock = new AtomicLong(NOW);
+            TimeOrderedCardIdGenerator generator = new TimeOrderedCardIdGenerator(clock::get);
+
+            List<CardId> ids = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                ids.add(generator.nextId());
+            }
+            clock.set(NOW - 1_000);
+            ids.add(generator.nextId());
+
+            for (int i = 1; i < ids.size(); i++) {
+                assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+            }
+        }
+
+        @Test
+        @DisplayName("should generate unique identifiers across threads")
+        void shouldBeUniqueAcrossThreads() throws Exception {
+            TimeOrderedCardIdGenerator generator = new TimeOrderedCardIdGenerator(() -> NOW);
+            Set<CardId> ids = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    futures.add(executor.submit(() -> {
+                        Set<CardId> local = new HashSet<>();
+                        for (int i = 0; i < 5_000; i++) {
+                            local.add(generator.nextId());
+                        }
+                        ids.addAll(local);
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(ids).hasSize(20_000);
+        }
+    }
+}
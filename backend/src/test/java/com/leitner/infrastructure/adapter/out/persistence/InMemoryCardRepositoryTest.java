@@ -0,0 +1,412 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import com.leitner.domain.model.TagDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryCardRepository")
+class InMemoryCardRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    private TagDictionary tagDictionary;
+    private InMemoryCardRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        tagDictionary = new TagDictionary();
+        repository = new InMemoryCardRepository(tagDictionary);
+    }
+
+    @Nested
+    @DisplayName("findDueOn")
+    class FindDueOn {
+
+        @Test
+        @DisplayName("should return new cards")
+        void shouldReturnNewCards() {
+            Card card = repository.save(Card.create("Q?", "A", null));
+
+            assertThat(repository.findDueOn(DAY)).containsExactly(card);
+        }
+
+        @Test
+        @DisplayName("should not return DONE cards")
+        void shouldNotReturnDoneCards() {
+            repository.save(cardWithLastAnswer(Category.DONE, DAY));
+
+            assertThat(repository.findDueOn(DAY.plusYears(1))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should return cards once their review day is reached")
+        void shouldReturnCardsOnceReviewDayIsReached() {
+            Card card = repository.save(cardWithLastAnswer(Category.THIRD, DAY));
+
+            assertThat(repository.findDueOn(DAY.plusDays(3))).isEmpty();
+            assertThat(repository.findDueOn(DAY.plusDays(4))).containsExactly(card);
+            assertThat(repository.findDueOn(DAY.plusDays(10))).containsExactly(card);
+        }
+
+        @Test
+        @DisplayName("should move card to its new review day after an answer")
+        void shouldReindexCardAfterAnswer() {
+            Card card = repository.save(Card.create("Q?", "A", null));
+
+            card.answerCorrectly(DAY);
+            repository.save(card);
+
+            assertThat(repository.findDueOn(DAY.plusDays(1))).isEmpty();
+            assertThat(repository.findDueOn(DAY.plusDays(2))).containsExactly(card);
+        }
+
+        @Test
+        @DisplayName("should forget deleted cards")
+        void shouldForgetDeletedCards() {
+            Card card = repository.save(Card.create("Q?", "A", null));
+
+            repository.deleteById(card.getId());
+
+            assertThat(repository.findDueOn(DAY)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should drop a past review day once its last card moves")
+        void shouldDropEmptiedReviewDay() {
+            Card first = repository.save(cardWithLastAnswer(Category.SECOND, DAY));
+            Card second = repository.save(cardWithLastAnswer(Category.SECOND, DAY));
+            assertThat(repository.reviewDayCount()).isEqualTo(1);
+
+            first.answerCorrectly(DAY.plusDays(3));
+            repository.save(first);
+            assertThat(repository.reviewDayCount()).isEqualTo(2);
+
+            second.answerCorrectly(DAY.plusDays(3));
+            repository.save(second);
+
+            assertThat(repository.reviewDayCount()).isEqualTo(1);
+            assertThat(repository.findDueOn(DAY.plusDays(2))).isEmpty();
+            assertThat(repository.findDueOn(DAY.plusDays(7))).containsExactlyInAnyOrder(first, second);
+        }
+    }
+
+    @Nested
+    @DisplayName("findByTags")
+    class FindByTags {
+
+        @Test
+        @DisplayName("should return only cards with one of the requested tags")
+        void shouldReturnOnlyMatchingCards() {
+            Card java = repository.save(Card.create("Q1?", "A1", "Java"));
+            Card python = repository.save(Card.create("Q2?", "A2", "Python"));
+            repository.save(Card.create("Q3?", "A3", "JavaScript"));
+            repository.save(Card.create("Q4?", "A4", null));
+
+            assertThat(repository.findByTags(List.of("Java", "Python")))
+                .containsExactlyInAnyOrder(java, python);
+        }
+
+        @Test
+        @DisplayName("should not duplicate cards when a tag is requested twice")
+        void shouldNotDuplicateCardsForRepeatedTag() {
+            Card card = repository.save(Card.create("Q?", "A", "Java"));
+
+            assertThat(repository.findByTags(List.of("Java", "Java"))).containsExactly(card);
+        }
+
+        @Test
+        @DisplayName("should return empty list for unknown tag")
+        void shouldReturnEmptyListForUnknownTag() {
+            repository.save(Card.create("Q?", "A", "Java"));
+
+            assertThat(repository.findByTags(List.of("Rust"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should forget deleted cards")
+        void shouldForgetDeletedCards() {
+            Card card = repository.save(Card.create("Q?", "A", "Java"));
+
+            repository.deleteById(card.getId());
+
+            assertThat(repository.findByTags(List.of("Java"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should reindex card saved again with another tag")
+        void shouldReindexCardSavedWithAnotherTag() {
+            CardId id = CardId.generate();
+            repository.save(Card.reconstitute(id, "Q?", "A", "Java", Category.FIRST, null));
+            Card retagged = repository.save(Card.reconstitute(id, "Q?", "A", "Kotlin", Category.FIRST, null));
+
+            assertThat(repository.findByTags(List.of("Java"))).isEmpty();
+            assertThat(repository.findByTags(List.of("Kotlin"))).containsExactly(retagged);
+        }
+    }
+
+    @Nested
+    @DisplayName("countByTag")
+    class CountByTag {
+
+        @Test
+        @DisplayName("should follow creations, retags and deletions")
+        void shouldFollowWrites() {
+            Card java = repository.save(Card.create("Q1?", "A1", "Java"));
+            Card python = repository.save(Card.create("Q2?", "A2", "Python"));
+            repository.save(Card.create("Q3?", "A3", "Java"));
+            repository.save(Card.create("Q4?", "A4", null));
+
+            repository.save(Card.reconstitute(java.getId(), "Q1?", "A1", "Kotlin", Category.FIRST, null));
+            repository.update(java.getId(), card -> card);
+            repository.deleteById(python.getId());
+
+            assertThat(repository.countByTag()).containsExactlyInAnyOrder(
+                new TagCount("Java", 1), new TagCount("Kotlin", 1));
+        }
+
+        @Test
+        @DisplayName("should not register tags that are only searched for")
+        void shouldNotInternSearchedTags() {
+            assertThat(repository.findByTags(List.of("never-stored"))).isEmpty();
+            assertThat(tagDictionary.find("never-stored")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should keep tags in the dictionary of its own partition")
+        void shouldScopeTagsToPartition() {
+            TagDictionary otherDictionary = new TagDictionary();
+            InMemoryCardRepository other = new InMemoryCardRepository(otherDictionary);
+
+            other.save(Card.create("Q?", "A", "Rust"));
+
+            assertThat(otherDictionary.find("Rust")).isPresent();
+            assertThat(tagDictionary.find("Rust")).isEmpty();
+            assertThat(repository.findByTags(List.of("Rust"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should share the registered tag name between stored cards")
+        void shouldShareTagName() {
+            Card first = repository.save(Card.create("Q1?", "A1", "Development"));
+            Card second = repository.save(Card.create("Q2?", "A2", new String("Development")));
+
+            assertThat(second.getTag()).isSameAs(first.getTag());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pagination")
+    class Pagination {
+
+        @Test
+        @DisplayName("should walk all cards by id in bounded pages")
+        void shouldWalkAllCardsById() {
+            List<String> savedIds = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                savedIds.add(repository.save(Card.create("Q" + i + "?", "A", null)).getId().getValue());
+            }
+
+            List<String> walkedIds = new ArrayList<>();
+            String cursor = null;
+            do {
+                Page<Card> page = repository.findPage(List.of(), cursor, 3);
+                assertThat(page.items()).hasSizeLessThanOrEqualTo(3);
+                page.items().forEach(card -> walkedIds.add(card.getId().getValue()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertThat(walkedIds).isSorted().containsExactlyInAnyOrderElementsOf(savedIds);
+        }
+
+        @Test
+        @DisplayName("should return a last page without cursor when everything fits")
+        void shouldReturnLastPageWithoutCursor() {
+            repository.save(Card.create("Q1?", "A", null));
+            repository.save(Card.create("Q2?", "A", null));
+
+            Page<Card> page = repository.findPage(List.of(), null, 2);
+
+            assertThat(page.items()).hasSize(2);
+            assertThat(page.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should page through several tags in id order")
+        void shouldPageThroughSeveralTags() {
+            for (int i = 0; i < 4; i++) {
+                repository.save(Card.create("Q?", "A", "Java"));
+                repository.save(Card.create("Q?", "A", "Python"));
+                repository.save(Card.create("Q?", "A", "Rust"));
+            }
+
+            Page<Card> first = repository.findPage(List.of("Java", "Python"), null, 5);
+            Page<Card> second = repository.findPage(List.of("Java", "Python"), first.nextCursor(), 5);
+
+            assertThat(first.items()).hasSize(5);
+            assertThat(second.items()).hasSize(3);
+            assertThat(second.hasNext()).isFalse();
+            List<Card> all = new ArrayList<>(first.items());
+            all.addAll(second.items());
+            assertThat(all).extracting(card -> card.getId().getValue()).isSorted();
+            assertThat(all).extracting(Card::getTag).containsOnly("Java", "Python");
+        }
+
+        @Test
+        @DisplayName("should page through due cards by review day")
+        void shouldPageThroughDueCards() {
+            Card overdue = repository.save(cardWithLastAnswer(Category.FIRST, DAY.minusDays(5)));
+            Card fresh = repository.save(Card.create("Q?", "A", null));
+            Card dueToday = repository.save(cardWithLastAnswer(Category.SECOND, DAY.minusDays(2)));
+            repository.save(cardWithLastAnswer(Category.SEVENTH, DAY));
+
+            Page<Card> first = repository.findDuePage(DAY, null, 2);
+            Page<Card> second = repository.findDuePage(DAY, first.nextCursor(), 2);
+
+            assertThat(first.items()).containsExactly(fresh, overdue);
+            assertThat(second.items()).containsExactly(dueToday);
+            assertThat(second.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should stream cards lazily in id order")
+        void shouldStreamCardsInIdOrder() {
+            for (int i = 0; i < 5; i++) {
+                repository.save(Card.create("Q?", "A", i % 2 == 0 ? "Java" : "Python"));
+            }
+
+            try (Stream<Card> all = repository.stream(List.of());
+                 Stream<Card> java = repository.stream(List.of("Java"))) {
+                assertThat(all.map(card -> card.getId().getValue()).toList()).hasSize(5).isSorted();
+                assertThat(java.toList()).hasSize(3).extracting(Card::getTag).containsOnly("Java");
+            }
+        }
+
+        @Test
+        @DisplayName("should reject malformed quiz cursor")
+        void shouldRejectMalformedQuizCursor() {
+            assertThatThrownBy(() -> repository.findDuePage(DAY, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("update and versioning")
+    class Versioning {
+
+        @Test
+        @DisplayName("should bump the version on each write")
+        void shouldBumpVersionOnEachWrite() {
+            Card saved = repository.save(Card.create("Q?", "A", null));
+            Card updated = repository.update(saved.getId(), card -> card).orElseThrow();
+
+            assertThat(saved.getVersion()).isEqualTo(1);
+            assertThat(updated.getVersion()).isEqualTo(2);
+            assertThat(repository.findById(saved.getId())).get().extracting(Card::getVersion).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("should apply the update to a copy and reindex the card")
+        void shouldUpdateCopyAndReindex() {
+            Card saved = repository.save(Card.create("Q?", "A", null));
+
+            Card updated = repository.update(saved.getId(), card -> {
+                card.answerCorrectly(DAY);
+                return card;
+            }).orElseThrow();
+
+            assertThat(saved.getCategory()).isEqualTo(Category.FIRST);
+            assertThat(updated.getCategory()).isEqualTo(Category.SECOND);
+            assertThat(repository.findDueOn(DAY.plusDays(1))).isEmpty();
+            assertThat(repository.findDueOn(DAY.plusDays(2))).containsExactly(updated);
+        }
+
+        @Test
+        @DisplayName("should advance the change sequence after each write, not after reads")
+        void shouldAdvanceChangeSequence() {
+            long initial = repository.changeSequence();
+            Card saved = repository.save(Card.create("Q?", "A", null));
+            long afterSave = repository.changeSequence();
+            repository.update(saved.getId(), card -> card);
+            repository.update(CardId.of("unknown"), card -> card);
+            long afterUpdate = repository.changeSequence();
+            repository.findAll();
+            repository.findDueOn(DAY);
+
+            assertThat(afterSave).isGreaterThan(initial);
+            assertThat(afterUpdate).isEqualTo(afterSave + 1);
+            assertThat(repository.changeSequence()).isEqualTo(afterUpdate);
+            repository.deleteById(saved.getId());
+            assertThat(repository.changeSequence()).isGreaterThan(afterUpdate);
+        }
+
+        @Test
+        @DisplayName("should return empty when updating an unknown card")
+        void shouldReturnEmptyForUnknownCard() {
+            assertThat(repository.update(CardId.of("unknown"), card -> card)).isEmpty();
+            assertThat(repository.existsById(CardId.of("unknown"))).isFalse();
+        }
+
+        @Test
+        @DisplayName("should reject a save based on a stale version")
+        void shouldRejectStaleSave() {
+            Card saved = repository.save(Card.create("Q?", "A", null));
+            repository.update(saved.getId(), card -> card);
+
+            assertThatThrownBy(() -> repository.save(saved))
+                .isInstanceOf(CardVersionConflictException.class)
+                .hasMessageContaining("expected version 1 but found 2");
+        }
+
+        @Test
+        @DisplayName("should not lose concurrent updates on the same card")
+        void shouldNotLoseConcurrentUpdates() throws InterruptedException {
+            Card saved = repository.save(Card.create("Q?", "A", null));
+            int threads = 8;
+            int updatesPerThread = 1_000;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        repository.update(saved.getId(), card -> {
+                            card.answerIncorrectly(DAY);
+                            return card;
+                        });
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(repository.findById(saved.getId())).get()
+                .extracting(Card::getVersion).isEqualTo(1L + threads * updatesPerThread);
+        }
+    }
+
+    private Card cardWithLastAnswer(Category category, LocalDate lastAnswer) {
+        return Card.reconstitute(CardId.generate(), "Q?", "A", null, category, lastAnswer);
+    }
+}
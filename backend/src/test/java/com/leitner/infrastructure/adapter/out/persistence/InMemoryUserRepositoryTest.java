@@ -0,0 +1,125 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.exception.UserAlreadyExistsException;
+import com.leitner.domain.model.User;
+import com.leitner.domain.model.User.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryUserRepository")
+class InMemoryUserRepositoryTest {
+
+    private InMemoryUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserRepository();
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("should find a user by id, username and case-insensitive email")
+        void shouldFindUser() {
+            User user = repository.save(User.create("alice", "Alice@Example.com"));
+
+            assertThat(repository.findById(user.getId())).contains(user);
+            assertThat(repository.findByUsername("alice")).contains(user);
+            assertThat(repository.findByEmail("alice@example.COM")).contains(user);
+            assertThat(repository.existsByUsername("Alice")).isFalse();
+            assertThat(repository.existsByEmail("bob@example.com")).isFalse();
+        }
+
+        @Test
+        @DisplayName("should free the previous username and email of an updated user")
+        void shouldReindexUpdatedUser() {
+            User user = repository.save(User.create("alice", "alice@example.com"));
+
+            repository.save(User.reconstitute(user.getId(), "alicia", "alicia@example.com", null));
+
+            assertThat(repository.existsByUsername("alice")).isFalse();
+            assertThat(repository.existsByEmail("alice@example.com")).isFalse();
+            assertThat(repository.findByUsername("alicia")).contains(user);
+            repository.save(User.create("alice", "alice@example.com"));
+            assertThat(repository.count()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Uniqueness")
+    class Uniqueness {
+
+        @Test
+        @DisplayName("should reject a taken username or email and leave the indexes unchanged")
+        void shouldRejectDuplicates() {
+            User alice = repository.save(User.create("alice", "alice@example.com"));
+
+            assertThatThrownBy(() -> repository.save(User.create("alice", "other@example.com")))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessageContaining("username");
+            assertThatThrownBy(() -> repository.save(User.create("bob", "ALICE@example.com")))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessageContaining("email");
+
+            assertThat(repository.existsByUsername("bob")).isFalse();
+            assertThat(repository.existsByEmail("other@example.com")).isFalse();
+            assertThat(repository.findByUsername("alice")).contains(alice);
+            assertThat(repository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should register only one of many concurrent users with the same username")
+        void shouldEnforceUniquenessConcurrently() throws Exception {
+            int threads = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger rejected = new AtomicInteger();
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    String email = "user" + i + "@example.com";
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            repository.save(User.create("same-name", email));
+                        } catch (UserAlreadyExistsException e) {
+                            rejected.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(rejected).hasValue(threads - 1);
+            assertThat(repository.count()).isEqualTo(1);
+            UserId winner = repository.findByUsername("same-name").orElseThrow().getId();
+            assertThat(repository.findByEmail(repository.findById(winner).orElseThrow().getEmail()))
+                .get().extracting(User::getId).isEqualTo(winner);
+            for (int i = 0; i < threads; i++) {
+                repository.findByEmail("user" + i + "@example.com")
+                    .ifPresent(user -> assertThat(user.getId()).isEqualTo(winner));
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.leitner.infrastructure.adapter.out.persistence;
+
+import com.leitner.domain.exception.PartitionOpenedForReadingException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardChangeListener;
+import com.leitner.domain.port.out.CardRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PerUserCardRepository")
+class PerUserCardRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    private final UserId alice = UserId.of("alice");
+    private final UserId bob = UserId.of("bob");
+
+    @Test
+    @DisplayName("should keep each user's cards, quiz and tag counts in a separate partition")
+    void shouldIsolatePartitions() {
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> new InMemoryCardRepository());
+        Card aliceCard = partitions.forUser(alice).save(Card.create(alice, CardId.generate(), "Q?", "A", "Java"));
+        partitions.forUser(bob).save(Card.create(bob, CardId.generate(), "Q?", "A", "Rust"));
+
+        CardRepository aliceCards = partitions.forUser(alice);
+        assertThat(aliceCards.findDueOn(DAY)).containsExactly(aliceCard);
+        assertThat(aliceCards.findById(aliceCard.getId())).get().extracting(Card::getOwner).isEqualTo(alice);
+        assertThat(partitions.forUser(bob).existsById(aliceCard.getId())).isFalse();
+        assertThat(aliceCards.countByTag()).extracting(count -> count.tag()).containsExactly("Java");
+        assertThat(partitions.partitionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should create a single partition per user")
+    void shouldCreatePartitionOnce() {
+        AtomicInteger created = new AtomicInteger();
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> {
+            created.incrementAndGet();
+            return new InMemoryCardRepository();
+        });
+
+        assertThat(partitions.forUser(alice)).isSameAs(partitions.forUser(UserId.of("alice")));
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should close the partitions, then the shared resource")
+    void shouldClosePartitionsThenSharedResource() throws Exception {
+        List<String> closed = new ArrayList<>();
+        PerUserCardRepository partitions = new PerUserCardRepository(
+            owner -> new ClosingRepository(() -> closed.add(owner.getValue())),
+            () -> closed.add("shared"));
+        partitions.forUser(alice);
+
+        partitions.close();
+
+        assertThat(closed).containsExactly("alice", "shared");
+        assertThat(partitions.partitionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should notify subscribers of every write and of closed partitions")
+    void shouldNotifySubscribers() {
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> new InMemoryCardRepository());
+        List<String> events = new ArrayList<>();
+        partitions.subscribe(new CardChangeListener() {
+            @Override
+            public void cardSaved(Card card) {
+                events.add("saved " + card.getOwner().getValue() + " v" + card.getVersion());
+            }
+
+            @Override
+            public void cardDeleted(UserId owner, CardId id) {
+                events.add("deleted " + owner.getValue());
+            }
+
+            @Override
+            public void partitionDiscarded(UserId owner) {
+                events.add("discarded " + owner.getValue());
+            }
+        });
+
+        Card card = partitions.forUser(alice).save(Card.create(alice, CardId.generate(), "Q?", "A", null));
+        partitions.forUserAsync(alice).updateAsync(card.getId(), c -> c).join();
+        partitions.forUser(alice).deleteById(card.getId());
+        partitions.clear();
+
+        assertThat(events).containsExactly("saved alice v1", "saved alice v2", "deleted alice", "discarded alice");
+    }
+
+    @Test
+    @DisplayName("should read an unknown user's cards without creating a partition")
+    void shouldReadWithoutCreatingPartition() {
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> new InMemoryCardRepository());
+
+        assertThat(partitions.forReading(alice).findAll()).isEmpty();
+        assertThat(partitions.forReading(alice).update(CardId.generate(), card -> card)).isEmpty();
+        assertThat(partitions.forReadingAsync(alice).findPageAsync(List.of(), null, 10).join().items()).isEmpty();
+        assertThat(partitions.partitionCount()).isZero();
+
+        Card card = partitions.forUser(alice).save(Card.create(alice, CardId.generate(), "Q?", "A", null));
+        assertThat(partitions.forReading(alice).findAll()).containsExactly(card);
+    }
+
+    @Test
+    @DisplayName("should refuse to create cards through an empty partition opened for reading")
+    void shouldRefuseSavingThroughReadingPartition() {
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> new InMemoryCardRepository());
+        Card card = Card.create(alice, CardId.generate(), "Q?", "A", null);
+
+        assertThatThrownBy(() -> partitions.forReading(alice).save(card))
+            .isInstanceOf(PartitionOpenedForReadingException.class)
+            .hasMessageContaining("alice")
+            .hasMessageContaining("forUser");
+        assertThatThrownBy(() -> partitions.forReading(alice).saveAll(List.of(card)))
+            .isInstanceOf(PartitionOpenedForReadingException.class);
+        assertThat(partitions.partitionCount()).isZero();
+        assertThat(partitions.forReading(alice).changeSequence())
+            .isEqualTo(partitions.forReading(bob).changeSequence());
+    }
+
+    @Test
+    @DisplayName("should reopen a stored partition for reading")
+    void shouldReopenStoredPartitionForReading() {
+        Set<UserId> stored = Set.of(alice);
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> new InMemoryCardRepository(),
+            () -> { }, Runnable::run, new PerUserCardRepository.Eviction(stored::contains, 10));
+
+        partitions.forReading(alice);
+        partitions.forReading(bob);
+
+        assertThat(partitions.partitionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should close idle durable partitions and keep in-memory ones")
+    void shouldEvictIdlePartitions() {
+        List<String> closed = new ArrayList<>();
+        PerUserCardRepository durable = new PerUserCardRepository(
+            owner -> new ClosingRepository(() -> closed.add(owner.getValue())),
+            () -> { }, Runnable::run, new PerUserCardRepository.Eviction(owner -> true, 10));
+        PerUserCardRepository inMemory = new PerUserCardRepository(
+            owner -> new ClosingRepository(() -> closed.add("memory")));
+        durable.forUser(alice);
+        inMemory.forUser(alice);
+
+        assertThat(durable.evictIdle(Duration.ofHours(1))).isZero();
+        assertThat(durable.evictIdle(Duration.ZERO)).isEqualTo(1);
+        assertThat(inMemory.evictIdle(Duration.ZERO)).isZero();
+
+        assertThat(closed).containsExactly("alice");
+        assertThat(durable.partitionCount()).isZero();
+        assertThat(inMemory.partitionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should close the least recently used partition beyond the maximum")
+    void shouldEvictLeastRecentlyUsedPartition() {
+        List<String> closed = new ArrayList<>();
+        PerUserCardRepository partitions = new PerUserCardRepository(
+            owner -> new ClosingRepository(() -> closed.add(owner.getValue())),
+            () -> { }, Runnable::run, new PerUserCardRepository.Eviction(owner -> true, 2));
+        partitions.forUser(alice);
+        partitions.forUser(bob);
+        partitions.forUser(alice);
+
+        partitions.forUser(UserId.of("carol"));
+
+        assertThat(closed).containsExactly("bob");
+        assertThat(partitions.partitionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should keep a partition open while a stream still reads it")
+    void shouldNotEvictLeasedPartition() {
+        List<String> closed = new ArrayList<>();
+        PerUserCardRepository partitions = new PerUserCardRepository(
+            owner -> new ClosingRepository(() -> closed.add(owner.getValue())),
+            () -> { }, Runnable::run, new PerUserCardRepository.Eviction(owner -> true, 10));
+        CardRepository cards = partitions.forUser(alice);
+        cards.save(Card.create(alice, CardId.generate(), "Q?", "A", null));
+
+        try (Stream<Card> stream = cards.stream(List.of())) {
+            assertThat(partitions.evictIdle(Duration.ZERO)).isZero();
+            assertThat(stream).hasSize(1);
+        }
+
+        assertThat(partitions.evictIdle(Duration.ZERO)).isEqualTo(1);
+        assertThat(closed).containsExactly("alice");
+    }
+
+    @Test
+    @DisplayName("should reopen an evicted partition only once it is closed")
+    void shouldReopenAfterClose() throws Exception {
+        CountDownLatch closing = new CountDownLatch(1);
+        CountDownLatch finishClose = new CountDownLatch(1);
+        List<String> events = new CopyOnWriteArrayList<>();
+        PerUserCardRepository partitions = new PerUserCardRepository(owner -> {
+            events.add("opened");
+            return new ClosingRepository(() -> {
+                closing.countDown();
+                await(finishClose);
+                events.add("closed");
+            });
+        }, () -> { }, Runnable::run, new PerUserCardRepository.Eviction(owner -> true, 10));
+        CardRepository cards = partitions.forUser(alice);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> eviction = executor.submit(() -> partitions.evictIdle(Duration.ZERO));
+            assertThat(closing.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<List<Card>> read = executor.submit(cards::findAll);
+
+            Thread.sleep(100);
+            assertThat(read).isNotDone();
+            finishClose.countDown();
+
+            assertThat(eviction.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(read.get(5, TimeUnit.SECONDS)).isEmpty();
+            assertThat(events).containsExactly("opened", "closed", "opened");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class ClosingRepository extends InMemoryCardRepository implements Closeable {
+
+        private final Runnable onClose;
+
+        private ClosingRepository(Runnable onClose) {
+            this.onClose = onClose;
+        }
+
+        @Override
+        public void close() {
+            onClose.run();
+        }
+    }
+}
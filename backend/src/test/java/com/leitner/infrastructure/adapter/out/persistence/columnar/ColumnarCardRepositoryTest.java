@@ -0,0 +1,265 @@
+package com.leitner.infrastructure.adapter.out.persistence.columnar;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ColumnarCardRepository")
+class ColumnarCardRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    private ColumnarCardRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarCardRepository(4);
+    }
+
+    @Nested
+    @DisplayName("Storage")
+    class Storage {
+
+        @Test
+        @DisplayName("should round-trip every card field, for UUID and legacy ids")
+        void shouldRoundTripCards() {
+            Card learned = Card.reconstitute(CardId.of(UUID.randomUUID().toString()), "Qu'est-ce que TDD ?",
+                "Test Driven Development", "Développement", Category.FOURTH, DAY, 0);
+            Card legacy = Card.reconstitute(CardId.of("card-1"), "Q?", "A", null, Category.FIRST, null, 0);
+
+            repository.saveAll(List.of(learned, legacy));
+
+            assertThat(repository.findById(learned.getId())).get()
+                .usingRecursiveComparison().isEqualTo(learned.nextVersion());
+            assertThat(repository.findById(legacy.getId())).get()
+                .usingRecursiveComparison().isEqualTo(legacy.nextVersion());
+        }
+
+        @Test
+        @DisplayName("should keep lookups working while cards are deleted and slots reused")
+        void shouldReuseDeletedSlots() {
+            List<Card> cards = randomDeck(2_000, new Random(7));
+            repository.saveAll(cards);
+
+            for (int i = 0; i < cards.size(); i += 2) {
+                repository.deleteById(cards.get(i).getId());
+            }
+            List<Card> replacements = randomDeck(1_000, new Random(8));
+            repository.saveAll(replacements);
+
+            for (int i = 0; i < cards.size(); i++) {
+                assertThat(repository.existsById(cards.get(i).getId())).isEqualTo(i % 2 == 1);
+            }
+            assertThat(replacements).allMatch(card -> repository.existsById(card.getId()));
+            assertThat(repository.findAll()).hasSize(2_000);
+            assertThat(repository.footprint().columnBytes())
+                .isLessThan(3_000L * ColumnarCardRepository.SLOT_BYTES);
+        }
+
+        @Test
+        @DisplayName("should report its memory footprint")
+        void shouldReportFootprint() {
+            repository.saveAll(randomDeck(1_000, new Random(1)));
+
+            ColumnarCardRepository.Footprint footprint = repository.footprint();
+
+            assertThat(footprint.cards()).isEqualTo(1_000);
+            assertThat(footprint.columnBytes()).isGreaterThanOrEqualTo(1_000L * ColumnarCardRepository.SLOT_BYTES);
+            assertThat(footprint.textBytes()).isEqualTo(TextHeap.PAGE_BYTES);
+            assertThat(footprint.bytesPerCard()).isEqualTo((double) footprint.totalBytes() / 1_000);
+        }
+
+        @Test
+        @DisplayName("should reclaim the text space of replaced and deleted cards")
+        void shouldReclaimTextSpace() {
+            Card stable = repository.save(Card.create("Stable?", "Yes", null));
+            String text = "x".repeat(8_192);
+            CardId edited = CardId.of(UUID.randomUUID().toString());
+
+            for (int i = 0; i < 400; i++) {
+                repository.save(Card.reconstitute(edited, text + i, "A", null, Category.FIRST, null, 0));
+                repository.deleteById(repository.save(Card.create(text, text, null)).getId());
+            }
+
+            assertThat(repository.footprint().textBytes()).isLessThanOrEqualTo(2L * TextHeap.PAGE_BYTES);
+            assertThat(repository.findById(edited)).get().extracting(Card::getQuestion).isEqualTo(text + 399);
+            assertThat(repository.findById(stable.getId())).get().extracting(Card::getQuestion).isEqualTo("Stable?");
+        }
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class Queries {
+
+        private final InMemoryCardRepository reference = new InMemoryCardRepository();
+
+        @BeforeEach
+        void fillBoth() {
+            List<Card> cards = randomDeck(500, new Random(42));
+            cards.add(Card.reconstitute(CardId.of("legacy-b"), "Q?", "A", "tag-1", Category.SECOND, DAY, 0));
+            cards.add(Card.reconstitute(CardId.of("Legacy-A"), "Q?", "A", null, Category.FIRST, null, 0));
+            repository.saveAll(cards);
+            reference.saveAll(cards);
+        }
+
+        @Test
+        @DisplayName("should select the same quiz and tag results as the in-memory repository")
+        void shouldMatchInMemoryScans() {
+            for (int offset = -10; offset <= 70; offset += 5) {
+                LocalDate date = DAY.plusDays(offset);
+                assertThat(ids(repository.findDueOn(date)))
+                    .containsExactlyInAnyOrderElementsOf(ids(reference.findDueOn(date)));
+            }
+            assertThat(ids(repository.findByTags(List.of("tag-1", "tag-3", "unknown"))))
+                .containsExactlyInAnyOrderElementsOf(ids(reference.findByTags(List.of("tag-1", "tag-3"))));
+            assertThat(repository.findByTags(List.of("unknown"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should count cards per tag like the in-memory repository")
+        void shouldCountCardsByTag() {
+            repository.deleteById(repository.findByTags(List.of("tag-2")).get(0).getId());
+            reference.deleteById(reference.findByTags(List.of("tag-2")).get(0).getId());
+
+            assertThat(repository.countByTag()).containsExactlyInAnyOrderElementsOf(reference.countByTag());
+        }
+
+        @Test
+        @DisplayName("should page cards in id order, UUID and legacy ids mixed")
+        void shouldPageInIdOrder() {
+            assertThat(ids(readAll(cursor -> repository.findPage(List.of(), cursor, 37))))
+                .containsExactlyElementsOf(ids(readAll(cursor -> reference.findPage(List.of(), cursor, 37))));
+            assertThat(ids(readAll(cursor -> repository.findPage(List.of("tag-1"), cursor, 5))))
+                .containsExactlyElementsOf(ids(readAll(cursor -> reference.findPage(List.of("tag-1"), cursor, 5))));
+            try (Stream<Card> cards = repository.stream(List.of())) {
+                assertThat(ids(cards.toList())).isSorted().hasSize(502);
+            }
+        }
+
+        @Test
+        @DisplayName("should keep id order while cards are saved and deleted between reads")
+        void shouldKeepIdOrderAcrossWrites() {
+            Random random = new Random(3);
+            for (Card card : randomDeck(200, random)) {
+                repository.save(card);
+                reference.save(card);
+                if (random.nextInt(3) == 0) {
+                    Card removed = reference.findPage(List.of(), null, 1).items().get(0);
+                    repository.deleteById(removed.getId());
+                    reference.deleteById(removed.getId());
+                }
+                assertThat(ids(repository.findPage(List.of(), card.getId().getValue(), 3).items()))
+                    .containsExactlyElementsOf(ids(reference.findPage(List.of(), card.getId().getValue(), 3).items()));
+            }
+            assertThat(ids(readAll(cursor -> repository.findPage(List.of(), cursor, 50))))
+                .containsExactlyElementsOf(ids(readAll(cursor -> reference.findPage(List.of(), cursor, 50))));
+        }
+
+        @Test
+        @DisplayName("should page due cards by review day then id, with the in-memory cursor format")
+        void shouldPageDueCards() {
+            LocalDate date = DAY.plusDays(20);
+
+            assertThat(ids(readAll(cursor -> repository.findDuePage(date, cursor, 16))))
+                .containsExactlyElementsOf(ids(readAll(cursor -> reference.findDuePage(date, cursor, 16))));
+            assertThat(repository.findDuePage(date, null, 16).nextCursor())
+                .isEqualTo(reference.findDuePage(date, null, 16).nextCursor());
+            assertThatThrownBy(() -> repository.findDuePage(date, "not-a-cursor", 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Versioning")
+    class Versioning {
+
+        @Test
+        @DisplayName("should reject a save based on a stale version")
+        void shouldRejectStaleSave() {
+            Card saved = repository.save(Card.create("Q?", "A", null));
+            repository.update(saved.getId(), card -> card);
+
+            assertThatThrownBy(() -> repository.save(saved))
+                .isInstanceOf(CardVersionConflictException.class);
+        }
+
+        @Test
+        @DisplayName("should not lose concurrent updates")
+        void shouldSerializeConcurrentUpdates() throws Exception {
+            Card saved = repository.save(Card.create("Q?", "A", "tag"));
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            repository.update(saved.getId(), card -> {
+                                card.answerCorrectly(DAY);
+                                return card;
+                            });
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(repository.findById(saved.getId())).get()
+                .extracting(Card::getVersion).isEqualTo(1L + 2_000);
+        }
+    }
+
+    private static List<Card> randomDeck(int size, Random random) {
+        Category[] categories = Category.values();
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean answered = random.nextInt(10) > 0;
+            cards.add(Card.reconstitute(
+                CardId.of(new UUID(random.nextLong(), random.nextLong()).toString()),
+                "Question " + i, "Réponse " + i,
+                random.nextInt(5) == 0 ? null : "tag-" + random.nextInt(5),
+                categories[random.nextInt(categories.length)],
+                answered ? DAY.minusDays(random.nextInt(64)) : null, 0));
+        }
+        return cards;
+    }
+
+    private static List<Card> readAll(Function<String, Page<Card>> pages) {
+        List<Card> cards = new ArrayList<>();
+        Page<Card> page = pages.apply(null);
+        cards.addAll(page.items());
+        while (page.hasNext()) {
+            page = pages.apply(page.nextCursor());
+            cards.addAll(page.items());
+        }
+        return cards;
+    }
+
+    private static List<String> ids(List<Card> cards) {
+        return cards.stream().map(card -> card.getId().getValue()).toList();
+    }
+}
@@ -0,0 +1,323 @@
+package com.leitner.infrastructure.adapter.out.persistence.jdbc;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.CreateCardUseCase.CreateCardCommand;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportCardsCommand;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportReport;
+import com.leitner.domain.port.in.ImportCardsUseCase.ImportRow;
+import com.leitner.domain.service.CardService;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JdbcCardRepository")
+class JdbcCardRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    private JdbcCardRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Nested
+    @DisplayName("Storage")
+    class Storage {
+
+        @Test
+        @DisplayName("should round-trip every card field and survive a reopening")
+        void shouldRoundTripCards() {
+            Card learned = Card.reconstitute(CardId.of(UUID.randomUUID().toString()), "Qu'est-ce que TDD ?",
+                "Test Driven Development", "Développement", Category.FOURTH, DAY, 0);
+            Card legacy = Card.reconstitute(CardId.of("card-1"), "Q?", "A", null, Category.FIRST, null, 0);
+            repository.saveAll(List.of(learned, legacy));
+
+            repository.close();
+            repository = open();
+
+            assertThat(repository.findById(learned.getId())).get()
+                .usingRecursiveComparison().isEqualTo(learned.nextVersion());
+            assertThat(repository.findById(legacy.getId())).get()
+                .usingRecursiveComparison().isEqualTo(legacy.nextVersion());
+            assertThat(repository.existsById(CardId.of("card-2"))).isFalse();
+        }
+
+        @Test
+        @DisplayName("should save a batch mixing new and existing cards")
+        void shouldSaveMixedBatch() {
+            Card existing = repository.save(Card.create("Q1?", "A1", "Java"));
+            existing.answerCorrectly(DAY);
+            Card created = Card.create("Q2?", "A2", "Java");
+
+            List<Card> saved = repository.saveAll(List.of(existing, created));
+
+            assertThat(saved).extracting(Card::getVersion).containsExactly(2L, 1L);
+            assertThat(repository.findById(existing.getId())).get()
+                .extracting(Card::getCategory).isEqualTo(Category.SECOND);
+            assertThat(repository.findAll()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should forget deleted cards")
+        void shouldDeleteCards() {
+            Card card = repository.save(Card.create("Q?", "A", "Java"));
+
+            repository.deleteById(card.getId());
+
+            assertThat(repository.existsById(card.getId())).isFalse();
+            assertThat(repository.findByTags(List.of("Java"))).isEmpty();
+            assertThat(repository.countByTag()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should keep each owner's cards apart in the shared table")
+        void shouldPartitionByOwner() {
+            UserId alice = UserId.of("alice");
+            JdbcCardRepository aliceCards = repository.forOwner(alice);
+            Card card = aliceCards.save(Card.create(alice, CardId.generate(), "Q?", "A", "Java"));
+            // Même identifiant chez un autre propriétaire : une autre carte
+            repository.save(Card.reconstitute(card.getId(), "Other?", "B", null, Category.FIRST, null, 0));
+
+            assertThat(aliceCards.findById(card.getId())).get()
+                .extracting(Card::getQuestion, Card::getOwner).containsExactly("Q?", alice);
+            assertThat(repository.findDueOn(DAY)).extracting(Card::getQuestion).containsExactly("Other?");
+            assertThat(aliceCards.countByTag()).extracting(count -> count.tag()).containsExactly("Java");
+            assertThat(repository.countByTag()).isEmpty();
+
+            aliceCards.clear();
+            assertThat(repository.existsById(card.getId())).isTrue();
+        }
+
+        @Test
+        @DisplayName("should share one change sequence per owner across partition views")
+        void shouldShareChangeSequencePerOwner() {
+            UserId alice = UserId.of("alice");
+            long defaultBefore = repository.changeSequence();
+            long aliceBefore = repository.forOwner(alice).changeSequence();
+
+            Card card = repository.forOwner(alice).save(Card.create(alice, CardId.generate(), "Q?", "A", null));
+            repository.forOwner(alice).update(card.getId(), c -> c);
+
+            assertThat(repository.forOwner(alice).changeSequence()).isEqualTo(aliceBefore + 2);
+            assertThat(repository.changeSequence()).isEqualTo(defaultBefore);
+        }
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class Queries {
+
+        private final InMemoryCardRepository reference = new InMemoryCardRepository();
+
+        @BeforeEach
+        void fillBoth() {
+            List<Card> cards = randomDeck(500, new Random(42));
+            cards.add(Card.reconstitute(CardId.of("legacy-b"), "Q?", "A", "tag-1", Category.SECOND, DAY, 0));
+            cards.add(Card.reconstitute(CardId.of("Legacy-A"), "Q?", "A", null, Category.FIRST, null, 0));
+            repository.saveAll(cards);
+            reference.saveAll(cards);
+        }
+
+        @Test
+        @DisplayName("should select the same quiz, tag and category count results as the in-memory repository")
+        void shouldMatchInMemoryQueries() {
+            for (int offset = -10; offset <= 70; offset += 5) {
+                LocalDate date = DAY.plusDays(offset);
+                assertThat(ids(repository.findDueOn(date)))
+                    .containsExactlyInAnyOrderElementsOf(ids(reference.findDueOn(date)));
+            }
+            assertThat(ids(repository.findByTags(List.of("tag-1", "tag-3", "unknown"))))
+                .containsExactlyInAnyOrderElementsOf(ids(reference.findByTags(List.of("tag-1", "tag-3"))));
+            assertThat(repository.countByTag()).containsExactlyInAnyOrderElementsOf(reference.countByTag());
+            assertThat(repository.countByCategory()).isEqualTo(reference.countByCategory());
+        }
+
+        @Test
+        @DisplayName("should page cards in id order, with the in-memory cursors")
+        void shouldPageInIdOrder() {
+            assertThat(ids(readAll(cursor -> repository.findPage(List.of(), cursor, 37))))
+                .containsExactlyElementsOf(ids(readAll(cursor -> reference.findPage(List.of(), cursor, 37))));
+            assertThat(ids(readAll(cursor -> repository.findPage(List.of("tag-1"), cursor, 5))))
+                .containsExactlyElementsOf(ids(readAll(cursor -> reference.findPage(List.of("tag-1"), cursor, 5))));
+            try (Stream<Card> cards = repository.stream(List.of())) {
+                assertThat(ids(cards.toList())).isSorted().hasSize(502);
+            }
+        }
+
+        @Test
+        @DisplayName("should page due cards by review day then id, with the in-memory cursor format")
+        void shouldPageDueCards() {
+            LocalDate date = DAY.plusDays(20);
+
+            assertThat(ids(readAll(cursor -> repository.findDuePage(date, cursor, 16))))
+                .containsExactlyElementsOf(ids(readAll(cursor -> reference.findDuePage(date, cursor, 16))));
+            assertThat(repository.findDuePage(date, null, 16).nextCursor())
+                .isEqualTo(reference.findDuePage(date, null, 16).nextCursor());
+            assertThatThrownBy(() -> repository.findDuePage(date, "not-a-cursor", 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Versioning")
+    class Versioning {
+
+        @Test
+        @DisplayName("should reject a save based on a stale version and keep the batch atomic")
+        void shouldRejectStaleSave() {
+            Card saved = repository.save(Card.create("Q?", "A", null));
+            repository.update(saved.getId(), card -> card);
+            Card other = Card.create("Q2?", "A2", null);
+
+            assertThatThrownBy(() -> repository.saveAll(List.of(other, saved)))
+                .isInstanceOf(CardVersionConflictException.class);
+            assertThat(repository.existsById(other.getId())).isFalse();
+        }
+
+        @Test
+        @DisplayName("should not lose concurrent updates")
+        void shouldSerializeConcurrentUpdates() throws Exception {
+            Card saved = repository.save(Card.create("Q?", "A", "tag"));
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 100; i++) {
+                            repository.update(saved.getId(), card -> {
+                                card.answerCorrectly(DAY);
+                                return card;
+                            });
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(repository.findById(saved.getId())).get()
+                .extracting(Card::getVersion).isEqualTo(1L + 400);
+        }
+    }
+
+    @Nested
+    @DisplayName("CardService contracts")
+    class ServiceContracts {
+
+        private CardService cardService;
+
+        @BeforeEach
+        void setUpService() {
+            cardService = new CardService(repository, DAY);
+        }
+
+        @Test
+        @DisplayName("should create a card in FIRST category and put it in the quiz")
+        void shouldCreateAndQuizCard() {
+            Card card = cardService.execute(new CreateCardCommand("Q?", "A", "Java"));
+
+            assertThat(card.getCategory()).isEqualTo(Category.FIRST);
+            assertThat(cardService.execute(new GetQuizCardsQuery(DAY))).containsExactly(card);
+        }
+
+        @Test
+        @DisplayName("should move an answered card and take it out of today's quiz")
+        void shouldAnswerCard() {
+            Card card = cardService.execute(new CreateCardCommand("Q?", "A", null));
+
+            cardService.execute(new AnswerCardCommand(card.getId().getValue(), true));
+
+            assertThat(repository.findById(card.getId())).get()
+                .extracting(Card::getCategory).isEqualTo(Category.SECOND);
+            assertThat(cardService.execute(new GetQuizCardsQuery(LocalDate.now()))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should import rows in batches and report rejected ones")
+        void shouldImportInBatches() {
+            List<ImportRow> rows = IntStream.range(0, 1_200)
+                .mapToObj(i -> ImportRow.of(i + 1, i == 7 ? " " : "Q" + i + "?", "A" + i, "tag-" + (i % 3)))
+                .toList();
+
+            ImportReport report = cardService.execute(new ImportCardsCommand(rows.iterator()));
+
+            assertThat(report.imported()).isEqualTo(1_199);
+            assertThat(report.rejected()).isEqualTo(1);
+            assertThat(repository.findAll()).hasSize(1_199);
+        }
+    }
+
+    private JdbcCardRepository open() {
+        return JdbcCardRepository.open("jdbc:h2:file:" + directory.resolve("cards").toAbsolutePath(), 4);
+    }
+
+    private static List<Card> randomDeck(int size, Random random) {
+        Category[] categories = Category.values();
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean answered = random.nextInt(10) > 0;
+            cards.add(Card.reconstitute(
+                CardId.of(new UUID(random.nextLong(), random.nextLong()).toString()),
+                "Question " + i, "Réponse " + i,
+                random.nextInt(5) == 0 ? null : "tag-" + random.nextInt(5),
+                categories[random.nextInt(categories.length)],
+                answered ? DAY.minusDays(random.nextInt(64)) : null, 0));
+        }
+        return cards;
+    }
+
+    private static List<Card> readAll(Function<String, Page<Card>> pages) {
+        List<Card> cards = new ArrayList<>();
+        Page<Card> page = pages.apply(null);
+        cards.addAll(page.items());
+        while (page.hasNext()) {
+            page = pages.apply(page.nextCursor());
+            cards.addAll(page.items());
+        }
+        return cards;
+    }
+
+    private static List<String> ids(List<Card> cards) {
+        return cards.stream().map(card -> card.getId().getValue()).toList();
+    }
+}
@@ -0,0 +1,315 @@
+package com.leitner.infrastructure.adapter.out.persistence.journal;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JournalingCardRepository")
+class JournalingCardRepositoryTest {
+
+    private static final long LARGE_SEGMENT = 64L * 1024 * 1024;
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    private final List<JournalingCardRepository> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeRepositories() throws IOException {
+        for (JournalingCardRepository repository : opened) {
+            try {
+                repository.close();
+            } catch (IllegalStateException e) {
+                // Déjà fermé par le test
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery")
+    class Recovery {
+
+        @Test
+        @DisplayName("should restore cards, review state and versions after a clean restart")
+        void shouldRestoreAfterCleanRestart() throws IOException {
+            JournalingCardRepository repository = open(directory, LARGE_SEGMENT);
+            Card kept = repository.save(Card.create("Q1?", "A1", "Java"));
+            Card deleted = repository.save(Card.create("Q2?", "A2", null));
+            repository.update(kept.getId(), card -> {
+                card.answerCorrectly(DAY);
+                return card;
+            });
+            repository.deleteById(deleted.getId());
+            repository.close();
+
+            JournalingCardRepository reopened = open(directory, LARGE_SEGMENT);
+
+            assertThat(reopened.findAll()).hasSize(1);
+            Card restored = reopened.findById(kept.getId()).orElseThrow();
+            assertThat(restored.getCategory()).isEqualTo(Category.SECOND);
+            assertThat(restored.getLastAnswerDate()).isEqualTo(DAY);
+            assertThat(restored.getVersion()).isEqualTo(2);
+            assertThat(reopened.findByTags(List.of("Java"))).containsExactly(restored);
+            assertThat(reopened.findDueOn(DAY.plusDays(2))).containsExactly(restored);
+        }
+
+        @Test
+        @DisplayName("should replay the journal tail after a crash")
+        void shouldReplayJournalAfterCrash() throws IOException {
+            JournalingCardRepository repository = open(directory, LARGE_SEGMENT);
+            Card card = repository.save(Card.create("Q?", "A", null));
+            repository.update(card.getId(), c -> {
+                c.answerIncorrectly(DAY);
+                return c;
+            });
+
+            // Les écritures acquittées sont sur disque : une copie du répertoire simule un arrêt brutal
+            Path crashed = copyOf(directory);
+
+            JournalingCardRepository recovered = open(crashed, LARGE_SEGMENT);
+            assertThat(recovered.findById(card.getId())).get()
+                .extracting(Card::getVersion, Card::getLastAnswerDate)
+                .containsExactly(2L, DAY);
+        }
+
+        @Test
+        @DisplayName("should make non-blocking writes durable once their future completes")
+        void shouldReplayAsyncWritesAfterCrash() throws IOException {
+            JournalingCardRepository repository = open(directory, LARGE_SEGMENT);
+            Card card = repository.saveAsync(Card.create("Q?", "A", null)).join();
+            assertThat(repository.updateAsync(card.getId(), c -> {
+                c.answerCorrectly(DAY);
+                return c;
+            }).join()).isPresent();
+            assertThat(repository.updateAsync(Card.create("Q?", "A", null).getId(), c -> c).join()).isEmpty();
+
+            JournalingCardRepository recovered = open(copyOf(directory), LARGE_SEGMENT);
+            assertThat(recovered.findById(card.getId())).get()
+                .extracting(Card::getVersion, Card::getCategory)
+                .containsExactly(2L, Category.SECOND);
+        }
+
+        @Test
+        @DisplayName("should truncate a torn record at the end of the journal")
+        void shouldTruncateTornRecord() throws IOException {
+            JournalingCardRepository repository = open(directory, LARGE_SEGMENT);
+            Card card = repository.save(Card.create("Q?", "A", null));
+            Path crashed = copyOf(directory);
+            Path segment = lastSegment(crashed);
+            long validSize = Files.size(segment);
+            Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+            JournalingCardRepository recovered = open(crashed, LARGE_SEGMENT);
+
+            assertThat(recovered.findAll()).containsExactly(card);
+            assertThat(Files.size(segment)).isEqualTo(validSize);
+        }
+
+        @Test
+        @DisplayName("should refuse to start when an older segment is corrupted")
+        void shouldRefuseCorruptedOlderSegment() throws IOException {
+            JournalingCardRepository repository = open(directory, LARGE_SEGMENT);
+            repository.save(Card.create("Q?", "A", null));
+            Path crashed = copyOf(directory);
+            Path segment = lastSegment(crashed);
+            byte[] bytes = Files.readAllBytes(segment);
+            bytes[bytes.length - 1] ^= 0x7F;
+            Files.write(segment, bytes);
+            Files.createFile(crashed.resolve(segment.getFileName().toString().replace("00.log", "01.log")));
+
+            assertThatThrownBy(() -> open(crashed, LARGE_SEGMENT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Corrupted journal segment");
+        }
+    }
+
+    @Nested
+    @DisplayName("Segments and snapshots")
+    class SegmentsAndSnapshots {
+
+        @Test
+        @DisplayName("should compact rotated segments into a snapshot")
+        void shouldCompactIntoSnapshot() throws IOException {
+            JournalingCardRepository repository = open(directory, 1024);
+            List<Card> saved = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                saved.add(repository.save(Card.create("Question " + i + "?", "Answer " + i, null)));
+            }
+            repository.close();
+
+            assertThat(files(directory, ".snap")).hasSize(1);
+            assertThat(files(directory, ".log")).isEmpty();
+            assertThat(open(directory, 1024).findAll()).containsExactlyInAnyOrderElementsOf(saved);
+        }
+
+        @Test
+        @DisplayName("should serve reads from the written snapshot and drop the overlay")
+        void shouldRemapAfterSnapshot() throws IOException {
+            JournalingCardRepository repository = open(directory, 1024);
+            List<Card> saved = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                saved.add(repository.save(Card.create("Question " + i + "?", "Answer " + i, "tag-" + (i % 2))));
+            }
+            repository.deleteById(saved.remove(0).getId());
+            long sequence = repository.changeSequence();
+
+            repository.close();
+
+            assertThat(repository.overlaySize()).isZero();
+            assertThat(repository.findAll()).containsExactlyInAnyOrderElementsOf(saved);
+            assertThat(repository.findByTags(List.of("tag-1"))).hasSize(100);
+            assertThat(repository.changeSequence()).isEqualTo(sequence);
+        }
+
+        @Test
+        @DisplayName("should refuse a second instance on the same directory until the first is closed")
+        void shouldLockDirectory() throws IOException {
+            JournalingCardRepository repository = open(directory, LARGE_SEGMENT);
+
+            assertThatThrownBy(() -> open(directory, LARGE_SEGMENT)).isInstanceOf(IOException.class);
+
+            repository.close();
+            open(directory, LARGE_SEGMENT).close();
+        }
+
+        @Test
+        @DisplayName("should keep every acknowledged concurrent write")
+        void shouldKeepConcurrentWrites() throws Exception {
+            JournalingCardRepository repository = open(directory, 4096);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<Card>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> repository.save(Card.create("Q" + index + "?", "A", null))));
+            }
+            List<Card> saved = new ArrayList<>();
+            for (Future<Card> future : futures) {
+                saved.add(future.get());
+            }
+            executor.shutdown();
+
+            Path crashed = copyOf(directory);
+
+            assertThat(open(crashed, 4096).findAll()).containsExactlyInAnyOrderElementsOf(saved);
+        }
+    }
+
+    @Nested
+    @DisplayName("Journal failures")
+    class JournalFailures {
+
+        /**
+         * Segments ouverts en lecture seule : la première écriture du journal échoue.
+         */
+        private static final CardJournal.SegmentOpener READ_ONLY = segment ->
+            FileChannel.open(Files.createFile(segment), StandardOpenOption.READ);
+
+        @Test
+        @DisplayName("should not publish nor snapshot a write whose append fails")
+        void shouldNotPublishFailedWrite() throws IOException {
+            JournalingCardRepository repository = open(directory, LARGE_SEGMENT, READ_ONLY);
+
+            assertThatThrownBy(() -> repository.save(Card.create("Q?", "A", "Java")))
+                .isInstanceOf(UncheckedIOException.class);
+
+            assertThat(repository.findAll()).isEmpty();
+            assertThat(repository.countByTag()).isEmpty();
+            repository.close();
+            assertThat(open(directory, LARGE_SEGMENT).findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should keep the last durable state of a card whose update fails")
+        void shouldKeepDurableStateAfterFailedUpdate() throws IOException {
+            AtomicBoolean failing = new AtomicBoolean();
+            // Segments d'un octet : le segment suivant est ouvert après chaque lot
+            JournalingCardRepository repository = open(directory, 1,
+                segment -> (failing.get() ? READ_ONLY : CardJournal.SegmentOpener.DEFAULT).open(segment));
+            failing.set(true);
+            Card saved = repository.save(Card.create("Q?", "A", null));
+
+            CompletableFuture<Optional<Card>> update = repository.updateAsync(saved.getId(), card -> {
+                card.answerCorrectly(DAY);
+                return card;
+            });
+
+            assertThatThrownBy(update::join).hasCauseInstanceOf(UncheckedIOException.class);
+            assertThat(repository.findById(saved.getId())).contains(saved);
+            assertThat(repository.findDueOn(DAY)).containsExactly(saved);
+            repository.close();
+            assertThat(open(directory, LARGE_SEGMENT).findAll()).containsExactly(saved);
+        }
+    }
+
+    private JournalingCardRepository open(Path root, long segmentBytes) throws IOException {
+        return open(root, segmentBytes, CardJournal.SegmentOpener.DEFAULT);
+    }
+
+    private JournalingCardRepository open(Path root, long segmentBytes,
+                                          CardJournal.SegmentOpener segmentOpener) throws IOException {
+        JournalingCardRepository repository =
+            JournalingCardRepository.open(root, segmentBytes, UserId.DEFAULT, segmentOpener);
+        opened.add(repository);
+        return repository;
+    }
+
+    /**
+     * Copie le répertoire comme l'aurait laissé un arrêt brutal. Un snapshot
+     * de fond peut renommer ou supprimer des fichiers pendant la copie :
+     * on recommence tant que la liste des fichiers a changé entre-temps.
+     */
+    private Path copyOf(Path source) throws IOException {
+        while (true) {
+            Path target = Files.createTempDirectory(directory.getParent(), "crashed");
+            List<Path> before = files(source, "");
+            try {
+                for (Path file : before) {
+                    Files.copy(file, target.resolve(file.getFileName()));
+                }
+                if (before.equals(files(source, ""))) {
+                    return target;
+                }
+            } catch (NoSuchFileException e) {
+                // Fichier supprimé pendant la copie : nouvelle tentative
+            }
+        }
+    }
+
+    private static Path lastSegment(Path root) throws IOException {
+        List<Path> segments = files(root, ".log");
+        return segments.get(segments.size() - 1);
+    }
+
+    private static List<Path> files(Path root, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+}
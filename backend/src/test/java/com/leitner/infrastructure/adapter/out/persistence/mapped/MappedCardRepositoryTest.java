@@ -0,0 +1,319 @@
+package com.leitner.infrastructure.adapter.out.persistence.mapped;
+
+import com.leitner.domain.exception.CardVersionConflictException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.TagCount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MappedCardRepository")
+class MappedCardRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    @DisplayName("Snapshot format")
+    class SnapshotFormat {
+
+        @Test
+        @DisplayName("should round-trip every card field")
+        void shouldRoundTripCards() throws IOException {
+            Card learned = Card.reconstitute(CardId.of("a"), "Qu'est-ce que TDD ?", "Test Driven Development",
+                "Développement", Category.FOURTH, DAY, 7);
+            Card fresh = Card.reconstitute(CardId.of("b"), "Q?", "A", null, Category.FIRST, null, 1);
+
+            MappedSnapshot snapshot = snapshotOf(List.of(learned, fresh));
+
+            assertThat(snapshot.size()).isEqualTo(2);
+            assertThat(List.of(snapshot.card(0), snapshot.card(1)))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(learned, fresh);
+        }
+
+        @Test
+        @DisplayName("should read values spanning mapping chunks")
+        void shouldReadAcrossChunks() throws IOException {
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                cards.add(Card.reconstitute(CardId.of(String.format("card-%03d", i)), "Question " + i + " ?",
+                    "Réponse " + i, "tag-" + (i % 3), Category.SECOND, DAY.minusDays(i), i));
+            }
+            Path file = directory.resolve("chunked.snap");
+            MappedSnapshot.write(file, cards.iterator());
+
+            // Tranches de 61 octets : la plupart des champs sont à cheval
+            MappedSnapshot snapshot = MappedSnapshot.open(file, 61);
+
+            for (int i = 0; i < cards.size(); i++) {
+                assertThat(snapshot.card(i)).usingRecursiveComparison().isEqualTo(cards.get(i));
+            }
+            assertThat(postings(snapshot, "tag-1", 0)).hasSize(17).isSorted();
+        }
+
+        @Test
+        @DisplayName("should read tag postings from a given card index")
+        void shouldReadPostingsFromIndex() throws IOException {
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                cards.add(card(String.format("card-%02d", i), "tag-" + (i % 3), Category.FIRST, null));
+            }
+            MappedSnapshot snapshot = snapshotOf(cards);
+
+            assertThat(postings(snapshot, "tag-1", 10)).containsExactly(10, 13, 16, 19, 22, 25, 28);
+            assertThat(postings(snapshot, "tag-1", 29)).isEmpty();
+            assertThat(postings(snapshot, "unknown", 0)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should find ids in string order, non-ASCII ones included")
+        void shouldFindNonAsciiIds() throws IOException {
+            // "\uD83D\uDE00" (hors BMP) précède "\uFFFD" pour String.compareTo, pas en UTF-8
+            List<String> ids = new ArrayList<>(List.of("a", "ab", "b", "é", "\uD83D\uDE00", "\uFFFD", "z\u00E9"));
+            ids.sort(Comparator.naturalOrder());
+            MappedSnapshot snapshot = snapshotOf(ids.stream()
+                .map(id -> card(id, null, Category.FIRST, null))
+                .toList());
+
+            for (int i = 0; i < ids.size(); i++) {
+                assertThat(snapshot.indexOf(ids.get(i))).isEqualTo(i);
+                assertThat(snapshot.indexAfter(ids.get(i))).isEqualTo(i + 1);
+            }
+            assertThat(snapshot.indexOf("aa")).isEqualTo(-1);
+            assertThat(snapshot.indexAfter("aa")).isEqualTo(1);
+            assertThat(snapshot.indexAfter("\uE000")).isEqualTo(ids.indexOf("\uFFFD"));
+        }
+
+        @Test
+        @DisplayName("should reject cards not sorted by id")
+        void shouldRejectUnsortedCards() {
+            List<Card> cards = List.of(
+                Card.reconstitute(CardId.of("b"), "Q?", "A", null, Category.FIRST, null),
+                Card.reconstitute(CardId.of("a"), "Q?", "A", null, Category.FIRST, null));
+
+            assertThatThrownBy(() -> MappedSnapshot.write(directory.resolve("unsorted.snap"), cards.iterator()))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should reject a file that is not a snapshot")
+        void shouldRejectForeignFile() throws IOException {
+            Path file = Files.writeString(directory.resolve("foreign.snap"), "not a snapshot at all".repeat(5));
+
+            assertThatThrownBy(() -> MappedSnapshot.open(file)).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reads from the mapping")
+    class Reads {
+
+        @Test
+        @DisplayName("should find cards by id, tags and review day")
+        void shouldServeReadsFromMapping() throws IOException {
+            Card java = card("a", "Java", Category.SECOND, DAY);
+            Card kotlin = card("b", "Kotlin", Category.FIRST, null);
+            Card done = card("c", "Java", Category.DONE, DAY);
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(List.of(java, kotlin, done)));
+
+            assertThat(repository.findById(CardId.of("b"))).contains(kotlin);
+            assertThat(repository.findById(CardId.of("z"))).isEmpty();
+            assertThat(repository.findAll()).containsExactly(java, kotlin, done);
+            assertThat(repository.findByTags(List.of("Java"))).containsExactly(java, done);
+            assertThat(repository.findDueOn(DAY.plusDays(1))).containsExactly(kotlin);
+            assertThat(repository.findDueOn(DAY.plusDays(2))).containsExactlyInAnyOrder(kotlin, java);
+        }
+
+        @Test
+        @DisplayName("should prefer written cards and hide deleted ones")
+        void shouldMergeOverlay() throws IOException {
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(List.of(
+                card("a", "Java", Category.FIRST, null),
+                card("b", "Java", Category.FIRST, null),
+                card("d", "Java", Category.FIRST, null))));
+
+            Card answered = repository.update(CardId.of("a"), card -> {
+                card.answerCorrectly(DAY);
+                return card;
+            }).orElseThrow();
+            repository.deleteById(CardId.of("b"));
+            Card created = repository.save(card("c", "Java", Category.FIRST, null));
+
+            assertThat(repository.findAll()).extracting(card -> card.getId().getValue()).containsExactly("a", "c", "d");
+            assertThat(repository.findById(CardId.of("a"))).get().extracting(Card::getCategory).isEqualTo(Category.SECOND);
+            assertThat(repository.existsById(CardId.of("b"))).isFalse();
+            assertThat(repository.findDueOn(DAY)).extracting(card -> card.getId().getValue())
+                .containsExactlyInAnyOrder("c", "d");
+            assertThat(answered.getVersion()).isEqualTo(1);
+            assertThat(created.getVersion()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should advance the change sequence when a mapped card is deleted")
+        void shouldAdvanceChangeSequenceOnMappedDelete() throws IOException {
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(List.of(
+                card("a", "Java", Category.FIRST, null))));
+            long before = repository.changeSequence();
+
+            repository.deleteById(CardId.of("a"));
+
+            assertThat(repository.changeSequence()).isGreaterThan(before);
+        }
+
+        @Test
+        @DisplayName("should check versions of cards coming from the mapping")
+        void shouldCheckVersionsOfMappedCards() throws IOException {
+            Card stored = Card.reconstitute(CardId.of("a"), "Q?", "A", null, Category.FIRST, null, 3);
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(List.of(stored)));
+
+            Card stale = Card.reconstitute(CardId.of("a"), "Q?", "A", null, Category.SECOND, DAY, 2);
+
+            assertThatThrownBy(() -> repository.save(stale)).isInstanceOf(CardVersionConflictException.class);
+        }
+
+        @Test
+        @DisplayName("should count cards per tag from the snapshot dictionary and the overlay")
+        void shouldCountCardsByTag() throws IOException {
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(List.of(
+                card("a", "Java", Category.FIRST, null),
+                card("b", "Java", Category.FIRST, null),
+                card("c", "Python", Category.FIRST, null),
+                card("d", null, Category.FIRST, null))));
+
+            repository.deleteById(CardId.of("c"));
+            repository.save(card("a", "Kotlin", Category.FIRST, null));
+            repository.update(CardId.of("b"), card -> card);
+            repository.save(card("e", "Java", Category.FIRST, null));
+
+            assertThat(repository.countByTag()).containsExactlyInAnyOrder(
+                new TagCount("Java", 2), new TagCount("Kotlin", 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pagination")
+    class Pagination {
+
+        @Test
+        @DisplayName("should walk base and written cards in id order")
+        void shouldWalkMergedPages() throws IOException {
+            List<Card> mapped = new ArrayList<>();
+            for (int i = 0; i < 10; i += 2) {
+                mapped.add(card("card-" + i, null, Category.FIRST, null));
+            }
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(mapped));
+            for (int i = 1; i < 10; i += 2) {
+                repository.save(card("card-" + i, null, Category.FIRST, null));
+            }
+
+            List<String> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                Page<Card> page = repository.findPage(List.of(), cursor, 3);
+                page.items().forEach(card -> walked.add(card.getId().getValue()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertThat(walked).hasSize(10).isSorted().doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("should walk due cards by review day then id")
+        void shouldWalkMergedDuePages() throws IOException {
+            List<Card> mapped = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                mapped.add(card("card-" + i, null, Category.FIRST, DAY.minusDays(i)));
+            }
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(mapped));
+            repository.save(card("card-6", null, Category.FIRST, null));
+            repository.update(CardId.of("card-0"), card -> {
+                card.answerIncorrectly(DAY.minusDays(10));
+                return card;
+            });
+
+            List<Card> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                Page<Card> page = repository.findDuePage(DAY.plusDays(1), cursor, 2);
+                walked.addAll(page.items());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertThat(walked).extracting(card -> card.getId().getValue())
+                .containsExactly("card-6", "card-0", "card-5", "card-4", "card-3", "card-2", "card-1");
+        }
+
+        @Test
+        @DisplayName("should walk cards of several tags in id order")
+        void shouldWalkTaggedPages() throws IOException {
+            List<Card> mapped = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                mapped.add(card(String.format("card-%02d", i), "tag-" + (i % 3), Category.FIRST, null));
+            }
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(mapped));
+            repository.deleteById(CardId.of("card-03"));
+            repository.save(card("card-04", "tag-2", Category.FIRST, null));
+
+            List<String> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                Page<Card> page = repository.findPage(List.of("tag-0", "tag-2"), cursor, 4);
+                page.items().forEach(card -> walked.add(card.getId().getValue()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertThat(walked).isSorted().doesNotHaveDuplicates().hasSize(20)
+                .contains("card-04").doesNotContain("card-03", "card-01");
+        }
+
+        @Test
+        @DisplayName("should stream merged cards filtered by tags")
+        void shouldStreamByTags() throws IOException {
+            MappedCardRepository repository = new MappedCardRepository(snapshotOf(List.of(
+                card("a", "Java", Category.FIRST, null),
+                card("b", "Python", Category.FIRST, null))));
+            repository.save(card("c", "Java", Category.FIRST, null));
+
+            try (Stream<Card> java = repository.stream(List.of("Java"))) {
+                assertThat(java.map(card -> card.getId().getValue())).containsExactly("a", "c");
+            }
+        }
+    }
+
+    private MappedSnapshot snapshotOf(List<Card> cards) throws IOException {
+        Path file = directory.resolve("cards-" + System.nanoTime() + ".snap");
+        MappedSnapshot.write(file, cards.stream().sorted(Comparator.comparing(c -> c.getId().getValue())).iterator());
+        return MappedSnapshot.open(file);
+    }
+
+    private static List<Integer> postings(MappedSnapshot snapshot, String tag, int from) {
+        List<Integer> indexes = new ArrayList<>();
+        for (MappedSnapshot.Postings postings = snapshot.postings(tag, from); postings.hasNext(); postings.advance()) {
+            indexes.add(postings.peek());
+        }
+        return indexes;
+    }
+
+    private static Card card(String id, String tag, Category category, LocalDate lastAnswer) {
+        return Card.reconstitute(CardId.of(id), "Q " + id + "?", "A", tag, category, lastAnswer);
+    }
+}
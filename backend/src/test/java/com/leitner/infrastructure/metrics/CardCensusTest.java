@@ -0,0 +1,87 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Category;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CardCensus")
+class CardCensusTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    private final UserId alice = UserId.of("alice");
+    private final UserId bob = UserId.of("bob");
+
+    // Partitions « stockées » : rouvertes avec leurs cartes après une éviction
+    private final Map<UserId, CardRepository> stored = new HashMap<>();
+    private PerUserCardRepository partitions;
+    private CardCensus census;
+
+    @BeforeEach
+    void setUp() {
+        partitions = new PerUserCardRepository(owner -> stored.computeIfAbsent(owner, o -> new InMemoryCardRepository()),
+            () -> { }, Runnable::run, new PerUserCardRepository.Eviction(stored::containsKey, 10));
+        census = new CardCensus();
+        partitions.subscribe(census);
+        partitions.forUser(alice).save(Card.create(alice, CardId.generate(), "Q1?", "A", null));
+        partitions.forUser(alice).save(Card.reconstitute(alice, CardId.generate(), "Q2?", "A", null,
+            Category.THIRD, DAY, 0));
+        partitions.forUser(bob).save(Card.create(bob, CardId.generate(), "Q3?", "A", null));
+    }
+
+    @Test
+    @DisplayName("should expose the cards of every open partition per category")
+    void shouldCountCardsPerCategory() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        census.bindTo(registry);
+
+        assertThat(registry.get(CardCensus.CARDS).tag("category", "FIRST").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get(CardCensus.CARDS).tag("category", "THIRD").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get(CardCensus.CARDS).tag("category", "DONE").gauge().value()).isZero();
+        assertThat(registry.get(CardCensus.TOTAL).gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("should move answered and deleted cards between the counters")
+    void shouldFollowCategoryChanges() {
+        Card card = partitions.forUser(bob).save(Card.create(bob, CardId.generate(), "Q4?", "A", null));
+        partitions.forUser(bob).update(card.getId(), current -> Card.reconstitute(bob, current.getId(), "Q4?", "A",
+            null, Category.SECOND, DAY, current.getVersion()));
+
+        assertThat(census.count(Category.FIRST)).isEqualTo(2);
+        assertThat(census.count(Category.SECOND)).isEqualTo(1);
+
+        partitions.forUser(bob).deleteById(card.getId());
+
+        assertThat(census.count(Category.SECOND)).isZero();
+        assertThat(census.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should drop a closed partition and count it again when reopened")
+    void shouldRecountReopenedPartition() {
+        assertThat(partitions.evictIdle(Duration.ZERO)).isEqualTo(2);
+        assertThat(census.total()).isZero();
+
+        partitions.forReading(alice).findAll();
+
+        assertThat(census.count(Category.FIRST)).isEqualTo(1);
+        assertThat(census.count(Category.THIRD)).isEqualTo(1);
+        assertThat(census.total()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,66 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.domain.model.Card;
+import com.leitner.domain.port.out.AsyncCardRepository;
+import com.leitner.domain.port.out.CardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.InMemoryCardRepository;
+import com.leitner.infrastructure.adapter.out.persistence.journal.JournalingCardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MeteredCardRepository")
+class MeteredCardRepositoryTest {
+
+    private SimpleMeterRegistry registry;
+    private CardMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new CardMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("should time each operation in the timer of its name")
+    void shouldTimeOperations() {
+        CardRepository repository = MeteredCardRepository.of(new InMemoryCardRepository(), metrics);
+
+        Card card = repository.save(Card.create("Q?", "A", null));
+        repository.findDueOn(LocalDate.of(2024, 1, 1));
+        repository.findDueOn(LocalDate.of(2024, 1, 2));
+
+        assertThat(repository).isNotInstanceOf(AsyncCardRepository.class);
+        assertThat(repository.findById(card.getId())).contains(card);
+        assertThat(count("save")).isEqualTo(1);
+        assertThat(count("find-due-on")).isEqualTo(2);
+        assertThat(count("find-by-id")).isEqualTo(1);
+        assertThat(count("delete-by-id")).isZero();
+    }
+
+    @Test
+    @DisplayName("should keep the native non-blocking access of the journal and time it until durable")
+    void shouldKeepNativeAsyncAccess(@TempDir Path directory) throws IOException {
+        try (JournalingCardRepository journal = JournalingCardRepository.open(directory, 1024 * 1024)) {
+            CardRepository repository = MeteredCardRepository.of(journal, metrics);
+
+            assertThat(repository).isInstanceOf(AsyncCardRepository.class);
+            Card saved = ((AsyncCardRepository) repository).saveAsync(Card.create("Q?", "A", null)).join();
+
+            assertThat(journal.findById(saved.getId())).contains(saved);
+            assertThat(count("save")).isEqualTo(1);
+        }
+    }
+
+    private long count(String operation) {
+        return registry.get(CardMetrics.REPOSITORY_TIMER).tag("operation", operation).timer().count();
+    }
+}
@@ -0,0 +1,113 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.domain.exception.CardNotFoundException;
+import com.leitner.domain.model.Card;
+import com.leitner.domain.model.CardId;
+import com.leitner.domain.model.Page;
+import com.leitner.domain.model.User.UserId;
+import com.leitner.domain.port.in.AnswerCardUseCase;
+import com.leitner.domain.port.in.AnswerCardUseCase.AnswerCardCommand;
+import com.leitner.domain.port.in.AnswerCardsUseCase;
+import com.leitner.domain.port.in.AnswerCardsUseCase.Answer;
+import com.leitner.domain.port.in.AnswerCardsUseCase.AnswerCardsCommand;
+import com.leitner.domain.port.in.CreateCardUseCase;
+import com.leitner.domain.port.in.GetCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsPageQuery;
+import com.leitner.domain.port.in.GetQuizCardsUseCase.GetQuizCardsQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MeteredCardUseCases")
+class MeteredCardUseCasesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    private final UserId alice = UserId.of("alice");
+
+    private SimpleMeterRegistry registry;
+    private GetQuizCardsUseCase getQuizCards;
+    private AnswerCardUseCase answerCard;
+    private AnswerCardsUseCase answerCards;
+    private MeteredCardUseCases useCases;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        getQuizCards = mock(GetQuizCardsUseCase.class);
+        answerCard = mock(AnswerCardUseCase.class);
+        answerCards = mock(AnswerCardsUseCase.class);
+        useCases = new MeteredCardUseCases(mock(CreateCardUseCase.class), mock(GetCardsUseCase.class),
+            getQuizCards, answerCard, answerCards, new CardMetrics(registry));
+    }
+
+    @Nested
+    @DisplayName("Quiz")
+    class Quiz {
+
+        @Test
+        @DisplayName("should time every quiz and record the size of full lists only")
+        void shouldTimeQuizAndRecordListSize() {
+            when(getQuizCards.execute(any(GetQuizCardsQuery.class))).thenReturn(List.of(card(), card(), card()));
+            when(getQuizCards.execute(any(GetQuizCardsPageQuery.class))).thenReturn(Page.last(List.of(card())));
+
+            useCases.execute(new GetQuizCardsQuery(alice, DAY));
+            useCases.execute(new GetQuizCardsPageQuery(alice, DAY, null, 10));
+
+            assertThat(registry.get(CardMetrics.USE_CASE_TIMER).tag("usecase", "get-quiz-cards").timer().count())
+                .isEqualTo(2);
+            assertThat(registry.get(CardMetrics.QUIZ_SIZE).summary().count()).isEqualTo(1);
+            assertThat(registry.get(CardMetrics.QUIZ_SIZE).summary().totalAmount()).isEqualTo(3.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Answers")
+    class Answers {
+
+        @Test
+        @DisplayName("should count single and batched answers by result")
+        void shouldCountAnswersByResult() {
+            useCases.execute(new AnswerCardCommand(alice, "a", true));
+            useCases.execute(new AnswerCardsCommand(alice, List.of(
+                new Answer("a", false, null), new Answer("b", true, null), new Answer("c", false, null))));
+
+            assertThat(answers("correct")).isEqualTo(2.0);
+            assertThat(answers("incorrect")).isEqualTo(2.0);
+            assertThat(registry.get(CardMetrics.USE_CASE_TIMER).tag("usecase", "answer-card").timer().count())
+                .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should time a failed answer without counting it")
+        void shouldNotCountFailedAnswer() {
+            doThrow(new CardNotFoundException("a")).when(answerCard).execute(any());
+
+            assertThatThrownBy(() -> useCases.execute(new AnswerCardCommand(alice, "a", true)))
+                .isInstanceOf(CardNotFoundException.class);
+
+            assertThat(answers("correct")).isZero();
+            assertThat(registry.get(CardMetrics.USE_CASE_TIMER).tag("usecase", "answer-card").timer().count())
+                .isEqualTo(1);
+        }
+    }
+
+    private double answers(String result) {
+        return registry.get(CardMetrics.ANSWERS).tag("result", result).counter().count();
+    }
+
+    private Card card() {
+        return Card.create(alice, CardId.generate(), "Q?", "A", null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.leitner.infrastructure.metrics;
+
+import com.leitner.infrastructure.adapter.out.persistence.PerUserCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Prometheus endpoint")
+class PrometheusEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PerUserCardRepository partitions;
+
+    @BeforeEach
+    void setUp() {
+        partitions.clear();
+    }
+
+    @Test
+    @DisplayName("should expose use case histograms, repository timers, quiz sizes and card gauges")
+    void shouldExposeCardMetrics() throws Exception {
+        mockMvc.perform(post("/cards")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"question\": \"Q?\", \"answer\": \"A\"}"))
+            .andExpect(status().isCreated());
+        mockMvc.perform(get("/cards/quizz"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("leitner_usecase_seconds_bucket{usecase=\"create-card\"")))
+            .andExpect(content().string(containsString("leitner_repository_seconds_count{operation=\"save\"")))
+            .andExpect(content().string(containsString("leitner_quiz_size_cards_count")))
+            .andExpect(content().string(containsString("leitner_answers_total{result=\"correct\"")))
+            .andExpect(content().string(containsString("leitner_cards{category=\"FIRST\",} 1.0")))
+            .andExpect(content().string(containsString("leitner_deck_size_cards 1.0")));
+    }
+}
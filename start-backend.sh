@@ -11,14 +11,14 @@ fi
 
 # Vérifier que Java est installé
 if ! command -v java &> /dev/null; then
-    echo "❌ Java n'est pas installé. Veuillez installer Java 17+."
+    echo "❌ Java n'est pas installé. Veuillez installer Java 21+."
     exit 1
 fi
 
 # Vérifier la version de Java
 JAVA_VERSION=$(java -version 2>&1 | head -n 1 | cut -d'"' -f2 | cut -d'.' -f1)
-if [ "$JAVA_VERSION" -lt 17 ]; then
-    echo "❌ Java 17+ est requis. Version actuelle: $JAVA_VERSION"
+if [ "$JAVA_VERSION" -lt 21 ]; then
+    echo "❌ Java 21+ est requis. Version actuelle: $JAVA_VERSION"
     exit 1
 fi
 